@@ -1,62 +1,104 @@
 package aqa.api.base;
 
-import com.github.tomakehurst.wiremock.WireMockServer;
-import com.github.tomakehurst.wiremock.client.WireMock;
-import org.junit.jupiter.api.AfterAll;
+import aqa.api.utils.deadline.StepDeadline;
+import aqa.api.utils.deadline.StepDeadlineExtension;
+import aqa.api.utils.flaky.FlakinessHistory;
+import aqa.api.utils.flaky.FlakinessWatcher;
+import aqa.api.utils.flaky.QuarantineCondition;
+import aqa.api.utils.history.RunHistory;
+import aqa.api.utils.history.RunHistoryExtension;
+import aqa.api.utils.mock.ExternalServiceMock;
+import aqa.api.utils.mock.ExternalServiceMocks;
+import aqa.api.utils.mock.StubScope;
+import aqa.api.utils.report.OpenMetricsExport;
+import aqa.api.utils.report.SuiteSummary;
+import aqa.api.utils.session.SessionPool;
+import aqa.api.utils.session.SessionPoolExtension;
+import aqa.api.utils.startup.StartupTime;
+import aqa.api.utils.sut.SutEnvironment;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
-
+import static aqa.api.utils.Constants.EXTERNAL_SERVICE_STUBS;
 import static aqa.api.utils.Constants.WIREMOCK_PORT;
-import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 
 /**
  * Базовый класс для всех тестов API.
+ * <p>
+ * Параметры тестов с аннотацией {@link aqa.api.utils.session.LoggedIn} получают токены,
+ * уже прошедшие LOGIN (см. {@link SessionPool}). Время каждого шага Allure ограничено
+ * (см. {@link StepDeadlineExtension}, {@link StepDeadline}). Исход каждого выполнения теста
+ * записывается в историю нестабильности (см. {@link FlakinessHistory}), а его длительность —
+ * в историю прогонов (см. {@link RunHistory}). Тесты, нестабильные по истории, выполняются
+ * только в прогоне карантина (см. {@link QuarantineCondition}).
+ * <p>
+ * Тесты могут выполняться параллельно: заглушка внешнего сервиса общая для JVM, а каждый тест
+ * удаляет только свои заглушки ({@link StubScope}). Тесты, настраивающие ответы "для любого токена",
+ * требуют монопольного доступа к ресурсу {@code EXTERNAL_SERVICE_STUBS}.
  */
+@ExtendWith({QuarantineCondition.class, SessionPoolExtension.class, StepDeadlineExtension.class,
+        FlakinessWatcher.class, RunHistoryExtension.class})
+@ResourceLock(value = EXTERNAL_SERVICE_STUBS, mode = ResourceAccessMode.READ)
 public class BaseTest {
-    protected static WireMockServer wireMockServer;
+    protected static ExternalServiceMock externalService;
+
+    private StubScope stubScope;
 
     /**
      * Настраивает тестовое окружение перед выполнением всех тестов в классе.
      * <p>
      * Выполняет следующие действия:
      * <ol>
-     *   <li>Запускает WireMock сервер на порту {@code WIREMOCK_PORT}</li>
-     *   <li>Настраивает WireMock клиент для работы с localhost</li>
+     *   <li>Запускает (один раз за JVM) заглушку внешнего сервиса на порту {@code WIREMOCK_PORT}:
+     *   WireMock с режимом журнала из свойства {@code mock.journal} или NIO-сервер
+     *   при {@code -Dmock.engine=nio} (см. {@link ExternalServiceMocks})</li>
      *   <li>Добавляет Allure фильтр в RestAssured для логирования HTTP-трафика</li>     *
+     *   <li>Запускает (при необходимости), ожидает готовности и прогревает тестируемый сервис
+     *   (один раз за JVM, см. {@link SutEnvironment#ensureReady()})</li>
+     *   <li>Отмечает время холодного старта JVM ({@link StartupTime})</li>
+     *   <li>Регистрирует запись задержки запросов по действиям в историю прогонов при завершении JVM
+     *   ({@link RunHistory#recordSuiteOnExit()})</li>
+     *   <li>Включает выгрузку метрик прогона в текстовый файл для node exporter
+     *   ({@link OpenMetricsExport#start()})</li>
+     *   <li>Регистрирует публикацию сводок прогона и отчета о производительности при завершении JVM
+     *   ({@link SuiteSummary#publishOnExit()})</li>
      * </ol>
      */
     @BeforeAll
     static void setUpAll() {
+        StartupTime.markFirstClass();
 
-        wireMockServer = new WireMockServer(wireMockConfig().port(WIREMOCK_PORT));
-        wireMockServer.start();
+        externalService = ExternalServiceMocks.start(WIREMOCK_PORT);
 
-        WireMock.configureFor("localhost", WIREMOCK_PORT);
+        SutEnvironment.ensureReady();
+        StartupTime.markReady();
+        RunHistory.recordSuiteOnExit();
+        OpenMetricsExport.start();
+        SuiteSummary.publishOnExit();
     }
 
     /**
      * Подготавливает чистое тестовое окружение перед выполнением каждого теста.
-     * Гарантирует изоляцию тестовых сценариев путем сброса всех WireMock заглушек.
+     * Открывает область заглушек теста: заглушки, настроенные тестом и его рабочими потоками,
+     * будут удалены после теста, не затрагивая параллельно выполняемые тесты.
      */
     @BeforeEach
     void setUp() {
-        if (wireMockServer != null) {
-            wireMockServer.resetAll();
-        }
-        WireMock.reset();
+        stubScope = StubScope.open();
     }
 
     /**
-     * Очищает тестовое окружение после выполнения всех тестов в классе.
-     * <p>
-     * Останавливает WireMock сервер и освобождает используемые ресурсы.
-     * Если сервер не был запущен (например, при ошибке инициализации), метод завершается без ошибки.
+     * Удаляет заглушки теста и отмечает завершение первого теста JVM для измерения холодного старта.
      */
-    @AfterAll
-    static void tearDownAll() {
-        if (wireMockServer != null) {
-            wireMockServer.stop();
+    @AfterEach
+    void tearDown() {
+        if (stubScope != null) {
+            stubScope.close();
         }
+        StartupTime.markFirstTestFinished();
     }
 }
\ No newline at end of file
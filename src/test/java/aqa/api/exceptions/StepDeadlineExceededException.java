@@ -0,0 +1,16 @@
+package aqa.api.exceptions;
+
+/**
+ * Исключение, выбрасываемое, когда шаг теста превысил отведенное ему время и был прерван.
+ */
+public class StepDeadlineExceededException extends RuntimeException {
+
+    /**
+     * Создает исключение с описанием превышения.
+     *
+     * @param message название шага, затраченное время и каталог с собранной диагностикой
+     */
+    public StepDeadlineExceededException(String message) {
+        super(message);
+    }
+}
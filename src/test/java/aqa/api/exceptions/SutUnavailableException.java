@@ -0,0 +1,17 @@
+package aqa.api.exceptions;
+
+/**
+ * Исключение, выбрасываемое, когда тестируемый сервис недоступен и тесты не могут быть выполнены.
+ */
+public class SutUnavailableException extends RuntimeException {
+
+    /**
+     * Создает исключение с описанием причины недоступности.
+     *
+     * @param message описание причины, включая адрес сервиса и затраченное на ожидание время
+     * @param cause   последняя ошибка подключения (может быть {@code null})
+     */
+    public SutUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
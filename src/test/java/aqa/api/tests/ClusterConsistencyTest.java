@@ -0,0 +1,317 @@
+package aqa.api.tests;
+
+import aqa.api.base.BaseTest;
+import aqa.api.utils.AllureReporter;
+import aqa.api.utils.TokenGenerator;
+import aqa.api.utils.WireMockStubBuilder;
+import aqa.api.utils.cluster.ClusterRouter;
+import aqa.api.utils.cluster.CrossNodeCost;
+import aqa.api.utils.deadline.StepDeadline;
+import aqa.api.utils.envelope.ResultEnvelope;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static aqa.api.utils.Constants.*;
+import static aqa.api.utils.ErrorMessages.TOKEN_ALREADY_EXISTS_ERROR;
+import static aqa.api.utils.ErrorMessages.TOKEN_NOT_FOUND_ERROR;
+import static aqa.api.utils.specs.RequestSpecs.forNode;
+import static aqa.api.utils.specs.ResponseSpecs.forError;
+import static aqa.api.utils.specs.ResponseSpecs.forSuccess;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Epic("Тестирование веб-сервиса")
+@Feature("Кластер")
+@DisplayName("Согласованность токенов между узлами кластера")
+@StepDeadline(seconds = 0)
+public class ClusterConsistencyTest extends BaseTest {
+
+    private static final int FIRST_NODE = 0;
+    private static final int SECOND_NODE = 1;
+
+    /**
+     * Тесты класса требуют не менее двух узлов ({@code -Dsut.urls=http://node1:8080,http://node2:8080}).
+     */
+    @BeforeEach
+    void requireCluster() {
+        assumeTrue(ClusterRouter.shared().nodes().size() >= 2,
+                "Требуется не менее двух узлов сервиса (-Dsut.urls=<адрес1>,<адрес2>)");
+    }
+
+    @Test
+    @Story("Общее хранилище токенов")
+    @DisplayName("Повторный LOGIN на другом узле отклоняется")
+    @Description("""
+            Проверяет, что узлы видят одно хранилище токенов при аутентификации:
+            - LOGIN токена выполняется на первом узле
+            - Повторный LOGIN того же токена на втором узле должен вернуть 409
+            """)
+    @Tag(REGRESSION)
+    void loginOnAnotherNodeIsRejected() {
+        String token = TokenGenerator.generateValidToken();
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            Allure.step("1. Настройка тестового окружения", () -> {
+                WireMockStubBuilder.mockAuthSuccess(token);
+                AllureReporter.addTestData("Тестовый сценарий", String.format("""
+                                Токен: %s
+                                Узлы: %s
+                                Сценарий:
+                                1. LOGIN на узле 1 (ожидается успех)
+                                2. LOGIN на узле 2 (ожидается 409)
+                                """,
+                        token, ClusterRouter.shared().nodes()));
+            });
+
+            Allure.step("2. LOGIN на первом узле", () ->
+                    send(FIRST_NODE, token, ACTION_LOGIN).then().spec(forSuccess()));
+
+            Allure.step("3. Повторный LOGIN на втором узле", () ->
+                    send(SECOND_NODE, token, ACTION_LOGIN).then()
+                            .spec(forError(HTTP_CONFLICT))
+                            .body(MESSAGE_PARAM, equalTo(String.format(TOKEN_ALREADY_EXISTS_ERROR, token))));
+
+            testPassed.set(true);
+
+        } finally {
+            Allure.step("4. Итог тестирования", () -> AllureReporter.addTestData("Результат теста",
+                    testPassed.get() ?
+                            """
+                                    ТЕСТ ПРОЙДЕН УСПЕШНО
+                                    
+                                    Что проверено:
+                                    1. LOGIN на первом узле ✓
+                                    2. Отказ в повторном LOGIN на втором узле (409) ✓
+                                    
+                                    Вывод: Токен, созданный на одном узле, виден остальным узлам.
+                                    """ :
+                            """
+                                    ТЕСТ ПРОВАЛЕН
+                                    
+                                    Второй узел не видит токен, созданный на первом узле.
+                                    Детали см. в предыдущих шагах.
+                                    """));
+        }
+    }
+
+    @Test
+    @Story("Общее хранилище токенов")
+    @DisplayName("Сессия, начатая на одном узле, продолжается и завершается на другом")
+    @Description("""
+            Проверяет согласованность жизненного цикла токена между узлами:
+            - LOGIN на первом узле
+            - ACTION и LOGOUT на втором узле (ожидается успех)
+            - ACTION на первом узле после LOGOUT (ожидается 403)
+            """)
+    @Tag(REGRESSION)
+    void sessionContinuesOnAnotherNode() {
+        String token = TokenGenerator.generateValidToken();
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            Allure.step("1. Настройка тестового окружения", () -> {
+                WireMockStubBuilder.mockAuthSuccess(token);
+                WireMockStubBuilder.mockDoActionSuccess(token);
+                AllureReporter.addTestData("Тестовый сценарий", String.format("""
+                                Токен: %s
+                                Узлы: %s
+                                Сценарий:
+                                1. LOGIN на узле 1 (ожидается успех)
+                                2. ACTION на узле 2 (ожидается успех)
+                                3. LOGOUT на узле 2 (ожидается успех)
+                                4. ACTION на узле 1 (ожидается 403)
+                                """,
+                        token, ClusterRouter.shared().nodes()));
+            });
+
+            Allure.step("2. LOGIN на первом узле", () ->
+                    send(FIRST_NODE, token, ACTION_LOGIN).then().spec(forSuccess()));
+
+            Allure.step("3. ACTION на втором узле", () ->
+                    send(SECOND_NODE, token, ACTION_ACTION).then().spec(forSuccess()));
+
+            Allure.step("4. LOGOUT на втором узле", () ->
+                    send(SECOND_NODE, token, ACTION_LOGOUT).then().spec(forSuccess()));
+
+            Allure.step("5. ACTION на первом узле после LOGOUT", () ->
+                    send(FIRST_NODE, token, ACTION_ACTION).then()
+                            .spec(forError(HTTP_FORBIDDEN))
+                            .body(MESSAGE_PARAM, equalTo(String.format(TOKEN_NOT_FOUND_ERROR, token))));
+
+            testPassed.set(true);
+
+        } finally {
+            Allure.step("6. Итог тестирования", () -> AllureReporter.addTestData("Результат теста",
+                    testPassed.get() ?
+                            """
+                                    ТЕСТ ПРОЙДЕН УСПЕШНО
+                                    
+                                    Что проверено:
+                                    1. LOGIN на первом узле ✓
+                                    2. ACTION и LOGOUT на втором узле ✓
+                                    3. Отказ в ACTION на первом узле после LOGOUT (403) ✓
+                                    
+                                    Вывод: Создание и удаление токена согласованы между узлами.
+                                    """ :
+                            """
+                                    ТЕСТ ПРОВАЛЕН
+                                    
+                                    Состояние токена расходится между узлами кластера.
+                                    Детали см. в предыдущих шагах.
+                                    """));
+        }
+    }
+
+    @Test
+    @Story("Общее хранилище токенов")
+    @DisplayName("Повторный LOGOUT на другом узле отклоняется")
+    @Description("""
+            Проверяет, что удаление токена на одном узле видно остальным:
+            - LOGIN на первом узле, LOGOUT на втором узле
+            - Повторный LOGOUT на первом узле должен вернуть 403
+            """)
+    @Tag(REGRESSION)
+    void logoutOnAnotherNodeIsFinal() {
+        String token = TokenGenerator.generateValidToken();
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            Allure.step("1. Настройка тестового окружения", () -> {
+                WireMockStubBuilder.mockAuthSuccess(token);
+                AllureReporter.addTestData("Тестовый сценарий", String.format("""
+                                Токен: %s
+                                Узлы: %s
+                                Сценарий:
+                                1. LOGIN на узле 1 (ожидается успех)
+                                2. LOGOUT на узле 2 (ожидается успех)
+                                3. LOGOUT на узле 1 (ожидается 403)
+                                """,
+                        token, ClusterRouter.shared().nodes()));
+            });
+
+            Allure.step("2. LOGIN на первом узле", () ->
+                    send(FIRST_NODE, token, ACTION_LOGIN).then().spec(forSuccess()));
+
+            Allure.step("3. LOGOUT на втором узле", () ->
+                    send(SECOND_NODE, token, ACTION_LOGOUT).then().spec(forSuccess()));
+
+            Allure.step("4. Повторный LOGOUT на первом узле", () ->
+                    send(FIRST_NODE, token, ACTION_LOGOUT).then()
+                            .spec(forError(HTTP_FORBIDDEN))
+                            .body(MESSAGE_PARAM, equalTo(String.format(TOKEN_NOT_FOUND_ERROR, token))));
+
+            testPassed.set(true);
+
+        } finally {
+            Allure.step("5. Итог тестирования", () -> AllureReporter.addTestData("Результат теста",
+                    testPassed.get() ?
+                            """
+                                    ТЕСТ ПРОЙДЕН УСПЕШНО
+                                    
+                                    Что проверено:
+                                    1. LOGIN на первом узле ✓
+                                    2. LOGOUT на втором узле ✓
+                                    3. Отказ в повторном LOGOUT на первом узле (403) ✓
+                                    
+                                    Вывод: Завершение сессии на одном узле окончательно для всего кластера.
+                                    """ :
+                            """
+                                    ТЕСТ ПРОВАЛЕН
+                                    
+                                    Узел продолжает считать токен действующим после LOGOUT на другом узле.
+                                    Детали см. в предыдущих шагах.
+                                    """));
+        }
+    }
+
+    @Test
+    @Story("Стоимость межузлового состояния")
+    @DisplayName("Задержка при смене узла на каждом запросе сессии")
+    @Description("""
+            Измеряет стоимость межузлового состояния токенов:
+            - Циклы LOGIN → ACTION → LOGOUT с привязкой сессии к узлу (sticky)
+            - Те же циклы со сменой узла на каждом запросе (cross_node)
+            - Сравниваются медиана и 99-й перцентиль задержки по действиям
+            Параметры: cluster.cycles
+            """)
+    @Tag(REGRESSION)
+    @ResourceLock(EXTERNAL_SERVICE_STUBS)
+    void crossNodeLatencyCost() {
+        int cycles = Integer.getInteger("cluster.cycles", 100);
+        List<String> nodes = ClusterRouter.shared().nodes();
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            Allure.step("1. Настройка тестового окружения", () -> {
+                WireMockStubBuilder.mockAllSuccess();
+                AllureReporter.addTestData("Параметры измерения",
+                        String.format("Узлы: %s%nЦиклов на политику: %d", nodes, cycles));
+            });
+
+            CrossNodeCost.Report report = Allure.step("2. Измерение sticky и cross_node", () -> {
+                CrossNodeCost.Report costReport = new CrossNodeCost(nodes, cycles).measure();
+                AllureReporter.addTestData("Стоимость межузлового состояния", costReport.describe());
+                return costReport;
+            });
+
+            Allure.step("3. Проверка ошибок", () ->
+                    assertThat("Ошибки при измерении: " + report.firstError(), report.errors(), equalTo(0L)));
+
+            testPassed.set(true);
+
+        } finally {
+            Allure.step("4. Итог тестирования", () -> AllureReporter.addTestData("Результат теста",
+                    testPassed.get() ?
+                            """
+                                    ТЕСТ ПРОЙДЕН УСПЕШНО
+                                    
+                                    Что проверено:
+                                    1. Циклы с привязкой сессии к узлу ✓
+                                    2. Циклы со сменой узла на каждом запросе ✓
+                                    3. Отсутствие ошибок при смене узлов ✓
+                                    
+                                    Вывод: Разница задержек sticky и cross_node приведена в шаге измерения.
+                                    """ :
+                            """
+                                    ТЕСТ ПРОВАЛЕН
+                                    
+                                    Сессии со сменой узла завершились ошибками.
+                                    Детали см. в предыдущих шагах.
+                                    """));
+        }
+    }
+
+    /**
+     * Отправляет запрос на указанный узел и прикладывает исход к текущему шагу.
+     */
+    private static Response send(int node, String token, String action) {
+        Response response = given()
+                .spec(forNode(node, token, action))
+                .when()
+                .post(ENDPOINT);
+        ResultEnvelope envelope = ResultEnvelope.from(response);
+        AllureReporter.addTestData(String.format("Узел %d: %s", node + 1, action),
+                String.format("""
+                                • Узел: %s
+                                • HTTP статус: %d %s
+                                • Result поле: %s
+                                • Message поле: %s
+                                """,
+                        ClusterRouter.shared().nodes().get(node),
+                        response.getStatusCode(), AllureReporter.getStatusText(response.getStatusCode()),
+                        envelope.result() != null ? envelope.result() : "отсутствует",
+                        envelope.message() != null ? envelope.message() : "отсутствует"));
+        return response;
+    }
+}
@@ -0,0 +1,138 @@
+package aqa.api.tests;
+
+import aqa.api.base.BaseTest;
+import aqa.api.utils.AllureReporter;
+import aqa.api.utils.ParallelRunner;
+import aqa.api.utils.deadline.StepDeadline;
+import aqa.api.utils.fuzz.Counterexample;
+import aqa.api.utils.fuzz.FormContractFuzzer;
+import aqa.api.utils.fuzz.FuzzReport;
+import aqa.api.utils.http.EndpointClient;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static aqa.api.utils.Constants.REGRESSION;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+
+@Epic("Тестирование веб-сервиса")
+@Feature("Контракт формы")
+@DisplayName("Property-based проверка контракта формы /endpoint")
+@StepDeadline(seconds = 0)
+public class FormContractFuzzTest extends BaseTest {
+
+    /**
+     * Seed по умолчанию: регрессионный прогон воспроизводим, другой набор запросов задается {@code -Dfuzz.seed}.
+     */
+    private static final long DEFAULT_SEED = 20_240_527L;
+
+    @Test
+    @Story("Валидация параметров")
+    @DisplayName("Инварианты 400/401 на сгенерированных запросах")
+    @Description("""
+            Проверяет инварианты валидации на большом количестве сгенерированных запросов:
+            - Токены: граничные длины, строчные и юникодные символы, %XX, пробелы, null
+            - Action: регистр, пробелы, управляющие символы, пустые значения
+            - Заголовки X-Api-Key: отсутствие, неверный регистр, дубликаты
+            - Тело: стандартное и полное percent-кодирование, дубликаты параметра token
+            - Нарушения сжимаются до минимального воспроизводящего запроса
+            Количество запросов, потоков и seed задаются свойствами fuzz.cases, fuzz.threads, fuzz.seed
+            """)
+    @Tag(REGRESSION)
+    void formContractInvariants() {
+        long cases = Long.getLong("fuzz.cases", 2_000L);
+        int threads = Integer.getInteger("fuzz.threads", ParallelRunner.defaultParallelism());
+        long seed = Long.getLong("fuzz.seed", DEFAULT_SEED);
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            Allure.step("1. Параметры прогона", () ->
+                    AllureReporter.addTestData("Параметры прогона",
+                            String.format("""
+                                            Количество запросов: %d
+                                            Потоков: %d
+                                            Seed: %d
+                                            Воспроизведение: -Dfuzz.seed=%d
+                                            """,
+                                    cases, threads, seed, seed)));
+
+            FuzzReport report = Allure.step("2. Генерация и выполнение запросов", () -> {
+                FuzzReport fuzzReport = new FormContractFuzzer(new EndpointClient(), threads).run(cases, seed);
+
+                AllureReporter.addTestData("Статистика прогона",
+                        String.format("""
+                                        Выполнено запросов: %d
+                                        Запросов с нарушениями: %d
+                                        Длительность: %d мс
+                                        Пропускная способность: %.0f запросов/с
+                                        """,
+                                fuzzReport.executed(),
+                                fuzzReport.totalViolations(),
+                                fuzzReport.elapsedNanos() / 1_000_000,
+                                fuzzReport.casesPerSecond()));
+                return fuzzReport;
+            });
+
+            Allure.step("3. Анализ минимизированных контрпримеров", () -> {
+                List<String> counterexamples = report.counterexamples().stream()
+                        .map(FormContractFuzzTest::describe)
+                        .collect(Collectors.toList());
+
+                AllureReporter.addTestData("Контрпримеры",
+                        counterexamples.isEmpty() ? "Нарушений контракта нет ✓" : String.join("\n\n", counterexamples));
+
+                assertThat(counterexamples, empty());
+            });
+
+            testPassed.set(true);
+
+        } finally {
+            Allure.step("4. Итог тестирования", () -> {
+                String resultText = testPassed.get() ?
+                        String.format("""
+                                ТЕСТ ПРОЙДЕН УСПЕШНО
+                                
+                                Что проверено:
+                                1. Генерация %d запросов (seed %d) ✓
+                                2. Ответы в формате JSON с result OK/ERROR ✓
+                                3. 401 для отсутствующего или неверного API-ключа ✓
+                                4. 400 для невалидного токена или action ✓
+                                5. Валидные запросы не отклоняются валидацией ✓
+                                
+                                Вывод: Валидация формы соответствует контракту.
+                                """, cases, seed) :
+                        String.format("""
+                                ТЕСТ ПРОВАЛЕН
+                                
+                                Найдены нарушения контракта формы.
+                                Минимальные запросы см. в предыдущих шагах.
+                                Воспроизведение: -Dfuzz.seed=%d
+                                """, seed);
+
+                AllureReporter.addTestData("Результат теста", resultText);
+            });
+        }
+    }
+
+    private static String describe(Counterexample counterexample) {
+        return String.format("""
+                        [%s] запрос #%d
+                        Исходный: %s
+                        Нарушение: %s
+                        Минимальный (%d запросов на сжатие): %s
+                        Нарушение: %s""",
+                counterexample.violation().kind(),
+                counterexample.caseIndex(),
+                counterexample.original().describe(),
+                counterexample.violation().description(),
+                counterexample.shrinkRequests(),
+                counterexample.shrunk().describe(),
+                counterexample.shrunkViolation().description());
+    }
+}
@@ -0,0 +1,183 @@
+package aqa.api.tests;
+
+import aqa.api.base.BaseTest;
+import aqa.api.utils.AllureReporter;
+import aqa.api.utils.WireMockStubBuilder;
+import aqa.api.utils.deadline.StepDeadline;
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.load.DistributedLoadRunner;
+import aqa.api.utils.history.RunHistory;
+import aqa.api.utils.load.LoadReport;
+import aqa.api.utils.load.LoadRunner;
+import aqa.api.utils.mock.ExternalServiceMocks;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static aqa.api.utils.Constants.EXTERNAL_SERVICE_STUBS;
+import static aqa.api.utils.Constants.PERFORMANCE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+@Epic("Тестирование веб-сервиса")
+@Feature("Производительность")
+@DisplayName("Нагрузочное тестирование /endpoint")
+@StepDeadline(seconds = 0)
+public class LoadTest extends BaseTest {
+
+    @Test
+    @Story("Пропускная способность")
+    @DisplayName("Нагрузка циклами LOGIN → ACTION → LOGOUT без насыщения заглушки")
+    @Description("""
+            Измеряет пропускную способность и задержку сервиса под нагрузкой с закрытым циклом:
+            - Каждый поток без пауз выполняет циклы LOGIN → ACTION → LOGOUT с новыми токенами
+            - Задержка собирается по каждому действию отдельно
+            - Одновременно измеряется загрузка заглушки внешнего сервиса
+            - Прогон признается недействительным, если ограничивающим фактором была заглушка
+            Параметры: load.threads, load.durationSeconds, mock.engine, mock.capacity.*
+            """)
+    @Tag(PERFORMANCE)
+    @ResourceLock(EXTERNAL_SERVICE_STUBS)
+    void closedLoopLoad() {
+        int threads = Integer.getInteger("load.threads", 16);
+        Duration duration = Duration.ofSeconds(Long.getLong("load.durationSeconds", 30L));
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            Allure.step("1. Подготовка заглушек и параметров", () -> {
+                WireMockStubBuilder.mockAllSuccess();
+                AllureReporter.addTestData("Параметры прогона",
+                        String.format("""
+                                        Потоков: %d
+                                        Длительность: %d с
+                                        Движок заглушки: %s
+                                        """,
+                                threads, duration.toSeconds(), ExternalServiceMocks.engine()));
+            });
+
+            LoadReport report = Allure.step("2. Выполнение нагрузки", () -> {
+                LoadReport loadReport = new LoadRunner(new EndpointClient(), threads, duration).run();
+                AllureReporter.addTestData("Результаты нагрузки", loadReport.describe());
+                AllureReporter.addTestData("История: сравнение с предыдущими прогонами",
+                        RunHistory.recordLoad("load", loadReport));
+                return loadReport;
+            });
+
+            Allure.step("3. Самоконтроль заглушки", () -> {
+                AllureReporter.addTestData("Загрузка заглушки", report.capacity().describe());
+                assertThat("Заглушка ограничивала результат, прогон недействителен",
+                        report.capacity().violations(), empty());
+            });
+
+            Allure.step("4. Проверка ошибок", () ->
+                    assertThat("Ошибки под нагрузкой: " + report.firstError(), report.errors(), equalTo(0L)));
+
+            testPassed.set(true);
+
+        } finally {
+            Allure.step("5. Итог тестирования", () -> AllureReporter.addTestData("Результат теста",
+                    testPassed.get() ?
+                            """
+                                    ТЕСТ ПРОЙДЕН УСПЕШНО
+                                    
+                                    Что проверено:
+                                    1. Нагрузка циклами LOGIN → ACTION → LOGOUT ✓
+                                    2. Заглушка не ограничивала результат ✓
+                                    3. Отсутствие ошибок под нагрузкой ✓
+                                    
+                                    Вывод: Результаты прогона отражают производительность сервиса.
+                                    """ :
+                            """
+                                    ТЕСТ ПРОВАЛЕН
+                                    
+                                    Прогон недействителен или сервис отвечал ошибками под нагрузкой.
+                                    Детали см. в предыдущих шагах. Потолок заглушки на этой машине:
+                                    mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=aqa.api.utils.mock.MockBenchmark
+                                    """));
+        }
+    }
+
+    @Test
+    @Story("Пропускная способность")
+    @DisplayName("Распределенная нагрузка из процессов-агентов без насыщения заглушки")
+    @Description("""
+            Измеряет пропускную способность и задержку сервиса под нагрузкой из отдельных JVM:
+            - Контроллер запускает локальные процессы-агенты и делит между ними потоки нагрузки
+            - Каждый агент выполняет циклы LOGIN → ACTION → LOGOUT со своим диапазоном токенов
+            - Гистограммы задержки и счетчики агентов объединяются в один результат
+            - Задержка собирается по каждому действию отдельно
+            - Одновременно измеряется загрузка заглушки внешнего сервиса
+            - Прогон признается недействительным, если ограничивающим фактором была заглушка
+            Параметры: load.agents, load.threads, load.durationSeconds, load.agent.jvmArgs, mock.engine, mock.capacity.*
+            """)
+    @Tag(PERFORMANCE)
+    @ResourceLock(EXTERNAL_SERVICE_STUBS)
+    void distributedClosedLoopLoad() {
+        int agents = Integer.getInteger("load.agents", 2);
+        int threads = Integer.getInteger("load.threads", 16);
+        Duration duration = Duration.ofSeconds(Long.getLong("load.durationSeconds", 30L));
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            Allure.step("1. Подготовка заглушек и параметров", () -> {
+                WireMockStubBuilder.mockAllSuccess();
+                AllureReporter.addTestData("Параметры прогона",
+                        String.format("""
+                                        Агентов: %d
+                                        Потоков: %d
+                                        Длительность: %d с
+                                        Движок заглушки: %s
+                                        """,
+                                agents, threads, duration.toSeconds(), ExternalServiceMocks.engine()));
+            });
+
+            LoadReport report = Allure.step("2. Выполнение нагрузки агентами", () -> {
+                LoadReport loadReport = new DistributedLoadRunner(agents, threads, duration).run();
+                AllureReporter.addTestData("Результаты нагрузки", loadReport.describe());
+                AllureReporter.addTestData("История: сравнение с предыдущими прогонами",
+                        RunHistory.recordLoad("load.distributed", loadReport));
+                return loadReport;
+            });
+
+            Allure.step("3. Самоконтроль заглушки", () -> {
+                AllureReporter.addTestData("Загрузка заглушки", report.capacity().describe());
+                assertThat("Заглушка ограничивала результат, прогон недействителен",
+                        report.capacity().violations(), empty());
+            });
+
+            Allure.step("4. Проверка ошибок", () ->
+                    assertThat("Ошибки под нагрузкой: " + report.firstError(), report.errors(), equalTo(0L)));
+
+            testPassed.set(true);
+
+        } finally {
+            Allure.step("5. Итог тестирования", () -> AllureReporter.addTestData("Результат теста",
+                    testPassed.get() ?
+                            """
+                                    ТЕСТ ПРОЙДЕН УСПЕШНО
+                                    
+                                    Что проверено:
+                                    1. Нагрузка циклами LOGIN → ACTION → LOGOUT из процессов-агентов ✓
+                                    2. Объединение результатов агентов ✓
+                                    3. Заглушка не ограничивала результат ✓
+                                    4. Отсутствие ошибок под нагрузкой ✓
+                                    
+                                    Вывод: Результаты прогона отражают производительность сервиса.
+                                    """ :
+                            """
+                                    ТЕСТ ПРОВАЛЕН
+                                    
+                                    Прогон недействителен или сервис отвечал ошибками под нагрузкой.
+                                    Детали см. в предыдущих шагах, вывод агентов — в target/load-agent-N.log.
+                                    Потолок заглушки на этой машине:
+                                    mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=aqa.api.utils.mock.MockBenchmark
+                                    """));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package aqa.api.tests;
+
+import aqa.api.base.BaseTest;
+import aqa.api.utils.AllureReporter;
+import aqa.api.utils.WireMockStubBuilder;
+import aqa.api.utils.deadline.StepDeadline;
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.load.ActionLatency;
+import aqa.api.utils.load.LoadReport;
+import aqa.api.utils.load.LoadRunner;
+import aqa.api.utils.overload.OverloadRunner;
+import aqa.api.utils.overload.PhaseReport;
+import aqa.api.utils.overload.RecoveryReport;
+import aqa.api.utils.overload.ResponseClass;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static aqa.api.utils.Constants.EXTERNAL_SERVICE_STUBS;
+import static aqa.api.utils.Constants.PERFORMANCE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@Epic("Тестирование веб-сервиса")
+@Feature("Производительность")
+@DisplayName("Поведение /endpoint при перегрузке")
+@StepDeadline(seconds = 0)
+public class OverloadTest extends BaseTest {
+
+    @Test
+    @Story("Перегрузка и восстановление")
+    @DisplayName("Всплеск и устойчивая перегрузка выше точки насыщения без неверных ответов")
+    @Description("""
+            Определяет поведение сервиса за пределом пропускной способности:
+            - Точка насыщения измеряется нагрузкой с закрытым циклом
+            - Всплеск и устойчивая перегрузка подаются с открытым циклом с интенсивностью выше насыщения
+            - Каждый ответ сравнивается с моделью сервиса: корректный, медленный, ошибка (5xx, 429,
+              тайм-аут) или неверная семантика (бизнес-ответ, не соответствующий состоянию токена)
+            - После каждой фазы измеряется время восстановления до задержки уровня насыщения
+            - Ожидается отсутствие ответов с неверной семантикой и восстановление сервиса
+            Параметры: load.threads, overload.calibrationSeconds, overload.burstFactor, overload.burstSeconds,
+            overload.sustainedFactor, overload.sustainedSeconds, overload.maxInFlight, overload.slowMillis,
+            overload.recoverySeconds, overload.recoveryStreak
+            """)
+    @Tag(PERFORMANCE)
+    @ResourceLock(EXTERNAL_SERVICE_STUBS)
+    void overloadAndRecovery() {
+        int threads = Integer.getInteger("load.threads", 16);
+        Duration calibration = Duration.ofSeconds(Long.getLong("overload.calibrationSeconds", 10L));
+        double burstFactor = Double.parseDouble(System.getProperty("overload.burstFactor", "3"));
+        Duration burst = Duration.ofSeconds(Long.getLong("overload.burstSeconds", 10L));
+        double sustainedFactor = Double.parseDouble(System.getProperty("overload.sustainedFactor", "1.5"));
+        Duration sustained = Duration.ofSeconds(Long.getLong("overload.sustainedSeconds", 30L));
+        int maxInFlight = Integer.getInteger("overload.maxInFlight", 256);
+        Duration slow = Duration.ofMillis(Long.getLong("overload.slowMillis", 1000L));
+        Duration recoveryTimeout = Duration.ofSeconds(Long.getLong("overload.recoverySeconds", 60L));
+        int recoveryStreak = Integer.getInteger("overload.recoveryStreak", 10);
+
+        EndpointClient client = new EndpointClient();
+        OverloadRunner runner = new OverloadRunner(client, maxInFlight, slow);
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            LoadReport saturation = Allure.step("1. Подготовка заглушек и измерение точки насыщения", () -> {
+                WireMockStubBuilder.mockAllSuccess();
+                LoadReport loadReport = new LoadRunner(client, threads, calibration).run();
+                AllureReporter.addTestData("Точка насыщения (закрытый цикл)", loadReport.describe());
+                assertThat("Ошибки при измерении точки насыщения: " + loadReport.firstError(),
+                        loadReport.errors(), equalTo(0L));
+                return loadReport;
+            });
+            double capacity = saturation.throughput() / 3;
+            long latencyLimit = saturation.latencies().stream().mapToLong(ActionLatency::p99Micros).max().orElse(0);
+
+            PhaseReport burstReport = Allure.step("2. Всплеск нагрузки", () -> {
+                PhaseReport phase = runner.drive("всплеск", capacity * burstFactor, burst);
+                AllureReporter.addTestData("Всплеск: классы ответов", phase.describe());
+                return phase;
+            });
+            RecoveryReport burstRecovery = Allure.step("3. Восстановление после всплеска", () -> {
+                RecoveryReport recovery = runner.recover(recoveryTimeout, recoveryStreak, latencyLimit);
+                AllureReporter.addTestData("Всплеск: восстановление", recovery.describe());
+                return recovery;
+            });
+
+            PhaseReport sustainedReport = Allure.step("4. Устойчивая перегрузка", () -> {
+                PhaseReport phase = runner.drive("устойчивая перегрузка", capacity * sustainedFactor, sustained);
+                AllureReporter.addTestData("Устойчивая перегрузка: классы ответов", phase.describe());
+                return phase;
+            });
+            RecoveryReport sustainedRecovery = Allure.step("5. Восстановление после устойчивой перегрузки", () -> {
+                RecoveryReport recovery = runner.recover(recoveryTimeout, recoveryStreak, latencyLimit);
+                AllureReporter.addTestData("Устойчивая перегрузка: восстановление", recovery.describe());
+                return recovery;
+            });
+
+            Allure.step("6. Проверка семантики ответов", () -> {
+                assertThat("Неверная семантика при всплеске",
+                        burstReport.count(ResponseClass.WRONG_SEMANTICS), equalTo(0L));
+                assertThat("Неверная семантика при устойчивой перегрузке",
+                        sustainedReport.count(ResponseClass.WRONG_SEMANTICS), equalTo(0L));
+                assertThat("Неверная семантика при восстановлении",
+                        burstRecovery.wrongSemantics() + sustainedRecovery.wrongSemantics(), equalTo(0L));
+            });
+
+            Allure.step("7. Проверка восстановления", () -> {
+                assertThat("Сервис не восстановился после всплеска", burstRecovery.recovered(), equalTo(true));
+                assertThat("Сервис не восстановился после устойчивой перегрузки",
+                        sustainedRecovery.recovered(), equalTo(true));
+            });
+
+            testPassed.set(true);
+
+        } finally {
+            Allure.step("8. Итог тестирования", () -> AllureReporter.addTestData("Результат теста",
+                    testPassed.get() ?
+                            """
+                                    ТЕСТ ПРОЙДЕН УСПЕШНО
+
+                                    Что проверено:
+                                    1. Измерение точки насыщения ✓
+                                    2. Всплеск и устойчивая перегрузка выше насыщения ✓
+                                    3. Отсутствие ответов с неверной семантикой ✓
+                                    4. Восстановление сервиса после перегрузки ✓
+
+                                    Вывод: Под перегрузкой сервис отвечает верно, медленно или явным отказом
+                                    и восстанавливается после снятия нагрузки.
+                                    """ :
+                            """
+                                    ТЕСТ ПРОВАЛЕН
+
+                                    Под перегрузкой сервис вернул ответ с неверной семантикой
+                                    или не восстановился за отведенное время.
+                                    Детали и примеры ответов см. в предыдущих шагах.
+                                    """));
+        }
+    }
+}
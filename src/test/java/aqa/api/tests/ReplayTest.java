@@ -0,0 +1,203 @@
+package aqa.api.tests;
+
+import aqa.api.base.BaseTest;
+import aqa.api.utils.AllureReporter;
+import aqa.api.utils.TokenGenerator;
+import aqa.api.utils.WireMockStubBuilder;
+import aqa.api.utils.deadline.StepDeadline;
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.replay.RecordedRequest;
+import aqa.api.utils.replay.ReplayReport;
+import aqa.api.utils.replay.ReplaySpeed;
+import aqa.api.utils.replay.TrafficLogImporter;
+import aqa.api.utils.replay.TrafficRecorder;
+import aqa.api.utils.replay.TrafficRecordings;
+import aqa.api.utils.replay.TrafficReplayer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static aqa.api.utils.Constants.*;
+import static aqa.api.utils.specs.RequestSpecs.forValidApiKey;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+@Epic("Тестирование веб-сервиса")
+@Feature("Воспроизведение трафика")
+@DisplayName("Запись и воспроизведение трафика /endpoint")
+@StepDeadline(seconds = 0)
+public class ReplayTest extends BaseTest {
+
+    private static final int SESSIONS = 4;
+
+    @Test
+    @Story("Запись и воспроизведение")
+    @DisplayName("Воспроизведение записанных сессий без расхождений исхода")
+    @Description("""
+            Проверяет цикл записи и воспроизведения трафика:
+            - Записываются сессии LOGIN → ACTION → LOGOUT и ACTION без LOGIN
+            - Запись сохраняется в двоичном формате и читается обратно без потерь
+            - Запись воспроизводится без пауз в нескольких потоках с сохранением порядка по токену
+            - Исходы всех запросов совпадают с записанными
+            """)
+    @Tag(REGRESSION)
+    @ResourceLock(EXTERNAL_SERVICE_STUBS)
+    void replayRecordedSessions() throws Exception {
+        TrafficRecorder recorder = new TrafficRecorder();
+        Path file = Files.createTempFile("traffic-", ".aqtr");
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            Allure.step("1. Настройка тестового окружения", () -> {
+                WireMockStubBuilder.mockAllSuccess();
+                AllureReporter.addTestData("Настройка WireMock",
+                        "WireMock настроен на успешные ответы для любого токена");
+            });
+
+            Allure.step("2. Запись трафика", () -> {
+                for (int i = 0; i < SESSIONS; i++) {
+                    String token = TokenGenerator.generateValidToken();
+                    for (String action : List.of(ACTION_LOGIN, ACTION_ACTION, ACTION_LOGOUT)) {
+                        given().filter(recorder).spec(forValidApiKey(token, action)).when().post(ENDPOINT);
+                    }
+                }
+                given().filter(recorder).spec(forValidApiKey(TokenGenerator.generateValidToken(), ACTION_ACTION))
+                        .when().post(ENDPOINT);
+                AllureReporter.addTestData("Записанный трафик",
+                        String.format("Сессий LOGIN → ACTION → LOGOUT: %d, ACTION без LOGIN: 1, запросов: %d",
+                                SESSIONS, recorder.size()));
+                assertThat("Количество записанных запросов", recorder.size(), equalTo(SESSIONS * 3 + 1));
+            });
+
+            List<RecordedRequest> recording = Allure.step("3. Сохранение и чтение записи", () -> {
+                recorder.save(file);
+                List<RecordedRequest> restored = TrafficRecordings.read(file);
+                AllureReporter.addTestData("Файл записи",
+                        String.format("%s, %d байт на %d запросов", file, Files.size(file), restored.size()));
+                assertThat("Запись прочитана без потерь", restored.size(), equalTo(recorder.size()));
+                return restored;
+            });
+
+            Allure.step("4. Воспроизведение без пауз", () -> {
+                ReplayReport report = new TrafficReplayer(new EndpointClient(), ReplaySpeed.AS_FAST_AS_POSSIBLE, SESSIONS)
+                        .replay(recording);
+                AllureReporter.addTestData("Расхождения с записью", report.describe());
+                assertThat("Расхождения исхода: " + report.examples(), report.divergent(), equalTo(0L));
+            });
+
+            testPassed.set(true);
+
+        } finally {
+            Files.deleteIfExists(file);
+            Allure.step("5. Итог тестирования", () -> AllureReporter.addTestData("Результат теста",
+                    testPassed.get() ?
+                            """
+                                    ТЕСТ ПРОЙДЕН УСПЕШНО
+                                    
+                                    Что проверено:
+                                    1. Запись сессий и ошибочного запроса ✓
+                                    2. Сохранение и чтение двоичной записи ✓
+                                    3. Воспроизведение с сохранением порядка по токену ✓
+                                    4. Исходы совпадают с записанными ✓
+                                    
+                                    Вывод: Записанный трафик воспроизводится против сервиса без расхождений.
+                                    """ :
+                            """
+                                    ТЕСТ ПРОВАЛЕН
+                                    
+                                    Воспроизведение записи разошлось с записанными исходами.
+                                    Детали см. в предыдущих шагах.
+                                    """));
+        }
+    }
+
+    @Test
+    @Story("Воспроизведение записи")
+    @DisplayName("Воспроизведение файла трафика с масштабированием времени")
+    @Description("""
+            Воспроизводит запись трафика из файла и сравнивает исходы и задержки с записанными:
+            - Файл .log импортируется из текстового журнала, остальные читаются как двоичная запись
+            - Скорость: 1x, 10x или asap; запросы одного токена выполняются по порядку
+            - Расхождений исхода не больше replay.maxDivergence
+            Параметры: replay.file, replay.speed, replay.lanes, replay.maxDivergence
+            """)
+    @Tag(PERFORMANCE)
+    @ResourceLock(EXTERNAL_SERVICE_STUBS)
+    void replayRecordingFile() throws Exception {
+        String fileName = System.getProperty("replay.file", "");
+        assumeFalse(fileName.isBlank(), "Файл записи не задан (-Dreplay.file=<файл>)");
+        Path file = Path.of(fileName);
+        ReplaySpeed speed = ReplaySpeed.parse(System.getProperty("replay.speed", "1x"));
+        int lanes = Integer.getInteger("replay.lanes", 16);
+        long maxDivergence = Long.getLong("replay.maxDivergence", 0L);
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            List<RecordedRequest> recording = Allure.step("1. Чтение записи", () -> {
+                List<RecordedRequest> requests = file.toString().endsWith(".log")
+                        ? TrafficLogImporter.read(file)
+                        : TrafficRecordings.read(file);
+                long tokens = requests.stream().map(RecordedRequest::token).distinct().count();
+                long spanMillis = requests.isEmpty() ? 0 : requests.get(requests.size() - 1).offsetMicros() / 1000;
+                AllureReporter.addTestData("Запись",
+                        String.format("""
+                                        Файл: %s
+                                        Запросов: %d, токенов: %d
+                                        Длительность записи: %d мс
+                                        Скорость: %s, потоков: %d
+                                        """,
+                                file.toAbsolutePath(), requests.size(), tokens, spanMillis, speed, lanes));
+                return requests;
+            });
+
+            Allure.step("2. Настройка тестового окружения", () -> {
+                WireMockStubBuilder.mockAllSuccess();
+                AllureReporter.addTestData("Настройка WireMock",
+                        "WireMock настроен на успешные ответы для любого токена");
+            });
+
+            ReplayReport report = Allure.step("3. Воспроизведение", () -> {
+                ReplayReport replayReport = new TrafficReplayer(new EndpointClient(), speed, lanes).replay(recording);
+                AllureReporter.addTestData("Расхождения с записью", replayReport.describe());
+                return replayReport;
+            });
+
+            Allure.step("4. Проверка расхождений", () ->
+                    assertThat("Расхождения исхода: " + report.divergences(),
+                            report.divergent(), lessThanOrEqualTo(maxDivergence)));
+
+            testPassed.set(true);
+
+        } finally {
+            Allure.step("5. Итог тестирования", () -> AllureReporter.addTestData("Результат теста",
+                    testPassed.get() ?
+                            """
+                                    ТЕСТ ПРОЙДЕН УСПЕШНО
+                                    
+                                    Что проверено:
+                                    1. Чтение записи трафика ✓
+                                    2. Воспроизведение с масштабированием времени ✓
+                                    3. Расхождения исхода в допустимых пределах ✓
+                                    
+                                    Вывод: Сервис обрабатывает записанную смесь трафика так же, как при записи.
+                                    Сравнение задержек см. в шаге воспроизведения.
+                                    """ :
+                            """
+                                    ТЕСТ ПРОВАЛЕН
+                                    
+                                    Воспроизведение разошлось с записью сверх допустимого.
+                                    Детали см. в предыдущих шагах.
+                                    """));
+        }
+    }
+}
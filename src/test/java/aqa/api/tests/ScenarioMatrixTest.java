@@ -0,0 +1,120 @@
+package aqa.api.tests;
+
+import aqa.api.base.BaseTest;
+import aqa.api.utils.AllureReporter;
+import aqa.api.utils.ParallelRunner;
+import aqa.api.utils.deadline.StepDeadline;
+import aqa.api.utils.matrix.MatrixCase;
+import aqa.api.utils.matrix.MatrixCaseResult;
+import aqa.api.utils.matrix.MatrixCaseRunner;
+import aqa.api.utils.matrix.ScenarioMatrix;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static aqa.api.utils.Constants.REGRESSION;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+
+@Epic("Тестирование веб-сервиса")
+@Feature("Комбинаторное покрытие")
+@DisplayName("Матрица сценариев: action × API-ключ × токен × состояние × внешний сервис")
+@StepDeadline(seconds = 0)
+public class ScenarioMatrixTest extends BaseTest {
+
+    @Test
+    @Story("Матрица сценариев")
+    @DisplayName("Выполнение выбранного набора комбинаций матрицы")
+    @Description("""
+            Проверяет ответы сервиса на комбинации параметров запроса:
+            - Набор выбирается свойством matrix.mode (pairwise по умолчанию или full)
+            - Ожидаемый ответ вычисляется эталонной моделью SutModel
+            - Комбинации выполняются параллельно (свойство matrix.parallelism)
+            - Ожидается совпадение всех ответов с моделью
+            """)
+    @Tag(REGRESSION)
+    void matrixScenarios() {
+        String mode = System.getProperty("matrix.mode", ScenarioMatrix.MODE_PAIRWISE);
+        int parallelism = Integer.getInteger("matrix.parallelism", ParallelRunner.defaultParallelism());
+        List<MatrixCase> cases = ScenarioMatrix.forMode(mode);
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            Allure.step("1. Построение набора комбинаций", () ->
+                    AllureReporter.addTestData("Набор комбинаций",
+                            String.format("""
+                                            Режим: %s
+                                            Комбинаций в наборе: %d
+                                            Полное декартово произведение: %d
+                                            Параллелизм: %d
+                                            """,
+                                    mode,
+                                    cases.size(),
+                                    ScenarioMatrix.cartesianSize(),
+                                    parallelism)));
+
+            List<MatrixCaseResult> results = Allure.step("2. Параллельное выполнение комбинаций", () -> {
+                long started = System.nanoTime();
+                List<MatrixCaseResult> executed = ParallelRunner.runAll(cases, parallelism, MatrixCaseRunner::run);
+                long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+                AllureReporter.addTestData("Статистика выполнения",
+                        String.format("""
+                                        Выполнено комбинаций: %d
+                                        Успешно: %d
+                                        С расхождениями: %d
+                                        Время выполнения: %d мс
+                                        """,
+                                executed.size(),
+                                executed.stream().filter(MatrixCaseResult::passed).count(),
+                                executed.stream().filter(result -> !result.passed()).count(),
+                                elapsedMillis));
+                return executed;
+            });
+
+            Allure.step("3. Сравнение ответов с моделью", () -> {
+                List<String> failures = results.stream()
+                        .filter(result -> !result.passed())
+                        .map(result -> String.format("%s [%s]: %s",
+                                result.matrixCase().describe(), result.token(), result.failure()))
+                        .collect(Collectors.toList());
+
+                AllureReporter.addTestData("Расхождения с моделью",
+                        failures.isEmpty() ? "Расхождений нет ✓" : String.join("\n", failures));
+
+                assertThat(failures, empty());
+            });
+
+            testPassed.set(true);
+
+        } finally {
+            Allure.step("4. Итог тестирования", () -> {
+                String resultText = testPassed.get() ?
+                        String.format("""
+                                ТЕСТ ПРОЙДЕН УСПЕШНО
+                                
+                                Что проверено:
+                                1. Построение набора комбинаций (%s) ✓
+                                2. Параллельное выполнение %d комбинаций ✓
+                                3. Соответствие всех ответов модели ✓
+                                
+                                Вывод: Поведение сервиса на всех комбинациях набора
+                                совпадает с эталонной моделью.
+                                """, mode, cases.size()) :
+                        """
+                                ТЕСТ ПРОВАЛЕН
+                                
+                                Обнаружены расхождения ответов сервиса с моделью.
+                                Детали см. в предыдущих шагах.
+                                """;
+
+                AllureReporter.addTestData("Результат теста", resultText);
+            });
+        }
+    }
+}
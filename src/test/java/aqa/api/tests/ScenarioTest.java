@@ -0,0 +1,105 @@
+package aqa.api.tests;
+
+import aqa.api.base.BaseTest;
+import aqa.api.utils.AllureReporter;
+import aqa.api.utils.ParallelRunner;
+import aqa.api.utils.scenario.ScenarioCompiler;
+import aqa.api.utils.scenario.ScenarioEngine;
+import aqa.api.utils.scenario.ScenarioPlan;
+import aqa.api.utils.scenario.ScenarioResult;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static aqa.api.utils.Constants.REGRESSION;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+
+@Epic("Тестирование веб-сервиса")
+@Feature("Декларативные сценарии")
+@DisplayName("Сценарии эндпоинта из файла описания")
+public class ScenarioTest extends BaseTest {
+
+    private static final String SCENARIOS = System.getProperty("scenario.file", "scenarios/endpoint.scenarios");
+
+    @TestFactory
+    @Story("Декларативные сценарии")
+    @DisplayName("Выполнение сценариев из файла описания")
+    @Description("""
+            Проверяет ответы сервиса на сценарии из файла описания (свойство scenario.file):
+            - Файл компилируется один раз в планы выполнения (ScenarioCompiler)
+            - Все сценарии выполняются параллельно с новым токеном для каждого (свойство scenario.parallelism)
+            - Для каждого сценария формируется отдельный тест с протоколом шагов
+            - Ожидается совпадение всех ответов с ожиданиями сценария
+            """)
+    @Tag(REGRESSION)
+    Stream<DynamicTest> declarativeScenarios() {
+        int parallelism = Integer.getInteger("scenario.parallelism", ParallelRunner.defaultParallelism());
+        List<ScenarioPlan> plans = ScenarioCompiler.compile(SCENARIOS);
+        List<ScenarioResult> results = new ScenarioEngine().runAll(plans, parallelism);
+
+        return results.stream()
+                .map(result -> DynamicTest.dynamicTest(result.plan().name(), () -> verify(result)));
+    }
+
+    private static void verify(ScenarioResult result) {
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            Allure.step("1. Описание сценария", () ->
+                    AllureReporter.addTestData("Сценарий", result.plan().describe()));
+
+            Allure.step("2. Проверка ответов сервиса", () -> {
+                AllureReporter.addTestData("Протокол выполнения",
+                        String.format("""
+                                        Токен: %s
+                                        Время выполнения: %d мс
+
+                                        ВЫПОЛНЕННЫЕ ШАГИ:
+                                        %s
+
+                                        РАСХОЖДЕНИЕ:
+                                        %s
+                                        """,
+                                result.token(),
+                                TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos()),
+                                String.join("\n", result.transcript()),
+                                result.passed() ? "Нет ✓" : result.failure()));
+
+                assertThat(result.failure(), nullValue());
+            });
+
+            testPassed.set(true);
+
+        } finally {
+            Allure.step("3. Итог тестирования", () -> {
+                String resultText = testPassed.get() ?
+                        String.format("""
+                                ТЕСТ ПРОЙДЕН УСПЕШНО
+
+                                Что проверено:
+                                1. Выполнение %d шагов сценария ✓
+                                2. Соответствие всех ответов ожиданиям ✓
+
+                                Вывод: Сервис ведет себя согласно сценарию
+                                "%s".
+                                """, result.plan().steps().size(), result.plan().name()) :
+                        """
+                                ТЕСТ ПРОВАЛЕН
+
+                                Ответ сервиса не соответствует ожиданию сценария.
+                                Детали см. в предыдущих шагах.
+                                """;
+
+                AllureReporter.addTestData("Результат теста", resultText);
+            });
+        }
+    }
+}
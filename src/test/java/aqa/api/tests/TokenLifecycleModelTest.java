@@ -0,0 +1,200 @@
+package aqa.api.tests;
+
+import aqa.api.base.BaseTest;
+import aqa.api.utils.AllureReporter;
+import aqa.api.utils.ParallelRunner;
+import aqa.api.utils.TokenGenerator;
+import aqa.api.utils.WireMockStubBuilder;
+import aqa.api.utils.deadline.StepDeadline;
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.model.LifecycleModelRunner;
+import aqa.api.utils.model.ModelRunReport;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static aqa.api.utils.Constants.REGRESSION;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+
+@Epic("Тестирование веб-сервиса")
+@Feature("Жизненный цикл токена")
+@DisplayName("Модельное тестирование жизненного цикла токена")
+@StepDeadline(seconds = 0)
+public class TokenLifecycleModelTest extends BaseTest {
+
+    private static final int THREADS = Integer.getInteger("model.threads", ParallelRunner.defaultParallelism());
+    /**
+     * Seed по умолчанию: регрессионный прогон воспроизводим, другие последовательности задаются {@code -Dmodel.seed}.
+     */
+    private static final long DEFAULT_SEED = 20_240_611L;
+    private static final long SEED = Long.getLong("model.seed", DEFAULT_SEED);
+
+    @Test
+    @Story("Модель состояний токена")
+    @DisplayName("Длинные случайные последовательности операций совпадают с моделью")
+    @Description("""
+            Проверяет соответствие сервиса эталонной модели состояний токена:
+            - Генерируются длинные случайные последовательности LOGIN/ACTION/LOGOUT
+            - Каждый поток работает со своим подмножеством токенов
+            - Каждый ответ сверяется с моделью (отсутствует, авторизован, вышел)
+            Параметры: model.tokens, model.operations, model.threads, model.seed
+            """)
+    @Tag(REGRESSION)
+    void independentSequencesMatchModel() {
+        int tokenCount = Integer.getInteger("model.tokens", 200);
+        int operationsPerToken = Integer.getInteger("model.operations", 20);
+        List<String> tokens = generateTokens(tokenCount);
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            Allure.step("1. Подготовка токенов и заглушек", () -> {
+                stubTokens(tokens);
+                AllureReporter.addTestData("Параметры прогона",
+                        String.format("""
+                                        Токенов: %d
+                                        Операций на токен (в среднем): %d
+                                        Потоков: %d
+                                        Seed: %d
+                                        """,
+                                tokenCount, operationsPerToken, THREADS, SEED));
+            });
+
+            ModelRunReport report = Allure.step("2. Выполнение последовательностей и сверка с моделью", () -> {
+                ModelRunReport runReport = new LifecycleModelRunner(new EndpointClient(), THREADS)
+                        .runIndependent(tokens, operationsPerToken, SEED);
+                AllureReporter.addTestData("Статистика прогона", describe(runReport));
+                return runReport;
+            });
+
+            Allure.step("3. Анализ расхождений с моделью", () -> {
+                AllureReporter.addTestData("Расхождения с моделью",
+                        report.mismatches().isEmpty() ? "Расхождений нет ✓" : String.join("\n", report.mismatches()));
+                assertThat(report.mismatches(), empty());
+            });
+
+            testPassed.set(true);
+
+        } finally {
+            Allure.step("4. Итог тестирования", () -> AllureReporter.addTestData("Результат теста",
+                    testPassed.get() ?
+                            """
+                                    ТЕСТ ПРОЙДЕН УСПЕШНО
+                                    
+                                    Что проверено:
+                                    1. Генерация случайных последовательностей операций ✓
+                                    2. Параллельное выполнение по независимым токенам ✓
+                                    3. Соответствие каждого ответа модели состояний ✓
+                                    
+                                    Вывод: Переходы состояний токена соответствуют модели.
+                                    """ :
+                            String.format("""
+                                    ТЕСТ ПРОВАЛЕН
+                                    
+                                    Ответы сервиса расходятся с моделью состояний.
+                                    Детали см. в предыдущих шагах. Воспроизведение: -Dmodel.seed=%d
+                                    """, SEED)));
+        }
+    }
+
+    @Test
+    @Story("Модель состояний токена")
+    @DisplayName("Параллельные операции над общими токенами линеаризуемы")
+    @Description("""
+            Проверяет корректность сервиса при параллельной нагрузке на одни и те же токены:
+            - Несколько потоков одновременно выполняют LOGIN/ACTION/LOGOUT над общими токенами
+            - Записывается история операций с интервалами выполнения
+            - Для каждого токена ищется линейный порядок, согласованный со временем и моделью
+            Параметры: model.sharedTokens, model.sharedOperations, model.threads, model.seed
+            """)
+    @Tag(REGRESSION)
+    void sharedTokensAreLinearizable() {
+        int tokenCount = Integer.getInteger("model.sharedTokens", 8);
+        int operationsPerToken = Integer.getInteger("model.sharedOperations", 30);
+        List<String> tokens = generateTokens(tokenCount);
+        AtomicBoolean testPassed = new AtomicBoolean(false);
+
+        try {
+            Allure.step("1. Подготовка токенов и заглушек", () -> {
+                stubTokens(tokens);
+                AllureReporter.addTestData("Параметры прогона",
+                        String.format("""
+                                        Общих токенов: %d
+                                        Операций на токен: %d
+                                        Потоков: %d
+                                        Seed: %d
+                                        """,
+                                tokenCount, operationsPerToken, THREADS, SEED));
+            });
+
+            ModelRunReport report = Allure.step("2. Параллельное выполнение операций над общими токенами", () -> {
+                ModelRunReport runReport = new LifecycleModelRunner(new EndpointClient(), THREADS)
+                        .runShared(tokens, operationsPerToken, SEED);
+                AllureReporter.addTestData("Статистика прогона", describe(runReport));
+                return runReport;
+            });
+
+            Allure.step("3. Проверка линеаризуемости историй", () -> {
+                AllureReporter.addTestData("Нелинеаризуемые истории",
+                        report.mismatches().isEmpty() ? "Все истории линеаризуемы ✓" : String.join("\n\n", report.mismatches()));
+                assertThat(report.mismatches(), empty());
+            });
+
+            testPassed.set(true);
+
+        } finally {
+            Allure.step("4. Итог тестирования", () -> AllureReporter.addTestData("Результат теста",
+                    testPassed.get() ?
+                            """
+                                    ТЕСТ ПРОЙДЕН УСПЕШНО
+                                    
+                                    Что проверено:
+                                    1. Параллельные операции над общими токенами ✓
+                                    2. Запись истории с интервалами выполнения ✓
+                                    3. Линеаризуемость истории каждого токена ✓
+                                    
+                                    Вывод: Хранилище токенов ведет себя атомарно под параллельной нагрузкой.
+                                    """ :
+                            String.format("""
+                                    ТЕСТ ПРОВАЛЕН
+                                    
+                                    Найдены истории, не объяснимые ни одним последовательным порядком.
+                                    Детали см. в предыдущих шагах. Воспроизведение: -Dmodel.seed=%d
+                                    """, SEED)));
+        }
+    }
+
+    private static List<String> generateTokens(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> TokenGenerator.generateValidToken())
+                .collect(Collectors.toList());
+    }
+
+    private static void stubTokens(List<String> tokens) {
+        tokens.forEach(token -> {
+            WireMockStubBuilder.mockAuthSuccess(token);
+            WireMockStubBuilder.mockDoActionSuccess(token);
+        });
+    }
+
+    private static String describe(ModelRunReport report) {
+        return String.format("""
+                        Выполнено операций: %d
+                        Длительность: %d мс
+                        Пропускная способность: %.0f операций/с
+                        Расхождений: %d
+                        Итоговые состояния модели: %s
+                        """,
+                report.executed(),
+                report.elapsedNanos() / 1_000_000,
+                report.operationsPerSecond(),
+                report.mismatches().size(),
+                report.finalStates().isEmpty() ? "не определены" : report.finalStates());
+    }
+}
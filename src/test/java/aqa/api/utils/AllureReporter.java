@@ -1,8 +1,11 @@
 package aqa.api.utils;
 
 import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.attachment.AttachmentStore;
 import io.qameta.allure.Allure;
 
+import java.nio.charset.StandardCharsets;
+
 import static aqa.api.utils.Constants.*;
 
 /**
@@ -15,9 +18,22 @@ public class AllureReporter {
     /**
      * Добавляет текстовые данные в Allure-отчет в виде вложения.
      * Данные отображаются на вкладке "Attachments" в сгенерированном отчете.
+     * Одинаковое содержимое хранится в каталоге результатов одним файлом (см. {@link AttachmentStore}).
      */
     public static void addTestData(String title, String content) {
-        Allure.addAttachment(title, "text/plain", content);
+        if (!AttachmentStore.attach(title, "text/plain", ".txt", content.getBytes(StandardCharsets.UTF_8))) {
+            Allure.addAttachment(title, "text/plain", content);
+        }
+    }
+
+    /**
+     * Добавляет HTML-документ в Allure-отчет в виде вложения.
+     * Вложение открывается на вкладке "Attachments" как страница (например, отчет о производительности).
+     */
+    public static void addHtmlReport(String title, String html) {
+        if (!AttachmentStore.attach(title, "text/html", ".html", html.getBytes(StandardCharsets.UTF_8))) {
+            Allure.addAttachment(title, "text/html", html, ".html");
+        }
     }
 
     /**
@@ -18,6 +18,7 @@ public class Constants {
     public static final String MOCK_DO_ACTION = "/doAction";
 
     public static final String API_KEY_HEADER_NAME = "X-Api-Key";
+    public static final String CORRELATION_HEADER = "X-Correlation-Id";
     public static final String VALID_API_KEY = "qazWSXedc";
     public static final String INVALID_API_KEY = "invalid_key";
     public static final String EMPTY_API_KEY = "";
@@ -37,6 +38,7 @@ public class Constants {
     public static final int HTTP_FORBIDDEN = 403;
     public static final int HTTP_NOT_FOUND = 404;
     public static final int HTTP_CONFLICT = 409;
+    public static final int HTTP_TOO_MANY_REQUESTS = 429;
     public static final int HTTP_INTERNAL_ERROR = 500;
 
     public static final String FORBIDDEN_MESSAGE = "Forbidden";
@@ -60,6 +62,10 @@ public class Constants {
     public static final String SMOKE = "smoke";
     public static final String REGRESSION = "regression";
     public static final String NEEDS_CLARIFICATION = "needs-clarification";
+    public static final String PERFORMANCE = "performance";
+    public static final String QUARANTINE = "quarantine";
+
+    public static final String EXTERNAL_SERVICE_STUBS = "external-service-stubs";
 
     private Constants() {
         throw new UtilityClassException(getClass());
@@ -2,6 +2,8 @@ package aqa.api.utils;
 
 import aqa.api.exceptions.UtilityClassException;
 
+import java.util.Map;
+
 /**
  * Утилитный класс, содержащий стандартные сообщения об ошибках API.
  * Предоставляет централизованное хранилище для всех текстовых сообщений об ошибках
@@ -14,6 +16,37 @@ public class ErrorMessages {
     public static final String TOKEN_NOT_FOUND_ERROR = "Token '%s' not found";
     public static final String INVALID_ACTION_ERROR = "action: invalid action 'null'. Allowed: LOGIN, LOGOUT, ACTION";
 
+    private static final Map<String, String> TYPES = Map.of(
+            "INVALID_TOKEN_ERROR", INVALID_TOKEN_ERROR,
+            "INVALID_API_KEY_ERROR", INVALID_API_KEY_ERROR,
+            "TOKEN_ALREADY_EXISTS_ERROR", TOKEN_ALREADY_EXISTS_ERROR,
+            "TOKEN_NOT_FOUND_ERROR", TOKEN_NOT_FOUND_ERROR,
+            "INVALID_ACTION_ERROR", INVALID_ACTION_ERROR);
+
+    /**
+     * Определяет тип сообщения об ошибке: имя константы, шаблону которой соответствует сообщение.
+     * Подстановка {@code %s} в шаблоне соответствует любой строке.
+     *
+     * @param message сообщение из ответа сервиса (может быть {@code null})
+     * @return имя константы или {@code null}, если сообщение не соответствует ни одному шаблону
+     */
+    public static String typeOf(String message) {
+        if (message == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> type : TYPES.entrySet()) {
+            String[] parts = type.getValue().split("%s", -1);
+            boolean matches = parts.length == 1
+                    ? message.equals(parts[0])
+                    : message.length() >= parts[0].length() + parts[1].length()
+                    && message.startsWith(parts[0]) && message.endsWith(parts[1]);
+            if (matches) {
+                return type.getKey();
+            }
+        }
+        return null;
+    }
+
     private ErrorMessages() {
         throw new UtilityClassException(getClass());
     }
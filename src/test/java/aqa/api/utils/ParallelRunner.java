@@ -0,0 +1,84 @@
+package aqa.api.utils;
+
+import aqa.api.exceptions.UtilityClassException;
+import com.github.tomakehurst.wiremock.client.WireMock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static aqa.api.utils.Constants.WIREMOCK_PORT;
+
+/**
+ * Утилитный класс для параллельного выполнения независимых тестовых сценариев.
+ * <p>
+ * Клиент WireMock хранит настройки подключения в {@code ThreadLocal}, поэтому каждый
+ * рабочий поток перед выполнением задач настраивается на локальный WireMock сервер.
+ */
+public class ParallelRunner {
+
+    /**
+     * Выполняет задачу для каждого элемента списка в пуле потоков заданного размера.
+     *
+     * @param items       входные данные задач
+     * @param parallelism количество рабочих потоков (не меньше 1)
+     * @param task        задача, вызываемая для каждого элемента
+     * @param <T>         тип входных данных
+     * @param <R>         тип результата
+     * @return результаты в порядке входных элементов
+     * @throws IllegalStateException если задача завершилась исключением или ожидание было прервано
+     */
+    public static <T, R> List<R> runAll(List<T> items, int parallelism, Function<T, R> task) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism), workerFactory());
+        try {
+            List<Future<R>> futures = new ArrayList<>(items.size());
+            for (T item : items) {
+                futures.add(executor.submit(() -> task.apply(item)));
+            }
+
+            List<R> results = new ArrayList<>(items.size());
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Параллельная задача завершилась с ошибкой", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание параллельных задач прервано", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Возвращает параллелизм по умолчанию для сценариев, ограниченных сетевым вводом-выводом.
+     *
+     * @return удвоенное количество доступных процессоров
+     */
+    public static int defaultParallelism() {
+        return Runtime.getRuntime().availableProcessors() * 2;
+    }
+
+    private static ThreadFactory workerFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(() -> {
+                WireMock.configureFor("localhost", WIREMOCK_PORT);
+                runnable.run();
+            }, "parallel-runner-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private ParallelRunner() {
+        throw new UtilityClassException(getClass());
+    }
+}
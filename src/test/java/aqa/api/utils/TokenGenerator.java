@@ -1,9 +1,14 @@
 package aqa.api.utils;
 
 import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.history.RunHistory;
 import com.github.javafaker.Faker;
 import io.qameta.allure.Story;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.UUID;
+
 import static aqa.api.utils.Constants.TOKEN_LENGTH;
 
 /**
@@ -17,6 +22,14 @@ import static aqa.api.utils.Constants.TOKEN_LENGTH;
 public class TokenGenerator {
     private static final Faker faker = new Faker();
 
+    /**
+     * Метка процесса прогона: 8 HEX-символов хеша идентификатора прогона ({@link RunHistory#runId()})
+     * и идентификатора процесса.
+     */
+    private static final String RUN_MARK = String.format("%08X", UUID.nameUUIDFromBytes(
+            (RunHistory.runId() + "/" + ProcessHandle.current().pid()).getBytes(StandardCharsets.UTF_8))
+            .getMostSignificantBits() >>> 32);
+
     /**
      * Генерирует валидный токен аутентификации.
      *
@@ -45,6 +58,39 @@ public class TokenGenerator {
         return faker.regexify("[A-F0-9]{" + (TOKEN_LENGTH - 1) + "}") + "a";
     }
 
+    /**
+     * Генерирует валидный токен из непересекающегося диапазона: префикс диапазона,
+     * дополненный порядковым номером в HEX-формате до длины токена.
+     * <p>
+     * Токены разных префиксов не совпадают, поэтому параллельные источники нагрузки
+     * (потоки, процессы-агенты) не мешают сессиям друг друга.
+     *
+     * @param rangePrefix префикс диапазона из символов [0-9A-F]
+     * @param sequence    порядковый номер токена в диапазоне
+     * @return валидный токен в HEX-формате
+     */
+    public static String generateRangeToken(String rangePrefix, long sequence) {
+        int sequenceLength = TOKEN_LENGTH - rangePrefix.length();
+        String hex = Long.toHexString(sequence).toUpperCase(Locale.ROOT);
+        return rangePrefix + "0".repeat(Math.max(0, sequenceLength - hex.length())) + hex;
+    }
+
+    /**
+     * Генерирует валидный токен из непересекающегося диапазона текущего прогона: префикс диапазона,
+     * метка прогона и порядковый номер.
+     * <p>
+     * Внешний сервис хранит токены между прогонами, а нумерация в каждой JVM начинается заново.
+     * Без метки прогона LOGIN токена, сессия которого осталась открытой в прошлом прогоне (цикл прерван
+     * под нагрузкой), получил бы {@code TOKEN_ALREADY_EXISTS}.
+     *
+     * @param rangePrefix префикс диапазона из символов [0-9A-F]
+     * @param sequence    порядковый номер токена в диапазоне
+     * @return валидный токен в HEX-формате
+     */
+    public static String generateRunRangeToken(String rangePrefix, long sequence) {
+        return generateRangeToken(rangePrefix + RUN_MARK, sequence);
+    }
+
     private TokenGenerator() {
         throw new UtilityClassException(getClass());
     }
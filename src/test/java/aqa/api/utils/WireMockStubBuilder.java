@@ -1,13 +1,15 @@
 package aqa.api.utils;
 
 import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.mock.ExternalServiceMocks;
 
 import static aqa.api.utils.Constants.*;
-import static com.github.tomakehurst.wiremock.client.WireMock.*;
 
 /**
- * Утилитарный класс для настройки стабов (заглушек) WireMock.
+ * Утилитарный класс для настройки стабов (заглушек) внешнего сервиса.
  * Предоставляет методы для мокирования эндпоинтов API с различными сценариями ответов.
+ * Стабы настраиваются в активной заглушке ({@link ExternalServiceMocks#active()}),
+ * поэтому методы одинаково работают с WireMock и NIO-движком.
  */
 public class WireMockStubBuilder {
 
@@ -18,7 +20,7 @@ public class WireMockStubBuilder {
      * @throws IllegalArgumentException если {@code token} равен {@code null} или пустой строке
      */
     public static void mockAuthSuccess(String token) {
-        buildAuthStub(token, HTTP_OK, "{\"status\":\"success\"}");
+        ExternalServiceMocks.active().stub(MOCK_AUTH, token, HTTP_OK, "{\"status\":\"success\"}");
     }
 
     /**
@@ -30,7 +32,7 @@ public class WireMockStubBuilder {
      *                                  или {@code statusCode} не является валидным HTTP-статусом
      */
     public static void mockAuthError(String token, int statusCode) {
-        buildAuthStub(token, statusCode, "{\"error\":\"authentication failed\"}");
+        ExternalServiceMocks.active().stub(MOCK_AUTH, token, statusCode, "{\"error\":\"authentication failed\"}");
     }
 
     /**
@@ -40,7 +42,7 @@ public class WireMockStubBuilder {
      * @throws IllegalArgumentException если {@code token} равен {@code null} или пустой строке
      */
     public static void mockDoActionSuccess(String token) {
-        buildDoActionStub(token, HTTP_OK, "{\"action\":\"completed\"}");
+        ExternalServiceMocks.active().stub(MOCK_DO_ACTION, token, HTTP_OK, "{\"action\":\"completed\"}");
     }
 
     /**
@@ -52,43 +54,16 @@ public class WireMockStubBuilder {
      *                                  или {@code statusCode} не является валидным HTTP-статусом
      */
     public static void mockDoActionError(String token, int statusCode) {
-        buildDoActionStub(token, statusCode, "{\"error\":\"action failed\"}");
+        ExternalServiceMocks.active().stub(MOCK_DO_ACTION, token, statusCode, "{\"error\":\"action failed\"}");
     }
 
     /**
-     * Создает стаб для эндпоинта аутентификации.
-     *
-     * @param token      значение токена для проверки в теле запроса
-     * @param statusCode HTTP-статус для возврата в ответе
-     * @param body       тело JSON-ответа
-     */
-    private static void buildAuthStub(String token, int statusCode, String body) {
-        stubFor(post(urlEqualTo(MOCK_AUTH))
-                .withHeader(CONTENT_TYPE, containing(APPLICATION_URLENCODED))
-                .withHeader(ACCEPT, containing(APPLICATION_JSON))
-                .withRequestBody(containing("token=" + token))
-                .willReturn(aResponse()
-                        .withStatus(statusCode)
-                        .withHeader(CONTENT_TYPE, APPLICATION_JSON)
-                        .withBody(body)));
-    }
-
-    /**
-     * Создает стаб для эндпоинта выполнения действий.
-     *
-     * @param token      значение токена для проверки в теле запроса
-     * @param statusCode HTTP-статус для возврата в ответе
-     * @param body       тело JSON-ответа
+     * Настраивает стабы успешной аутентификации и успешного выполнения действия для любого токена.
+     * Используется для прогрева и нагрузочных сценариев, где токены генерируются в большом количестве.
      */
-    private static void buildDoActionStub(String token, int statusCode, String body) {
-        stubFor(post(urlEqualTo(MOCK_DO_ACTION))
-                .withHeader(CONTENT_TYPE, containing(APPLICATION_URLENCODED))
-                .withHeader(ACCEPT, containing(APPLICATION_JSON))
-                .withRequestBody(containing("token=" + token))
-                .willReturn(aResponse()
-                        .withStatus(statusCode)
-                        .withHeader(CONTENT_TYPE, APPLICATION_JSON)
-                        .withBody(body)));
+    public static void mockAllSuccess() {
+        ExternalServiceMocks.active().stubAny(MOCK_AUTH, HTTP_OK, "{\"status\":\"success\"}");
+        ExternalServiceMocks.active().stubAny(MOCK_DO_ACTION, HTTP_OK, "{\"action\":\"completed\"}");
     }
 
     private WireMockStubBuilder() {
@@ -0,0 +1,55 @@
+package aqa.api.utils.attachment;
+
+import io.qameta.allure.listener.ContainerLifecycleListener;
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.util.List;
+
+/**
+ * Слушатель жизненного цикла Allure, направляющий вложения тестов и фикстур на общие файлы
+ * {@link AttachmentStore} перед записью результатов.
+ * <p>
+ * Подключается через {@code META-INF/services/io.qameta.allure.listener.LifecycleListener}.
+ */
+public class AttachmentIndexListener implements TestLifecycleListener, ContainerLifecycleListener {
+
+    @Override
+    public void beforeTestWrite(TestResult result) {
+        relink(result.getAttachments(), result.getSteps());
+    }
+
+    @Override
+    public void beforeContainerWrite(TestResultContainer container) {
+        relink(container.getBefores());
+        relink(container.getAfters());
+    }
+
+    private static void relink(List<FixtureResult> fixtures) {
+        if (fixtures != null) {
+            for (FixtureResult fixture : fixtures) {
+                relink(fixture.getAttachments(), fixture.getSteps());
+            }
+        }
+    }
+
+    private static void relink(List<Attachment> attachments, List<StepResult> steps) {
+        if (attachments != null) {
+            for (Attachment attachment : attachments) {
+                String blob = AttachmentStore.resolve(attachment.getSource());
+                if (blob != null) {
+                    attachment.setSource(blob);
+                }
+            }
+        }
+        if (steps != null) {
+            for (StepResult step : steps) {
+                relink(step.getAttachments(), step.getSteps());
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package aqa.api.utils.attachment;
+
+import aqa.api.exceptions.UtilityClassException;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Утилитный класс, хранящий вложения Allure по хешу содержимого.
+ * <p>
+ * Содержимое каждого вложения записывается в каталог результатов Allure ({@code allure.results.directory})
+ * один раз под именем {@code <sha-256>-attachment.<расширение>}: одинаковые заметки и блоки «ОЖИДАЛОСЬ»
+ * из разных тестов, классов и даже JVM (форков surefire, пишущих в общий каталог) ссылаются на один файл.
+ * Вложение регистрируется в текущем шаге штатным {@link AllureLifecycle#prepareAttachment}, а индекс
+ * «зарезервированное имя → общий файл» применяется к результатам тестов и контейнеров перед их записью
+ * ({@link AttachmentIndexListener}), поэтому генератор отчета видит обычные ссылки на вложения.
+ * <p>
+ * Отключается свойством {@code -Dallure.attachments.dedup=false}: тогда каждое вложение пишется
+ * отдельным файлом, как прежде.
+ */
+public class AttachmentStore {
+
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(System.getProperty("allure.attachments.dedup", "true"));
+    private static final Path RESULTS =
+            Path.of(System.getProperty("allure.results.directory", "allure-results"));
+    private static final String ATTACHMENT_SUFFIX = "-attachment";
+
+    /** Хеши содержимого, файлы которых уже существуют в каталоге результатов. */
+    private static final Set<String> STORED = ConcurrentHashMap.newKeySet();
+    /** Зарезервированное Allure имя вложения → имя общего файла с содержимым. */
+    private static final Map<String, String> INDEX = new ConcurrentHashMap<>();
+
+    private static final LongAdder ATTACHMENTS = new LongAdder();
+    private static final LongAdder BLOBS = new LongAdder();
+    private static final LongAdder BYTES_WRITTEN = new LongAdder();
+    private static final LongAdder BYTES_SHARED = new LongAdder();
+
+    /**
+     * Возвращает признак хранения вложений по хешу содержимого.
+     *
+     * @return {@code true}, если хранение включено
+     */
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Прикладывает содержимое к текущему шагу или тесту, записывая файл только для нового содержимого.
+     *
+     * @param name      название вложения
+     * @param type      MIME-тип
+     * @param extension расширение файла с точкой, например {@code .txt}
+     * @param content   содержимое
+     * @return {@code false}, если вложение не было приложено (хранение отключено, нет текущего теста
+     * или файл не удалось записать) и его нужно приложить штатным способом
+     */
+    public static boolean attach(String name, String type, String extension, byte[] content) {
+        if (!ENABLED) {
+            return false;
+        }
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        if (lifecycle.getCurrentTestCaseOrStep().isEmpty()) {
+            return false;
+        }
+        String blob;
+        try {
+            blob = store(content, extension);
+        } catch (UncheckedIOException e) {
+            return false;
+        }
+        INDEX.put(lifecycle.prepareAttachment(name, type, extension), blob);
+        ATTACHMENTS.increment();
+        return true;
+    }
+
+    /**
+     * Возвращает имя общего файла для зарезервированного имени вложения и удаляет запись из индекса.
+     *
+     * @param source имя вложения, зарезервированное {@link AllureLifecycle#prepareAttachment}
+     * @return имя общего файла или {@code null}, если вложение приложено без хранения по хешу
+     */
+    static String resolve(String source) {
+        return source == null ? null : INDEX.remove(source);
+    }
+
+    /**
+     * Возвращает сводку хранения вложений за время работы JVM.
+     *
+     * @return текстовая сводка
+     */
+    public static String summary() {
+        if (!ENABLED) {
+            return "Хранение вложений по хешу отключено (allure.attachments.dedup=false)";
+        }
+        long attachments = ATTACHMENTS.sum();
+        long blobs = BLOBS.sum();
+        return String.format("Вложений: %d, записано файлов: %d (%d байт), повторно использовано: %d (%d байт)%n"
+                        + "Каталог: %s",
+                attachments, blobs, BYTES_WRITTEN.sum(), attachments - blobs, BYTES_SHARED.sum(),
+                RESULTS.toAbsolutePath());
+    }
+
+    private static String store(byte[] content, String extension) {
+        String hash = sha256(content);
+        String blob = hash + ATTACHMENT_SUFFIX + extension;
+        if (STORED.contains(blob)) {
+            BYTES_SHARED.add(content.length);
+            return blob;
+        }
+        Path target = RESULTS.resolve(blob);
+        try {
+            if (Files.exists(target)) {
+                BYTES_SHARED.add(content.length);
+            } else {
+                Files.createDirectories(RESULTS);
+                // временный файл и атомарное переименование: параллельные писатели и прерванная JVM
+                // не оставляют под именем хеша неполное содержимое
+                Path temp = Files.createTempFile(RESULTS, hash, ".tmp");
+                try {
+                    Files.write(temp, content);
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    BLOBS.increment();
+                    BYTES_WRITTEN.add(content.length);
+                } catch (FileAlreadyExistsException e) {
+                    BYTES_SHARED.add(content.length);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось записать вложение " + target, e);
+        }
+        STORED.add(blob);
+        return blob;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Алгоритм SHA-256 недоступен", e);
+        }
+    }
+
+    private AttachmentStore() {
+        throw new UtilityClassException(getClass());
+    }
+}
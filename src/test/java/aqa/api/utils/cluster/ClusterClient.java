@@ -0,0 +1,62 @@
+package aqa.api.utils.cluster;
+
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.http.EndpointResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Клиент {@code /endpoint} кластера: по одному {@link EndpointClient} на узел и маршрутизация
+ * запросов политикой {@link ClusterRouter}. Экземпляр потокобезопасен.
+ */
+public class ClusterClient {
+
+    private final ClusterRouter router;
+    private final List<EndpointClient> clients;
+
+    /**
+     * @param router маршрутизатор по узлам кластера
+     */
+    public ClusterClient(ClusterRouter router) {
+        this.router = router;
+        this.clients = router.nodes().stream().map(EndpointClient::new).toList();
+    }
+
+    /**
+     * Отправляет запрос на узел, выбранный маршрутизатором.
+     *
+     * @param token  значение параметра "token"
+     * @param action значение параметра "action"
+     * @param apiKey значение заголовка "X-Api-Key"
+     * @return ответ с номером обработавшего узла
+     * @throws IOException если запрос не удалось выполнить
+     */
+    public RoutedResponse send(String token, String action, String apiKey) throws IOException {
+        return sendTo(router.route(token, action), token, action, apiKey);
+    }
+
+    /**
+     * Отправляет запрос на указанный узел.
+     *
+     * @param node   номер узла
+     * @param token  значение параметра "token"
+     * @param action значение параметра "action"
+     * @param apiKey значение заголовка "X-Api-Key"
+     * @return ответ с номером узла
+     * @throws IOException если запрос не удалось выполнить
+     */
+    public RoutedResponse sendTo(int node, String token, String action, String apiKey) throws IOException {
+        EndpointResponse response = clients.get(node).send(token, action, apiKey);
+        return new RoutedResponse(node, response);
+    }
+
+    /**
+     * Возвращает маршрутизатор клиента.
+     *
+     * @return маршрутизатор
+     */
+    public ClusterRouter router() {
+        return router;
+    }
+}
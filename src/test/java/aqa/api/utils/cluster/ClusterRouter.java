@@ -0,0 +1,123 @@
+package aqa.api.utils.cluster;
+
+import aqa.api.utils.sut.SutEnvironment;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static aqa.api.utils.Constants.ACTION_LOGOUT;
+
+/**
+ * Маршрутизатор запросов по узлам тестируемого сервиса на стороне клиента.
+ * <p>
+ * Общий маршрутизатор ({@link #shared()}) строится по адресам {@link SutEnvironment#baseUrls()}
+ * и политике из свойства {@code sut.routing} ({@code round_robin} по умолчанию); через него
+ * {@link aqa.api.utils.specs.RequestSpecs} направляет запросы всех тестов. При одном узле
+ * все запросы идут на него независимо от политики.
+ */
+public class ClusterRouter {
+
+    private static volatile ClusterRouter shared;
+
+    private final List<String> nodes;
+    private final RoutingPolicy policy;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<String, Integer> lastNodeByToken = new ConcurrentHashMap<>();
+
+    /**
+     * @param nodes  базовые адреса узлов
+     * @param policy политика маршрутизации
+     */
+    public ClusterRouter(List<String> nodes, RoutingPolicy policy) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Список узлов кластера пуст");
+        }
+        this.nodes = List.copyOf(nodes);
+        this.policy = policy;
+    }
+
+    /**
+     * Возвращает общий для JVM маршрутизатор. Создается при первом обращении,
+     * поэтому должен запрашиваться после {@link SutEnvironment#ensureReady()}.
+     *
+     * @return маршрутизатор по узлам тестируемого сервиса
+     */
+    public static ClusterRouter shared() {
+        ClusterRouter router = shared;
+        if (router == null) {
+            synchronized (ClusterRouter.class) {
+                router = shared;
+                if (router == null) {
+                    router = new ClusterRouter(SutEnvironment.baseUrls(),
+                            RoutingPolicy.parse(System.getProperty("sut.routing", "round_robin")));
+                    shared = router;
+                }
+            }
+        }
+        return router;
+    }
+
+    /**
+     * Выбирает узел для запроса.
+     * <p>
+     * Для политики {@link RoutingPolicy#CROSS_NODE} запоминается последний узел каждого токена;
+     * после LOGOUT запись удаляется, чтобы память не росла с количеством завершенных сессий.
+     *
+     * @param token  значение параметра "token" (может быть {@code null})
+     * @param action значение параметра "action" (может быть {@code null})
+     * @return номер узла
+     */
+    public int route(String token, String action) {
+        int size = nodes.size();
+        if (size == 1) {
+            return 0;
+        }
+        int home = Math.floorMod(Objects.hashCode(token), size);
+        return switch (policy) {
+            case ROUND_ROBIN -> (int) Math.floorMod(sequence.getAndIncrement(), (long) size);
+            case STICKY -> home;
+            case CROSS_NODE -> {
+                if (token == null) {
+                    yield home;
+                }
+                int node = lastNodeByToken.merge(token, home, (previous, ignored) -> (previous + 1) % size);
+                if (ACTION_LOGOUT.equals(action)) {
+                    lastNodeByToken.remove(token);
+                }
+                yield node;
+            }
+        };
+    }
+
+    /**
+     * Выбирает узел для запроса и возвращает его адрес.
+     *
+     * @param token  значение параметра "token"
+     * @param action значение параметра "action"
+     * @return базовый адрес узла
+     */
+    public String routeUrl(String token, String action) {
+        return nodes.get(route(token, action));
+    }
+
+    /**
+     * Возвращает базовые адреса узлов.
+     *
+     * @return неизменяемый список адресов
+     */
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    /**
+     * Возвращает политику маршрутизации.
+     *
+     * @return политика
+     */
+    public RoutingPolicy policy() {
+        return policy;
+    }
+}
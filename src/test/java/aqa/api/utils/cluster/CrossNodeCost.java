@@ -0,0 +1,130 @@
+package aqa.api.utils.cluster;
+
+import aqa.api.utils.TokenGenerator;
+import aqa.api.utils.load.ActionLatency;
+import aqa.api.utils.metrics.Metrics;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Измерение стоимости межузлового состояния токенов: одни и те же циклы LOGIN → ACTION → LOGOUT
+ * выполняются с привязкой сессии к узлу ({@link RoutingPolicy#STICKY}) и со сменой узла на каждом
+ * запросе ({@link RoutingPolicy#CROSS_NODE}). Циклы двух политик чередуются, чтобы дрейф
+ * состояния сервиса одинаково влиял на оба распределения.
+ * Заглушки внешнего сервиса должны отвечать успехом для любого токена.
+ */
+public class CrossNodeCost {
+
+    private static final List<String> ACTIONS = List.of(ACTION_LOGIN, ACTION_ACTION, ACTION_LOGOUT);
+
+    private final List<String> nodes;
+    private final int cycles;
+
+    /**
+     * @param nodes  базовые адреса узлов (не меньше двух)
+     * @param cycles количество циклов для каждой политики
+     */
+    public CrossNodeCost(List<String> nodes, int cycles) {
+        this.nodes = nodes;
+        this.cycles = Math.max(1, cycles);
+    }
+
+    /**
+     * Выполняет измерение.
+     *
+     * @return распределения задержки по действиям для обеих политик
+     */
+    public Report measure() {
+        ClusterClient sticky = new ClusterClient(new ClusterRouter(nodes, RoutingPolicy.STICKY));
+        ClusterClient crossNode = new ClusterClient(new ClusterRouter(nodes, RoutingPolicy.CROSS_NODE));
+        Map<String, Histogram> stickyLatency = histograms();
+        Map<String, Histogram> crossNodeLatency = histograms();
+        long errors = 0;
+        String firstError = null;
+
+        for (int i = 0; i < cycles; i++) {
+            for (ClusterClient client : List.of(sticky, crossNode)) {
+                Map<String, Histogram> latencies = client == sticky ? stickyLatency : crossNodeLatency;
+                String token = TokenGenerator.generateValidToken();
+                for (String action : ACTIONS) {
+                    String error = send(client, token, action, latencies.get(action));
+                    if (error != null) {
+                        errors++;
+                        firstError = firstError != null ? firstError : client.router().policy() + " " + error;
+                    }
+                }
+            }
+        }
+        return new Report(nodes.size(), cycles, summary(stickyLatency), summary(crossNodeLatency), errors, firstError);
+    }
+
+    private static String send(ClusterClient client, String token, String action, Histogram histogram) {
+        try {
+            RoutedResponse routed = client.send(token, action, VALID_API_KEY);
+            Metrics.record(histogram, TimeUnit.NANOSECONDS.toMicros(routed.response().latencyNanos()));
+            return routed.response().statusCode() == HTTP_OK ? null
+                    : String.format("%s → узел %d: %d %s", action, routed.node(),
+                    routed.response().statusCode(), routed.response().body());
+        } catch (IOException e) {
+            return action + " → " + e;
+        }
+    }
+
+    private static Map<String, Histogram> histograms() {
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        ACTIONS.forEach(action -> histograms.put(action, new Histogram(Metrics.HIGHEST_TRACKABLE_MICROS, 3)));
+        return histograms;
+    }
+
+    private static List<ActionLatency> summary(Map<String, Histogram> histograms) {
+        return histograms.entrySet().stream()
+                .map(entry -> new ActionLatency(entry.getKey(), entry.getValue().getTotalCount(),
+                        entry.getValue().getValueAtPercentile(50), entry.getValue().getValueAtPercentile(99),
+                        entry.getValue().getMaxValue()))
+                .toList();
+    }
+
+    /**
+     * Итог измерения.
+     *
+     * @param nodes      количество узлов
+     * @param cycles     количество циклов для каждой политики
+     * @param sticky     задержка по действиям при привязке сессии к узлу
+     * @param crossNode  задержка по действиям при смене узла на каждом запросе
+     * @param errors     количество неуспешных запросов
+     * @param firstError описание первой ошибки или {@code null}
+     */
+    public record Report(int nodes, int cycles, List<ActionLatency> sticky, List<ActionLatency> crossNode,
+                         long errors, String firstError) {
+
+        /**
+         * Формирует текстовое описание для Allure-отчета.
+         *
+         * @return сравнение медиан и 99-х перцентилей по действиям
+         */
+        public String describe() {
+            StringBuilder description = new StringBuilder(String.format("""
+                            • Узлов: %d, циклов на политику: %d
+                            • Ошибок: %d%s
+                            
+                            ЗАДЕРЖКА ПО ДЕЙСТВИЯМ, МКС (sticky → cross_node):
+                            """,
+                    nodes, cycles, errors, firstError == null ? "" : " (первая: " + firstError + ")"));
+            for (int i = 0; i < sticky.size(); i++) {
+                ActionLatency local = sticky.get(i);
+                ActionLatency remote = crossNode.get(i);
+                description.append(String.format("• %s: p50 %d → %d (%+d), p99 %d → %d (%+d)%n", local.action(),
+                        local.p50Micros(), remote.p50Micros(), remote.p50Micros() - local.p50Micros(),
+                        local.p99Micros(), remote.p99Micros(), remote.p99Micros() - local.p99Micros()));
+            }
+            return description.toString().stripTrailing();
+        }
+    }
+}
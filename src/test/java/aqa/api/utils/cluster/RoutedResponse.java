@@ -0,0 +1,12 @@
+package aqa.api.utils.cluster;
+
+import aqa.api.utils.http.EndpointResponse;
+
+/**
+ * Ответ узла кластера.
+ *
+ * @param node     номер узла, обработавшего запрос
+ * @param response ответ узла
+ */
+public record RoutedResponse(int node, EndpointResponse response) {
+}
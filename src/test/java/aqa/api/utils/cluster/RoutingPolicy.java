@@ -0,0 +1,41 @@
+package aqa.api.utils.cluster;
+
+import java.util.Locale;
+
+/**
+ * Политика выбора узла кластера для запроса на стороне клиента.
+ */
+public enum RoutingPolicy {
+
+    /**
+     * Узлы по очереди, независимо от токена (поведение балансировщика по умолчанию).
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Все запросы токена на один и тот же узел (привязка сессии).
+     */
+    STICKY,
+
+    /**
+     * Каждый следующий запрос токена на узел, отличный от предыдущего: LOGIN, ACTION и LOGOUT
+     * одной сессии гарантированно выполняются на разных узлах и проверяют общее хранилище токенов.
+     */
+    CROSS_NODE;
+
+    /**
+     * Разбирает политику из строкового значения свойства {@code sut.routing}.
+     *
+     * @param value имя политики в любом регистре ({@code round_robin}, {@code sticky}, {@code cross_node})
+     * @return политика маршрутизации
+     * @throws IllegalArgumentException если значение не распознано
+     */
+    public static RoutingPolicy parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Неизвестная политика маршрутизации: " + value
+                    + " (допустимо: round_robin, sticky, cross_node)", e);
+        }
+    }
+}
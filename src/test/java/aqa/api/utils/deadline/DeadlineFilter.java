@@ -0,0 +1,65 @@
+package aqa.api.utils.deadline;
+
+import aqa.api.exceptions.StepDeadlineExceededException;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static aqa.api.utils.Constants.ACTION_PARAM;
+import static aqa.api.utils.Constants.CORRELATION_HEADER;
+import static aqa.api.utils.Constants.TOKEN_PARAM;
+
+/**
+ * Фильтр RestAssured, позволяющий прервать зависший запрос при превышении времени шага.
+ * <p>
+ * Блокирующее чтение сокета не реагирует на прерывание потока, поэтому в шаге с ограниченным
+ * временем ({@link StepDeadlines#armed()}) запрос выполняется остальной цепочкой фильтров в отдельном
+ * потоке, а поток теста ожидает результат. При прерывании ожидание завершается исключением
+ * {@link StepDeadlineExceededException}; брошенный запрос завершается в своем потоке по таймауту сокета.
+ * Вне шагов с ограничением фильтр ничего не делает. Фильтр должен быть первым в цепочке.
+ */
+public class DeadlineFilter implements Filter {
+
+    private static final ExecutorService REQUESTS = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "step-deadline-request");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!StepDeadlines.armed()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        StepDeadlines.requestStarted(new StepDeadlines.InFlightRequest(requestSpec.getURI(),
+                requestSpec.getFormParams().get(TOKEN_PARAM), requestSpec.getFormParams().get(ACTION_PARAM),
+                requestSpec.getHeaders().getValue(CORRELATION_HEADER), System.nanoTime()));
+        Future<Response> response = REQUESTS.submit(() -> ctx.next(requestSpec, responseSpec));
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            StepDeadlines.Overrun overrun = StepDeadlines.overrun();
+            throw new StepDeadlineExceededException(overrun != null
+                    ? overrun.message() : "Ожидание ответа сервиса прервано");
+        } catch (ExecutionException e) {
+            throw DeadlineFilter.<RuntimeException>rethrow(e.getCause());
+        } finally {
+            StepDeadlines.requestFinished();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> E rethrow(Throwable e) throws E {
+        throw (E) e;
+    }
+}
@@ -0,0 +1,191 @@
+package aqa.api.utils.deadline;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.mock.ExternalServiceMocks;
+import aqa.api.utils.trace.DependencyCall;
+import aqa.api.utils.trace.DependencyLog;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Утилитный класс, собирающий диагностику зависшего шага теста.
+ * <p>
+ * В каталог {@code step.deadline.dir} ({@code target/hang-diagnostics}) для каждого превышения
+ * сохраняются:
+ * <ul>
+ *   <li>{@code threads.txt} — дамп всех потоков JVM тестов с полными стеками и удерживаемыми
+ *   блокировками, зависший поток первым;</li>
+ *   <li>{@code recording.jfr} — снимок непрерывной записи JDK Flight Recorder за последние
+ *   {@code step.deadline.jfrMaxAgeSeconds} (300) секунд. Запись запускается при первом тесте
+ *   с ограничением времени шагов и отключается свойством {@code -Dstep.deadline.jfr=false};</li>
+ *   <li>{@code journal.txt} — обращения к заглушке внешнего сервиса с токеном зависшего запроса:
+ *   журнал WireMock (если он ведется, см. {@link aqa.api.utils.mock.MockJournal}) и еще не
+ *   сопоставленные обращения {@link DependencyLog}.</li>
+ * </ul>
+ */
+public class HangDiagnostics {
+
+    private static final Path DIRECTORY = Path.of(System.getProperty("step.deadline.dir", "target/hang-diagnostics"));
+    private static final boolean JFR_ENABLED = Boolean.parseBoolean(System.getProperty("step.deadline.jfr", "true"));
+    private static final long JFR_MAX_AGE_SECONDS = Long.getLong("step.deadline.jfrMaxAgeSeconds", 300);
+    private static final DateTimeFormatter DIRECTORY_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private static Recording recording;
+
+    /**
+     * Собранная диагностика.
+     *
+     * @param directory  каталог с файлами диагностики или {@code null}, если его не удалось создать
+     * @param threadDump дамп потоков
+     * @param journal    обращения к заглушке с токеном зависшего запроса
+     * @param recording  файл снимка JFR или {@code null}
+     */
+    public record Evidence(Path directory, String threadDump, String journal, Path recording) {
+    }
+
+    /**
+     * Запускает непрерывную запись JDK Flight Recorder, если она включена и еще не запущена.
+     * Ошибка запуска не мешает тестам: снимок JFR в этом случае не сохраняется.
+     */
+    public static synchronized void startRecording() {
+        if (!JFR_ENABLED || recording != null || !FlightRecorder.isAvailable()) {
+            return;
+        }
+        try {
+            Recording continuous = new Recording(Configuration.getConfiguration("default"));
+            continuous.setName("step-deadline");
+            continuous.setMaxAge(Duration.ofSeconds(JFR_MAX_AGE_SECONDS));
+            continuous.setToDisk(true);
+            continuous.start();
+            recording = continuous;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.err.println("Не удалось запустить запись JFR для диагностики зависаний: " + e);
+        }
+    }
+
+    /**
+     * Собирает диагностику зависшего шага.
+     *
+     * @param stuck   поток теста
+     * @param test    отображаемое имя теста
+     * @param step    название шага
+     * @param request запрос к сервису, выполнявшийся в момент превышения, или {@code null}
+     * @return собранная диагностика
+     */
+    public static Evidence capture(Thread stuck, String test, String step, StepDeadlines.InFlightRequest request) {
+        String threadDump = threadDump(stuck);
+        String journal = request == null || request.token() == null
+                ? "Шаг не выполнял запрос к сервису с токеном"
+                : journal(request.token());
+
+        Path directory = DIRECTORY.resolve(LocalDateTime.now().format(DIRECTORY_TIME) + "-" + stuck.getId());
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve("threads.txt"), header(test, step, request) + threadDump,
+                    StandardCharsets.UTF_8);
+            Files.writeString(directory.resolve("journal.txt"), journal, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Не удалось сохранить диагностику зависания в " + directory + ": " + e);
+            return new Evidence(null, threadDump, journal, null);
+        }
+        return new Evidence(directory, threadDump, journal, dumpRecording(directory.resolve("recording.jfr")));
+    }
+
+    private static String header(String test, String step, StepDeadlines.InFlightRequest request) {
+        return String.format("Тест: %s%nШаг: %s%nЗапрос: %s%n%n", test, step,
+                request == null ? "нет" : request.describe());
+    }
+
+    private static Path dumpRecording(Path target) {
+        if (!JFR_ENABLED || !FlightRecorder.isAvailable()) {
+            return null;
+        }
+        try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            if (snapshot.getSize() == 0) {
+                return null;
+            }
+            snapshot.dump(target);
+            return target;
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("Не удалось сохранить снимок JFR: " + e);
+            return null;
+        }
+    }
+
+    private static String threadDump(Thread stuck) {
+        List<ThreadInfo> threads = new ArrayList<>(Arrays.asList(
+                ManagementFactory.getThreadMXBean().dumpAllThreads(true, true)));
+        threads.sort(Comparator.comparing(info -> info.getThreadId() != stuck.getId()));
+
+        StringBuilder dump = new StringBuilder();
+        for (ThreadInfo info : threads) {
+            dump.append(String.format("\"%s\" #%d %s%s%s%n", info.getThreadName(), info.getThreadId(),
+                    info.getThreadState(),
+                    info.getLockName() == null ? "" : " on " + info.getLockName(),
+                    info.getLockOwnerName() == null ? "" : " owned by \"" + info.getLockOwnerName() + "\""));
+            StackTraceElement[] stack = info.getStackTrace();
+            for (int depth = 0; depth < stack.length; depth++) {
+                dump.append("\tat ").append(stack[depth]).append(System.lineSeparator());
+                for (MonitorInfo monitor : info.getLockedMonitors()) {
+                    if (monitor.getLockedStackDepth() == depth) {
+                        dump.append("\t- locked ").append(monitor).append(System.lineSeparator());
+                    }
+                }
+            }
+            for (LockInfo synchronizer : info.getLockedSynchronizers()) {
+                dump.append("\t- locked ").append(synchronizer).append(System.lineSeparator());
+            }
+            dump.append(System.lineSeparator());
+        }
+        return dump.toString();
+    }
+
+    private static String journal(String token) {
+        StringBuilder journal = new StringBuilder("ЖУРНАЛ ЗАГЛУШКИ ДЛЯ ТОКЕНА ").append(token).append(":\n");
+        try {
+            List<String> requests = ExternalServiceMocks.active().journal(token);
+            if (requests.isEmpty()) {
+                journal.append("• Нет запросов (или журнал заглушки не ведется)\n");
+            }
+            requests.forEach(request -> journal.append("• ").append(request).append('\n'));
+        } catch (IllegalStateException e) {
+            journal.append("• Заглушка не запущена\n");
+        }
+
+        journal.append("\nНЕСОПОСТАВЛЕННЫЕ ОБРАЩЕНИЯ К ЗАГЛУШКЕ:\n");
+        List<DependencyCall> calls = DependencyLog.pending(token);
+        if (calls.isEmpty()) {
+            journal.append("• Нет\n");
+        }
+        long now = System.nanoTime();
+        for (DependencyCall call : calls) {
+            journal.append(String.format("• %s → %d за %d мкс, %d мс назад (X-Correlation-Id=%s)%n",
+                    call.endpoint(), call.status(), TimeUnit.NANOSECONDS.toMicros(call.durationNanos()),
+                    TimeUnit.NANOSECONDS.toMillis(now - call.completedNanos()), call.correlationId()));
+        }
+        return journal.toString();
+    }
+
+    private HangDiagnostics() {
+        throw new UtilityClassException(getClass());
+    }
+}
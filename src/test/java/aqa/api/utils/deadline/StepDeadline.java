@@ -0,0 +1,28 @@
+package aqa.api.utils.deadline;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Задает предельное время каждого шага Allure для теста или всех тестов класса
+ * вместо значения свойства {@code step.deadlineSeconds} (см. {@link StepDeadlineExtension}).
+ * <p>
+ * Аннотация метода имеет приоритет над аннотацией класса. Значение {@code 0} отключает
+ * контроль времени шагов, например для нагрузочных шагов, длительность которых задается
+ * параметрами прогона.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface StepDeadline {
+
+    /**
+     * @return предельное время шага в секундах или {@code 0}, если время не ограничено
+     */
+    long seconds();
+}
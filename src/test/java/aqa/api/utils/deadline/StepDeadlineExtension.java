@@ -0,0 +1,65 @@
+package aqa.api.utils.deadline;
+
+import aqa.api.exceptions.StepDeadlineExceededException;
+import aqa.api.utils.AllureReporter;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.time.Duration;
+
+/**
+ * Расширение JUnit, ограничивающее время каждого шага Allure теста.
+ * <p>
+ * Предельное время задается аннотацией {@link StepDeadline} метода или класса, иначе свойством
+ * {@code step.deadlineSeconds} (30); значение {@code 0} отключает ограничение. Шаг, не уложившийся
+ * в срок, прерывается (см. {@link StepDeadlines}), а тест завершается ошибкой
+ * {@link StepDeadlineExceededException}, даже если тест перехватил исключение шага.
+ * К отчету прикладываются дамп потоков и журнал заглушки, путь к снимку JFR указывается в сообщении.
+ */
+public class StepDeadlineExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        long seconds = deadlineSeconds(context);
+        if (seconds > 0) {
+            HangDiagnostics.startRecording();
+            StepDeadlines.arm(Thread.currentThread(), context.getDisplayName(), Duration.ofSeconds(seconds));
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        StepDeadlines.Overrun overrun = StepDeadlines.disarm(Thread.currentThread());
+        if (overrun == null) {
+            return;
+        }
+        // прерывание могло остаться необработанным, если шаг не ожидал ничего прерываемого
+        Thread.interrupted();
+        HangDiagnostics.Evidence evidence = overrun.diagnostics();
+        AllureReporter.addTestData("Зависание шага", String.format("""
+                        Тест: %s
+                        Шаг: %s
+                        Выполнялся: %d мс (предел %d с)
+                        Запрос: %s
+                        Каталог диагностики: %s
+                        Снимок JFR: %s
+                        """,
+                overrun.test(), overrun.step(), overrun.elapsed().toMillis(), overrun.deadline().toSeconds(),
+                overrun.request() == null ? "нет" : overrun.request().describe(),
+                evidence.directory() == null ? "не сохранен" : evidence.directory().toAbsolutePath(),
+                evidence.recording() == null ? "не сохранен" : evidence.recording().toAbsolutePath()));
+        AllureReporter.addTestData("Зависание шага: дамп потоков", evidence.threadDump());
+        AllureReporter.addTestData("Зависание шага: журнал заглушки", evidence.journal());
+        throw new StepDeadlineExceededException(overrun.message());
+    }
+
+    private static long deadlineSeconds(ExtensionContext context) {
+        StepDeadline method = context.getRequiredTestMethod().getAnnotation(StepDeadline.class);
+        if (method != null) {
+            return method.seconds();
+        }
+        StepDeadline type = context.getRequiredTestClass().getAnnotation(StepDeadline.class);
+        return type != null ? type.seconds() : StepDeadlines.defaultSeconds();
+    }
+}
@@ -0,0 +1,23 @@
+package aqa.api.utils.deadline;
+
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+/**
+ * Слушатель жизненного цикла Allure, сообщающий {@link StepDeadlines} о начале и завершении шагов.
+ * <p>
+ * Подключается через {@code META-INF/services/io.qameta.allure.listener.LifecycleListener};
+ * шаги потоков, не поставленных под наблюдение, не учитываются.
+ */
+public class StepDeadlineListener implements StepLifecycleListener {
+
+    @Override
+    public void afterStepStart(StepResult result) {
+        StepDeadlines.stepStarted(result.getName());
+    }
+
+    @Override
+    public void beforeStepStop(StepResult result) {
+        StepDeadlines.stepStopped();
+    }
+}
@@ -0,0 +1,244 @@
+package aqa.api.utils.deadline;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Утилитный класс, следящий за временем выполнения шагов Allure в потоках тестов.
+ * <p>
+ * Поток теста ставится под наблюдение {@link StepDeadlineExtension} на время теста. Для каждого
+ * шага, начатого в этом потоке ({@link StepDeadlineListener}), планируется проверка: если шаг не
+ * завершился за отведенное время, собирается диагностика ({@link HangDiagnostics}) и поток теста
+ * прерывается. Запрос к сервису, выполняемый в этот момент через {@link DeadlineFilter},
+ * завершается немедленно исключением {@link aqa.api.exceptions.StepDeadlineExceededException};
+ * ожидания, реагирующие на прерывание ({@code sleep}, {@code wait}, блокировки), прерываются штатно.
+ * Диагностика собирается только для первого превышения в тесте.
+ */
+public class StepDeadlines {
+
+    private static final long DEFAULT_SECONDS = Long.getLong("step.deadlineSeconds", 30);
+
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "step-deadline-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Map<Thread, Watch> WATCHES = new ConcurrentHashMap<>();
+
+    /**
+     * Превышение времени шага.
+     *
+     * @param test        отображаемое имя теста
+     * @param step        название шага
+     * @param elapsed     время выполнения шага к моменту прерывания
+     * @param deadline    предельное время шага
+     * @param request     запрос к сервису, выполнявшийся в момент прерывания, или {@code null}
+     * @param diagnostics собранная диагностика
+     */
+    public record Overrun(String test, String step, Duration elapsed, Duration deadline,
+                          InFlightRequest request, HangDiagnostics.Evidence diagnostics) {
+
+        /**
+         * Возвращает краткое описание превышения для сообщения об ошибке.
+         *
+         * @return описание
+         */
+        public String message() {
+            return String.format("Шаг \"%s\" не завершился за %d с и прерван%s. Диагностика: %s",
+                    step, deadline.toSeconds(),
+                    request == null ? "" : " во время запроса " + request.describe(),
+                    diagnostics.directory() == null ? "не сохранена" : diagnostics.directory().toAbsolutePath());
+        }
+    }
+
+    /**
+     * Запрос к сервису, выполняемый потоком теста.
+     *
+     * @param uri           адрес запроса
+     * @param token         значение параметра {@code token} или {@code null}
+     * @param action        значение параметра {@code action} или {@code null}
+     * @param correlationId значение заголовка корреляции или {@code null}
+     * @param startedNanos  момент отправки запроса
+     */
+    public record InFlightRequest(String uri, String token, String action, String correlationId,
+                                  long startedNanos) {
+
+        /**
+         * @return однострочное описание запроса
+         */
+        public String describe() {
+            return String.format("%s %s (token=%s, X-Correlation-Id=%s, %d мс)", action, uri, token, correlationId,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+        }
+    }
+
+    /**
+     * Возвращает предельное время шага по умолчанию.
+     *
+     * @return значение свойства {@code step.deadlineSeconds} (30)
+     */
+    public static long defaultSeconds() {
+        return DEFAULT_SECONDS;
+    }
+
+    /**
+     * Ставит поток теста под наблюдение.
+     *
+     * @param thread   поток теста
+     * @param test     отображаемое имя теста
+     * @param deadline предельное время каждого шага
+     */
+    public static void arm(Thread thread, String test, Duration deadline) {
+        WATCHES.put(thread, new Watch(thread, test, deadline));
+    }
+
+    /**
+     * Снимает поток с наблюдения и отменяет проверки незавершенных шагов.
+     *
+     * @param thread поток теста
+     * @return превышение времени шага или {@code null}, если все шаги уложились в срок
+     */
+    public static Overrun disarm(Thread thread) {
+        Watch watch = WATCHES.remove(thread);
+        if (watch == null) {
+            return null;
+        }
+        synchronized (watch) {
+            watch.steps.forEach(step -> step.check.cancel(false));
+            watch.steps.clear();
+            return watch.overrun;
+        }
+    }
+
+    /**
+     * Возвращает признак наблюдения за текущим потоком внутри шага.
+     *
+     * @return {@code true}, если текущий поток выполняет шаг с ограниченным временем
+     */
+    public static boolean armed() {
+        Watch watch = WATCHES.get(Thread.currentThread());
+        if (watch == null) {
+            return false;
+        }
+        synchronized (watch) {
+            return !watch.steps.isEmpty();
+        }
+    }
+
+    /**
+     * Возвращает превышение времени шага текущего потока.
+     *
+     * @return превышение или {@code null}
+     */
+    public static Overrun overrun() {
+        Watch watch = WATCHES.get(Thread.currentThread());
+        if (watch == null) {
+            return null;
+        }
+        synchronized (watch) {
+            return watch.overrun;
+        }
+    }
+
+    static void stepStarted(String name) {
+        Watch watch = WATCHES.get(Thread.currentThread());
+        if (watch == null) {
+            return;
+        }
+        synchronized (watch) {
+            if (watch.overrun != null) {
+                return;
+            }
+            Step step = new Step(name, System.nanoTime());
+            step.check = WATCHDOG.schedule(() -> expire(watch, step), watch.deadline.toNanos(), TimeUnit.NANOSECONDS);
+            watch.steps.push(step);
+        }
+    }
+
+    static void stepStopped() {
+        Watch watch = WATCHES.get(Thread.currentThread());
+        if (watch == null) {
+            return;
+        }
+        synchronized (watch) {
+            Step step = watch.steps.poll();
+            if (step != null) {
+                step.check.cancel(false);
+            }
+        }
+    }
+
+    static void requestStarted(InFlightRequest request) {
+        Watch watch = WATCHES.get(Thread.currentThread());
+        if (watch != null) {
+            watch.request = request;
+        }
+    }
+
+    static void requestFinished() {
+        Watch watch = WATCHES.get(Thread.currentThread());
+        if (watch != null) {
+            watch.request = null;
+        }
+    }
+
+    private static void expire(Watch watch, Step step) {
+        InFlightRequest request;
+        synchronized (watch) {
+            if (watch.overrun != null || !watch.steps.contains(step)) {
+                return;
+            }
+            request = watch.request;
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - step.startedNanos);
+        // диагностика собирается до прерывания, пока стек потока показывает место зависания
+        HangDiagnostics.Evidence evidence = HangDiagnostics.capture(watch.thread, watch.test, step.name, request);
+        synchronized (watch) {
+            if (!watch.steps.contains(step)) {
+                return;
+            }
+            watch.overrun = new Overrun(watch.test, step.name, elapsed, watch.deadline, request, evidence);
+        }
+        watch.thread.interrupt();
+    }
+
+    private static final class Step {
+        private final String name;
+        private final long startedNanos;
+        private ScheduledFuture<?> check;
+
+        private Step(String name, long startedNanos) {
+            this.name = name;
+            this.startedNanos = startedNanos;
+        }
+    }
+
+    private static final class Watch {
+        private final Thread thread;
+        private final String test;
+        private final Duration deadline;
+        private final Deque<Step> steps = new ArrayDeque<>();
+        private volatile InFlightRequest request;
+        private Overrun overrun;
+
+        private Watch(Thread thread, String test, Duration deadline) {
+            this.thread = thread;
+            this.test = test;
+            this.deadline = deadline;
+        }
+    }
+
+    private StepDeadlines() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,79 @@
+package aqa.api.utils.envelope;
+
+import io.restassured.path.json.JsonPath;
+import org.hamcrest.Description;
+import org.hamcrest.TypeSafeMatcher;
+
+import static aqa.api.utils.Constants.MESSAGE_PARAM;
+import static aqa.api.utils.Constants.RESULT_ERROR;
+import static aqa.api.utils.Constants.RESULT_OK;
+import static aqa.api.utils.Constants.RESULT_PARAM;
+
+/**
+ * Hamcrest-матчер тела ответа (строки) для стандартного конверта {@code {result, message}}.
+ * <p>
+ * Проверка выполняется быстрым разбором {@link ResultEnvelope}; полный разбор {@link JsonPath}
+ * используется только для описания несовпадения.
+ */
+public class EnvelopeMatcher extends TypeSafeMatcher<String> {
+
+    private final String expectedResult;
+    private final boolean expectMessage;
+
+    private EnvelopeMatcher(String expectedResult, boolean expectMessage) {
+        this.expectedResult = expectedResult;
+        this.expectMessage = expectMessage;
+    }
+
+    /**
+     * Успешный ответ: {@code result} равен "OK", {@code message} отсутствует или равен {@code null}.
+     *
+     * @return матчер тела успешного ответа
+     */
+    public static EnvelopeMatcher success() {
+        return new EnvelopeMatcher(RESULT_OK, false);
+    }
+
+    /**
+     * Ошибочный ответ: {@code result} равен "ERROR", {@code message} не пустой.
+     *
+     * @return матчер тела ошибочного ответа
+     */
+    public static EnvelopeMatcher error() {
+        return new EnvelopeMatcher(RESULT_ERROR, true);
+    }
+
+    @Override
+    protected boolean matchesSafely(String body) {
+        ResultEnvelope envelope;
+        try {
+            envelope = ResultEnvelope.parse(body);
+        } catch (RuntimeException e) {
+            return false;
+        }
+        if (!expectedResult.equals(envelope.result())) {
+            return false;
+        }
+        return expectMessage
+                ? envelope.message() != null && !envelope.message().isEmpty()
+                : envelope.message() == null;
+    }
+
+    @Override
+    public void describeTo(Description description) {
+        description.appendText("JSON с " + RESULT_PARAM + "=").appendValue(expectedResult)
+                .appendText(expectMessage ? " и непустым " + MESSAGE_PARAM : " и без " + MESSAGE_PARAM);
+    }
+
+    @Override
+    protected void describeMismatchSafely(String body, Description description) {
+        try {
+            JsonPath json = JsonPath.from(body);
+            description.appendText(RESULT_PARAM + "=").appendValue(json.getString(RESULT_PARAM))
+                    .appendText(", " + MESSAGE_PARAM + "=").appendValue(json.getString(MESSAGE_PARAM))
+                    .appendText(" в теле ").appendValue(body);
+        } catch (RuntimeException e) {
+            description.appendText("тело не является JSON: ").appendValue(body);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package aqa.api.utils.envelope;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import static aqa.api.utils.Constants.MESSAGE_PARAM;
+import static aqa.api.utils.Constants.RESULT_PARAM;
+
+/**
+ * Однопроходный разбор плоского JSON-объекта с извлечением полей {@code result} и {@code message}.
+ * <p>
+ * Поддерживаются строковые (включая escape-последовательности), логические значения и {@code null};
+ * при повторе ключа используется последнее значение. Для вложенных объектов, массивов, чисел
+ * и некорректного JSON возвращается {@code null}, и вызывающий код переходит к полному разбору.
+ */
+final class EnvelopeParser {
+
+    /**
+     * @param body тело ответа
+     * @return поля конверта или {@code null}, если быстрый разбор неприменим
+     */
+    static ResultEnvelope parse(String body) {
+        if (body == null) {
+            return null;
+        }
+        Cursor cursor = new Cursor(body);
+        cursor.skipWhitespace();
+        if (!cursor.consume('{')) {
+            return null;
+        }
+        String result = null;
+        String message = null;
+
+        cursor.skipWhitespace();
+        if (!cursor.consume('}')) {
+            while (true) {
+                cursor.skipWhitespace();
+                String key = cursor.readString();
+                cursor.skipWhitespace();
+                if (key == null || !cursor.consume(':')) {
+                    return null;
+                }
+                cursor.skipWhitespace();
+                Value value = cursor.readValue();
+                if (value == null) {
+                    return null;
+                }
+                if (RESULT_PARAM.equals(key)) {
+                    result = value.text;
+                } else if (MESSAGE_PARAM.equals(key)) {
+                    message = value.text;
+                }
+                cursor.skipWhitespace();
+                if (cursor.consume('}')) {
+                    break;
+                }
+                if (!cursor.consume(',')) {
+                    return null;
+                }
+            }
+        }
+        cursor.skipWhitespace();
+        return cursor.atEnd() ? new ResultEnvelope(result, message) : null;
+    }
+
+    /**
+     * Разобранное скалярное значение; {@code text} равен {@code null} для JSON {@code null}.
+     */
+    private record Value(String text) {
+        static final Value NULL = new Value(null);
+        static final Value TRUE = new Value("true");
+        static final Value FALSE = new Value("false");
+    }
+
+    private static final class Cursor {
+
+        private final String text;
+        private int position;
+
+        Cursor(String text) {
+            this.text = text;
+        }
+
+        boolean atEnd() {
+            return position == text.length();
+        }
+
+        void skipWhitespace() {
+            while (position < text.length()) {
+                char c = text.charAt(position);
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                    return;
+                }
+                position++;
+            }
+        }
+
+        boolean consume(char expected) {
+            if (position < text.length() && text.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        boolean consume(String literal) {
+            if (text.startsWith(literal, position)) {
+                position += literal.length();
+                return true;
+            }
+            return false;
+        }
+
+        Value readValue() {
+            if (position >= text.length()) {
+                return null;
+            }
+            char c = text.charAt(position);
+            if (c == '"') {
+                String value = readString();
+                return value == null ? null : new Value(value);
+            }
+            if (consume("null")) {
+                return Value.NULL;
+            }
+            if (consume("true")) {
+                return Value.TRUE;
+            }
+            if (consume("false")) {
+                return Value.FALSE;
+            }
+            return null;
+        }
+
+        /**
+         * Читает строку в кавычках; без escape-последовательностей возвращает подстроку без копирования буфера.
+         */
+        String readString() {
+            if (!consume('"')) {
+                return null;
+            }
+            int start = position;
+            while (position < text.length()) {
+                char c = text.charAt(position);
+                if (c == '"') {
+                    return text.substring(start, position++);
+                }
+                if (c == '\\') {
+                    return readEscapedString(start);
+                }
+                if (c < 0x20) {
+                    return null;
+                }
+                position++;
+            }
+            return null;
+        }
+
+        private String readEscapedString(int start) {
+            StringBuilder builder = new StringBuilder(position - start + 16).append(text, start, position);
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return builder.toString();
+                }
+                if (c < 0x20) {
+                    return null;
+                }
+                if (c != '\\') {
+                    builder.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    return null;
+                }
+                char escape = text.charAt(position++);
+                switch (escape) {
+                    case '"', '\\', '/' -> builder.append(escape);
+                    case 'b' -> builder.append('\b');
+                    case 'f' -> builder.append('\f');
+                    case 'n' -> builder.append('\n');
+                    case 'r' -> builder.append('\r');
+                    case 't' -> builder.append('\t');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) {
+                            return null;
+                        }
+                        try {
+                            builder.append((char) Integer.parseInt(text, position, position + 4, 16));
+                        } catch (NumberFormatException e) {
+                            return null;
+                        }
+                        position += 4;
+                    }
+                    default -> {
+                        return null;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private EnvelopeParser() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,48 @@
+package aqa.api.utils.envelope;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+
+import static aqa.api.utils.Constants.MESSAGE_PARAM;
+import static aqa.api.utils.Constants.RESULT_PARAM;
+
+/**
+ * Стандартный конверт ответа сервиса: поля {@code result} и {@code message}.
+ * <p>
+ * Поля извлекаются однопроходным разбором ({@link EnvelopeParser}) без построения дерева объектов.
+ * Если тело не является плоским JSON-объектом со строковыми, логическими или {@code null}-значениями,
+ * используется полный разбор {@link JsonPath} с той же семантикой, что и {@code jsonPath().getString(...)}:
+ * отсутствующее поле и {@code null} дают {@code null}, некорректный JSON приводит к исключению.
+ *
+ * @param result  значение поля {@code result}
+ * @param message значение поля {@code message}
+ */
+public record ResultEnvelope(String result, String message) {
+
+    /**
+     * Извлекает конверт из тела ответа.
+     *
+     * @param body тело ответа
+     * @return поля конверта
+     * @throws RuntimeException если тело не является корректным JSON (исключение {@link JsonPath})
+     */
+    public static ResultEnvelope parse(String body) {
+        ResultEnvelope envelope = EnvelopeParser.parse(body);
+        if (envelope != null) {
+            return envelope;
+        }
+        JsonPath json = JsonPath.from(body);
+        return new ResultEnvelope(json.getString(RESULT_PARAM), json.getString(MESSAGE_PARAM));
+    }
+
+    /**
+     * Извлекает конверт из ответа RestAssured.
+     *
+     * @param response ответ сервиса
+     * @return поля конверта
+     * @throws RuntimeException если тело не является корректным JSON
+     */
+    public static ResultEnvelope from(Response response) {
+        return parse(response.asString());
+    }
+}
@@ -0,0 +1,13 @@
+package aqa.api.utils.flaky;
+
+/**
+ * Классификация теста по истории прогонов ({@link FlakinessHistory}).
+ */
+public enum Classification {
+    /** Нестабильность не наблюдалась или ниже порога {@code flaky.threshold}. */
+    STABLE,
+    /** Доля прогонов с нестабильным итогом не ниже порога: кандидат в карантин. */
+    FLAKY,
+    /** Последний прогон завершился детерминированным отказом. */
+    BROKEN
+}
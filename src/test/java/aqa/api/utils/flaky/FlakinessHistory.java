@@ -0,0 +1,290 @@
+package aqa.api.utils.flaky;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static aqa.api.utils.Constants.QUARANTINE;
+
+/**
+ * Утилитный класс, ведущий историю исходов тестов между прогонами и оценивающий их нестабильность.
+ * <p>
+ * Каждое выполнение теста, включая повторные запуски surefire ({@code rerunFailingTestsCount}),
+ * дописывается строкой в {@code flaky.history} ({@code .flaky/history.tsv}) с идентификатором
+ * прогона {@code flaky.runId} (время запуска Maven, общее для всех форков). По попыткам одного
+ * прогона тест получает итог {@link RunVerdict}: провал, после которого повторный запуск прошел,
+ * означает нестабильность, провал всех попыток — детерминированный отказ.
+ * <p>
+ * Оценка нестабильности — доля прогонов с итогом {@link RunVerdict#FLAKY} среди последних
+ * {@code flaky.window} (20) прогонов теста. Тесты с оценкой по предыдущим прогонам не ниже
+ * {@code flaky.threshold} (0.1) попадают в карантин автоматически ({@link QuarantineCondition}):
+ * основной прогон их пропускает, профиль {@code -Pquarantine} выполняет только их. Успешные прогоны
+ * карантина снижают оценку, и тест возвращается в основной прогон без правки кода. Тег {@code quarantine}
+ * оставлен для ручного карантина; тесты с тегом без провалов за полное окно предлагаются к снятию тега.
+ * <p>
+ * Отчет по истории: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=aqa.api.utils.flaky.FlakinessHistory}
+ */
+public class FlakinessHistory {
+
+    private static final Path HISTORY = Path.of(System.getProperty("flaky.history", ".flaky/history.tsv"));
+    private static final String RUN_ID = System.getProperty("flaky.runId",
+            Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime()).toString());
+    private static final int WINDOW = Integer.getInteger("flaky.window", 20);
+    private static final double THRESHOLD = Double.parseDouble(System.getProperty("flaky.threshold", "0.1"));
+
+    private static volatile Map<String, TestFlakiness> quarantine;
+
+    /**
+     * Выполнение теста, сохраненное в истории.
+     *
+     * @param time   момент завершения
+     * @param runId  идентификатор прогона
+     * @param passed признак успеха
+     * @param testId уникальный идентификатор теста JUnit
+     * @param name   отображаемое имя теста
+     * @param tags   теги теста
+     */
+    public record Execution(Instant time, String runId, boolean passed, String testId, String name,
+                            Set<String> tags) {
+    }
+
+    /**
+     * Выводит отчет по истории прогонов.
+     *
+     * @param args не используются
+     */
+    public static void main(String[] args) {
+        System.out.println(report(analyze(read())));
+    }
+
+    /**
+     * Дописывает выполнение теста текущего прогона в историю.
+     *
+     * @param testId уникальный идентификатор теста JUnit
+     * @param name   отображаемое имя теста
+     * @param tags   теги теста
+     * @param passed признак успеха
+     */
+    public static synchronized void record(String testId, String name, Set<String> tags, boolean passed) {
+        String line = String.join("\t", Instant.now().toString(), RUN_ID, passed ? "passed" : "failed",
+                clean(testId), clean(name), String.join(",", tags));
+        try {
+            Files.createDirectories(HISTORY.toAbsolutePath().getParent());
+            Files.writeString(HISTORY, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            // история недоступна: тест и отчет о нем от этого не зависят
+        }
+    }
+
+    /**
+     * Читает историю выполнений.
+     *
+     * @return выполнения в порядке записи (пустой список, если истории нет)
+     */
+    public static List<Execution> read() {
+        List<String> lines;
+        try {
+            lines = Files.exists(HISTORY) ? Files.readAllLines(HISTORY, StandardCharsets.UTF_8) : List.of();
+        } catch (IOException e) {
+            return List.of();
+        }
+        List<Execution> executions = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length < 6) {
+                continue;
+            }
+            Set<String> tags = fields[5].isEmpty() ? Set.of()
+                    : new TreeSet<>(Arrays.asList(fields[5].split(",")));
+            executions.add(new Execution(Instant.parse(fields[0]), fields[1], fields[2].equals("passed"),
+                    fields[3], fields[4], tags));
+        }
+        return executions;
+    }
+
+    /**
+     * Оценивает нестабильность тестов по истории выполнений.
+     *
+     * @param executions выполнения в порядке записи
+     * @return оценки тестов, наиболее нестабильные первыми
+     */
+    public static List<TestFlakiness> analyze(List<Execution> executions) {
+        Map<String, Map<String, List<Execution>>> byTest = new LinkedHashMap<>();
+        for (Execution execution : executions) {
+            byTest.computeIfAbsent(execution.testId(), id -> new LinkedHashMap<>())
+                    .computeIfAbsent(execution.runId(), run -> new ArrayList<>())
+                    .add(execution);
+        }
+        return byTest.values().stream()
+                .map(FlakinessHistory::assess)
+                .sorted(Comparator.comparingDouble(TestFlakiness::score).reversed()
+                        .thenComparing(TestFlakiness::failedRuns, Comparator.reverseOrder())
+                        .thenComparing(TestFlakiness::name))
+                .toList();
+    }
+
+    /**
+     * Оценивает нестабильность одного теста с учетом выполнений текущего прогона.
+     *
+     * @param testId уникальный идентификатор теста JUnit
+     * @return оценка или {@code null}, если тест в истории не встречается
+     */
+    public static TestFlakiness of(String testId) {
+        List<Execution> executions = read().stream().filter(execution -> execution.testId().equals(testId)).toList();
+        return executions.isEmpty() ? null : analyze(executions).get(0);
+    }
+
+    /**
+     * Возвращает тесты в карантине: тесты, нестабильные в окне прогонов до текущего
+     * с оценкой не ниже {@code flaky.threshold}. Вычисляется один раз за JVM, поэтому
+     * исходы текущего прогона не переводят тест в карантин посреди прогона.
+     *
+     * @return оценки тестов в карантине по уникальному идентификатору теста
+     */
+    public static Map<String, TestFlakiness> quarantine() {
+        Map<String, TestFlakiness> current = quarantine;
+        if (current == null) {
+            synchronized (FlakinessHistory.class) {
+                current = quarantine;
+                if (current == null) {
+                    current = new LinkedHashMap<>();
+                    List<Execution> previous = read().stream()
+                            .filter(execution -> !execution.runId().equals(RUN_ID))
+                            .toList();
+                    for (TestFlakiness test : analyze(previous)) {
+                        if (isQuarantined(test)) {
+                            current.put(test.testId(), test);
+                        }
+                    }
+                    quarantine = current = Map.copyOf(current);
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Формирует текстовый отчет: нестабильные тесты, детерминированные отказы и рекомендации по карантину.
+     *
+     * @param tests оценки тестов
+     * @return отчет
+     */
+    public static String report(List<TestFlakiness> tests) {
+        String flaky = tests.stream()
+                .filter(test -> test.classification() == Classification.FLAKY)
+                .map(FlakinessHistory::describe)
+                .collect(Collectors.joining("\n"));
+        String broken = tests.stream()
+                .filter(test -> test.classification() == Classification.BROKEN)
+                .map(FlakinessHistory::describe)
+                .collect(Collectors.joining("\n"));
+        String quarantined = tests.stream()
+                .filter(FlakinessHistory::isQuarantined)
+                .map(test -> "• " + test.name() + " — " + test.testId())
+                .collect(Collectors.joining("\n"));
+        String toRelease = tests.stream()
+                .filter(test -> test.tags().contains(QUARANTINE) && test.runs() >= WINDOW
+                        && test.flakyRuns() == 0 && test.failedRuns() == 0)
+                .map(test -> "• " + test.name() + " — " + test.testId())
+                .collect(Collectors.joining("\n"));
+
+        return String.format("""
+                        НЕСТАБИЛЬНОСТЬ ТЕСТОВ (окно %d прогонов, порог %.2f, история %s):
+                        • Тестов в истории: %d
+
+                        НЕСТАБИЛЬНЫЕ (повторный запуск проходил):
+                        %s
+
+                        ДЕТЕРМИНИРОВАННЫЕ ОТКАЗЫ В ПОСЛЕДНЕМ ПРОГОНЕ:
+                        %s
+
+                        В КАРАНТИНЕ СО СЛЕДУЮЩЕГО ПРОГОНА (оценка не ниже порога):
+                        %s
+
+                        МОЖНО СНЯТЬ ТЕГ QUARANTINE:
+                        %s
+                        """,
+                WINDOW, THRESHOLD, HISTORY.toAbsolutePath(), tests.size(),
+                flaky.isEmpty() ? "• Нет" : flaky,
+                broken.isEmpty() ? "• Нет" : broken,
+                quarantined.isEmpty() ? "• Нет" : quarantined,
+                toRelease.isEmpty() ? "• Нет" : toRelease);
+    }
+
+    /**
+     * Возвращает однострочное описание оценки теста.
+     *
+     * @param test оценка теста
+     * @return описание
+     */
+    public static String describe(TestFlakiness test) {
+        return String.format(Locale.ROOT, "• %s: оценка %.2f, нестабильных прогонов %d, отказов %d из %d, "
+                        + "последний прогон %s",
+                test.name(), test.score(), test.flakyRuns(), test.failedRuns(), test.runs(),
+                test.lastRun().name().toLowerCase(Locale.ROOT));
+    }
+
+    private static TestFlakiness assess(Map<String, List<Execution>> runs) {
+        List<List<Execution>> all = new ArrayList<>(runs.values());
+        List<List<Execution>> recent = all.subList(Math.max(0, all.size() - WINDOW), all.size());
+
+        int flakyRuns = 0;
+        int failedRuns = 0;
+        RunVerdict lastRun = RunVerdict.PASSED;
+        for (List<Execution> attempts : recent) {
+            lastRun = verdict(attempts);
+            if (lastRun == RunVerdict.FLAKY) {
+                flakyRuns++;
+            } else if (lastRun == RunVerdict.FAILED) {
+                failedRuns++;
+            }
+        }
+        double score = (double) flakyRuns / recent.size();
+        Classification classification = lastRun == RunVerdict.FAILED ? Classification.BROKEN
+                : flakyRuns > 0 && score >= THRESHOLD ? Classification.FLAKY
+                : Classification.STABLE;
+
+        List<Execution> latest = recent.get(recent.size() - 1);
+        Execution last = latest.get(latest.size() - 1);
+        Set<String> tags = new LinkedHashSet<>(last.tags());
+        return new TestFlakiness(last.testId(), last.name(), tags, recent.size(), flakyRuns, failedRuns,
+                score, lastRun, classification);
+    }
+
+    private static boolean isQuarantined(TestFlakiness test) {
+        return test.flakyRuns() > 0 && test.score() >= THRESHOLD;
+    }
+
+    private static RunVerdict verdict(List<Execution> attempts) {
+        boolean passed = attempts.stream().anyMatch(Execution::passed);
+        boolean failed = attempts.stream().anyMatch(execution -> !execution.passed());
+        return passed && failed ? RunVerdict.FLAKY : failed ? RunVerdict.FAILED : RunVerdict.PASSED;
+    }
+
+    private static String clean(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private FlakinessHistory() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,34 @@
+package aqa.api.utils.flaky;
+
+import aqa.api.utils.AllureReporter;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+
+/**
+ * Расширение JUnit, записывающее исход каждого выполнения теста в {@link FlakinessHistory}.
+ * <p>
+ * К проваленному тесту прикладывается его история: по ней видно, является ли провал известной
+ * нестабильностью или новым отказом. Прерванные предположениями тесты не учитываются.
+ */
+public class FlakinessWatcher implements TestWatcher {
+
+    @Override
+    public void testSuccessful(ExtensionContext context) {
+        FlakinessHistory.record(context.getUniqueId(), context.getDisplayName(), context.getTags(), true);
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        FlakinessHistory.record(context.getUniqueId(), context.getDisplayName(), context.getTags(), false);
+        TestFlakiness flakiness = FlakinessHistory.of(context.getUniqueId());
+        if (flakiness != null) {
+            AllureReporter.addTestData("Нестабильность теста", String.format("""
+                            %s
+                            Классификация: %s
+                            Если повторный запуск (rerunFailingTestsCount) пройдет, прогон будет засчитан
+                            как нестабильный; провал всех попыток — детерминированный отказ.
+                            """,
+                    FlakinessHistory.describe(flakiness), flakiness.classification()));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package aqa.api.utils.flaky;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Locale;
+
+import static aqa.api.utils.Constants.QUARANTINE;
+
+/**
+ * Условие выполнения JUnit, разделяющее основной прогон и карантин по истории нестабильности.
+ * <p>
+ * Тест в карантине, если его оценка по предыдущим прогонам не ниже порога
+ * ({@link FlakinessHistory#quarantine()}) или он отмечен тегом {@code quarantine}.
+ * Прогон задается свойством {@code flaky.lane}:
+ * <ul>
+ *   <li>{@code main} (по умолчанию) — тесты карантина пропускаются с указанием оценки;</li>
+ *   <li>{@code quarantine} ({@code -Pquarantine}) — выполняются только тесты карантина,
+ *   их исходы записываются в историю и со временем снижают оценку;</li>
+ *   <li>{@code all} — карантин не применяется.</li>
+ * </ul>
+ * Тесты с тегом {@code quarantine} основной прогон исключает еще при отборе surefire.
+ */
+public class QuarantineCondition implements ExecutionCondition {
+
+    private static final String LANE = System.getProperty("flaky.lane", "main").toLowerCase(Locale.ROOT);
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (context.getTestMethod().isEmpty() || LANE.equals("all")) {
+            return ConditionEvaluationResult.enabled("Карантин не применяется");
+        }
+        String testId = context.getUniqueId();
+        boolean tagged = context.getTags().contains(QUARANTINE);
+
+        if (LANE.equals("quarantine")) {
+            // шаблон параметризованного теста выполняется, если в карантине хотя бы один его вызов
+            boolean scored = FlakinessHistory.quarantine().keySet().stream()
+                    .anyMatch(id -> id.equals(testId) || id.startsWith(testId + "/"));
+            return tagged || scored
+                    ? ConditionEvaluationResult.enabled("Тест в карантине")
+                    : ConditionEvaluationResult.disabled("Тест не в карантине");
+        }
+
+        TestFlakiness flakiness = FlakinessHistory.quarantine().get(testId);
+        return flakiness == null
+                ? ConditionEvaluationResult.enabled("Тест не в карантине")
+                : ConditionEvaluationResult.disabled("В карантине по истории нестабильности ("
+                + FlakinessHistory.describe(flakiness) + "), выполняется в -Pquarantine");
+    }
+}
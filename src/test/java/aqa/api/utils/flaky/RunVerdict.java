@@ -0,0 +1,13 @@
+package aqa.api.utils.flaky;
+
+/**
+ * Итог теста в одном прогоне с учетом повторных запусков surefire ({@code rerunFailingTestsCount}).
+ */
+public enum RunVerdict {
+    /** Все попытки успешны. */
+    PASSED,
+    /** Есть и провал, и успех: повторный запуск прошел. */
+    FLAKY,
+    /** Все попытки провалены: отказ детерминирован. */
+    FAILED
+}
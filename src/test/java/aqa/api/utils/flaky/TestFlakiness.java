@@ -0,0 +1,20 @@
+package aqa.api.utils.flaky;
+
+import java.util.Set;
+
+/**
+ * Нестабильность теста за последние прогоны.
+ *
+ * @param testId         уникальный идентификатор теста JUnit
+ * @param name           отображаемое имя теста
+ * @param tags           теги теста в последнем прогоне
+ * @param runs           количество учтенных прогонов (не больше окна {@code flaky.window})
+ * @param flakyRuns      прогонов с итогом {@link RunVerdict#FLAKY}
+ * @param failedRuns     прогонов с итогом {@link RunVerdict#FAILED}
+ * @param score          оценка нестабильности: доля прогонов с итогом {@link RunVerdict#FLAKY}
+ * @param lastRun        итог последнего прогона
+ * @param classification классификация теста
+ */
+public record TestFlakiness(String testId, String name, Set<String> tags, int runs, int flakyRuns, int failedRuns,
+                            double score, RunVerdict lastRun, Classification classification) {
+}
@@ -0,0 +1,19 @@
+package aqa.api.utils.fuzz;
+
+/**
+ * Найденный контрпример к контракту формы вместе с его минимизированной версией.
+ *
+ * @param caseIndex       номер запроса в прогоне (вместе с seed позволяет воспроизвести запрос)
+ * @param original        исходный сгенерированный запрос
+ * @param violation       нарушение исходного запроса
+ * @param shrunk          минимальный найденный запрос с нарушением той же категории
+ * @param shrunkViolation нарушение минимального запроса
+ * @param shrinkRequests  количество запросов, затраченных на сжатие
+ */
+public record Counterexample(long caseIndex,
+                             FormCase original,
+                             Violation violation,
+                             FormCase shrunk,
+                             Violation shrunkViolation,
+                             int shrinkRequests) {
+}
@@ -0,0 +1,167 @@
+package aqa.api.utils.fuzz;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Один сгенерированный запрос к эндпоинту для проверки контракта формы.
+ *
+ * @param token          значение параметра "token" до кодирования ({@code null} — параметр отсутствует)
+ * @param action         значение параметра "action" до кодирования ({@code null} — параметр отсутствует)
+ * @param apiKeys        значения заголовка "X-Api-Key"; каждое передается отдельным заголовком
+ * @param duplicateToken значение второго параметра "token" или {@code null}, если дубликата нет
+ * @param encoding       способ кодирования значений параметров
+ */
+public record FormCase(String token,
+                       String action,
+                       List<String> apiKeys,
+                       String duplicateToken,
+                       FormEncoding encoding) {
+
+    private static final int MAX_CHUNK_CANDIDATES = 16;
+    private static final int MAX_CHAR_CANDIDATES = 8;
+
+    public FormCase {
+        apiKeys = List.copyOf(apiKeys);
+    }
+
+    /**
+     * Формирует тело запроса в формате application/x-www-form-urlencoded.
+     *
+     * @return закодированное тело запроса
+     */
+    public String toFormBody() {
+        StringBuilder body = new StringBuilder();
+        appendParam(body, TOKEN_PARAM, token);
+        appendParam(body, TOKEN_PARAM, duplicateToken);
+        appendParam(body, ACTION_PARAM, action);
+        return body.toString();
+    }
+
+    /**
+     * Возвращает условный размер запроса; сжатие считается успешным, только если размер уменьшается.
+     *
+     * @return сумма длин значений и количества дополнительных элементов
+     */
+    public int size() {
+        return length(token) + length(action) + length(duplicateToken)
+                + apiKeys.size() + (duplicateToken != null ? 1 : 0) + encoding.ordinal();
+    }
+
+    /**
+     * Возвращает кандидатов на упрощение, упорядоченных от самых сильных упрощений к слабым.
+     * Каждый кандидат строго меньше текущего запроса по {@link #size()}.
+     *
+     * @return список упрощенных вариантов запроса
+     */
+    public List<FormCase> shrinkCandidates() {
+        Set<FormCase> candidates = new LinkedHashSet<>();
+
+        if (duplicateToken != null) {
+            candidates.add(new FormCase(token, action, apiKeys, null, encoding));
+        }
+        if (encoding != FormEncoding.PLAIN) {
+            candidates.add(new FormCase(token, action, apiKeys, duplicateToken, FormEncoding.PLAIN));
+        }
+        if (apiKeys.size() > 1) {
+            for (String apiKey : apiKeys) {
+                candidates.add(new FormCase(token, action, List.of(apiKey), duplicateToken, encoding));
+            }
+        }
+        for (String shrunk : shrinkString(token)) {
+            candidates.add(new FormCase(shrunk, action, apiKeys, duplicateToken, encoding));
+        }
+        for (String shrunk : shrinkString(action)) {
+            candidates.add(new FormCase(token, shrunk, apiKeys, duplicateToken, encoding));
+        }
+        for (String shrunk : shrinkString(duplicateToken)) {
+            candidates.add(new FormCase(token, action, apiKeys, shrunk, encoding));
+        }
+        for (String simplified : simplifyChars(token)) {
+            candidates.add(new FormCase(simplified, action, apiKeys, duplicateToken, encoding));
+        }
+
+        int size = size();
+        List<FormCase> smaller = new ArrayList<>();
+        for (FormCase candidate : candidates) {
+            if (candidate.size() < size || candidate.simplerThan(this)) {
+                smaller.add(candidate);
+            }
+        }
+        return smaller;
+    }
+
+    /**
+     * Возвращает краткое описание запроса для отчета.
+     *
+     * @return строка с параметрами, заголовками и закодированным телом
+     */
+    public String describe() {
+        return String.format("token=%s action=%s apiKeys=%s duplicateToken=%s encoding=%s body=%s",
+                quote(token), quote(action), apiKeys, quote(duplicateToken), encoding, toFormBody());
+    }
+
+    /**
+     * Замена символов на 'A' не меняет длину, поэтому такой кандидат считается более простым,
+     * если содержит больше символов 'A' при той же длине.
+     */
+    private boolean simplerThan(FormCase other) {
+        return size() == other.size() && countSimpleChars(token) > countSimpleChars(other.token);
+    }
+
+    private void appendParam(StringBuilder body, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        if (!body.isEmpty()) {
+            body.append('&');
+        }
+        body.append(name).append('=').append(encoding.encode(value));
+    }
+
+    private static List<String> shrinkString(String value) {
+        List<String> shrunk = new ArrayList<>();
+        if (value == null || value.isEmpty()) {
+            return shrunk;
+        }
+
+        shrunk.add("");
+        int length = value.length();
+        for (int chunk = length / 2; chunk >= 1 && shrunk.size() < MAX_CHUNK_CANDIDATES; chunk /= 2) {
+            for (int start = 0; start + chunk <= length && shrunk.size() < MAX_CHUNK_CANDIDATES; start += chunk) {
+                shrunk.add(value.substring(0, start) + value.substring(start + chunk));
+            }
+        }
+        return shrunk;
+    }
+
+    private static List<String> simplifyChars(String value) {
+        List<String> simplified = new ArrayList<>();
+        if (value == null) {
+            return simplified;
+        }
+        for (int i = 0; i < value.length() && simplified.size() < MAX_CHAR_CANDIDATES; i++) {
+            char c = value.charAt(i);
+            if (c != 'A' && !Character.isSurrogate(c)) {
+                simplified.add(value.substring(0, i) + 'A' + value.substring(i + 1));
+            }
+        }
+        return simplified;
+    }
+
+    private static int countSimpleChars(String value) {
+        return value == null ? 0 : (int) value.chars().filter(c -> c == 'A').count();
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static String quote(String value) {
+        return value == null ? "null" : "\"" + value + "\"";
+    }
+}
@@ -0,0 +1,140 @@
+package aqa.api.utils.fuzz;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Генератор запросов для проверки контракта формы эндпоинта.
+ * <p>
+ * Распределение смещено к граничным значениям правила {@code ^[0-9A-F]{32}$}:
+ * токены с одной заменой символа, длиной 31 и 33, строчными буквами, юникодными
+ * двойниками цифр и букв, литеральными последовательностями {@code %XX} и пробелами по краям.
+ * Генерация детерминирована: один и тот же seed дает один и тот же запрос.
+ */
+public class FormCaseGenerator {
+
+    private static final String HEX = "0123456789ABCDEF";
+    private static final String[] VALID_ACTIONS = {ACTION_LOGIN, ACTION_ACTION, ACTION_LOGOUT};
+
+    /**
+     * Символы, визуально или семантически близкие к допустимым: строчные hex-буквы,
+     * буквы за пределами A-F, полноширинные и кириллические двойники, арабские цифры,
+     * математические цифры вне BMP, служебные символы формы и управляющие символы.
+     */
+    private static final String[] CONFUSABLES = {
+            "a", "f", "G", "Z", "O", "I", " ", "\t", "+", "&", "=", "%", "#", "\u0000",
+            "Ａ", "０", "А", "В", "١", "Ä", "\u200B",
+            "𝟘", "😀"
+    };
+
+    private static final List<List<String>> API_KEY_VARIANTS = List.of(
+            List.of(INVALID_API_KEY),
+            List.of(),
+            List.of(VALID_API_KEY.toLowerCase()),
+            List.of(VALID_API_KEY.toUpperCase()),
+            List.of(VALID_API_KEY + "x"),
+            List.of(VALID_API_KEY, VALID_API_KEY),
+            List.of(VALID_API_KEY, INVALID_API_KEY),
+            List.of(INVALID_API_KEY, VALID_API_KEY)
+    );
+
+    /**
+     * Генерирует запрос, однозначно определяемый переданным генератором случайных чисел.
+     *
+     * @param random источник случайности
+     * @return сгенерированный запрос
+     */
+    public static FormCase next(SplittableRandom random) {
+        String token = nextToken(random);
+        String action = nextAction(random);
+        List<String> apiKeys = random.nextInt(100) < 75
+                ? List.of(VALID_API_KEY)
+                : API_KEY_VARIANTS.get(random.nextInt(API_KEY_VARIANTS.size()));
+        String duplicateToken = random.nextInt(100) < 5 ? nextToken(random) : null;
+        FormEncoding encoding = random.nextInt(100) < 20 ? FormEncoding.PERCENT_ALL : FormEncoding.PLAIN;
+        return new FormCase(token, action, apiKeys, duplicateToken, encoding);
+    }
+
+    private static String nextToken(SplittableRandom random) {
+        int category = random.nextInt(100);
+        if (category < 10) {
+            return hex(random, TOKEN_LENGTH);
+        }
+        if (category < 35) {
+            return replaceAt(random, hex(random, TOKEN_LENGTH), CONFUSABLES[random.nextInt(CONFUSABLES.length)]);
+        }
+        if (category < 45) {
+            return hex(random, random.nextBoolean() ? TOKEN_LENGTH - 1 : TOKEN_LENGTH + 1);
+        }
+        if (category < 55) {
+            return hex(random, random.nextInt(TOKEN_LENGTH + 2, 4096));
+        }
+        if (category < 65) {
+            return hex(random, TOKEN_LENGTH).toLowerCase();
+        }
+        if (category < 70) {
+            return random.nextBoolean() ? " " + hex(random, TOKEN_LENGTH) : hex(random, TOKEN_LENGTH) + "\t";
+        }
+        if (category < 75) {
+            return replaceAt(random, hex(random, TOKEN_LENGTH - 2), "%4" + HEX.charAt(random.nextInt(1, 7)));
+        }
+        if (category < 90) {
+            return unicode(random, random.nextInt(0, 64));
+        }
+        return random.nextBoolean() ? "" : null;
+    }
+
+    private static String nextAction(SplittableRandom random) {
+        int category = random.nextInt(100);
+        if (category < 70) {
+            return VALID_ACTIONS[random.nextInt(VALID_ACTIONS.length)];
+        }
+        String base = VALID_ACTIONS[random.nextInt(VALID_ACTIONS.length)];
+        return switch (category % 6) {
+            case 0 -> base.toLowerCase();
+            case 1 -> " " + base;
+            case 2 -> base + "\u0000";
+            case 3 -> "";
+            case 4 -> null;
+            default -> unicode(random, random.nextInt(1, 16));
+        };
+    }
+
+    private static String hex(SplittableRandom random, int length) {
+        StringBuilder token = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            token.append(HEX.charAt(random.nextInt(HEX.length())));
+        }
+        return token.toString();
+    }
+
+    private static String replaceAt(SplittableRandom random, String value, String replacement) {
+        int position = random.nextInt(value.length());
+        return value.substring(0, position) + replacement + value.substring(position + 1);
+    }
+
+    /**
+     * Генерирует строку из произвольных кодовых точек, включая символы вне BMP.
+     * Суррогатные кодовые точки пропускаются, чтобы строка оставалась корректной в UTF-8.
+     */
+    private static String unicode(SplittableRandom random, int length) {
+        StringBuilder value = new StringBuilder();
+        while (value.codePointCount(0, value.length()) < length) {
+            int codePoint = random.nextBoolean()
+                    ? random.nextInt(0x20, 0x7F)
+                    : random.nextInt(0x80, 0x1FFFF);
+            if (!Character.isSurrogate((char) codePoint) || codePoint > 0xFFFF) {
+                value.appendCodePoint(codePoint);
+            }
+        }
+        return value.toString();
+    }
+
+    private FormCaseGenerator() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,105 @@
+package aqa.api.utils.fuzz;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.envelope.ResultEnvelope;
+import aqa.api.utils.http.EndpointResponse;
+import aqa.api.utils.model.ExpectedOutcome;
+import aqa.api.utils.model.SutModel;
+import aqa.api.utils.model.TokenState;
+
+import java.util.Objects;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Инварианты контракта формы эндпоинта, проверяемые для каждого сгенерированного запроса.
+ * <ul>
+ *   <li>любой ответ — JSON с полем result, равным OK или ERROR;</li>
+ *   <li>запрос с отсутствующим или неверным API-ключом получает 401;</li>
+ *   <li>запрос с валидным ключом и невалидным токеном или action получает 400
+ *       с сообщением, предсказанным {@link SutModel};</li>
+ *   <li>запрос, прошедший валидацию, не получает 400 или 401.</li>
+ * </ul>
+ * Для неоднозначных запросов (несколько заголовков X-Api-Key, валидный дубликат токена)
+ * проверяется только формат ответа: контракт не фиксирует, какое из значений используется.
+ */
+public class FormContract {
+
+    /**
+     * Проверяет ответ сервиса на соответствие инвариантам.
+     *
+     * @param formCase отправленный запрос
+     * @param response полученный ответ
+     * @return найденное нарушение или {@code null}, если ответ соответствует контракту
+     */
+    public static Violation check(FormCase formCase, EndpointResponse response) {
+        String result;
+        String message;
+        try {
+            ResultEnvelope envelope = ResultEnvelope.parse(response.body());
+            result = envelope.result();
+            message = envelope.message();
+        } catch (RuntimeException e) {
+            return new Violation(Violation.Kind.ENVELOPE,
+                    String.format("ответ %d не является JSON: %s", response.statusCode(), abbreviate(response.body())));
+        }
+        if (!RESULT_OK.equals(result) && !RESULT_ERROR.equals(result)) {
+            return new Violation(Violation.Kind.ENVELOPE,
+                    String.format("ответ %d содержит result=%s", response.statusCode(), result));
+        }
+
+        if (formCase.apiKeys().size() > 1) {
+            return null;
+        }
+        String apiKey = formCase.apiKeys().isEmpty() ? null : formCase.apiKeys().get(0);
+        boolean validAction = SutModel.isValidAction(formCase.action());
+
+        if (SutModel.isValidApiKey(apiKey)) {
+            boolean ambiguousToken = formCase.duplicateToken() != null
+                    && (SutModel.isValidToken(formCase.token()) || SutModel.isValidToken(formCase.duplicateToken()));
+            if (ambiguousToken) {
+                return validAction
+                        ? notValidationError(response.statusCode(), message)
+                        : expect(ExpectedOutcome.error(HTTP_BAD_REQUEST, null), response.statusCode(), result, message);
+            }
+            if (SutModel.isValidToken(formCase.token()) && validAction) {
+                return notValidationError(response.statusCode(), message);
+            }
+        }
+
+        ExpectedOutcome expected = SutModel.apply(TokenState.ABSENT, formCase.action(), apiKey,
+                formCase.token(), HTTP_OK, HTTP_OK).outcome();
+        return expect(expected, response.statusCode(), result, message);
+    }
+
+    private static Violation expect(ExpectedOutcome expected, int status, String result, String message) {
+        if (status != expected.statusCode() || !Objects.equals(expected.result(), result)) {
+            return new Violation(Violation.Kind.STATUS,
+                    String.format("ожидалось %s, получено %d %s \"%s\"", expected, status, result, message));
+        }
+        if (!expected.matches(status, result, message)) {
+            return new Violation(Violation.Kind.MESSAGE,
+                    String.format("ожидалось %s, получено сообщение \"%s\"", expected, message));
+        }
+        return null;
+    }
+
+    private static Violation notValidationError(int status, String message) {
+        if (status == HTTP_BAD_REQUEST || status == HTTP_UNAUTHORIZED) {
+            return new Violation(Violation.Kind.STATUS,
+                    String.format("валидный запрос отклонен: %d \"%s\"", status, message));
+        }
+        return null;
+    }
+
+    private static String abbreviate(String body) {
+        if (body == null) {
+            return "null";
+        }
+        return body.length() > 200 ? body.substring(0, 200) + "…" : body;
+    }
+
+    private FormContract() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,133 @@
+package aqa.api.utils.fuzz;
+
+import aqa.api.utils.ParallelRunner;
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.http.EndpointResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Исполнитель property-based проверки контракта формы эндпоинта.
+ * <p>
+ * Запросы генерируются {@link FormCaseGenerator} и отправляются параллельно через
+ * {@link EndpointClient}. Для каждой категории нарушения сохраняется первый контрпример,
+ * который затем жадно сжимается до минимального запроса с нарушением той же категории.
+ * Запрос с номером {@code i} всегда генерируется из seed {@code seed + i * GOLDEN_GAMMA},
+ * поэтому любой контрпример воспроизводится по паре (seed, номер).
+ */
+public class FormContractFuzzer {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int MAX_SHRINK_REQUESTS = 500;
+
+    private final EndpointClient client;
+    private final int threads;
+
+    /**
+     * @param client  клиент для отправки запросов
+     * @param threads количество параллельных потоков отправки
+     */
+    public FormContractFuzzer(EndpointClient client, int threads) {
+        this.client = client;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Воспроизводит запрос по seed прогона и номеру запроса.
+     *
+     * @param seed      начальное значение генератора прогона
+     * @param caseIndex номер запроса
+     * @return сгенерированный запрос
+     */
+    public static FormCase generate(long seed, long caseIndex) {
+        return FormCaseGenerator.next(new SplittableRandom(seed + caseIndex * GOLDEN_GAMMA));
+    }
+
+    /**
+     * Выполняет прогон и сжимает найденные контрпримеры.
+     *
+     * @param cases количество запросов
+     * @param seed  начальное значение генератора
+     * @return итог прогона
+     * @throws IllegalStateException если поток отправки завершился непредвиденным исключением
+     *                               или ожидание потоков прервано
+     */
+    public FuzzReport run(long cases, long seed) {
+        AtomicLong nextIndex = new AtomicLong();
+        AtomicLong violations = new AtomicLong();
+        Map<Violation.Kind, Found> firstByKind = new EnumMap<>(Violation.Kind.class);
+
+        long started = System.nanoTime();
+        AtomicLong executed = new AtomicLong();
+        ParallelRunner.runAll(IntStream.range(0, threads).boxed().toList(), threads, worker -> {
+            for (long index = nextIndex.getAndIncrement(); index < cases; index = nextIndex.getAndIncrement()) {
+                FormCase formCase = generate(seed, index);
+                Violation violation = execute(formCase);
+                executed.incrementAndGet();
+                if (violation != null) {
+                    violations.incrementAndGet();
+                    synchronized (firstByKind) {
+                        firstByKind.putIfAbsent(violation.kind(), new Found(index, formCase, violation));
+                    }
+                }
+            }
+            return null;
+        });
+        long elapsed = System.nanoTime() - started;
+
+        List<Counterexample> counterexamples = new ArrayList<>();
+        for (Found found : firstByKind.values()) {
+            counterexamples.add(shrink(found));
+        }
+        return new FuzzReport(seed, executed.get(), violations.get(), elapsed, counterexamples);
+    }
+
+    /**
+     * Жадно сжимает контрпример: принимает первого кандидата, для которого сохраняется
+     * нарушение той же категории, и повторяет поиск от него, пока кандидаты не закончатся
+     * или не будет исчерпан бюджет запросов.
+     */
+    private Counterexample shrink(Found found) {
+        FormCase current = found.formCase();
+        Violation currentViolation = found.violation();
+        int requests = 0;
+
+        boolean improved = true;
+        while (improved && requests < MAX_SHRINK_REQUESTS) {
+            improved = false;
+            for (FormCase candidate : current.shrinkCandidates()) {
+                if (requests++ >= MAX_SHRINK_REQUESTS) {
+                    break;
+                }
+                Violation violation = execute(candidate);
+                if (violation != null && violation.kind() == found.violation().kind()) {
+                    current = candidate;
+                    currentViolation = violation;
+                    improved = true;
+                    break;
+                }
+            }
+        }
+        return new Counterexample(found.index(), found.formCase(), found.violation(),
+                current, currentViolation, requests);
+    }
+
+    private Violation execute(FormCase formCase) {
+        try {
+            EndpointResponse response = client.sendRaw(formCase.toFormBody(), formCase.apiKeys());
+            return FormContract.check(formCase, response);
+        } catch (IOException | IllegalArgumentException e) {
+            return new Violation(Violation.Kind.TRANSPORT, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private record Found(long index, FormCase formCase, Violation violation) {
+    }
+}
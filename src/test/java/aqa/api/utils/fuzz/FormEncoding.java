@@ -0,0 +1,41 @@
+package aqa.api.utils.fuzz;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Способ кодирования значений параметров формы в теле запроса.
+ */
+public enum FormEncoding {
+
+    /**
+     * Стандартное кодирование {@link URLEncoder} (пробел кодируется как "+").
+     */
+    PLAIN,
+
+    /**
+     * Каждый байт UTF-8 представления кодируется как {@code %XX}, включая буквы и цифры.
+     */
+    PERCENT_ALL;
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Кодирует значение параметра.
+     *
+     * @param value исходное значение
+     * @return закодированное значение
+     */
+    public String encode(String value) {
+        if (this == PLAIN) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        StringBuilder encoded = new StringBuilder(bytes.length * 3);
+        for (byte b : bytes) {
+            encoded.append('%').append(HEX[(b >> 4) & 0x0F]).append(HEX[b & 0x0F]);
+        }
+        return encoded.toString();
+    }
+}
@@ -0,0 +1,28 @@
+package aqa.api.utils.fuzz;
+
+import java.util.List;
+
+/**
+ * Итог прогона проверки контракта формы.
+ *
+ * @param seed            начальное значение генератора
+ * @param executed        количество выполненных запросов
+ * @param totalViolations общее количество запросов с нарушениями
+ * @param elapsedNanos    длительность генерации и выполнения запросов без учета сжатия, нс
+ * @param counterexamples минимизированные контрпримеры (не более одного на категорию нарушения)
+ */
+public record FuzzReport(long seed,
+                         long executed,
+                         long totalViolations,
+                         long elapsedNanos,
+                         List<Counterexample> counterexamples) {
+
+    /**
+     * Возвращает пропускную способность прогона.
+     *
+     * @return количество запросов в секунду
+     */
+    public double casesPerSecond() {
+        return elapsedNanos == 0 ? 0 : executed * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,17 @@
+package aqa.api.utils.fuzz;
+
+/**
+ * Нарушение контракта формы, обнаруженное для одного запроса.
+ *
+ * @param kind        категория нарушения; при сжатии сохраняется категория исходного нарушения
+ * @param description описание расхождения
+ */
+public record Violation(Kind kind, String description) {
+
+    public enum Kind {
+        TRANSPORT,
+        ENVELOPE,
+        STATUS,
+        MESSAGE
+    }
+}
@@ -0,0 +1,32 @@
+package aqa.api.utils.history;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Порядок тестовых классов по длительности из {@link RunHistory}: самые долгие классы запускаются первыми.
+ * <p>
+ * При параллельном выполнении классов долгий класс, запущенный последним, удлиняет прогон на всю
+ * свою длительность; запуск в порядке убывания длительности сокращает общее время. Классы без
+ * истории (новые) считаются самыми долгими, при равенстве сохраняется алфавитный порядок.
+ * Оценка — сумма медиан длительности тестов класса за последние {@code history.window} прогонов.
+ * Подключается параметром {@code junit.jupiter.testclass.order.default}
+ * ({@code src/test/resources/junit-platform.properties}).
+ */
+public class DurationClassOrderer implements ClassOrderer {
+
+    private static final int WINDOW = Integer.getInteger("history.window", 10);
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        Map<String, Double> durations = RunHistory.classDurations(RunHistory.read(), WINDOW);
+        context.getClassDescriptors().sort(Comparator
+                .comparingDouble((ClassDescriptor descriptor) ->
+                        -durations.getOrDefault(descriptor.getTestClass().getName(), Double.POSITIVE_INFINITY))
+                .thenComparing(descriptor -> descriptor.getTestClass().getName()));
+    }
+}
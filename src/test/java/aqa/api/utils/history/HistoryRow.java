@@ -0,0 +1,16 @@
+package aqa.api.utils.history;
+
+import java.time.Instant;
+
+/**
+ * Одно значение показателя, сохраненное в истории прогонов.
+ *
+ * @param time    момент записи
+ * @param runId   идентификатор прогона
+ * @param kind    вид объекта
+ * @param subject объект (тест или действие)
+ * @param metric  имя показателя
+ * @param value   значение
+ */
+public record HistoryRow(Instant time, String runId, SubjectKind kind, String subject, String metric, double value) {
+}
@@ -0,0 +1,371 @@
+package aqa.api.utils.history;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.load.ActionLatency;
+import aqa.api.utils.load.LoadReport;
+import aqa.api.utils.metrics.Metrics;
+import aqa.api.utils.trace.SelfTime;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Утилитный класс, ведущий локальную историю показателей прогонов и отвечающий на запросы о трендах.
+ * <p>
+ * Хранилище {@code history.store} ({@code .history/runs.tsv}) — файл, в который только дописываются
+ * строки «момент, прогон, вид, объект, показатель, значение»; каталог {@code target/} его не содержит,
+ * поэтому история переживает {@code mvn clean}. Идентификатор прогона {@code history.runId} общий для
+ * всех форков surefire. Записываются:
+ * <ul>
+ *   <li>длительность и исход каждого теста ({@link RunHistoryExtension});</li>
+ *   <li>перцентили задержки запросов по действиям за JVM (источник {@code suite}, при завершении JVM);</li>
+ *   <li>итоги нагрузочных прогонов: перцентили по действиям, пропускная способность и ошибки
+ *   ({@link #recordLoad(String, LoadReport)}).</li>
+ * </ul>
+ * Значения одного прогона из разных JVM сводятся: количества и ошибки суммируются, остальные показатели
+ * берутся по максимуму. Медиана предыдущих прогонов служит базовой линией для сравнения
+ * ({@link #baseline}) и оценкой длительности классов для порядка их запуска ({@link DurationClassOrderer}).
+ * <p>
+ * Тренды за последние N прогонов: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=aqa.api.utils.history.RunHistory -Dexec.args="10 LoginTest"}
+ */
+public class RunHistory {
+
+    public static final String DURATION_MS = "duration_ms";
+    public static final String FAILED = "failed";
+    public static final String COUNT = "count";
+    public static final String P50_MICROS = "p50_us";
+    public static final String P99_MICROS = "p99_us";
+    public static final String MAX_MICROS = "max_us";
+    public static final String THROUGHPUT = "rps";
+    public static final String ERRORS = "errors";
+    public static final String SUITE = "suite";
+
+    private static final Path STORE = Path.of(System.getProperty("history.store", ".history/runs.tsv"));
+    private static final String RUN_ID = System.getProperty("history.runId",
+            Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime()).toString());
+    private static final int WINDOW = Integer.getInteger("history.window", 10);
+    private static final Set<String> SUMMED = Set.of(COUNT, ERRORS);
+    private static final List<String> ACTION_METRICS = List.of(P50_MICROS, P99_MICROS, THROUGHPUT, ERRORS);
+
+    private static final AtomicBoolean SUITE_HOOK_REGISTERED = new AtomicBoolean();
+
+    /**
+     * Показатель объекта: ключ ряда значений по прогонам.
+     *
+     * @param kind    вид объекта
+     * @param subject объект
+     * @param metric  имя показателя
+     */
+    public record Series(SubjectKind kind, String subject, String metric) {
+    }
+
+    /**
+     * Выводит тренды за последние прогоны.
+     *
+     * @param args количество прогонов (по умолчанию {@code history.window}) и подстрока имени объекта
+     */
+    public static void main(String[] args) {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : WINDOW;
+        String filter = args.length > 1 ? args[1] : "";
+        System.out.println(report(read(), runs, filter));
+    }
+
+    /**
+     * Возвращает идентификатор текущего прогона.
+     *
+     * @return значение свойства {@code history.runId} или время старта JVM
+     */
+    public static String runId() {
+        return RUN_ID;
+    }
+
+    /**
+     * Записывает длительность и исход выполнения теста.
+     *
+     * @param subject        тест в виде {@code <полное имя класса>#<отображаемое имя>}
+     * @param durationMillis длительность выполнения, мс
+     * @param passed         признак успеха
+     */
+    public static void recordTest(String subject, long durationMillis, boolean passed) {
+        append(List.of(
+                row(SubjectKind.TEST, subject, DURATION_MS, durationMillis),
+                row(SubjectKind.TEST, subject, FAILED, passed ? 0 : 1)));
+    }
+
+    /**
+     * Регистрирует (один раз за JVM) запись перцентилей задержки запросов по действиям
+     * ({@link SelfTime#REQUEST_METRIC}) при завершении JVM.
+     */
+    public static void recordSuiteOnExit() {
+        if (SUITE_HOOK_REGISTERED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(RunHistory::recordSuite, "run-history"));
+        }
+    }
+
+    /**
+     * Записывает итоги нагрузочного прогона и сравнивает их с медианой предыдущих прогонов.
+     *
+     * @param source название прогона, например {@code load} или {@code load.distributed}
+     * @param report итог прогона
+     * @return сравнение с базовой линией для Allure-отчета
+     */
+    public static String recordLoad(String source, LoadReport report) {
+        List<HistoryRow> rows = new ArrayList<>();
+        for (ActionLatency latency : report.latencies()) {
+            String subject = source + "/" + latency.action();
+            rows.add(row(SubjectKind.ACTION, subject, COUNT, latency.count()));
+            rows.add(row(SubjectKind.ACTION, subject, P50_MICROS, latency.p50Micros()));
+            rows.add(row(SubjectKind.ACTION, subject, P99_MICROS, latency.p99Micros()));
+            rows.add(row(SubjectKind.ACTION, subject, MAX_MICROS, latency.maxMicros()));
+        }
+        rows.add(row(SubjectKind.ACTION, source, THROUGHPUT, report.throughput()));
+        rows.add(row(SubjectKind.ACTION, source, ERRORS, report.errors()));
+
+        List<HistoryRow> history = read();
+        String comparison = rows.stream()
+                .filter(row -> !row.metric().equals(COUNT) && !row.metric().equals(MAX_MICROS))
+                .map(row -> {
+                    OptionalDouble baseline = baseline(history, new Series(row.kind(), row.subject(), row.metric()),
+                            WINDOW);
+                    return String.format(Locale.ROOT, "• %s %s: %s (медиана %d прогонов: %s%s)",
+                            row.subject(), row.metric(), number(row.value()), WINDOW,
+                            baseline.isPresent() ? number(baseline.getAsDouble()) : "нет данных",
+                            baseline.isPresent() ? ", " + delta(row.value(), baseline.getAsDouble()) : "");
+                })
+                .collect(Collectors.joining("\n"));
+        append(rows);
+        return String.format("Прогон: %s%nХранилище: %s%n%n%s", RUN_ID, STORE.toAbsolutePath(), comparison);
+    }
+
+    /**
+     * Читает историю.
+     *
+     * @return значения в порядке записи (пустой список, если истории нет)
+     */
+    public static List<HistoryRow> read() {
+        List<String> lines;
+        try {
+            lines = Files.exists(STORE) ? Files.readAllLines(STORE, StandardCharsets.UTF_8) : List.of();
+        } catch (IOException e) {
+            return List.of();
+        }
+        List<HistoryRow> rows = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length < 6) {
+                continue;
+            }
+            try {
+                rows.add(new HistoryRow(Instant.parse(fields[0]), fields[1], SubjectKind.valueOf(fields[2]),
+                        fields[3], fields[4], Double.parseDouble(fields[5])));
+            } catch (RuntimeException e) {
+                // строка, недописанная прерванной JVM, пропускается
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Сводит историю в ряды значений по прогонам.
+     *
+     * @param rows значения в порядке записи
+     * @return ряды: показатель объекта → значения по прогонам от старых к новым
+     */
+    public static Map<Series, Map<String, Double>> series(List<HistoryRow> rows) {
+        Map<Series, Map<String, Double>> series = new LinkedHashMap<>();
+        for (HistoryRow row : rows) {
+            boolean summed = SUMMED.contains(row.metric());
+            series.computeIfAbsent(new Series(row.kind(), row.subject(), row.metric()), key -> new LinkedHashMap<>())
+                    .merge(row.runId(), row.value(), summed ? Double::sum : Math::max);
+        }
+        return series;
+    }
+
+    /**
+     * Возвращает значения показателя объекта за последние прогоны, в которых он записывался.
+     *
+     * @param rows   значения в порядке записи
+     * @param series показатель объекта
+     * @param runs   количество прогонов
+     * @return значения от старых к новым
+     */
+    public static List<TrendPoint> trend(List<HistoryRow> rows, Series series, int runs) {
+        return last(series(rows).getOrDefault(series, Map.of()), runs);
+    }
+
+    /**
+     * Возвращает базовую линию показателя: медиану последних прогонов, не считая текущего.
+     *
+     * @param rows   значения в порядке записи
+     * @param series показатель объекта
+     * @param runs   количество предыдущих прогонов
+     * @return медиана или пустое значение, если предыдущих прогонов нет
+     */
+    public static OptionalDouble baseline(List<HistoryRow> rows, Series series, int runs) {
+        Map<String, Double> previous = new LinkedHashMap<>(series(rows).getOrDefault(series, Map.of()));
+        previous.remove(RUN_ID);
+        return median(last(previous, runs));
+    }
+
+    /**
+     * Оценивает длительность тестовых классов по последним прогонам: сумма медиан длительности их тестов.
+     *
+     * @param rows значения в порядке записи
+     * @param runs количество прогонов
+     * @return полное имя класса → оценка длительности, мс
+     */
+    public static Map<String, Double> classDurations(List<HistoryRow> rows, int runs) {
+        Map<String, Double> durations = new TreeMap<>();
+        series(rows).forEach((series, values) -> {
+            int separator = series.subject().indexOf('#');
+            if (series.kind() == SubjectKind.TEST && series.metric().equals(DURATION_MS) && separator > 0) {
+                median(last(values, runs)).ifPresent(median ->
+                        durations.merge(series.subject().substring(0, separator), median, Double::sum));
+            }
+        });
+        return durations;
+    }
+
+    /**
+     * Формирует текстовый отчет о трендах: длительность тестов, задержка, пропускная способность
+     * и ошибки действий за последние прогоны.
+     *
+     * @param rows   значения в порядке записи
+     * @param runs   количество прогонов
+     * @param filter подстрока имени объекта (пустая строка — все объекты)
+     * @return отчет
+     */
+    public static String report(List<HistoryRow> rows, int runs, String filter) {
+        Map<Series, Map<String, Double>> series = series(rows);
+        long total = rows.stream().map(HistoryRow::runId).distinct().count();
+        String tests = series.entrySet().stream()
+                .filter(entry -> entry.getKey().kind() == SubjectKind.TEST
+                        && entry.getKey().metric().equals(DURATION_MS)
+                        && entry.getKey().subject().contains(filter))
+                .map(entry -> describe(entry.getKey(), last(entry.getValue(), runs),
+                        last(series.getOrDefault(new Series(SubjectKind.TEST, entry.getKey().subject(), FAILED),
+                                Map.of()), runs)))
+                .collect(Collectors.joining("\n"));
+        String actions = series.entrySet().stream()
+                .filter(entry -> entry.getKey().kind() == SubjectKind.ACTION
+                        && ACTION_METRICS.contains(entry.getKey().metric())
+                        && entry.getKey().subject().contains(filter))
+                .map(entry -> describe(entry.getKey(), last(entry.getValue(), runs), List.of()))
+                .collect(Collectors.joining("\n"));
+
+        return String.format("""
+                        ИСТОРИЯ ПРОГОНОВ (последние %d из %d прогонов, хранилище %s):
+
+                        ДЛИТЕЛЬНОСТЬ ТЕСТОВ, МС (от старых к новым, Δ — последний прогон к медиане предыдущих):
+                        %s
+
+                        ДЕЙСТВИЯ (p50/p99 — мкс, rps — запросов в секунду, errors — неуспешных запросов):
+                        %s
+                        """,
+                Math.min(runs, total), total, STORE.toAbsolutePath(),
+                tests.isEmpty() ? "• Нет" : tests,
+                actions.isEmpty() ? "• Нет" : actions);
+    }
+
+    private static String describe(Series series, List<TrendPoint> points, List<TrendPoint> failures) {
+        String values = points.stream().map(point -> number(point.value())).collect(Collectors.joining(" → "));
+        OptionalDouble previous = median(points.subList(0, Math.max(0, points.size() - 1)));
+        long failed = failures.stream().filter(point -> point.value() > 0).count();
+        String name = series.kind() == SubjectKind.TEST ? series.subject() : series.subject() + " " + series.metric();
+        return String.format("• %s: %s%s%s", name, values,
+                previous.isPresent() ? " (Δ " + delta(points.get(points.size() - 1).value(), previous.getAsDouble()) + ")"
+                        : "",
+                failed > 0 ? ", провалов: " + failed : "");
+    }
+
+    private static void recordSuite() {
+        List<HistoryRow> rows = new ArrayList<>();
+        Metrics.histograms().forEach((key, histogram) -> {
+            if (key.name().equals(SelfTime.REQUEST_METRIC) && histogram.getTotalCount() > 0) {
+                rows.addAll(latencyRows(SUITE + "/" + key.label("action"), histogram));
+            }
+        });
+        append(rows);
+    }
+
+    private static List<HistoryRow> latencyRows(String subject, Histogram histogram) {
+        return List.of(
+                row(SubjectKind.ACTION, subject, COUNT, histogram.getTotalCount()),
+                row(SubjectKind.ACTION, subject, P50_MICROS, histogram.getValueAtPercentile(50)),
+                row(SubjectKind.ACTION, subject, P99_MICROS, histogram.getValueAtPercentile(99)),
+                row(SubjectKind.ACTION, subject, MAX_MICROS, histogram.getMaxValue()));
+    }
+
+    private static HistoryRow row(SubjectKind kind, String subject, String metric, double value) {
+        return new HistoryRow(Instant.now(), RUN_ID, kind, subject, metric, value);
+    }
+
+    private static synchronized void append(List<HistoryRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        for (HistoryRow row : rows) {
+            lines.append(String.join("\t", row.time().toString(), row.runId(), row.kind().name(),
+                            clean(row.subject()), row.metric(), number(row.value())))
+                    .append(System.lineSeparator());
+        }
+        try {
+            Files.createDirectories(STORE.toAbsolutePath().getParent());
+            // одна запись на вызов: строки параллельных форков не перемешиваются
+            Files.writeString(STORE, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            // история недоступна: прогон и отчет о нем от этого не зависят
+        }
+    }
+
+    private static List<TrendPoint> last(Map<String, Double> values, int runs) {
+        List<TrendPoint> points = values.entrySet().stream()
+                .map(entry -> new TrendPoint(entry.getKey(), entry.getValue()))
+                .toList();
+        return points.subList(Math.max(0, points.size() - runs), points.size());
+    }
+
+    private static OptionalDouble median(List<TrendPoint> points) {
+        if (points.isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        double[] values = points.stream().mapToDouble(TrendPoint::value).sorted().toArray();
+        int middle = values.length / 2;
+        return OptionalDouble.of(values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2);
+    }
+
+    private static String delta(double value, double baseline) {
+        return baseline == 0 ? "—" : String.format(Locale.ROOT, "%+.0f%%", (value - baseline) * 100 / baseline);
+    }
+
+    private static String number(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static String clean(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private RunHistory() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,56 @@
+package aqa.api.utils.history;
+
+import aqa.api.utils.metrics.Metrics;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Расширение JUnit, записывающее длительность и исход каждого выполнения теста в {@link RunHistory}.
+ * <p>
+ * Измеряется только тело теста, без методов {@code @BeforeEach}/{@code @AfterEach}; повторные
+ * запуски surefire записываются отдельными значениями и сводятся по максимуму.
+ * <p>
+ * В реестр {@link Metrics} записываются гистограмма {@code test_duration_micros} и счетчик
+ * {@code tests_total} по классу теста и исходу; повторное выполнение теста в той же JVM
+ * (повторный запуск surefire) учитывается счетчиком {@code test_reruns_total}.
+ */
+public class RunHistoryExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    public static final String DURATION_METRIC = "test_duration_micros";
+    public static final String TESTS_METRIC = "tests_total";
+    public static final String RERUNS_METRIC = "test_reruns_total";
+
+    private static final Set<String> EXECUTED = ConcurrentHashMap.newKeySet();
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(RunHistoryExtension.class);
+    private static final String STARTED = "started";
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(STARTED, System.nanoTime());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Long started = context.getStore(NAMESPACE).remove(STARTED, Long.class);
+        if (started == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - started;
+        String testClass = context.getRequiredTestClass().getName();
+        boolean passed = context.getExecutionException().isEmpty();
+        RunHistory.recordTest(testClass + "#" + context.getDisplayName(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed), passed);
+
+        Metrics.record(Metrics.histogram(DURATION_METRIC, "class", testClass), TimeUnit.NANOSECONDS.toMicros(elapsed));
+        Metrics.counter(TESTS_METRIC, "class", testClass, "outcome", passed ? "passed" : "failed").increment();
+        if (!EXECUTED.add(context.getUniqueId())) {
+            Metrics.counter(RERUNS_METRIC, "class", testClass).increment();
+        }
+    }
+}
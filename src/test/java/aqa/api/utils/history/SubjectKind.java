@@ -0,0 +1,11 @@
+package aqa.api.utils.history;
+
+/**
+ * Вид объекта, для которого в истории прогонов хранятся показатели.
+ */
+public enum SubjectKind {
+    /** Тест: {@code <полное имя класса>#<отображаемое имя>}. */
+    TEST,
+    /** Действие или прогон нагрузки: {@code <источник>/<действие>} или {@code <источник>}. */
+    ACTION
+}
@@ -0,0 +1,10 @@
+package aqa.api.utils.history;
+
+/**
+ * Значение показателя в одном прогоне.
+ *
+ * @param runId идентификатор прогона
+ * @param value значение, сведенное по всем JVM прогона
+ */
+public record TrendPoint(String runId, double value) {
+}
@@ -0,0 +1,118 @@
+package aqa.api.utils.http;
+
+import aqa.api.utils.sut.SutEnvironment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Легковесный HTTP-клиент для массовых запросов к эндпоинту тестируемого сервиса.
+ * <p>
+ * В отличие от RestAssured не строит спецификации и не разбирает ответ, поэтому подходит
+ * для сценариев с тысячами запросов в секунду. Экземпляр потокобезопасен и переиспользует
+ * соединения между потоками.
+ */
+public class EndpointClient {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+    private final URI endpointUri;
+
+    /**
+     * Создает клиент для тестируемого сервиса по адресу {@link SutEnvironment#baseUrl()}.
+     */
+    public EndpointClient() {
+        this(SutEnvironment.baseUrl());
+    }
+
+    /**
+     * Создает клиент для сервиса по указанному базовому адресу.
+     *
+     * @param baseUrl базовый адрес сервиса, например {@code http://localhost:8080}
+     */
+    public EndpointClient(String baseUrl) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build();
+        this.endpointUri = URI.create(baseUrl + ENDPOINT);
+    }
+
+    /**
+     * Отправляет запрос с параметрами token и action.
+     * Параметры со значением {@code null} не передаются.
+     *
+     * @param token  значение параметра "token"
+     * @param action значение параметра "action"
+     * @param apiKey значение заголовка "X-Api-Key" (пустой или {@code null} ключ не передается)
+     * @return ответ сервиса
+     * @throws IOException если запрос не удалось выполнить
+     */
+    public EndpointResponse send(String token, String action, String apiKey) throws IOException {
+        StringBuilder body = new StringBuilder();
+        appendParam(body, TOKEN_PARAM, token);
+        appendParam(body, ACTION_PARAM, action);
+        List<String> apiKeys = apiKey == null || apiKey.trim().isEmpty() ? List.of() : List.of(apiKey);
+        return sendRaw(body.toString(), apiKeys);
+    }
+
+    /**
+     * Отправляет запрос с заранее закодированным телом формы.
+     *
+     * @param formBody тело запроса в формате application/x-www-form-urlencoded
+     * @param apiKeys  значения заголовка "X-Api-Key"; каждое значение передается отдельным заголовком
+     * @return ответ сервиса
+     * @throws IOException если запрос не удалось выполнить
+     */
+    public EndpointResponse sendRaw(String formBody, List<String> apiKeys) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(endpointUri)
+                .timeout(REQUEST_TIMEOUT)
+                .header(CONTENT_TYPE, APPLICATION_URLENCODED + "; charset=UTF-8")
+                .header(ACCEPT, APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(formBody, StandardCharsets.UTF_8));
+        for (String apiKey : apiKeys) {
+            builder.header(API_KEY_HEADER_NAME, apiKey);
+        }
+
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(builder.build(),
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            return new EndpointResponse(response.statusCode(),
+                    response.headers().firstValue(CONTENT_TYPE).orElse(null),
+                    response.body(),
+                    System.nanoTime() - started);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Запрос к " + endpointUri + " прерван", e);
+        }
+    }
+
+    /**
+     * Добавляет параметр формы в тело запроса, кодируя значение в UTF-8.
+     *
+     * @param body  тело запроса
+     * @param name  имя параметра
+     * @param value значение параметра; {@code null} означает отсутствие параметра
+     */
+    public static void appendParam(StringBuilder body, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        if (!body.isEmpty()) {
+            body.append('&');
+        }
+        body.append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+    }
+}
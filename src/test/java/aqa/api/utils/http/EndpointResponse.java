@@ -0,0 +1,12 @@
+package aqa.api.utils.http;
+
+/**
+ * Ответ тестируемого сервиса, полученный легковесным клиентом {@link EndpointClient}.
+ *
+ * @param statusCode   HTTP-статус
+ * @param contentType  значение заголовка "Content-Type" или {@code null}
+ * @param body         тело ответа
+ * @param latencyNanos время от отправки запроса до получения тела ответа, нс
+ */
+public record EndpointResponse(int statusCode, String contentType, String body, long latencyNanos) {
+}
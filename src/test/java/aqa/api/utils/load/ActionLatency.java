@@ -0,0 +1,13 @@
+package aqa.api.utils.load;
+
+/**
+ * Распределение задержки ответа сервиса для одного действия.
+ *
+ * @param action    действие ({@code LOGIN}, {@code ACTION}, {@code LOGOUT})
+ * @param count     количество запросов
+ * @param p50Micros медиана задержки, мкс
+ * @param p99Micros 99-й перцентиль задержки, мкс
+ * @param maxMicros максимальная задержка, мкс
+ */
+public record ActionLatency(String action, long count, long p50Micros, long p99Micros, long maxMicros) {
+}
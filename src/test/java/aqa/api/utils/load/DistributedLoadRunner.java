@@ -0,0 +1,199 @@
+package aqa.api.utils.load;
+
+import aqa.api.utils.mock.MockCapacity;
+import aqa.api.utils.sut.SutEnvironment;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный прогон с закрытым циклом, распределенный по локальным процессам-агентам ({@link LoadAgent}).
+ * <p>
+ * Контроллер запускает агентов на той же машине, распределяет между ними потоки нагрузки и выдает
+ * каждому собственный диапазон токенов ({@code E000}, {@code E001}, ...). Согласование идет по
+ * локальному сокету: агенты сообщают о готовности, одновременно получают команду {@code START}
+ * и по истечении длительности — команду {@code STOP}, после чего передают гистограммы и счетчики.
+ * Результаты объединяются в один {@link LoadReport}; окно самоконтроля заглушки открывается
+ * в процессе контроллера, где работает заглушка.
+ * <p>
+ * Параметры агентов задаются свойствами {@code load.agent.jvmArgs} (аргументы JVM агента) и
+ * {@code load.agent.startTimeoutSeconds} (30). Вывод агентов пишется в {@code target/load-agent-N.log}.
+ */
+public class DistributedLoadRunner {
+
+    static final String READY = "READY";
+    static final String START = "START";
+    static final String STOP = "STOP";
+    static final String RESULT = "RESULT";
+
+    /**
+     * Ограничение количества агентов: диапазоны {@code E000}–{@code E0FF} не пересекаются
+     * с диапазоном {@code EEEE} нагрузки из процесса тестов.
+     */
+    private static final int MAX_AGENTS = 256;
+    private static final String JVM_ARGS = System.getProperty("load.agent.jvmArgs", "");
+    private static final Duration START_TIMEOUT =
+            Duration.ofSeconds(Long.getLong("load.agent.startTimeoutSeconds", 30L));
+    private static final Duration RESULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final int agents;
+    private final int threads;
+    private final Duration duration;
+
+    /**
+     * @param agents   количество процессов-агентов (не больше общего количества потоков)
+     * @param threads  общее количество потоков нагрузки
+     * @param duration длительность прогона
+     */
+    public DistributedLoadRunner(int agents, int threads, Duration duration) {
+        this.threads = Math.max(1, threads);
+        this.agents = Math.max(1, Math.min(Math.min(agents, MAX_AGENTS), this.threads));
+        this.duration = duration;
+    }
+
+    /**
+     * Выполняет прогон.
+     *
+     * @return объединенный итог агентов с оценкой загрузки заглушки
+     * @throws IllegalStateException если агент не запустился, завершился с ошибкой или прогон прерван
+     */
+    public LoadReport run() {
+        List<Process> processes = new ArrayList<>();
+        List<Socket> sockets = new ArrayList<>();
+        try (ServerSocket server = new ServerSocket(0, agents, InetAddress.getLoopbackAddress())) {
+            for (int i = 0; i < agents; i++) {
+                processes.add(launch(server.getLocalPort(), i));
+            }
+
+            DataOutputStream[] outputs = new DataOutputStream[agents];
+            DataInputStream[] inputs = new DataInputStream[agents];
+            server.setSoTimeout((int) START_TIMEOUT.toMillis());
+            for (int i = 0; i < agents; i++) {
+                Socket socket = accept(server, processes);
+                sockets.add(socket);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                if (!READY.equals(in.readUTF())) {
+                    throw new IllegalStateException("Агент нагрузки нарушил протокол согласования");
+                }
+                int index = in.readInt();
+                if (index < 0 || index >= agents || inputs[index] != null) {
+                    throw new IllegalStateException("Агент нагрузки сообщил неверный номер " + index);
+                }
+                inputs[index] = in;
+                outputs[index] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            }
+
+            MockCapacity.Window window = MockCapacity.openWindow();
+            for (int i = 0; i < agents; i++) {
+                outputs[i].writeUTF(START);
+                outputs[i].writeInt(threadsOf(i));
+                outputs[i].writeLong(duration.plus(RESULT_TIMEOUT).toMillis());
+                outputs[i].writeUTF(tokenRange(i));
+                outputs[i].flush();
+            }
+            TimeUnit.MILLISECONDS.sleep(duration.toMillis());
+            for (DataOutputStream out : outputs) {
+                out.writeUTF(STOP);
+                out.flush();
+            }
+
+            for (Socket socket : sockets) {
+                socket.setSoTimeout((int) RESULT_TIMEOUT.toMillis());
+            }
+            List<LoadSample> samples = new ArrayList<>();
+            for (int i = 0; i < agents; i++) {
+                if (!RESULT.equals(inputs[i].readUTF())) {
+                    throw new IllegalStateException("Агент нагрузки " + i + " не вернул результат");
+                }
+                samples.add(LoadSample.readFrom(inputs[i]));
+            }
+            return LoadSample.merge(samples).toReport(threads, agents, window.finish());
+        } catch (IOException e) {
+            throw new IllegalStateException("Ошибка согласования с агентами нагрузки: " + e.getMessage()
+                    + describeAgents(processes), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Распределенный прогон прерван", e);
+        } finally {
+            for (Socket socket : sockets) {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                    // соединение уже закрыто агентом
+                }
+            }
+            processes.forEach(Process::destroy);
+        }
+    }
+
+    /**
+     * Распределяет потоки поровну; остаток достается первым агентам.
+     */
+    private int threadsOf(int agent) {
+        return threads / agents + (agent < threads % agents ? 1 : 0);
+    }
+
+    private static String tokenRange(int agent) {
+        return String.format(Locale.ROOT, "E%03X", agent);
+    }
+
+    private Process launch(int controllerPort, int agent) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!JVM_ARGS.isBlank()) {
+            command.addAll(Arrays.asList(JVM_ARGS.trim().split("\\s+")));
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadAgent.class.getName());
+        command.add(String.valueOf(controllerPort));
+        command.add(String.valueOf(agent));
+        command.add(SutEnvironment.baseUrl());
+
+        Path logFile = logFile(agent);
+        Files.createDirectories(logFile.toAbsolutePath().getParent());
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+    }
+
+    private Socket accept(ServerSocket server, List<Process> processes) throws IOException {
+        try {
+            return server.accept();
+        } catch (SocketTimeoutException e) {
+            throw new IllegalStateException("Агенты нагрузки не подключились за "
+                    + START_TIMEOUT.toSeconds() + " с" + describeAgents(processes), e);
+        }
+    }
+
+    private static String describeAgents(List<Process> processes) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < processes.size(); i++) {
+            if (!processes.get(i).isAlive()) {
+                description.append(String.format("%nагент %d завершился с кодом %d, журнал %s",
+                        i, processes.get(i).exitValue(), logFile(i)));
+            }
+        }
+        return description.toString();
+    }
+
+    private static Path logFile(int agent) {
+        return Path.of("target", "load-agent-" + agent + ".log");
+    }
+}
@@ -0,0 +1,83 @@
+package aqa.api.utils.load;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.http.EndpointClient;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Процесс-агент распределенной нагрузки, запускаемый {@link DistributedLoadRunner}.
+ * <p>
+ * Агент подключается к контроллеру по локальному сокету, сообщает о готовности, по команде
+ * {@code START} выполняет свою долю циклов LOGIN → ACTION → LOGOUT со своим диапазоном токенов
+ * до команды {@code STOP} (или истечения переданной длительности) и возвращает необработанный
+ * результат ({@link LoadSample}). Сборка мусора агента не влияет на измерения других агентов
+ * и процесса тестов.
+ * <p>
+ * Аргументы: порт контроллера, номер агента, базовый адрес тестируемого сервиса.
+ */
+public class LoadAgent {
+
+    /**
+     * Выполняет нагрузку по командам контроллера. Код завершения 1 означает ошибку агента.
+     *
+     * @param args порт контроллера, номер агента, базовый адрес сервиса
+     */
+    public static void main(String[] args) {
+        int port = Integer.parseInt(args[0]);
+        int index = Integer.parseInt(args[1]);
+        EndpointClient client = new EndpointClient(args[2]);
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeUTF(DistributedLoadRunner.READY);
+            out.writeInt(index);
+            out.flush();
+
+            String command = in.readUTF();
+            if (!DistributedLoadRunner.START.equals(command)) {
+                throw new IOException("Ожидалась команда " + DistributedLoadRunner.START + ", получено " + command);
+            }
+            int threads = in.readInt();
+            Duration duration = Duration.ofMillis(in.readLong());
+            String tokenRange = in.readUTF();
+
+            AtomicBoolean stopRequested = new AtomicBoolean();
+            Thread listener = new Thread(() -> {
+                try {
+                    while (!DistributedLoadRunner.STOP.equals(in.readUTF())) {
+                        // ожидание команды остановки
+                    }
+                } catch (IOException controllerGone) {
+                    // контроллер закрыл соединение: агент останавливается так же, как по команде
+                }
+                stopRequested.set(true);
+            }, "load-agent-control");
+            listener.setDaemon(true);
+            listener.start();
+
+            LoadSample sample = new LoadRunner(client, threads, duration, tokenRange)
+                    .sample(stopRequested::get);
+            out.writeUTF(DistributedLoadRunner.RESULT);
+            sample.writeTo(out);
+            out.flush();
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private LoadAgent() {
+        throw new UtilityClassException(getClass());
+    }
+}
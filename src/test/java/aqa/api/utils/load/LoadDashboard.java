@@ -0,0 +1,260 @@
+package aqa.api.utils.load;
+
+import aqa.api.utils.ErrorMessages;
+import aqa.api.utils.envelope.ResultEnvelope;
+import aqa.api.utils.metrics.Metrics;
+import aqa.api.utils.mock.MockCapacity;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Живая сводка длительного нагрузочного прогона в консоли: запросы в секунду и скользящие
+ * p50/p99 по действиям, ошибки по типу сообщения ({@link ErrorMessages#typeOf(String)}),
+ * активные виртуальные пользователи и обращения к заглушке в секунду ({@link MockCapacity}).
+ * <p>
+ * Режим задается свойством {@code load.dashboard}:
+ * <ul>
+ *   <li>{@code off} (по умолчанию) — сводка не выводится, запись измерений не выполняется;</li>
+ *   <li>{@code ansi} — таблица, перерисовываемая на месте каждую секунду;</li>
+ *   <li>{@code plain} — строка журнала каждые {@code load.dashboard.logSeconds} (10) секунд, для CI;</li>
+ *   <li>{@code auto} — {@code ansi} при интерактивной консоли вне CI, иначе {@code plain}.</li>
+ * </ul>
+ * Потоки нагрузки записывают задержку в {@link Recorder} без блокировок, поток сводки раз в секунду
+ * забирает интервальные гистограммы и складывает последние {@code load.dashboard.windowSeconds} (5)
+ * секунд. Поток сводки фоновый, с минимальным приоритетом, и не обращается к сервису,
+ * поэтому не искажает измерения прогона.
+ */
+public final class LoadDashboard implements AutoCloseable {
+
+    /**
+     * Режим вывода сводки.
+     */
+    public enum Mode {
+        OFF, AUTO, ANSI, PLAIN
+    }
+
+    private static final Mode MODE = Mode.valueOf(System.getProperty("load.dashboard", "off").toUpperCase(Locale.ROOT));
+    private static final int LOG_SECONDS = Math.max(1, Integer.getInteger("load.dashboard.logSeconds", 10));
+    private static final int WINDOW_SECONDS = Math.max(1, Integer.getInteger("load.dashboard.windowSeconds", 5));
+    private static final String ANSI_CLEAR_BELOW = "\u001B[J";
+
+    private static final LoadDashboard DISABLED = new LoadDashboard();
+
+    private final String title;
+    private final Mode mode;
+    private final IntSupplier activeUsers;
+    private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+    private final Map<String, LongAdder> actionErrors = new LinkedHashMap<>();
+    private final Map<String, Deque<Histogram>> windows = new LinkedHashMap<>();
+    private final ConcurrentMap<String, LongAdder> errorTypes = new ConcurrentHashMap<>();
+    private final Deque<Long> mockRequests = new ArrayDeque<>();
+    private final long startedNanos = System.nanoTime();
+    private final PrintStream out = System.out;
+    private final ScheduledExecutorService ticker;
+    private long ticks;
+    private int drawnLines;
+
+    private LoadDashboard() {
+        this.title = null;
+        this.mode = Mode.OFF;
+        this.activeUsers = () -> 0;
+        this.ticker = null;
+    }
+
+    private LoadDashboard(String title, Mode mode, Collection<String> actions, IntSupplier activeUsers) {
+        this.title = title;
+        this.mode = mode;
+        this.activeUsers = activeUsers;
+        for (String action : actions) {
+            recorders.put(action, new Recorder(Metrics.HIGHEST_TRACKABLE_MICROS, 3));
+            actionErrors.put(action, new LongAdder());
+            windows.put(action, new ArrayDeque<>());
+        }
+        mockRequests.add(MockCapacity.handledRequests());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-dashboard");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Открывает сводку прогона в режиме из свойства {@code load.dashboard}.
+     *
+     * @param title       заголовок сводки
+     * @param actions     действия, по которым записывается задержка
+     * @param activeUsers количество активных виртуальных пользователей в текущий момент
+     * @return сводка; при выключенном режиме — сводка, игнорирующая измерения
+     */
+    public static LoadDashboard open(String title, Collection<String> actions, IntSupplier activeUsers) {
+        Mode mode = MODE == Mode.AUTO
+                ? System.console() != null && System.getenv("CI") == null ? Mode.ANSI : Mode.PLAIN
+                : MODE;
+        return mode == Mode.OFF ? DISABLED : new LoadDashboard(title, mode, actions, activeUsers);
+    }
+
+    /**
+     * Записывает выполненный запрос.
+     *
+     * @param action действие запроса
+     * @param micros задержка, мкс
+     * @param failed признак неуспешного запроса
+     */
+    public void record(String action, long micros, boolean failed) {
+        Recorder recorder = recorders.get(action);
+        if (recorder == null) {
+            return;
+        }
+        recorder.recordValue(Math.max(0, Math.min(micros, Metrics.HIGHEST_TRACKABLE_MICROS)));
+        if (failed) {
+            actionErrors.get(action).increment();
+        }
+    }
+
+    /**
+     * Учитывает неуспешный ответ по типу ошибки: имени константы {@link ErrorMessages},
+     * шаблону которой соответствует сообщение ответа, или {@code HTTP <статус>}.
+     * Тело ответа разбирается, только если сводка включена.
+     *
+     * @param statusCode статус ответа
+     * @param body       тело ответа
+     */
+    public void failure(int statusCode, String body) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        String type;
+        try {
+            type = ErrorMessages.typeOf(ResultEnvelope.parse(body).message());
+        } catch (RuntimeException e) {
+            type = null;
+        }
+        count(type != null ? type : "HTTP " + statusCode);
+    }
+
+    /**
+     * Учитывает запрос, завершившийся исключением, по классу исключения.
+     *
+     * @param error исключение
+     */
+    public void failure(Exception error) {
+        if (mode != Mode.OFF) {
+            count(error.getClass().getSimpleName());
+        }
+    }
+
+    private void count(String type) {
+        errorTypes.computeIfAbsent(type, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Останавливает обновление и выводит итоговое состояние сводки.
+     */
+    @Override
+    public void close() {
+        if (ticker == null) {
+            return;
+        }
+        ticker.shutdownNow();
+        try {
+            ticker.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        collect();
+        draw(true);
+    }
+
+    private synchronized void tick() {
+        try {
+            collect();
+            if (mode == Mode.ANSI || ticks % LOG_SECONDS == 0) {
+                draw(false);
+            }
+        } catch (RuntimeException e) {
+            // ошибка вывода сводки не должна прерывать нагрузку; следующий тик повторит попытку
+        }
+    }
+
+    private synchronized void collect() {
+        recorders.forEach((action, recorder) -> {
+            Deque<Histogram> window = windows.get(action);
+            window.addLast(recorder.getIntervalHistogram());
+            while (window.size() > WINDOW_SECONDS) {
+                window.removeFirst();
+            }
+        });
+        mockRequests.addLast(MockCapacity.handledRequests());
+        while (mockRequests.size() > WINDOW_SECONDS + 1) {
+            mockRequests.removeFirst();
+        }
+        ticks++;
+    }
+
+    private synchronized void draw(boolean last) {
+        int seconds = Math.max(1, windows.values().stream().mapToInt(Deque::size).max().orElse(1));
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedNanos);
+        double mockRate = (double) (mockRequests.getLast() - mockRequests.getFirst()) / Math.max(1, mockRequests.size() - 1);
+        String errors = errorTypes.isEmpty() ? "нет" : new TreeMap<>(errorTypes).entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue().sum())
+                .collect(Collectors.joining(", "));
+
+        Map<String, Histogram> rolling = new LinkedHashMap<>();
+        windows.forEach((action, window) -> {
+            Histogram sum = new Histogram(Metrics.HIGHEST_TRACKABLE_MICROS, 3);
+            window.forEach(sum::add);
+            rolling.put(action, sum);
+        });
+
+        if (mode == Mode.PLAIN) {
+            String actions = rolling.entrySet().stream()
+                    .map(entry -> String.format(Locale.ROOT, "%s %.0f/с p50=%d p99=%d ошибок=%d", entry.getKey(),
+                            (double) entry.getValue().getTotalCount() / seconds,
+                            entry.getValue().getValueAtPercentile(50), entry.getValue().getValueAtPercentile(99),
+                            actionErrors.get(entry.getKey()).sum()))
+                    .collect(Collectors.joining("; "));
+            out.printf(Locale.ROOT, "[%s%s %s] пользователей=%d заглушка=%.0f/с | %s | ошибки: %s%n",
+                    title, last ? " итог" : "", clock(elapsed), activeUsers.getAsInt(), mockRate, actions, errors);
+            return;
+        }
+
+        StringBuilder frame = new StringBuilder();
+        if (drawnLines > 0) {
+            frame.append("\u001B[").append(drawnLines).append('F').append(ANSI_CLEAR_BELOW);
+        }
+        frame.append(String.format(Locale.ROOT, "%s · %s · виртуальных пользователей: %d · заглушка: %.0f обращений/с%n",
+                title, clock(elapsed), activeUsers.getAsInt(), mockRate));
+        frame.append(String.format("%-10s %12s %10s %10s %8s%n", "Действие", "Запросов/с", "p50, мкс", "p99, мкс", "Ошибок"));
+        rolling.forEach((action, histogram) -> frame.append(String.format(Locale.ROOT, "%-10s %12.1f %10d %10d %8d%n",
+                action, (double) histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99),
+                actionErrors.get(action).sum())));
+        frame.append("Ошибки: ").append(errors).append(System.lineSeparator());
+        drawnLines = rolling.size() + 3;
+        out.print(frame);
+        out.flush();
+    }
+
+    private static String clock(long seconds) {
+        return String.format("%02d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60);
+    }
+}
@@ -0,0 +1,53 @@
+package aqa.api.utils.load;
+
+import aqa.api.utils.mock.MockCapacityReport;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Итог нагрузочного прогона.
+ *
+ * @param threads       общее количество потоков нагрузки
+ * @param agents        количество процессов, создававших нагрузку (1 — нагрузка из процесса тестов)
+ * @param cycles        количество выполненных циклов LOGIN → ACTION → LOGOUT
+ * @param errors        количество неуспешных запросов (ошибка ввода-вывода или статус, отличный от 200)
+ * @param firstError    описание первой ошибки или {@code null}
+ * @param elapsedMillis длительность прогона, мс
+ * @param latencies     распределение задержки по действиям
+ * @param capacity      оценка загрузки заглушки внешнего сервиса за время прогона
+ */
+public record LoadReport(int threads, int agents, long cycles, long errors, String firstError, long elapsedMillis,
+                         List<ActionLatency> latencies, MockCapacityReport capacity) {
+
+    /**
+     * Возвращает пропускную способность сервиса.
+     *
+     * @return запросов к сервису в секунду
+     */
+    public double throughput() {
+        return elapsedMillis == 0 ? 0 : cycles * 3 * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * Формирует текстовое описание для Allure-отчета.
+     *
+     * @return описание нагрузки и задержек
+     */
+    public String describe() {
+        return String.format("""
+                        • Потоков: %d, процессов нагрузки: %d
+                        • Циклов LOGIN → ACTION → LOGOUT: %d за %d мс
+                        • Пропускная способность: %.0f запросов в секунду
+                        • Ошибок: %d%s
+                        
+                        ЗАДЕРЖКА ПО ДЕЙСТВИЯМ, МКС:
+                        %s""",
+                threads, agents, cycles, elapsedMillis, throughput(), errors,
+                firstError == null ? "" : " (первая: " + firstError + ")",
+                latencies.stream()
+                        .map(latency -> String.format("• %s: p50=%d, p99=%d, max=%d (n=%d)", latency.action(),
+                                latency.p50Micros(), latency.p99Micros(), latency.maxMicros(), latency.count()))
+                        .collect(Collectors.joining("\n")));
+    }
+}
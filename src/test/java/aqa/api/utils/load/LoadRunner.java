@@ -0,0 +1,168 @@
+package aqa.api.utils.load;
+
+import aqa.api.utils.TokenGenerator;
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.http.EndpointResponse;
+import aqa.api.utils.metrics.Metrics;
+import aqa.api.utils.metrics.Timeline;
+import aqa.api.utils.mock.MockCapacity;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Нагрузочный прогон с закрытым циклом: каждый поток без пауз выполняет циклы
+ * LOGIN → ACTION → LOGOUT с новым токеном до истечения заданной длительности.
+ * <p>
+ * Одновременно с нагрузкой открывается окно самоконтроля заглушки ({@link MockCapacity}),
+ * чтобы отличить насыщение сервиса от насыщения заглушки. Заглушки внешнего сервиса
+ * должны отвечать успехом для любого токена. Запросы учитываются в посекундных рядах
+ * {@code load/<действие>} ({@link Timeline}). Во время прогона может выводиться живая сводка
+ * в консоль ({@link LoadDashboard}, свойство {@code load.dashboard}).
+ */
+public class LoadRunner {
+
+    /**
+     * Токены нагрузки начинаются с префикса "EEEE", чтобы отличаться от токенов прогрева и тестов.
+     */
+    static final String DEFAULT_TOKEN_RANGE = "EEEE";
+
+    public static final String SERIES = "load/";
+
+    private final EndpointClient client;
+    private final int threads;
+    private final Duration duration;
+    private final String tokenRange;
+
+    /**
+     * @param client   клиент для отправки запросов
+     * @param threads  количество потоков нагрузки
+     * @param duration длительность прогона
+     */
+    public LoadRunner(EndpointClient client, int threads, Duration duration) {
+        this(client, threads, duration, DEFAULT_TOKEN_RANGE);
+    }
+
+    /**
+     * @param client     клиент для отправки запросов
+     * @param threads    количество потоков нагрузки
+     * @param duration   длительность прогона
+     * @param tokenRange префикс диапазона токенов ({@link TokenGenerator#generateRunRangeToken(String, long)})
+     */
+    public LoadRunner(EndpointClient client, int threads, Duration duration, String tokenRange) {
+        this.client = client;
+        this.threads = Math.max(1, threads);
+        this.duration = duration;
+        this.tokenRange = tokenRange;
+    }
+
+    /**
+     * Выполняет прогон.
+     *
+     * @return итог прогона с оценкой загрузки заглушки
+     * @throws IllegalStateException если поток нагрузки завершился исключением или прогон прерван
+     */
+    public LoadReport run() {
+        MockCapacity.Window window = MockCapacity.openWindow();
+        LoadSample sample = sample(() -> false);
+        return sample.toReport(threads, 1, window.finish());
+    }
+
+    /**
+     * Выполняет нагрузку без оценки заглушки (для агентов, где заглушка работает в другом процессе).
+     *
+     * @param stopRequested условие досрочной остановки, проверяемое перед каждым циклом
+     * @return необработанный результат для объединения с другими источниками
+     * @throws IllegalStateException если поток нагрузки завершился исключением или прогон прерван
+     */
+    public LoadSample sample(BooleanSupplier stopRequested) {
+        Map<String, Histogram> latencies = new LinkedHashMap<>();
+        for (String action : List.of(ACTION_LOGIN, ACTION_ACTION, ACTION_LOGOUT)) {
+            latencies.put(action, new ConcurrentHistogram(Metrics.HIGHEST_TRACKABLE_MICROS, 3));
+        }
+        AtomicLong tokenSequence = new AtomicLong();
+        LongAdder cycles = new LongAdder();
+        LongAdder errors = new LongAdder();
+        AtomicReference<String> firstError = new AtomicReference<>();
+        AtomicInteger activeUsers = new AtomicInteger();
+
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        LoadDashboard dashboard = LoadDashboard.open("Нагрузка " + tokenRange, latencies.keySet(), activeUsers::get);
+        try (dashboard) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    activeUsers.incrementAndGet();
+                    try {
+                        while (System.nanoTime() < deadline && !stopRequested.getAsBoolean()) {
+                            String token = TokenGenerator.generateRunRangeToken(tokenRange, tokenSequence.incrementAndGet());
+                            for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+                                send(token, entry.getKey(), entry.getValue(), errors, firstError, dashboard);
+                            }
+                            cycles.increment();
+                        }
+                    } finally {
+                        activeUsers.decrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Нагрузочный прогон завершился с ошибкой", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Нагрузочный прогон прерван", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        return new LoadSample(latencies, cycles.sum(), errors.sum(), firstError.get(), elapsedMillis);
+    }
+
+    private void send(String token, String action, Histogram histogram, LongAdder errors,
+                      AtomicReference<String> firstError, LoadDashboard dashboard) {
+        try {
+            EndpointResponse response = client.send(token, action, VALID_API_KEY);
+            long micros = TimeUnit.NANOSECONDS.toMicros(response.latencyNanos());
+            Metrics.record(histogram, micros);
+            boolean failed = response.statusCode() != HTTP_OK;
+            Timeline.record(SERIES + action, failed);
+            dashboard.record(action, micros, failed);
+            if (failed) {
+                errors.increment();
+                dashboard.failure(response.statusCode(), response.body());
+                firstError.compareAndSet(null, action + " → " + response.statusCode() + " " + response.body());
+            }
+        } catch (IOException e) {
+            Timeline.record(SERIES + action, true);
+            dashboard.failure(e);
+            errors.increment();
+            firstError.compareAndSet(null, action + " → " + e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package aqa.api.utils.load;
+
+import aqa.api.utils.metrics.Metrics;
+import aqa.api.utils.mock.MockCapacityReport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+
+/**
+ * Необработанный результат нагрузки одного источника: гистограммы задержки по действиям и счетчики.
+ * <p>
+ * В отличие от {@link LoadReport} результаты нескольких источников (процессов-агентов)
+ * объединяются без потери точности перцентилей: гистограммы складываются, счетчики суммируются.
+ * Для передачи между процессами гистограммы кодируются в сжатом формате HdrHistogram.
+ *
+ * @param latencies     гистограммы задержки по действиям, мкс
+ * @param cycles        количество выполненных циклов LOGIN → ACTION → LOGOUT
+ * @param errors        количество неуспешных запросов
+ * @param firstError    описание первой ошибки или {@code null}
+ * @param elapsedMillis длительность нагрузки, мс
+ */
+public record LoadSample(Map<String, Histogram> latencies, long cycles, long errors, String firstError,
+                         long elapsedMillis) {
+
+    public static final String LATENCY_METRIC = "load_request_micros";
+
+    /**
+     * Объединяет результаты нескольких источников. Длительность объединенного результата —
+     * наибольшая из длительностей источников, так как источники работают одновременно.
+     *
+     * @param samples результаты источников
+     * @return объединенный результат
+     */
+    public static LoadSample merge(List<LoadSample> samples) {
+        Map<String, Histogram> latencies = new LinkedHashMap<>();
+        long cycles = 0;
+        long errors = 0;
+        String firstError = null;
+        long elapsedMillis = 0;
+        for (LoadSample sample : samples) {
+            sample.latencies().forEach((action, histogram) -> latencies
+                    .computeIfAbsent(action, key -> new ConcurrentHistogram(Metrics.HIGHEST_TRACKABLE_MICROS, 3))
+                    .add(histogram));
+            cycles += sample.cycles();
+            errors += sample.errors();
+            firstError = firstError != null ? firstError : sample.firstError();
+            elapsedMillis = Math.max(elapsedMillis, sample.elapsedMillis());
+        }
+        return new LoadSample(latencies, cycles, errors, firstError, elapsedMillis);
+    }
+
+    /**
+     * Формирует итог прогона. Гистограммы задержки добавляются в реестр {@link Metrics}
+     * ({@code load_request_micros{action}}) для отчета о производительности.
+     *
+     * @param threads  общее количество потоков нагрузки
+     * @param agents   количество процессов, создававших нагрузку
+     * @param capacity оценка загрузки заглушки за время прогона
+     * @return итог прогона
+     */
+    public LoadReport toReport(int threads, int agents, MockCapacityReport capacity) {
+        latencies.forEach((action, histogram) -> Metrics.histogram(LATENCY_METRIC, "action", action).add(histogram));
+        List<ActionLatency> summary = latencies.entrySet().stream()
+                .map(entry -> new ActionLatency(entry.getKey(), entry.getValue().getTotalCount(),
+                        entry.getValue().getValueAtPercentile(50), entry.getValue().getValueAtPercentile(99),
+                        entry.getValue().getMaxValue()))
+                .toList();
+        return new LoadReport(threads, agents, cycles, errors, firstError, elapsedMillis, summary, capacity);
+    }
+
+    /**
+     * Записывает результат в поток для передачи другому процессу.
+     *
+     * @param out поток вывода
+     * @throws IOException если запись не удалась
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(cycles);
+        out.writeLong(errors);
+        out.writeUTF(firstError == null ? "" : firstError);
+        out.writeLong(elapsedMillis);
+        out.writeInt(latencies.size());
+        for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+            ByteBuffer buffer = ByteBuffer.allocate(entry.getValue().getNeededByteBufferCapacity());
+            int length = entry.getValue().encodeIntoCompressedByteBuffer(buffer);
+            out.writeUTF(entry.getKey());
+            out.writeInt(length);
+            out.write(buffer.array(), 0, length);
+        }
+    }
+
+    /**
+     * Читает результат, записанный {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in поток ввода
+     * @return результат источника
+     * @throws IOException если чтение не удалось или гистограмма повреждена
+     */
+    public static LoadSample readFrom(DataInputStream in) throws IOException {
+        long cycles = in.readLong();
+        long errors = in.readLong();
+        String firstError = in.readUTF();
+        long elapsedMillis = in.readLong();
+        int count = in.readInt();
+        Map<String, Histogram> latencies = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String action = in.readUTF();
+            byte[] encoded = new byte[in.readInt()];
+            in.readFully(encoded);
+            try {
+                latencies.put(action, Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded),
+                        Metrics.HIGHEST_TRACKABLE_MICROS));
+            } catch (DataFormatException e) {
+                throw new IOException("Гистограмма действия " + action + " повреждена", e);
+            }
+        }
+        return new LoadSample(latencies, cycles, errors, firstError.isEmpty() ? null : firstError, elapsedMillis);
+    }
+}
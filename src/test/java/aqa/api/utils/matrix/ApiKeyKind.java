@@ -0,0 +1,27 @@
+package aqa.api.utils.matrix;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Варианты API-ключа, используемые при построении матрицы сценариев.
+ */
+public enum ApiKeyKind {
+    VALID(VALID_API_KEY),
+    INVALID(INVALID_API_KEY),
+    EMPTY(EMPTY_API_KEY);
+
+    private final String value;
+
+    ApiKeyKind(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Возвращает значение заголовка "X-Api-Key" для данного варианта.
+     *
+     * @return значение API-ключа
+     */
+    public String value() {
+        return value;
+    }
+}
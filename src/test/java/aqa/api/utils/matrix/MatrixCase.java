@@ -0,0 +1,41 @@
+package aqa.api.utils.matrix;
+
+import aqa.api.utils.model.TokenState;
+
+/**
+ * Одна комбинация параметров матрицы сценариев.
+ *
+ * @param action         значение параметра "action"
+ * @param apiKey         вариант API-ключа
+ * @param tokenShape     форма токена
+ * @param priorState     состояние токена перед запросом (учитывается только для валидного токена)
+ * @param authStatus     HTTP-статус заглушки {@code /auth}
+ * @param doActionStatus HTTP-статус заглушки {@code /doAction}
+ */
+public record MatrixCase(String action,
+                         ApiKeyKind apiKey,
+                         TokenShape tokenShape,
+                         TokenState priorState,
+                         int authStatus,
+                         int doActionStatus) {
+
+    /**
+     * Возвращает состояние токена, фактически достижимое для данной формы токена.
+     * Невалидный токен невозможно авторизовать, поэтому он всегда считается отсутствующим.
+     *
+     * @return состояние токена перед основным запросом
+     */
+    public TokenState effectivePriorState() {
+        return tokenShape == TokenShape.VALID ? priorState : TokenState.ABSENT;
+    }
+
+    /**
+     * Возвращает краткое описание комбинации для отчета.
+     *
+     * @return строка вида "LOGIN key=VALID token=SHORT state=ABSENT auth=200 doAction=500"
+     */
+    public String describe() {
+        return String.format("%s key=%s token=%s state=%s auth=%d doAction=%d",
+                action, apiKey, tokenShape, priorState, authStatus, doActionStatus);
+    }
+}
@@ -0,0 +1,27 @@
+package aqa.api.utils.matrix;
+
+import aqa.api.utils.model.ExpectedOutcome;
+
+/**
+ * Результат выполнения одной комбинации матрицы сценариев.
+ *
+ * @param matrixCase комбинация параметров
+ * @param token      использованный токен
+ * @param expected   ожидаемый ответ по модели
+ * @param status     фактический HTTP-статус (0, если запрос не выполнен)
+ * @param result     фактическое значение поля "result"
+ * @param message    фактическое значение поля "message"
+ * @param failure    описание расхождения или {@code null}, если комбинация прошла
+ */
+public record MatrixCaseResult(MatrixCase matrixCase,
+                               String token,
+                               ExpectedOutcome expected,
+                               int status,
+                               String result,
+                               String message,
+                               String failure) {
+
+    public boolean passed() {
+        return failure == null;
+    }
+}
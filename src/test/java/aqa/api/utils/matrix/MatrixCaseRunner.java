@@ -0,0 +1,111 @@
+package aqa.api.utils.matrix;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.WireMockStubBuilder;
+import aqa.api.utils.envelope.ResultEnvelope;
+import aqa.api.utils.model.ExpectedOutcome;
+import aqa.api.utils.model.SutModel;
+import aqa.api.utils.model.TokenState;
+import io.restassured.response.Response;
+
+import static aqa.api.utils.Constants.*;
+import static aqa.api.utils.specs.RequestSpecs.forEndpoint;
+import static aqa.api.utils.specs.RequestSpecs.forValidApiKey;
+import static io.restassured.RestAssured.given;
+
+/**
+ * Исполнитель одной комбинации матрицы сценариев.
+ * <p>
+ * Для каждой комбинации генерируется собственный токен, поэтому заглушки разных
+ * комбинаций не пересекаются и комбинации можно выполнять параллельно.
+ */
+public class MatrixCaseRunner {
+
+    /**
+     * Подготавливает состояние токена, настраивает заглушки, выполняет основной запрос
+     * и сравнивает ответ с ожиданием модели.
+     *
+     * @param matrixCase комбинация параметров
+     * @return результат выполнения комбинации
+     */
+    public static MatrixCaseResult run(MatrixCase matrixCase) {
+        String token = matrixCase.tokenShape().generate();
+        TokenState priorState = matrixCase.effectivePriorState();
+        ExpectedOutcome expected = SutModel.apply(priorState, matrixCase.action(), matrixCase.apiKey().value(),
+                token, matrixCase.authStatus(), matrixCase.doActionStatus()).outcome();
+
+        try {
+            String setupFailure = prepareState(token, priorState);
+            if (setupFailure != null) {
+                return new MatrixCaseResult(matrixCase, token, expected, 0, null, null, setupFailure);
+            }
+            if (matrixCase.tokenShape() == TokenShape.VALID) {
+                stubDependencies(token, matrixCase);
+            }
+
+            Response response = given()
+                    .spec(forEndpoint(token, matrixCase.action(), matrixCase.apiKey().value()))
+                    .when()
+                    .post(ENDPOINT);
+
+            int status = response.getStatusCode();
+            ResultEnvelope envelope = ResultEnvelope.from(response);
+            String result = envelope.result();
+            String message = envelope.message();
+            String failure = expected.matches(status, result, message)
+                    ? null
+                    : String.format("ожидалось %s, получено %d %s \"%s\"", expected, status, result, message);
+            return new MatrixCaseResult(matrixCase, token, expected, status, result, message, failure);
+        } catch (RuntimeException e) {
+            return new MatrixCaseResult(matrixCase, token, expected, 0, null, null,
+                    "исключение: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Переводит токен в требуемое состояние через LOGIN и LOGOUT.
+     *
+     * @return описание ошибки подготовки или {@code null}, если подготовка успешна
+     */
+    private static String prepareState(String token, TokenState priorState) {
+        if (priorState == TokenState.ABSENT) {
+            return null;
+        }
+
+        WireMockStubBuilder.mockAuthSuccess(token);
+        int loginStatus = given().spec(forValidApiKey(token, ACTION_LOGIN)).when().post(ENDPOINT).getStatusCode();
+        if (loginStatus != HTTP_OK) {
+            return "подготовка: LOGIN вернул " + loginStatus;
+        }
+
+        if (priorState == TokenState.LOGGED_OUT) {
+            int logoutStatus = given().spec(forValidApiKey(token, ACTION_LOGOUT)).when().post(ENDPOINT).getStatusCode();
+            if (logoutStatus != HTTP_OK) {
+                return "подготовка: LOGOUT вернул " + logoutStatus;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Настраивает заглушки внешнего сервиса. Заглушки, добавленные позже, имеют приоритет
+     * над заглушкой успешной аутентификации из этапа подготовки.
+     */
+    private static void stubDependencies(String token, MatrixCase matrixCase) {
+        if (matrixCase.authStatus() == HTTP_OK) {
+            WireMockStubBuilder.mockAuthSuccess(token);
+        } else {
+            WireMockStubBuilder.mockAuthError(token, matrixCase.authStatus());
+        }
+
+        if (matrixCase.doActionStatus() == HTTP_OK) {
+            WireMockStubBuilder.mockDoActionSuccess(token);
+        } else {
+            WireMockStubBuilder.mockDoActionError(token, matrixCase.doActionStatus());
+        }
+    }
+
+    private MatrixCaseRunner() {
+        throw new UtilityClassException(getClass());
+    }
+}
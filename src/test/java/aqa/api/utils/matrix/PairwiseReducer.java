@@ -0,0 +1,193 @@
+package aqa.api.utils.matrix;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Построитель попарно-покрывающего набора (pairwise) для произвольного числа измерений.
+ * <p>
+ * Использует жадный алгоритм в духе AETG: на каждой итерации строится несколько
+ * строк-кандидатов, и в набор добавляется та, что покрывает больше всего еще не
+ * покрытых пар значений. Результат детерминирован для одного и того же seed.
+ */
+public class PairwiseReducer {
+
+    private static final int CANDIDATES_PER_ROW = 50;
+
+    /**
+     * Строит набор строк, в котором каждая пара значений любых двух измерений встречается хотя бы раз.
+     *
+     * @param sizes количество значений в каждом измерении
+     * @param seed  начальное значение генератора случайных чисел
+     * @return строки набора; каждая строка содержит индекс значения для каждого измерения
+     * @throws IllegalArgumentException если передано меньше двух измерений или измерение пустое
+     */
+    public static List<int[]> cover(int[] sizes, long seed) {
+        if (sizes.length < 2 || Arrays.stream(sizes).anyMatch(size -> size < 1)) {
+            throw new IllegalArgumentException("Требуется не менее двух непустых измерений: " + Arrays.toString(sizes));
+        }
+
+        PairTable table = new PairTable(sizes);
+        Random random = new Random(seed);
+        List<int[]> rows = new ArrayList<>();
+
+        while (table.remaining > 0) {
+            int[] best = null;
+            int bestGain = -1;
+            for (int i = 0; i < CANDIDATES_PER_ROW; i++) {
+                int[] candidate = buildCandidate(table, sizes, random);
+                int gain = table.gain(candidate);
+                if (gain > bestGain) {
+                    best = candidate;
+                    bestGain = gain;
+                }
+            }
+            table.mark(best);
+            rows.add(best);
+        }
+        return rows;
+    }
+
+    /**
+     * Строит кандидата: фиксирует первую непокрытую пару, затем в случайном порядке
+     * выбирает значения остальных измерений, максимизируя число новых пар.
+     */
+    private static int[] buildCandidate(PairTable table, int[] sizes, Random random) {
+        int n = sizes.length;
+        int[] row = new int[n];
+        Arrays.fill(row, -1);
+
+        int[] seedPair = table.firstUncovered(random.nextInt(table.totalPairs()));
+        row[seedPair[0]] = seedPair[1];
+        row[seedPair[2]] = seedPair[3];
+
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (row[i] < 0) {
+                order.add(i);
+            }
+        }
+        Collections.shuffle(order, random);
+
+        for (int dimension : order) {
+            int bestValue = random.nextInt(sizes[dimension]);
+            int bestGain = -1;
+            int offset = random.nextInt(sizes[dimension]);
+            for (int k = 0; k < sizes[dimension]; k++) {
+                int value = (k + offset) % sizes[dimension];
+                int gain = 0;
+                for (int other = 0; other < n; other++) {
+                    if (other != dimension && row[other] >= 0
+                            && !table.isCovered(dimension, value, other, row[other])) {
+                        gain++;
+                    }
+                }
+                if (gain > bestGain) {
+                    bestGain = gain;
+                    bestValue = value;
+                }
+            }
+            row[dimension] = bestValue;
+        }
+        return row;
+    }
+
+    /**
+     * Таблица покрытия пар значений для всех пар измерений.
+     */
+    private static final class PairTable {
+        private final int[] sizes;
+        private final boolean[][][] covered;
+        private int remaining;
+
+        PairTable(int[] sizes) {
+            this.sizes = sizes;
+            int n = sizes.length;
+            this.covered = new boolean[n][n][];
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    covered[i][j] = new boolean[sizes[i] * sizes[j]];
+                    remaining += sizes[i] * sizes[j];
+                }
+            }
+        }
+
+        int totalPairs() {
+            int total = 0;
+            for (int i = 0; i < sizes.length; i++) {
+                for (int j = i + 1; j < sizes.length; j++) {
+                    total += sizes[i] * sizes[j];
+                }
+            }
+            return total;
+        }
+
+        boolean isCovered(int a, int valueA, int b, int valueB) {
+            return a < b
+                    ? covered[a][b][valueA * sizes[b] + valueB]
+                    : covered[b][a][valueB * sizes[a] + valueA];
+        }
+
+        int gain(int[] row) {
+            int gain = 0;
+            for (int i = 0; i < row.length; i++) {
+                for (int j = i + 1; j < row.length; j++) {
+                    if (!covered[i][j][row[i] * sizes[j] + row[j]]) {
+                        gain++;
+                    }
+                }
+            }
+            return gain;
+        }
+
+        void mark(int[] row) {
+            for (int i = 0; i < row.length; i++) {
+                for (int j = i + 1; j < row.length; j++) {
+                    int index = row[i] * sizes[j] + row[j];
+                    if (!covered[i][j][index]) {
+                        covered[i][j][index] = true;
+                        remaining--;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Возвращает первую непокрытую пару, начиная поиск с заданной позиции.
+         *
+         * @return массив {измерение A, значение A, измерение B, значение B}
+         */
+        int[] firstUncovered(int start) {
+            List<int[]> pairs = new ArrayList<>();
+            for (int i = 0; i < sizes.length; i++) {
+                for (int j = i + 1; j < sizes.length; j++) {
+                    pairs.add(new int[]{i, j});
+                }
+            }
+            int total = totalPairs();
+            for (int step = 0; step < total; step++) {
+                int position = (start + step) % total;
+                for (int[] pair : pairs) {
+                    int size = sizes[pair[0]] * sizes[pair[1]];
+                    if (position < size) {
+                        if (!covered[pair[0]][pair[1]][position]) {
+                            return new int[]{pair[0], position / sizes[pair[1]], pair[1], position % sizes[pair[1]]};
+                        }
+                        break;
+                    }
+                    position -= size;
+                }
+            }
+            throw new IllegalStateException("Непокрытые пары отсутствуют");
+        }
+    }
+
+    private PairwiseReducer() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,114 @@
+package aqa.api.utils.matrix;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.model.TokenState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Генератор матрицы сценариев для эндпоинта {@code /endpoint}.
+ * <p>
+ * Измерения матрицы: action, API-ключ, форма токена, состояние токена перед запросом
+ * и HTTP-статусы заглушек {@code /auth} и {@code /doAction}. Доступны полное декартово
+ * произведение и попарно-покрывающий набор.
+ */
+public class ScenarioMatrix {
+
+    public static final String MODE_PAIRWISE = "pairwise";
+    public static final String MODE_FULL = "full";
+
+    private static final long PAIRWISE_SEED = 26L;
+
+    private static final String[] ACTIONS = {ACTION_LOGIN, ACTION_ACTION, ACTION_LOGOUT};
+    private static final ApiKeyKind[] API_KEYS = ApiKeyKind.values();
+    private static final TokenShape[] TOKEN_SHAPES = TokenShape.values();
+    private static final TokenState[] PRIOR_STATES = TokenState.values();
+    private static final int[] DEPENDENCY_STATUSES = {HTTP_OK, HTTP_FORBIDDEN, HTTP_NOT_FOUND, HTTP_INTERNAL_ERROR};
+
+    private static final int[] SIZES = {
+            ACTIONS.length,
+            API_KEYS.length,
+            TOKEN_SHAPES.length,
+            PRIOR_STATES.length,
+            DEPENDENCY_STATUSES.length,
+            DEPENDENCY_STATUSES.length
+    };
+
+    /**
+     * Строит полное декартово произведение всех измерений.
+     *
+     * @return все комбинации параметров
+     */
+    public static List<MatrixCase> cartesian() {
+        List<MatrixCase> cases = new ArrayList<>();
+        int[] row = new int[SIZES.length];
+        while (true) {
+            cases.add(toCase(row));
+            int dimension = SIZES.length - 1;
+            while (dimension >= 0 && ++row[dimension] == SIZES[dimension]) {
+                row[dimension] = 0;
+                dimension--;
+            }
+            if (dimension < 0) {
+                return cases;
+            }
+        }
+    }
+
+    /**
+     * Строит попарно-покрывающий набор: каждая пара значений любых двух измерений
+     * встречается хотя бы в одной комбинации.
+     *
+     * @return сокращенный набор комбинаций
+     */
+    public static List<MatrixCase> pairwise() {
+        return PairwiseReducer.cover(SIZES, PAIRWISE_SEED).stream()
+                .map(ScenarioMatrix::toCase)
+                .toList();
+    }
+
+    /**
+     * Возвращает набор комбинаций для указанного режима.
+     *
+     * @param mode {@value #MODE_PAIRWISE} или {@value #MODE_FULL}
+     * @return набор комбинаций
+     * @throws IllegalArgumentException если режим не поддерживается
+     */
+    public static List<MatrixCase> forMode(String mode) {
+        return switch (mode) {
+            case MODE_PAIRWISE -> pairwise();
+            case MODE_FULL -> cartesian();
+            default -> throw new IllegalArgumentException("Неизвестный режим матрицы: " + mode);
+        };
+    }
+
+    /**
+     * Возвращает размер полного декартова произведения.
+     *
+     * @return количество всех комбинаций
+     */
+    public static int cartesianSize() {
+        int size = 1;
+        for (int dimension : SIZES) {
+            size *= dimension;
+        }
+        return size;
+    }
+
+    private static MatrixCase toCase(int[] row) {
+        return new MatrixCase(
+                ACTIONS[row[0]],
+                API_KEYS[row[1]],
+                TOKEN_SHAPES[row[2]],
+                PRIOR_STATES[row[3]],
+                DEPENDENCY_STATUSES[row[4]],
+                DEPENDENCY_STATUSES[row[5]]);
+    }
+
+    private ScenarioMatrix() {
+        throw new UtilityClassException(getClass());
+    }
+}
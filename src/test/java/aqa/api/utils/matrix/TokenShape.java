@@ -0,0 +1,31 @@
+package aqa.api.utils.matrix;
+
+import aqa.api.utils.TokenGenerator;
+
+import java.util.function.Supplier;
+
+/**
+ * Формы токена, используемые при построении матрицы сценариев.
+ */
+public enum TokenShape {
+    VALID(TokenGenerator::generateValidToken),
+    SHORT(TokenGenerator::generateShortToken),
+    LOWER_CASE(TokenGenerator::generateLowerCaseToken),
+    EMPTY(() -> ""),
+    NULL(() -> null);
+
+    private final Supplier<String> generator;
+
+    TokenShape(Supplier<String> generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Генерирует новый токен данной формы.
+     *
+     * @return токен (для {@link #NULL} возвращается {@code null})
+     */
+    public String generate() {
+        return generator.get();
+    }
+}
@@ -0,0 +1,58 @@
+package aqa.api.utils.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Идентификатор метрики: имя и набор меток.
+ *
+ * @param name   имя метрики в формате snake_case
+ * @param labels метки метрики в порядке объявления
+ */
+public record MetricKey(String name, Map<String, String> labels) {
+
+    public MetricKey {
+        labels = Collections.unmodifiableMap(new LinkedHashMap<>(labels));
+    }
+
+    /**
+     * Создает идентификатор из имени и пар "метка, значение".
+     *
+     * @param name        имя метрики
+     * @param labelPairs  чередующиеся имена и значения меток
+     * @return идентификатор метрики
+     * @throws IllegalArgumentException если количество элементов {@code labelPairs} нечетное
+     */
+    public static MetricKey of(String name, String... labelPairs) {
+        if (labelPairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Метки задаются парами имя-значение: " + name);
+        }
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (int i = 0; i < labelPairs.length; i += 2) {
+            labels.put(labelPairs[i], String.valueOf(labelPairs[i + 1]));
+        }
+        return new MetricKey(name, labels);
+    }
+
+    /**
+     * Возвращает значение метки.
+     *
+     * @param label имя метки
+     * @return значение метки или {@code null}
+     */
+    public String label(String label) {
+        return labels.get(label);
+    }
+
+    @Override
+    public String toString() {
+        if (labels.isEmpty()) {
+            return name;
+        }
+        return labels.entrySet().stream()
+                .map(entry -> entry.getKey() + "=\"" + entry.getValue() + "\"")
+                .collect(Collectors.joining(",", name + "{", "}"));
+    }
+}
@@ -0,0 +1,94 @@
+package aqa.api.utils.metrics;
+
+import aqa.api.exceptions.UtilityClassException;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Общий для JVM реестр метрик тестового окружения: счетчики и гистограммы задержек.
+ * <p>
+ * Гистограммы хранят значения в микросекундах с точностью до трех значащих цифр
+ * (HdrHistogram), поэтому объем памяти не зависит от количества записанных значений.
+ * Значения больше {@link #HIGHEST_TRACKABLE_MICROS} записываются как максимальное.
+ */
+public class Metrics {
+
+    /**
+     * Максимальное значение гистограмм: один час в микросекундах.
+     */
+    public static final long HIGHEST_TRACKABLE_MICROS = 3_600_000_000L;
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final ConcurrentMap<MetricKey, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<MetricKey, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    /**
+     * Возвращает счетчик, создавая его при первом обращении.
+     *
+     * @param name       имя метрики
+     * @param labelPairs чередующиеся имена и значения меток
+     * @return счетчик
+     */
+    public static LongAdder counter(String name, String... labelPairs) {
+        return COUNTERS.computeIfAbsent(MetricKey.of(name, labelPairs), key -> new LongAdder());
+    }
+
+    /**
+     * Возвращает гистограмму, создавая ее при первом обращении.
+     *
+     * @param name       имя метрики
+     * @param labelPairs чередующиеся имена и значения меток
+     * @return потокобезопасная гистограмма значений в микросекундах
+     */
+    public static Histogram histogram(String name, String... labelPairs) {
+        return HISTOGRAMS.computeIfAbsent(MetricKey.of(name, labelPairs),
+                key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+    }
+
+    /**
+     * Записывает значение в гистограмму, ограничивая его допустимым диапазоном.
+     *
+     * @param histogram гистограмма
+     * @param micros    значение в микросекундах
+     */
+    public static void record(Histogram histogram, long micros) {
+        histogram.recordValue(Math.max(0, Math.min(micros, HIGHEST_TRACKABLE_MICROS)));
+    }
+
+    /**
+     * Возвращает снимок значений всех счетчиков, упорядоченный по идентификатору.
+     *
+     * @return значения счетчиков
+     */
+    public static Map<MetricKey, Long> counters() {
+        Map<MetricKey, Long> snapshot = new TreeMap<>(Metrics::compare);
+        COUNTERS.forEach((key, adder) -> snapshot.put(key, adder.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Возвращает копии всех гистограмм, упорядоченные по идентификатору.
+     *
+     * @return копии гистограмм
+     */
+    public static Map<MetricKey, Histogram> histograms() {
+        Map<MetricKey, Histogram> snapshot = new TreeMap<>(Metrics::compare);
+        HISTOGRAMS.forEach((key, histogram) -> snapshot.put(key, histogram.copy()));
+        return snapshot;
+    }
+
+    private static int compare(MetricKey left, MetricKey right) {
+        return left.toString().compareTo(right.toString());
+    }
+
+    private Metrics() {
+        throw new UtilityClassException(getClass());
+    }
+}
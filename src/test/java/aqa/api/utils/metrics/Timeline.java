@@ -0,0 +1,99 @@
+package aqa.api.utils.metrics;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Общий для JVM посекундный учет запросов и ошибок по рядам (например, по действиям).
+ * <p>
+ * Каждый ряд хранит два массива счетчиков фиксированного размера {@code metrics.timeline.seconds}
+ * (3600): запись — два атомарных инкремента без выделения памяти. Секунды отсчитываются от загрузки
+ * класса; запросы после последней секунды окна учитываются в ней.
+ */
+public class Timeline {
+
+    private static final int SECONDS = Integer.getInteger("metrics.timeline.seconds", 3600);
+    private static final long ORIGIN_MILLIS = System.currentTimeMillis();
+
+    private static final ConcurrentMap<String, Counts> SERIES = new ConcurrentHashMap<>();
+
+    /**
+     * Посекундные значения одного ряда.
+     *
+     * @param name         имя ряда
+     * @param originMillis момент начала отсчета секунд, мс от эпохи
+     * @param requests     количество запросов по секундам от начала отсчета до последней секунды с запросами
+     * @param errors       количество ошибок по тем же секундам
+     */
+    public record Series(String name, long originMillis, long[] requests, long[] errors) {
+
+        /**
+         * @return общее количество запросов ряда
+         */
+        public long totalRequests() {
+            return Arrays.stream(requests).sum();
+        }
+
+        /**
+         * @return общее количество ошибок ряда
+         */
+        public long totalErrors() {
+            return Arrays.stream(errors).sum();
+        }
+    }
+
+    /**
+     * Учитывает запрос в текущей секунде ряда.
+     *
+     * @param series имя ряда
+     * @param error  признак ошибки
+     */
+    public static void record(String series, boolean error) {
+        Counts counts = SERIES.computeIfAbsent(series, name -> new Counts());
+        int second = (int) Math.min(SECONDS - 1, (System.currentTimeMillis() - ORIGIN_MILLIS) / 1000);
+        counts.requests.incrementAndGet(second);
+        if (error) {
+            counts.errors.incrementAndGet(second);
+        }
+        if (second > counts.last.get()) {
+            counts.last.accumulateAndGet(second, Math::max);
+        }
+    }
+
+    /**
+     * Возвращает снимок всех рядов, упорядоченный по имени.
+     *
+     * @return ряды
+     */
+    public static Map<String, Series> snapshot() {
+        Map<String, Series> snapshot = new TreeMap<>();
+        SERIES.forEach((name, counts) -> {
+            int length = counts.last.get() + 1;
+            long[] requests = new long[length];
+            long[] errors = new long[length];
+            for (int second = 0; second < length; second++) {
+                requests[second] = counts.requests.get(second);
+                errors[second] = counts.errors.get(second);
+            }
+            snapshot.put(name, new Series(name, ORIGIN_MILLIS, requests, errors));
+        });
+        return snapshot;
+    }
+
+    private static final class Counts {
+        private final AtomicLongArray requests = new AtomicLongArray(SECONDS);
+        private final AtomicLongArray errors = new AtomicLongArray(SECONDS);
+        private final AtomicInteger last = new AtomicInteger();
+    }
+
+    private Timeline() {
+        throw new UtilityClassException(getClass());
+    }
+}
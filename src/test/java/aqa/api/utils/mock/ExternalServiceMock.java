@@ -0,0 +1,100 @@
+package aqa.api.utils.mock;
+
+import java.util.List;
+
+/**
+ * Заглушка внешнего сервиса ({@code /auth} и {@code /doAction}), к которому обращается тестируемый сервис.
+ * <p>
+ * Контракт общий для всех реализаций: POST-запрос с телом {@code application/x-www-form-urlencoded},
+ * токен передается параметром {@code token=} в теле, ответ — заданный HTTP-статус и JSON-тело.
+ * Заглушка конкретного токена проверяет заголовки {@code Content-Type} и {@code Accept} и имеет
+ * приоритет над заглушкой "для любого токена"; запрос без подходящей заглушки получает 404.
+ * Реализация выбирается свойством {@code mock.engine} (см. {@link MockEngine}).
+ */
+public interface ExternalServiceMock {
+
+    /**
+     * Запускает заглушку на порту, переданном при создании.
+     */
+    void start();
+
+    /**
+     * Останавливает заглушку и освобождает порт.
+     */
+    void stop();
+
+    /**
+     * Удаляет все настроенные ответы.
+     */
+    void reset();
+
+    /**
+     * Настраивает ответ эндпоинта для конкретного токена.
+     *
+     * @param endpoint   путь эндпоинта ({@code /auth} или {@code /doAction})
+     * @param token      токен, передаваемый в теле запроса
+     * @param statusCode HTTP-статус ответа
+     * @param body       JSON-тело ответа
+     */
+    void stub(String endpoint, String token, int statusCode, String body);
+
+    /**
+     * Настраивает ответ эндпоинта для любого токена без собственной заглушки.
+     *
+     * @param endpoint   путь эндпоинта
+     * @param statusCode HTTP-статус ответа
+     * @param body       JSON-тело ответа
+     */
+    void stubAny(String endpoint, int statusCode, String body);
+
+    /**
+     * Удаляет ответ эндпоинта для конкретного токена, если он настроен.
+     *
+     * @param endpoint путь эндпоинта
+     * @param token    токен, для которого настроен ответ
+     */
+    void remove(String endpoint, String token);
+
+    /**
+     * Удаляет ответ эндпоинта для любого токена, если он настроен.
+     *
+     * @param endpoint путь эндпоинта
+     */
+    void removeAny(String endpoint);
+
+    /**
+     * Возвращает порт, на котором принимаются запросы.
+     *
+     * @return номер порта
+     */
+    int port();
+
+    /**
+     * Возвращает запросы из журнала заглушки, в теле которых передан указанный токен.
+     * Используется для диагностики зависаний; реализация без журнала возвращает пустой список.
+     *
+     * @param token токен из тела запроса
+     * @return описания запросов, последние первыми
+     */
+    default List<String> journal(String token) {
+        return List.of();
+    }
+
+    /**
+     * Удаляет из журнала заглушки запросы эндпоинта с указанным токеном.
+     * Вызывается при закрытии {@link StubScope}, чтобы журнал не рос в течение прогона;
+     * реализация без журнала ничего не делает.
+     *
+     * @param endpoint путь эндпоинта
+     * @param token    токен из тела запроса или {@code null} для всех запросов эндпоинта
+     */
+    default void forget(String endpoint, String token) {
+    }
+
+    /**
+     * Возвращает реализацию заглушки.
+     *
+     * @return движок заглушки
+     */
+    MockEngine engine();
+}
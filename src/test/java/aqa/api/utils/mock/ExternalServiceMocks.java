@@ -0,0 +1,98 @@
+package aqa.api.utils.mock;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Утилитный класс, управляющий активной заглушкой внешнего сервиса.
+ * <p>
+ * Движок выбирается свойством {@code mock.engine} ({@code wiremock} по умолчанию или {@code nio}).
+ * Тесты и {@link aqa.api.utils.WireMockStubBuilder} работают с заглушкой через
+ * {@link ExternalServiceMock} и не зависят от выбранного движка.
+ */
+public class ExternalServiceMocks {
+
+    private static final MockEngine ENGINE = MockEngine.parse(System.getProperty("mock.engine", "wiremock"));
+
+    private static final Lock STUB_LOCK = new ReentrantLock();
+
+    private static volatile ExternalServiceMock active;
+    private static boolean shutdownHookRegistered;
+
+    /**
+     * Создает и запускает заглушку выбранного движка, делая ее активной. Заглушка общая для JVM:
+     * повторный вызов возвращает уже запущенную заглушку, а останавливается она при завершении JVM
+     * (или явным {@link #stop()}). Ответы, настроенные через возвращаемую заглушку, запоминаются
+     * в текущей {@link StubScope} и удаляются при ее закрытии.
+     *
+     * @param port порт для приема запросов
+     * @return запущенная заглушка
+     */
+    public static synchronized ExternalServiceMock start(int port) {
+        if (active != null) {
+            return active;
+        }
+        ExternalServiceMock mock = new ScopedExternalServiceMock(ENGINE.create(port));
+        mock.start();
+        active = mock;
+        if (!shutdownHookRegistered) {
+            Runtime.getRuntime().addShutdownHook(new Thread(ExternalServiceMocks::stop, "external-service-mock-stop"));
+            shutdownHookRegistered = true;
+        }
+        return mock;
+    }
+
+    /**
+     * Возвращает активную заглушку.
+     *
+     * @return запущенная заглушка
+     * @throws IllegalStateException если заглушка не запущена
+     */
+    public static ExternalServiceMock active() {
+        ExternalServiceMock mock = active;
+        if (mock == null) {
+            throw new IllegalStateException("Заглушка внешнего сервиса не запущена");
+        }
+        return mock;
+    }
+
+    /**
+     * Останавливает активную заглушку, если она запущена.
+     */
+    public static synchronized void stop() {
+        STUB_LOCK.lock();
+        try {
+            if (active != null) {
+                active.stop();
+                active = null;
+            }
+        } finally {
+            STUB_LOCK.unlock();
+        }
+    }
+
+    /**
+     * Возвращает блокировку, которую удерживают остановка заглушки и фоновые операции на время
+     * настройки своих заглушек (см. {@link aqa.api.utils.session.SessionPool}).
+     *
+     * @return общая для JVM блокировка заглушек
+     */
+    public static Lock stubLock() {
+        return STUB_LOCK;
+    }
+
+    /**
+     * Возвращает движок, выбранный для прогона.
+     *
+     * @return движок заглушки
+     */
+    public static MockEngine engine() {
+        return ENGINE;
+    }
+
+    private ExternalServiceMocks() {
+        throw new UtilityClassException(getClass());
+    }
+}
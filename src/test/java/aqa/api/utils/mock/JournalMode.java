@@ -0,0 +1,60 @@
+package aqa.api.utils.mock;
+
+import java.util.Locale;
+
+/**
+ * Режим хранения журнала запросов WireMock.
+ * <p>
+ * Агрегированные метрики ({@link MockTrafficListener}) собираются во всех режимах;
+ * режим определяет только то, сколько отдельных запросов хранится в памяти.
+ */
+public enum JournalMode {
+
+    /**
+     * Неограниченный журнал WireMock (поведение по умолчанию). Подходит для коротких прогонов,
+     * при длительной нагрузке память растет линейно с количеством запросов.
+     */
+    FULL,
+
+    /**
+     * Журнал WireMock, ограниченный последними {@code mock.journal.size} запросами.
+     */
+    BOUNDED,
+
+    /**
+     * Журнал WireMock отключен; хранится каждый {@code mock.journal.sampleEvery}-й запрос
+     * в кольцевом буфере емкостью {@code mock.journal.sampleCapacity}.
+     */
+    SAMPLING,
+
+    /**
+     * Журнал WireMock отключен; запросы только учитываются в счетчиках и гистограммах.
+     */
+    STREAMING;
+
+    /**
+     * Определяет режим по значению свойства.
+     *
+     * @param value значение свойства {@code mock.journal} (регистр не важен)
+     * @return режим журнала
+     * @throws IllegalArgumentException если значение не соответствует ни одному режиму
+     */
+    public static JournalMode parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Неизвестный режим журнала WireMock: " + value
+                    + " (допустимо: full, bounded, sampling, streaming)", e);
+        }
+    }
+
+    /**
+     * Проверяет, сохраняет ли WireMock запросы в собственном журнале в этом режиме.
+     * Без журнала недоступны {@code verify} и поиск запросов через API WireMock.
+     *
+     * @return {@code true}, если журнал WireMock включен
+     */
+    public boolean keepsWireMockJournal() {
+        return this == FULL || this == BOUNDED;
+    }
+}
@@ -0,0 +1,220 @@
+package aqa.api.utils.mock;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.load.LoadDashboard;
+import aqa.api.utils.metrics.Metrics;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static aqa.api.utils.Constants.HTTP_OK;
+import static aqa.api.utils.Constants.MOCK_AUTH;
+
+/**
+ * Автономный замер предельной пропускной способности заглушки внешнего сервиса на текущей машине.
+ * <p>
+ * Запускает заглушку выбранного движка ({@code mock.engine}) на свободном порту и нагружает ее
+ * постоянными соединениями, удваивая количество клиентов от 1 до {@code mock.benchmark.maxClients} (64)
+ * на {@code mock.benchmark.seconds} (5) секунд каждый уровень. Для каждого уровня печатаются
+ * пропускная способность, задержка на стороне клиента и оценка {@link MockCapacity}.
+ * Потолок заглушки — наибольшая пропускная способность среди уровней, на которых
+ * заглушка еще не ограничивала результат. Ход уровня можно наблюдать в живой сводке
+ * ({@link LoadDashboard}, свойство {@code load.dashboard}).
+ * <p>
+ * Запуск: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=aqa.api.utils.mock.MockBenchmark -Dmock.engine=nio}
+ */
+public class MockBenchmark {
+
+    /**
+     * Результат одного уровня нагрузки.
+     *
+     * @param clients         количество клиентских соединений
+     * @param throughput      запросов в секунду
+     * @param clientP99Micros 99-й перцентиль задержки на стороне клиента, мкс
+     * @param capacity        оценка загрузки заглушки
+     */
+    public record Level(int clients, double throughput, long clientP99Micros, MockCapacityReport capacity) {
+    }
+
+    /**
+     * Выполняет замер с параметрами из системных свойств и печатает таблицу уровней.
+     *
+     * @param args не используются
+     */
+    public static void main(String[] args) {
+        MockEngine engine = ExternalServiceMocks.engine();
+        int maxClients = Integer.getInteger("mock.benchmark.maxClients", 64);
+        int seconds = Integer.getInteger("mock.benchmark.seconds", 5);
+
+        List<Level> levels = run(engine, maxClients, seconds);
+
+        System.out.printf("Заглушка: %s, процессоров: %d%n", engine.name().toLowerCase(Locale.ROOT),
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %12s %14s %12s %10s  %s%n",
+                "Клиентов", "Запросов/с", "p99 клиента", "Загрузка", "p99 обр.", "Вердикт");
+        for (Level level : levels) {
+            System.out.printf("%8d %12.0f %11d мкс %11.1f%% %6d мкс  %s%n",
+                    level.clients(), level.throughput(), level.clientP99Micros(),
+                    level.capacity().utilisation() * 100, level.capacity().handleP99Micros(),
+                    level.capacity().valid() ? "OK" : String.join("; ", level.capacity().violations()));
+        }
+        System.out.printf("Потолок заглушки: %.0f запросов в секунду%n", ceiling(levels));
+    }
+
+    /**
+     * Выполняет замер.
+     *
+     * @param engine     движок заглушки
+     * @param maxClients максимальное количество клиентских соединений
+     * @param seconds    длительность каждого уровня, с
+     * @return результаты уровней в порядке возрастания нагрузки
+     */
+    public static List<Level> run(MockEngine engine, int maxClients, int seconds) {
+        int port = freePort();
+        ExternalServiceMock mock = engine.create(port);
+        mock.start();
+        try {
+            mock.stubAny(MOCK_AUTH, HTTP_OK, "{\"status\":\"success\"}");
+            List<Level> levels = new ArrayList<>();
+            for (int clients = 1; clients <= maxClients; clients *= 2) {
+                levels.add(runLevel(port, clients, seconds));
+            }
+            return levels;
+        } finally {
+            mock.stop();
+        }
+    }
+
+    /**
+     * Возвращает наибольшую пропускную способность среди уровней, на которых заглушка
+     * не ограничивала результат (или среди всех уровней, если таких нет).
+     *
+     * @param levels результаты уровней
+     * @return запросов в секунду
+     */
+    public static double ceiling(List<Level> levels) {
+        double valid = levels.stream().filter(level -> level.capacity().valid())
+                .mapToDouble(Level::throughput).max().orElse(0);
+        return valid > 0 ? valid : levels.stream().mapToDouble(Level::throughput).max().orElse(0);
+    }
+
+    private static Level runLevel(int port, int clients, int seconds) {
+        Histogram latency = new ConcurrentHistogram(Metrics.HIGHEST_TRACKABLE_MICROS, 3);
+        LongAdder requests = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        MockCapacity.Window window = MockCapacity.openWindow();
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        LoadDashboard dashboard = LoadDashboard.open("Заглушка, клиентов: " + clients, List.of(MOCK_AUTH), () -> clients);
+        try (dashboard) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                long client = i;
+                futures.add(executor.submit(() -> {
+                    drive(port, client, deadline, latency, requests, dashboard);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Клиент замера завершился с ошибкой", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Замер прерван", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        MockCapacityReport capacity = window.finish();
+        return new Level(clients, requests.sum() * 1e9 / elapsedNanos, latency.getValueAtPercentile(99), capacity);
+    }
+
+    private static void drive(int port, long client, long deadline, Histogram latency, LongAdder requests,
+                              LoadDashboard dashboard) throws IOException {
+        byte[] body = String.format("token=DDDD%028X", client).getBytes(StandardCharsets.US_ASCII);
+        byte[] request = ("POST " + MOCK_AUTH + " HTTP/1.1\r\n"
+                + "Host: localhost:" + port + "\r\n"
+                + "Content-Type: application/x-www-form-urlencoded\r\n"
+                + "Accept: application/json\r\n"
+                + "Content-Length: " + body.length + "\r\n\r\n"
+                + new String(body, StandardCharsets.US_ASCII)).getBytes(StandardCharsets.US_ASCII);
+
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setTcpNoDelay(true);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            while (System.nanoTime() < deadline) {
+                long sent = System.nanoTime();
+                out.write(request);
+                out.flush();
+                readResponse(in);
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent);
+                Metrics.record(latency, micros);
+                dashboard.record(MOCK_AUTH, micros, false);
+                requests.increment();
+            }
+        }
+    }
+
+    /**
+     * Читает ответ целиком: заголовки до пустой строки и тело длиной {@code Content-Length}.
+     */
+    private static void readResponse(InputStream in) throws IOException {
+        int contentLength = 0;
+        StringBuilder line = new StringBuilder();
+        while (true) {
+            int next = in.read();
+            if (next < 0) {
+                throw new IOException("Заглушка закрыла соединение");
+            }
+            if (next == '\n') {
+                String header = line.toString().trim();
+                if (header.isEmpty()) {
+                    break;
+                }
+                if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                    contentLength = Integer.parseInt(header.substring(15).trim());
+                }
+                line.setLength(0);
+            } else {
+                line.append((char) next);
+            }
+        }
+        if (in.readNBytes(contentLength).length != contentLength) {
+            throw new IOException("Ответ заглушки оборван");
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось найти свободный порт", e);
+        }
+    }
+
+    private MockBenchmark() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,166 @@
+package aqa.api.utils.mock;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.metrics.Metrics;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Утилитный класс самоконтроля заглушки внешнего сервиса во время нагрузочных прогонов.
+ * <p>
+ * Оба движка сообщают о начале и окончании обработки каждого запроса ({@link #enter()},
+ * {@link #exit(long)}). Окно измерений ({@link #openWindow()}) собирает время обработки,
+ * количество одновременно обрабатываемых запросов (выборка каждые {@value #SAMPLE_INTERVAL_MILLIS} мс)
+ * и загрузку рабочих потоков, после чего сравнивает их с порогами:
+ * <ul>
+ *   <li>{@code mock.capacity.maxUtilisation} — допустимая загрузка потоков (0.7);</li>
+ *   <li>{@code mock.capacity.maxP99Micros} — допустимый p99 времени обработки, мкс (5000);</li>
+ *   <li>p99 одновременных запросов не должен достигать количества рабочих потоков (иначе запросы
+ *       ожидают свободный поток в очереди).</li>
+ * </ul>
+ * Для WireMock время отсчитывается с момента сопоставления запроса, поэтому ожидание в очереди
+ * Jetty проявляется как рост одновременных запросов до количества потоков, а не как время обработки.
+ * Окна не должны пересекаться.
+ */
+public class MockCapacity {
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 5;
+    private static final double MAX_UTILISATION =
+            Double.parseDouble(System.getProperty("mock.capacity.maxUtilisation", "0.7"));
+    private static final long MAX_P99_MICROS = Long.getLong("mock.capacity.maxP99Micros", 5_000);
+
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final LongAdder BUSY_NANOS = new LongAdder();
+    private static final LongAdder REQUESTS = new LongAdder();
+    private static final Recorder HANDLE_MICROS = new Recorder(Metrics.HIGHEST_TRACKABLE_MICROS, 3);
+
+    private static volatile int workers = 1;
+
+    /**
+     * Задает количество рабочих потоков запущенной заглушки.
+     *
+     * @param count количество потоков, обрабатывающих запросы
+     */
+    public static void workers(int count) {
+        workers = Math.max(1, count);
+    }
+
+    /**
+     * Отмечает начало обработки запроса.
+     *
+     * @return отметка времени для передачи в {@link #exit(long)}
+     */
+    public static long enter() {
+        IN_FLIGHT.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Отмечает окончание обработки запроса.
+     *
+     * @param startedNanos отметка времени, полученная из {@link #enter()}
+     */
+    public static void exit(long startedNanos) {
+        long elapsed = System.nanoTime() - startedNanos;
+        IN_FLIGHT.decrementAndGet();
+        BUSY_NANOS.add(elapsed);
+        REQUESTS.increment();
+        HANDLE_MICROS.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsed), Metrics.HIGHEST_TRACKABLE_MICROS));
+    }
+
+    /**
+     * Возвращает количество запросов, обработанных заглушкой с начала работы JVM.
+     *
+     * @return количество обработанных запросов
+     */
+    public static long handledRequests() {
+        return REQUESTS.sum();
+    }
+
+    /**
+     * Открывает окно измерений.
+     *
+     * @return окно, которое необходимо завершить вызовом {@link Window#finish()}
+     */
+    public static Window openWindow() {
+        return new Window();
+    }
+
+    /**
+     * Окно измерений загрузки заглушки.
+     */
+    public static final class Window {
+
+        private final long startedNanos = System.nanoTime();
+        private final long startBusyNanos = BUSY_NANOS.sum();
+        private final long startRequests = REQUESTS.sum();
+        private final Histogram inFlight = new Histogram(1_000_000, 2);
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mock-capacity-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private Window() {
+            HANDLE_MICROS.getIntervalHistogram();
+            sampler.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        private void sample() {
+            long current = Math.min(Math.max(IN_FLIGHT.get(), 0), 1_000_000);
+            synchronized (inFlight) {
+                inFlight.recordValue(current);
+            }
+        }
+
+        /**
+         * Завершает окно и оценивает, ограничивала ли заглушка результат.
+         *
+         * @return оценка загрузки заглушки
+         */
+        public MockCapacityReport finish() {
+            sampler.shutdownNow();
+            long elapsedNanos = Math.max(1, System.nanoTime() - startedNanos);
+            long requests = REQUESTS.sum() - startRequests;
+            int workerCount = workers;
+            double utilisation = (double) (BUSY_NANOS.sum() - startBusyNanos) / ((double) elapsedNanos * workerCount);
+            Histogram handle = HANDLE_MICROS.getIntervalHistogram();
+            long inFlightP99;
+            long inFlightMax;
+            synchronized (inFlight) {
+                inFlightP99 = inFlight.getValueAtPercentile(99);
+                inFlightMax = inFlight.getMaxValue();
+            }
+
+            List<String> violations = new ArrayList<>();
+            if (utilisation > MAX_UTILISATION) {
+                violations.add(String.format("загрузка потоков заглушки %.0f%% выше порога %.0f%%",
+                        utilisation * 100, MAX_UTILISATION * 100));
+            }
+            if (handle.getValueAtPercentile(99) > MAX_P99_MICROS) {
+                violations.add(String.format("p99 времени обработки в заглушке %d мкс выше порога %d мкс",
+                        handle.getValueAtPercentile(99), MAX_P99_MICROS));
+            }
+            if (inFlightP99 >= workerCount) {
+                violations.add(String.format("p99 одновременных запросов %d достигает количества потоков заглушки %d"
+                        + " (запросы ожидают в очереди)", inFlightP99, workerCount));
+            }
+
+            return new MockCapacityReport(requests, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), workerCount,
+                    utilisation, handle.getValueAtPercentile(50), handle.getValueAtPercentile(99),
+                    handle.getMaxValue(), inFlightP99, inFlightMax, List.copyOf(violations));
+        }
+    }
+
+    private MockCapacity() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,51 @@
+package aqa.api.utils.mock;
+
+import java.util.List;
+
+/**
+ * Оценка загрузки заглушки внешнего сервиса за окно измерений.
+ *
+ * @param requests          количество обработанных заглушкой запросов
+ * @param elapsedMillis     длительность окна, мс
+ * @param workers           количество рабочих потоков заглушки
+ * @param utilisation       доля времени рабочих потоков, занятая обработкой запросов (0..1)
+ * @param handleP50Micros   медиана времени обработки запроса, мкс
+ * @param handleP99Micros   99-й перцентиль времени обработки запроса, мкс
+ * @param handleMaxMicros   максимальное время обработки запроса, мкс
+ * @param inFlightP99       99-й перцентиль количества одновременно обрабатываемых запросов
+ * @param inFlightMax       максимальное количество одновременно обрабатываемых запросов
+ * @param violations        причины, по которым заглушка могла ограничивать результат; пусто, если не ограничивала
+ */
+public record MockCapacityReport(long requests, long elapsedMillis, int workers, double utilisation,
+                                 long handleP50Micros, long handleP99Micros, long handleMaxMicros,
+                                 long inFlightP99, long inFlightMax, List<String> violations) {
+
+    /**
+     * Проверяет, что заглушка не была ограничивающим фактором.
+     *
+     * @return {@code true}, если ни один порог не превышен
+     */
+    public boolean valid() {
+        return violations.isEmpty();
+    }
+
+    /**
+     * Формирует текстовое описание для Allure-отчета.
+     *
+     * @return описание загрузки заглушки и вердикт
+     */
+    public String describe() {
+        return String.format("""
+                        • Запросов к заглушке: %d за %d мс (%.0f в секунду)
+                        • Рабочих потоков: %d, загрузка: %.1f%%
+                        • Время обработки, мкс: p50=%d, p99=%d, max=%d
+                        • Одновременных запросов: p99=%d, max=%d
+                        • Вердикт: %s""",
+                requests, elapsedMillis, elapsedMillis == 0 ? 0.0 : requests * 1000.0 / elapsedMillis,
+                workers, utilisation * 100,
+                handleP50Micros, handleP99Micros, handleMaxMicros,
+                inFlightP99, inFlightMax,
+                valid() ? "заглушка не ограничивала результат ✓"
+                        : "результат недействителен, ограничивает заглушка ✗\n  - " + String.join("\n  - ", violations));
+    }
+}
@@ -0,0 +1,51 @@
+package aqa.api.utils.mock;
+
+import java.util.Locale;
+
+/**
+ * Реализация заглушки внешнего сервиса.
+ */
+public enum MockEngine {
+
+    /**
+     * WireMock: полный набор возможностей (журнал запросов, verify, сопоставление по шаблонам).
+     * Используется по умолчанию для функциональных тестов.
+     */
+    WIREMOCK,
+
+    /**
+     * Минимальный NIO-сервер с таблицей ответов в памяти. Не ограничивает пропускную способность
+     * при десятках тысяч запросов в секунду, но не поддерживает журнал и verify.
+     */
+    NIO;
+
+    /**
+     * Определяет движок по значению свойства.
+     *
+     * @param value значение свойства {@code mock.engine} (регистр не важен)
+     * @return движок заглушки
+     * @throws IllegalArgumentException если значение не соответствует ни одному движку
+     */
+    public static MockEngine parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Неизвестный движок заглушки: " + value
+                    + " (допустимо: wiremock, nio)", e);
+        }
+    }
+
+    /**
+     * Создает заглушку этого движка.
+     *
+     * @param port порт для приема запросов
+     * @return незапущенная заглушка
+     */
+    public ExternalServiceMock create(int port) {
+        return switch (this) {
+            case WIREMOCK -> new WireMockExternalService(port);
+            case NIO -> new NioExternalService(port, Integer.getInteger("mock.nio.loops",
+                    Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
+        };
+    }
+}
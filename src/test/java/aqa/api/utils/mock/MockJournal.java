@@ -0,0 +1,126 @@
+package aqa.api.utils.mock;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.metrics.MetricKey;
+import aqa.api.utils.metrics.Metrics;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Утилитный класс, настраивающий журнал запросов WireMock для длительных и нагрузочных прогонов.
+ * <p>
+ * Режим выбирается свойством {@code mock.journal} ({@code full} по умолчанию, {@code bounded},
+ * {@code sampling}, {@code streaming}, см. {@link JournalMode}). Дополнительные свойства:
+ * <ul>
+ *   <li>{@code mock.journal.size} — размер журнала в режиме {@code bounded} (10000);</li>
+ *   <li>{@code mock.journal.sampleEvery} — шаг выборки в режиме {@code sampling} (100);</li>
+ *   <li>{@code mock.journal.sampleCapacity} — емкость выборки в режиме {@code sampling} (1000).</li>
+ * </ul>
+ */
+public class MockJournal {
+
+    private static final JournalMode MODE = JournalMode.parse(System.getProperty("mock.journal", "full"));
+    private static final int BOUNDED_SIZE = Integer.getInteger("mock.journal.size", 10_000);
+    private static final int SAMPLE_EVERY = Integer.getInteger("mock.journal.sampleEvery", 100);
+    private static final int SAMPLE_CAPACITY = Integer.getInteger("mock.journal.sampleCapacity", 1_000);
+
+    private static final MockTrafficListener LISTENER =
+            new MockTrafficListener(MODE, SAMPLE_EVERY, SAMPLE_CAPACITY);
+
+    /**
+     * Применяет выбранный режим журнала к конфигурации WireMock и регистрирует
+     * общий для JVM {@link MockTrafficListener}.
+     *
+     * @param config конфигурация сервера WireMock
+     * @return та же конфигурация
+     */
+    public static WireMockConfiguration configure(WireMockConfiguration config) {
+        config.extensions(LISTENER);
+        switch (MODE) {
+            case BOUNDED -> config.maxRequestJournalEntries(BOUNDED_SIZE);
+            case SAMPLING, STREAMING -> config.disableRequestJournal();
+            case FULL -> {
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Возвращает текущий режим журнала.
+     *
+     * @return режим журнала
+     */
+    public static JournalMode mode() {
+        return MODE;
+    }
+
+    /**
+     * Возвращает слушатель, агрегирующий обращения к заглушкам.
+     *
+     * @return общий для JVM слушатель
+     */
+    public static MockTrafficListener listener() {
+        return LISTENER;
+    }
+
+    /**
+     * Формирует текстовую сводку обращений к заглушкам для Allure-отчета.
+     *
+     * @return режим журнала, количество запросов по эндпоинтам и статусам и перцентили времени обработки
+     */
+    public static String summary() {
+        long total = Metrics.counters().entrySet().stream()
+                .filter(entry -> entry.getKey().name().equals(MockTrafficListener.REQUESTS_METRIC))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        String counters = Metrics.counters().entrySet().stream()
+                .filter(entry -> entry.getKey().name().equals(MockTrafficListener.REQUESTS_METRIC))
+                .map(entry -> String.format("• %s → %s: %d",
+                        entry.getKey().label("endpoint"), entry.getKey().label("status"), entry.getValue()))
+                .collect(Collectors.joining("\n"));
+
+        String latencies = Metrics.histograms().entrySet().stream()
+                .filter(entry -> entry.getKey().name().equals(MockTrafficListener.HANDLE_TIME_METRIC))
+                .map(MockJournal::describeLatency)
+                .collect(Collectors.joining("\n"));
+
+        return String.format("""
+                        ЗАГЛУШКА:
+                        • Движок: %s
+                        • Режим журнала WireMock: %s%s
+                        • Запросов с начала прогона: %d
+                        • Сохранено в выборке: %d
+                        
+                        ЗАПРОСЫ ПО ЭНДПОИНТАМ И СТАТУСАМ:
+                        %s
+                        
+                        ВРЕМЯ ОБРАБОТКИ ЗАГЛУШКОЙ, МКС:
+                        %s
+                        """,
+                ExternalServiceMocks.engine().name().toLowerCase(Locale.ROOT),
+                MODE.name().toLowerCase(Locale.ROOT),
+                MODE.keepsWireMockJournal() ? "" : " (verify и поиск запросов WireMock недоступны)",
+                total,
+                LISTENER.samples().size(),
+                counters.isEmpty() ? "• Нет запросов" : counters,
+                latencies.isEmpty() ? "• Нет данных" : latencies);
+    }
+
+    private static String describeLatency(Map.Entry<MetricKey, Histogram> entry) {
+        Histogram histogram = entry.getValue();
+        return String.format("• %s: p50=%d, p99=%d, max=%d (n=%d)",
+                entry.getKey().label("endpoint"),
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(99),
+                histogram.getMaxValue(),
+                histogram.getTotalCount());
+    }
+
+    private MockJournal() {
+        throw new UtilityClassException(getClass());
+    }
+}
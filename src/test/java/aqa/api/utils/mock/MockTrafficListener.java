@@ -0,0 +1,127 @@
+package aqa.api.utils.mock;
+
+import aqa.api.utils.metrics.Metrics;
+import aqa.api.utils.trace.DependencyCall;
+import aqa.api.utils.trace.DependencyLog;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ServeEventListener;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static aqa.api.utils.Constants.CORRELATION_HEADER;
+import static aqa.api.utils.Constants.TOKEN_PARAM;
+
+/**
+ * Слушатель WireMock, агрегирующий обращения к заглушкам без хранения самих запросов.
+ * <p>
+ * Для каждого запроса увеличивает счетчик {@code mock_requests_total{endpoint, status}}
+ * и записывает время обработки в гистограмму {@code mock_handle_micros{endpoint}}
+ * реестра {@link Metrics}. В режиме {@link JournalMode#SAMPLING} дополнительно
+ * сохраняет каждый N-й запрос в кольцевой буфер фиксированной емкости. Начало и окончание
+ * обработки передаются в {@link MockCapacity} для самоконтроля загрузки заглушки, а само обращение —
+ * в {@link DependencyLog} для оценки собственного времени тестируемого сервиса.
+ */
+public class MockTrafficListener implements ServeEventListener {
+
+    public static final String REQUESTS_METRIC = "mock_requests_total";
+    public static final String HANDLE_TIME_METRIC = "mock_handle_micros";
+
+    private final JournalMode mode;
+    private final int sampleEvery;
+    private final int sampleCapacity;
+
+    private final ConcurrentMap<UUID, Long> arrivals = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ArrayDeque<SampledRequest> samples;
+
+    /**
+     * @param mode           режим журнала
+     * @param sampleEvery    шаг выборки запросов для режима {@link JournalMode#SAMPLING}
+     * @param sampleCapacity емкость кольцевого буфера выборки
+     */
+    public MockTrafficListener(JournalMode mode, int sampleEvery, int sampleCapacity) {
+        this.mode = mode;
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.sampleCapacity = Math.max(1, sampleCapacity);
+        this.samples = new ArrayDeque<>(this.sampleCapacity);
+    }
+
+    @Override
+    public String getName() {
+        return "mock-traffic-listener";
+    }
+
+    @Override
+    public void beforeMatch(ServeEvent serveEvent, Parameters parameters) {
+        arrivals.put(serveEvent.getId(), MockCapacity.enter());
+    }
+
+    @Override
+    public void afterComplete(ServeEvent serveEvent, Parameters parameters) {
+        Long arrivedAt = arrivals.remove(serveEvent.getId());
+        long completedAt = System.nanoTime();
+        String endpoint = pathOf(serveEvent.getRequest().getUrl());
+        String token = tokenOf(serveEvent.getRequest().getBodyAsString());
+        int status = serveEvent.getResponse().getStatus();
+        long number = sequence.incrementAndGet();
+
+        long handleMicros = 0;
+        if (arrivedAt != null) {
+            handleMicros = TimeUnit.NANOSECONDS.toMicros(completedAt - arrivedAt);
+            MockCapacity.exit(arrivedAt);
+            DependencyLog.record(new DependencyCall(endpoint, token,
+                    serveEvent.getRequest().getHeader(CORRELATION_HEADER), arrivedAt, completedAt, status));
+        }
+
+        Metrics.counter(REQUESTS_METRIC, "endpoint", endpoint, "status", String.valueOf(status)).increment();
+        Metrics.record(Metrics.histogram(HANDLE_TIME_METRIC, "endpoint", endpoint), handleMicros);
+
+        if (mode == JournalMode.SAMPLING && number % sampleEvery == 0) {
+            SampledRequest sample = new SampledRequest(number, endpoint, token, status, handleMicros);
+            synchronized (samples) {
+                if (samples.size() == sampleCapacity) {
+                    samples.pollFirst();
+                }
+                samples.addLast(sample);
+            }
+        }
+    }
+
+    /**
+     * Возвращает сохраненную выборку запросов в порядке поступления.
+     *
+     * @return копия выборки (пустая вне режима {@link JournalMode#SAMPLING})
+     */
+    public List<SampledRequest> samples() {
+        synchronized (samples) {
+            return new ArrayList<>(samples);
+        }
+    }
+
+    private static String pathOf(String url) {
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
+
+    private static String tokenOf(String body) {
+        if (body == null) {
+            return null;
+        }
+        for (String pair : body.split("&")) {
+            if (pair.startsWith(TOKEN_PARAM + "=")) {
+                return URLDecoder.decode(pair.substring(TOKEN_PARAM.length() + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
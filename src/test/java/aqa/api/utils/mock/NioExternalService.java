@@ -0,0 +1,586 @@
+package aqa.api.utils.mock;
+
+import aqa.api.utils.metrics.Metrics;
+import aqa.api.utils.trace.DependencyCall;
+import aqa.api.utils.trace.DependencyLog;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static aqa.api.utils.Constants.APPLICATION_JSON;
+import static aqa.api.utils.Constants.APPLICATION_URLENCODED;
+import static aqa.api.utils.Constants.TOKEN_PARAM;
+
+/**
+ * Заглушка внешнего сервиса на минимальном NIO-сервере HTTP/1.1.
+ * <p>
+ * Ответы хранятся в таблице "эндпоинт + токен → готовые байты HTTP-ответа", поэтому обработка
+ * запроса сводится к разбору заголовков, поиску токена в теле и одной записи в сокет.
+ * Соединения распределяются по нескольким циклам событий; поддерживаются keep-alive,
+ * конвейерные запросы и тело с {@code Transfer-Encoding: chunked}.
+ * <p>
+ * Обращения учитываются в тех же метриках, что и {@link MockTrafficListener}, поэтому
+ * сводка {@link MockJournal#summary()} одинакова для обоих движков. Журнала запросов нет.
+ */
+public class NioExternalService implements ExternalServiceMock {
+
+    private static final byte[] HEADER_END = {'\r', '\n', '\r', '\n'};
+    private static final int INITIAL_BUFFER_BYTES = 8 * 1024;
+    private static final int MAX_REQUEST_BYTES = 1024 * 1024;
+    private static final String CORRELATION_HEADER_LOWER_CASE = "x-correlation-id";
+
+    private static final byte[] NOT_MATCHED = response(404, "text/plain", "Request was not matched");
+    private static final byte[] BAD_REQUEST = response(400, "text/plain", "Malformed request");
+
+    private final int port;
+    private final int loopCount;
+
+    private final ConcurrentMap<String, Outcome> outcomes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Outcome> fallbacks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> unmatched = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Histogram> handleTimes = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private ServerSocketChannel serverChannel;
+    private Thread acceptor;
+    private EventLoop[] loops;
+
+    /**
+     * @param port      порт для приема запросов
+     * @param loopCount количество циклов событий (потоков обработки), не меньше 1
+     */
+    public NioExternalService(int port, int loopCount) {
+        this.port = port;
+        this.loopCount = Math.max(1, loopCount);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        try {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            serverChannel.bind(new InetSocketAddress(port), 1024);
+
+            loops = new EventLoop[loopCount];
+            for (int i = 0; i < loopCount; i++) {
+                loops[i] = new EventLoop(Selector.open(), "nio-mock-loop-" + i);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось запустить NIO-заглушку на порту " + port, e);
+        }
+
+        running = true;
+        MockCapacity.workers(loopCount);
+        for (EventLoop loop : loops) {
+            loop.thread.start();
+        }
+        acceptor = new Thread(this::acceptLoop, "nio-mock-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            serverChannel.close();
+        } catch (IOException ignored) {
+            // порт освобождается при закрытии канала; повторная ошибка не влияет на остановку
+        }
+        for (EventLoop loop : loops) {
+            loop.selector.wakeup();
+        }
+        try {
+            acceptor.join(TimeUnit.SECONDS.toMillis(5));
+            for (EventLoop loop : loops) {
+                loop.thread.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void reset() {
+        outcomes.clear();
+        fallbacks.clear();
+    }
+
+    @Override
+    public void stub(String endpoint, String token, int statusCode, String body) {
+        outcomes.put(key(endpoint, token), Outcome.of(endpoint, statusCode, body));
+    }
+
+    @Override
+    public void stubAny(String endpoint, int statusCode, String body) {
+        fallbacks.put(endpoint, Outcome.of(endpoint, statusCode, body));
+    }
+
+    @Override
+    public void remove(String endpoint, String token) {
+        outcomes.remove(key(endpoint, token));
+    }
+
+    @Override
+    public void removeAny(String endpoint) {
+        fallbacks.remove(endpoint);
+    }
+
+    @Override
+    public int port() {
+        return port;
+    }
+
+    @Override
+    public MockEngine engine() {
+        return MockEngine.NIO;
+    }
+
+    private void acceptLoop() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                loops[next].register(channel);
+                next = (next + 1) % loops.length;
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (!running) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Формирует ответ на полностью прочитанный запрос.
+     */
+    private byte[] respond(RequestHead head, String token) {
+        if (!"POST".equals(head.method)) {
+            return countUnmatched(head.path);
+        }
+        if (token != null && head.formUrlEncoded && head.acceptsJson) {
+            Outcome outcome = outcomes.get(key(head.path, token));
+            if (outcome != null) {
+                outcome.requests.increment();
+                return outcome.response;
+            }
+        }
+        Outcome fallback = fallbacks.get(head.path);
+        if (fallback != null) {
+            fallback.requests.increment();
+            return fallback.response;
+        }
+        return countUnmatched(head.path);
+    }
+
+    private byte[] countUnmatched(String path) {
+        unmatched.computeIfAbsent(path, endpoint -> Metrics.counter(MockTrafficListener.REQUESTS_METRIC,
+                "endpoint", endpoint, "status", "404")).increment();
+        return NOT_MATCHED;
+    }
+
+    private void recordHandleTime(String path, long startedNanos) {
+        Histogram histogram = handleTimes.computeIfAbsent(path,
+                endpoint -> Metrics.histogram(MockTrafficListener.HANDLE_TIME_METRIC, "endpoint", endpoint));
+        Metrics.record(histogram, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedNanos));
+    }
+
+    /**
+     * Извлекает статус из стартовой строки готового ответа ({@code HTTP/1.1 NNN ...}).
+     */
+    private static int statusOf(byte[] response) {
+        return (response[9] - '0') * 100 + (response[10] - '0') * 10 + (response[11] - '0');
+    }
+
+    private static String key(String endpoint, String token) {
+        return endpoint + ' ' + token;
+    }
+
+    private static String tokenOf(String body) {
+        int from = 0;
+        while (from <= body.length()) {
+            int end = body.indexOf('&', from);
+            if (end < 0) {
+                end = body.length();
+            }
+            if (body.startsWith(TOKEN_PARAM + "=", from)) {
+                String value = body.substring(from + TOKEN_PARAM.length() + 1, end);
+                try {
+                    return URLDecoder.decode(value, StandardCharsets.UTF_8);
+                } catch (IllegalArgumentException e) {
+                    // некорректная %-последовательность: значение используется как есть, соединение не прерывается
+                    return value;
+                }
+            }
+            from = end + 1;
+        }
+        return null;
+    }
+
+    private static byte[] response(int status, String contentType, String body) {
+        byte[] payload = body.getBytes(StandardCharsets.UTF_8);
+        byte[] head = ("HTTP/1.1 " + status + " " + reason(status) + "\r\n"
+                + "Content-Type: " + contentType + "\r\n"
+                + "Content-Length: " + payload.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] bytes = new byte[head.length + payload.length];
+        System.arraycopy(head, 0, bytes, 0, head.length);
+        System.arraycopy(payload, 0, bytes, head.length, payload.length);
+        return bytes;
+    }
+
+    private static String reason(int status) {
+        return switch (status) {
+            case 200 -> "OK";
+            case 400 -> "Bad Request";
+            case 401 -> "Unauthorized";
+            case 403 -> "Forbidden";
+            case 404 -> "Not Found";
+            case 409 -> "Conflict";
+            case 500 -> "Internal Server Error";
+            case 502 -> "Bad Gateway";
+            case 503 -> "Service Unavailable";
+            case 504 -> "Gateway Timeout";
+            default -> "Status";
+        };
+    }
+
+    private static int indexOf(byte[] data, int from, int to, byte[] pattern) {
+        outer:
+        for (int i = from; i <= to - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Готовый ответ заглушки и счетчик его выдачи.
+     */
+    private record Outcome(byte[] response, LongAdder requests) {
+
+        static Outcome of(String endpoint, int statusCode, String body) {
+            return new Outcome(NioExternalService.response(statusCode, APPLICATION_JSON, body),
+                    Metrics.counter(MockTrafficListener.REQUESTS_METRIC,
+                            "endpoint", endpoint, "status", String.valueOf(statusCode)));
+        }
+    }
+
+    /**
+     * Разобранная стартовая строка и значимые заголовки запроса.
+     */
+    private record RequestHead(String method, String path, int contentLength, boolean chunked,
+                               boolean formUrlEncoded, boolean acceptsJson, boolean keepAlive,
+                               String correlationId) {
+
+        /**
+         * @return разобранный заголовок или {@code null}, если запрос некорректен
+         */
+        static RequestHead parse(byte[] data, int length) {
+            String[] lines = new String(data, 0, length, StandardCharsets.ISO_8859_1).split("\r\n");
+            String[] start = lines[0].split(" ");
+            if (start.length != 3) {
+                return null;
+            }
+            int query = start[1].indexOf('?');
+            String path = query < 0 ? start[1] : start[1].substring(0, query);
+
+            int contentLength = 0;
+            boolean chunked = false;
+            boolean form = false;
+            boolean json = false;
+            boolean keepAlive = !"HTTP/1.0".equals(start[2]);
+            String correlationId = null;
+            for (int i = 1; i < lines.length; i++) {
+                int colon = lines[i].indexOf(':');
+                if (colon <= 0) {
+                    continue;
+                }
+                String name = lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT);
+                String value = lines[i].substring(colon + 1).trim();
+                switch (name) {
+                    case "content-length" -> {
+                        try {
+                            contentLength = Integer.parseInt(value);
+                        } catch (NumberFormatException e) {
+                            return null;
+                        }
+                    }
+                    case "transfer-encoding" -> chunked = value.toLowerCase(Locale.ROOT).contains("chunked");
+                    case "content-type" -> form = value.contains(APPLICATION_URLENCODED);
+                    case "accept" -> json = value.contains(APPLICATION_JSON);
+                    case CORRELATION_HEADER_LOWER_CASE -> correlationId = value;
+                    case "connection" -> keepAlive = !value.equalsIgnoreCase("close")
+                            && (keepAlive || value.equalsIgnoreCase("keep-alive"));
+                    default -> {
+                    }
+                }
+            }
+            if (contentLength < 0) {
+                return null;
+            }
+            return new RequestHead(start[0], path, contentLength, chunked, form, json, keepAlive, correlationId);
+        }
+    }
+
+    /**
+     * Цикл событий: обслуживает назначенные ему соединения в одном потоке.
+     */
+    private final class EventLoop implements Runnable {
+
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+
+        EventLoop(Selector selector, String name) {
+            this.selector = selector;
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+        }
+
+        void register(SocketChannel channel) {
+            pending.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    SocketChannel channel;
+                    while ((channel = pending.poll()) != null) {
+                        Connection connection = new Connection(channel);
+                        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isValid() && key.isWritable()) {
+                                connection.onWritable();
+                            }
+                            if (key.isValid() && key.isReadable()) {
+                                connection.onReadable();
+                            }
+                        } catch (IOException | RuntimeException e) {
+                            connection.close();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // селектор закрыт или недоступен — цикл завершается вместе с заглушкой
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    ((Connection) key.attachment()).close();
+                }
+                try {
+                    selector.close();
+                } catch (IOException ignored) {
+                    // ресурсы селектора освобождаются при завершении потока
+                }
+            }
+        }
+    }
+
+    /**
+     * Состояние одного соединения: накопленные байты запроса и неотправленные ответы.
+     */
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private final ArrayDeque<ByteBuffer> output = new ArrayDeque<>();
+        private SelectionKey key;
+        private byte[] input = new byte[INITIAL_BUFFER_BYTES];
+        private int filled;
+        private boolean closeAfterWrite;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void onReadable() throws IOException {
+            if (filled == input.length) {
+                if (input.length >= MAX_REQUEST_BYTES) {
+                    fail();
+                    return;
+                }
+                input = Arrays.copyOf(input, Math.min(input.length * 2, MAX_REQUEST_BYTES));
+            }
+            int read = channel.read(ByteBuffer.wrap(input, filled, input.length - filled));
+            if (read < 0) {
+                close();
+                return;
+            }
+            filled += read;
+            processRequests();
+        }
+
+        void onWritable() throws IOException {
+            while (!output.isEmpty()) {
+                ByteBuffer buffer = output.peekFirst();
+                channel.write(buffer);
+                if (buffer.hasRemaining()) {
+                    return;
+                }
+                output.pollFirst();
+            }
+            if (closeAfterWrite) {
+                close();
+                return;
+            }
+            key.interestOps(SelectionKey.OP_READ);
+            processRequests();
+        }
+
+        private void processRequests() throws IOException {
+            while (!closeAfterWrite && output.isEmpty()) {
+                int headerEnd = indexOf(input, 0, filled, HEADER_END);
+                if (headerEnd < 0) {
+                    return;
+                }
+                RequestHead head = RequestHead.parse(input, headerEnd);
+                if (head == null) {
+                    fail();
+                    return;
+                }
+
+                int bodyStart = headerEnd + HEADER_END.length;
+                String body;
+                int consumed;
+                if (head.chunked) {
+                    ChunkedBody chunked = ChunkedBody.decode(input, bodyStart, filled);
+                    if (chunked == null) {
+                        return;
+                    }
+                    body = chunked.body;
+                    consumed = chunked.end;
+                } else {
+                    if (filled - bodyStart < head.contentLength) {
+                        if (bodyStart + head.contentLength > MAX_REQUEST_BYTES) {
+                            fail();
+                        }
+                        return;
+                    }
+                    body = new String(input, bodyStart, head.contentLength, StandardCharsets.ISO_8859_1);
+                    consumed = bodyStart + head.contentLength;
+                }
+
+                long started = MockCapacity.enter();
+                try {
+                    System.arraycopy(input, consumed, input, 0, filled - consumed);
+                    filled -= consumed;
+                    closeAfterWrite = !head.keepAlive;
+                    String token = tokenOf(body);
+                    byte[] response = respond(head, token);
+                    send(response);
+                    recordHandleTime(head.path, started);
+                    DependencyLog.record(new DependencyCall(head.path, token, head.correlationId,
+                            started, System.nanoTime(), statusOf(response)));
+                } finally {
+                    MockCapacity.exit(started);
+                }
+            }
+        }
+
+        private void send(byte[] response) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(response);
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                output.addLast(buffer);
+                key.interestOps(SelectionKey.OP_WRITE);
+            } else if (closeAfterWrite) {
+                close();
+            }
+        }
+
+        private void fail() throws IOException {
+            closeAfterWrite = true;
+            filled = 0;
+            send(BAD_REQUEST);
+        }
+
+        void close() {
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // соединение уже разорвано клиентом
+            }
+        }
+    }
+
+    /**
+     * Тело запроса с {@code Transfer-Encoding: chunked}.
+     *
+     * @param body декодированное тело
+     * @param end  позиция первого байта после тела в буфере
+     */
+    private record ChunkedBody(String body, int end) {
+
+        /**
+         * @return декодированное тело или {@code null}, если тело получено не полностью
+         */
+        static ChunkedBody decode(byte[] data, int from, int to) {
+            StringBuilder body = new StringBuilder();
+            int position = from;
+            while (true) {
+                int lineEnd = indexOf(data, position, to, new byte[]{'\r', '\n'});
+                if (lineEnd < 0) {
+                    return null;
+                }
+                String sizeLine = new String(data, position, lineEnd - position, StandardCharsets.US_ASCII);
+                int extension = sizeLine.indexOf(';');
+                int size = Integer.parseInt((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+                position = lineEnd + 2;
+                if (size == 0) {
+                    int trailerEnd = indexOf(data, position - 2, to, HEADER_END);
+                    return trailerEnd < 0 ? null : new ChunkedBody(body.toString(), trailerEnd + HEADER_END.length);
+                }
+                if (to - position < size + 2) {
+                    return null;
+                }
+                body.append(new String(data, position, size, StandardCharsets.ISO_8859_1));
+                position += size + 2;
+            }
+        }
+    }
+}
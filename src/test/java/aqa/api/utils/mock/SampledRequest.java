@@ -0,0 +1,13 @@
+package aqa.api.utils.mock;
+
+/**
+ * Запрос к заглушке, сохраненный в режиме {@link JournalMode#SAMPLING}.
+ *
+ * @param sequence     порядковый номер запроса с начала прогона
+ * @param endpoint     путь запроса без параметров
+ * @param token        токен из тела запроса или {@code null}
+ * @param status       HTTP-статус ответа заглушки
+ * @param handleMicros время обработки запроса заглушкой в микросекундах
+ */
+public record SampledRequest(long sequence, String endpoint, String token, int status, long handleMicros) {
+}
@@ -0,0 +1,76 @@
+package aqa.api.utils.mock;
+
+import java.util.List;
+
+/**
+ * Заглушка внешнего сервиса, запоминающая настроенные ответы в текущей {@link StubScope}.
+ * Ответ настраивается только после регистрации в области, поэтому отклоненная заглушка не остается в сервисе.
+ */
+class ScopedExternalServiceMock implements ExternalServiceMock {
+
+    private final ExternalServiceMock delegate;
+
+    /**
+     * @param delegate заглушка выбранного движка
+     */
+    ScopedExternalServiceMock(ExternalServiceMock delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void start() {
+        delegate.start();
+    }
+
+    @Override
+    public void stop() {
+        delegate.stop();
+    }
+
+    @Override
+    public void reset() {
+        delegate.reset();
+    }
+
+    @Override
+    public void stub(String endpoint, String token, int statusCode, String body) {
+        StubScope.register(delegate, endpoint, token);
+        delegate.stub(endpoint, token, statusCode, body);
+    }
+
+    @Override
+    public void stubAny(String endpoint, int statusCode, String body) {
+        StubScope.register(delegate, endpoint, null);
+        delegate.stubAny(endpoint, statusCode, body);
+    }
+
+    @Override
+    public void remove(String endpoint, String token) {
+        delegate.remove(endpoint, token);
+    }
+
+    @Override
+    public void removeAny(String endpoint) {
+        delegate.removeAny(endpoint);
+    }
+
+    @Override
+    public List<String> journal(String token) {
+        return delegate.journal(token);
+    }
+
+    @Override
+    public void forget(String endpoint, String token) {
+        delegate.forget(endpoint, token);
+    }
+
+    @Override
+    public int port() {
+        return delegate.port();
+    }
+
+    @Override
+    public MockEngine engine() {
+        return delegate.engine();
+    }
+}
@@ -0,0 +1,84 @@
+package aqa.api.utils.mock;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Область жизни заглушек внешнего сервиса: заглушки, настроенные внутри области, удаляются при ее закрытии.
+ * <p>
+ * Заменяет полный сброс заглушки перед каждым тестом, несовместимый с параллельным выполнением:
+ * общая для JVM заглушка ({@link ExternalServiceMocks#start(int)}) обслуживает одновременно
+ * несколько тестов, и каждый тест удаляет только свои заглушки. Область привязана к потоку и
+ * наследуется потоками, созданными внутри нее (например, {@link aqa.api.utils.ParallelRunner}),
+ * поэтому заглушки, настроенные рабочими потоками теста, также удаляются. Фоновые операции,
+ * переживающие тест (пул сессий, прогрев сервиса), открывают собственные области.
+ * Заглушка, настраиваемая вне открытой области, отклоняется: она пережила бы тест и повлияла
+ * на параллельно выполняемые тесты.
+ */
+public final class StubScope implements AutoCloseable {
+
+    private static final InheritableThreadLocal<StubScope> CURRENT = new InheritableThreadLocal<>();
+
+    private final StubScope previous;
+    private final Queue<Stub> stubs = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    private StubScope(StubScope previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Открывает область в текущем потоке. Заглушки, настроенные до ее закрытия, будут удалены.
+     *
+     * @return открытая область
+     */
+    public static StubScope open() {
+        StubScope scope = new StubScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Удаляет заглушки области вместе с их запросами в журнале заглушки и восстанавливает
+     * в текущем потоке предыдущую область. Для заглушки "для любого токена" из журнала удаляются
+     * все запросы эндпоинта: такие заглушки настраиваются при монопольном доступе к заглушкам.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (CURRENT.get() == this) {
+            CURRENT.set(previous);
+        }
+        Stub stub;
+        while ((stub = stubs.poll()) != null) {
+            if (stub.token() == null) {
+                stub.mock().removeAny(stub.endpoint());
+            } else {
+                stub.mock().remove(stub.endpoint(), stub.token());
+            }
+            stub.mock().forget(stub.endpoint(), stub.token());
+        }
+    }
+
+    /**
+     * Запоминает заглушку в области текущего потока.
+     *
+     * @param mock     заглушка, в которой будет настроен ответ
+     * @param endpoint путь эндпоинта
+     * @param token    токен или {@code null} для ответа "для любого токена"
+     * @throws IllegalStateException если в текущем потоке нет открытой области
+     */
+    static void register(ExternalServiceMock mock, String endpoint, String token) {
+        StubScope scope = CURRENT.get();
+        if (scope == null || scope.closed) {
+            throw new IllegalStateException(String.format(
+                    "Заглушка %s%s настраивается вне области StubScope (поток %s): откройте StubScope.open() "
+                            + "или настройте заглушку в тесте", endpoint, token == null ? "" : " для токена " + token,
+                    Thread.currentThread().getName()));
+        }
+        scope.stubs.add(new Stub(mock, endpoint, token));
+    }
+
+    private record Stub(ExternalServiceMock mock, String endpoint, String token) {
+    }
+}
@@ -0,0 +1,163 @@
+package aqa.api.utils.mock;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static aqa.api.utils.Constants.ACCEPT;
+import static aqa.api.utils.Constants.APPLICATION_JSON;
+import static aqa.api.utils.Constants.APPLICATION_URLENCODED;
+import static aqa.api.utils.Constants.CONTENT_TYPE;
+import static aqa.api.utils.Constants.TOKEN_PARAM;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * Заглушка внешнего сервиса на основе WireMock.
+ * <p>
+ * Режим журнала запросов задается {@link MockJournal}, количество потоков Jetty — свойством
+ * {@code mock.threads} (25). Статический клиент WireMock
+ * настраивается на порт заглушки при запуске, чтобы тесты могли использовать его напрямую.
+ * Повторная настройка ответа того же токена заменяет прежнюю заглушку, а не добавляет еще одну.
+ * Запросы токена удаляются из журнала вместе с его заглушкой ({@link #forget}), поэтому журнал
+ * в режиме {@code full} хранит только запросы открытых областей {@link StubScope} и запросы без заглушки.
+ */
+public class WireMockExternalService implements ExternalServiceMock {
+
+    /**
+     * Приоритет заглушек "для любого токена": ниже приоритета по умолчанию (5),
+     * поэтому заглушки конкретных токенов всегда имеют преимущество.
+     */
+    private static final int CATCH_ALL_PRIORITY = 10;
+
+    private static final int CONTAINER_THREADS = Integer.getInteger("mock.threads", 25);
+
+    private final int port;
+    private final WireMockServer server;
+    private final ConcurrentMap<String, StubMapping> stubs = new ConcurrentHashMap<>();
+
+    /**
+     * @param port порт для приема запросов
+     */
+    public WireMockExternalService(int port) {
+        this.port = port;
+        this.server = new WireMockServer(MockJournal.configure(wireMockConfig()
+                .port(port)
+                .containerThreads(CONTAINER_THREADS)));
+    }
+
+    @Override
+    public void start() {
+        server.start();
+        WireMock.configureFor("localhost", port);
+        MockCapacity.workers(CONTAINER_THREADS);
+    }
+
+    @Override
+    public void stop() {
+        server.stop();
+    }
+
+    @Override
+    public void reset() {
+        server.resetAll();
+        stubs.clear();
+    }
+
+    @Override
+    public void stub(String endpoint, String token, int statusCode, String body) {
+        replace(endpoint + " " + token, server.stubFor(post(urlEqualTo(endpoint))
+                .withHeader(CONTENT_TYPE, containing(APPLICATION_URLENCODED))
+                .withHeader(ACCEPT, containing(APPLICATION_JSON))
+                .withRequestBody(containing(TOKEN_PARAM + "=" + token))
+                .willReturn(aResponse()
+                        .withStatus(statusCode)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON)
+                        .withBody(body))));
+    }
+
+    @Override
+    public void stubAny(String endpoint, int statusCode, String body) {
+        replace(endpoint, server.stubFor(post(urlEqualTo(endpoint))
+                .atPriority(CATCH_ALL_PRIORITY)
+                .willReturn(aResponse()
+                        .withStatus(statusCode)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON)
+                        .withBody(body))));
+    }
+
+    @Override
+    public void remove(String endpoint, String token) {
+        removeStub(endpoint + " " + token);
+    }
+
+    @Override
+    public void removeAny(String endpoint) {
+        removeStub(endpoint);
+    }
+
+    private void replace(String key, StubMapping mapping) {
+        StubMapping previous = stubs.put(key, mapping);
+        if (previous != null) {
+            server.removeStub(previous);
+        }
+    }
+
+    private void removeStub(String key) {
+        StubMapping mapping = stubs.remove(key);
+        if (mapping != null) {
+            server.removeStub(mapping);
+        }
+    }
+
+    @Override
+    public List<String> journal(String token) {
+        if (!MockJournal.mode().keepsWireMockJournal()) {
+            return List.of();
+        }
+        String parameter = TOKEN_PARAM + "=" + token;
+        return server.getAllServeEvents().stream()
+                .filter(event -> event.getRequest().getBodyAsString().contains(parameter))
+                .map(WireMockExternalService::describe)
+                .toList();
+    }
+
+    @Override
+    public void forget(String endpoint, String token) {
+        if (!MockJournal.mode().keepsWireMockJournal()) {
+            return;
+        }
+        RequestPatternBuilder pattern = postRequestedFor(urlEqualTo(endpoint));
+        if (token != null) {
+            pattern.withRequestBody(containing(TOKEN_PARAM + "=" + token));
+        }
+        server.removeServeEventsMatching(pattern.build());
+    }
+
+    private static String describe(ServeEvent event) {
+        return String.format("%s %s → %s %s", event.getRequest().getLoggedDate().toInstant(),
+                event.getRequest().getUrl(),
+                event.getResponse() == null ? "нет ответа" : event.getResponse().getStatus(),
+                event.getResponse() == null ? "" : event.getResponse().getBodyAsString());
+    }
+
+    @Override
+    public int port() {
+        return port;
+    }
+
+    @Override
+    public MockEngine engine() {
+        return MockEngine.WIREMOCK;
+    }
+}
@@ -0,0 +1,66 @@
+package aqa.api.utils.model;
+
+import java.util.Objects;
+
+import static aqa.api.utils.Constants.RESULT_ERROR;
+import static aqa.api.utils.Constants.RESULT_OK;
+
+/**
+ * Ожидаемый ответ тестируемого сервиса на один запрос к эндпоинту.
+ *
+ * @param statusCode ожидаемый HTTP-статус
+ * @param result     ожидаемое значение поля "result"
+ * @param message    ожидаемое значение поля "message"; {@code null} для ошибок означает,
+ *                   что текст не фиксирован контрактом и проверяется только на непустоту
+ */
+public record ExpectedOutcome(int statusCode, String result, String message) {
+
+    /**
+     * Создает ожидание успешного ответа.
+     *
+     * @param statusCode ожидаемый HTTP-статус
+     * @return ожидание с result "OK" и отсутствующим message
+     */
+    public static ExpectedOutcome success(int statusCode) {
+        return new ExpectedOutcome(statusCode, RESULT_OK, null);
+    }
+
+    /**
+     * Создает ожидание ошибочного ответа.
+     *
+     * @param statusCode ожидаемый HTTP-статус
+     * @param message    точный текст ошибки или {@code null}, если текст не фиксирован
+     * @return ожидание с result "ERROR"
+     */
+    public static ExpectedOutcome error(int statusCode, String message) {
+        return new ExpectedOutcome(statusCode, RESULT_ERROR, message);
+    }
+
+    /**
+     * Проверяет, соответствует ли фактический ответ ожиданию.
+     *
+     * @param actualStatus  фактический HTTP-статус
+     * @param actualResult  фактическое значение поля "result"
+     * @param actualMessage фактическое значение поля "message"
+     * @return {@code true}, если ответ соответствует ожиданию
+     */
+    public boolean matches(int actualStatus, String actualResult, String actualMessage) {
+        if (actualStatus != statusCode || !Objects.equals(result, actualResult)) {
+            return false;
+        }
+        if (RESULT_OK.equals(result)) {
+            return actualMessage == null;
+        }
+        if (message == null) {
+            return actualMessage != null && !actualMessage.isBlank();
+        }
+        return message.equals(actualMessage);
+    }
+
+    @Override
+    public String toString() {
+        return message == null
+                ? String.format("%d %s", statusCode, result)
+                : String.format("%d %s \"%s\"", statusCode, result, message);
+    }
+}
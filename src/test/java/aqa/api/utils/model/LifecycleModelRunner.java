@@ -0,0 +1,194 @@
+package aqa.api.utils.model;
+
+import aqa.api.utils.ParallelRunner;
+import aqa.api.utils.envelope.ResultEnvelope;
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.http.EndpointResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Исполнитель модельного тестирования жизненного цикла токенов.
+ * <p>
+ * Поддерживает два режима:
+ * <ul>
+ *   <li>независимые последовательности — каждый поток работает со своим подмножеством токенов,
+ *       и каждый ответ сразу сравнивается с {@link TokenLifecycleModel};</li>
+ *   <li>общие токены — потоки одновременно выполняют операции над небольшим набором
+ *       токенов, история записывается и затем проверяется {@link LinearizabilityChecker}.</li>
+ * </ul>
+ * Заглушки внешнего сервиса для всех токенов должны быть настроены до запуска.
+ */
+public class LifecycleModelRunner {
+
+    private static final int MAX_REPORTED_MISMATCHES = 50;
+
+    private final EndpointClient client;
+    private final int threads;
+
+    /**
+     * @param client  клиент для отправки запросов
+     * @param threads количество параллельных потоков
+     */
+    public LifecycleModelRunner(EndpointClient client, int threads) {
+        this.client = client;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Выполняет случайные последовательности операций над непересекающимися
+     * подмножествами токенов и сверяет каждый ответ с моделью.
+     *
+     * @param tokens             токены прогона
+     * @param operationsPerToken среднее количество операций на токен
+     * @param seed               начальное значение генератора
+     * @return итог прогона
+     */
+    public ModelRunReport runIndependent(List<String> tokens, int operationsPerToken, long seed) {
+        TokenLifecycleModel model = new TokenLifecycleModel();
+        List<String> mismatches = Collections.synchronizedList(new ArrayList<>());
+
+        long started = System.nanoTime();
+        List<Long> executed = runWorkers(worker -> {
+            List<String> own = new ArrayList<>();
+            for (int i = worker; i < tokens.size(); i += threads) {
+                own.add(tokens.get(i));
+            }
+            if (own.isEmpty()) {
+                return 0L;
+            }
+
+            Random random = new Random(seed + worker);
+            long count = (long) own.size() * operationsPerToken;
+            for (long step = 0; step < count; step++) {
+                Operation operation = new Operation(own.get(random.nextInt(own.size())), nextAction(random));
+                TokenState before = model.state(operation.token());
+                Transition expected = model.apply(operation);
+                OperationRecord record = execute(worker, operation);
+
+                if (!record.completed()
+                        || !expected.outcome().matches(record.status(), record.result(), record.message())) {
+                    if (mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                        mismatches.add(String.format("%s %s из состояния %s: ожидалось %s, получено %s",
+                                operation.token(), operation.action(), before, expected.outcome(),
+                                record.describe(record.invokeNanos())));
+                    }
+                    model.resync(operation.token(), before, record);
+                }
+            }
+            return count;
+        });
+
+        return new ModelRunReport(sum(executed), System.nanoTime() - started, List.copyOf(mismatches),
+                model.stateCounts());
+    }
+
+    /**
+     * Выполняет операции над общими токенами из нескольких потоков одновременно и проверяет
+     * линеаризуемость истории каждого токена.
+     *
+     * @param tokens             общие токены (в исходном состоянии {@link TokenState#ABSENT})
+     * @param operationsPerToken количество операций на токен (не больше
+     *                           {@link LinearizabilityChecker#MAX_OPERATIONS_PER_TOKEN})
+     * @param seed               начальное значение генератора
+     * @return итог прогона
+     * @throws IllegalArgumentException если операций на токен больше
+     *                                  {@link LinearizabilityChecker#MAX_OPERATIONS_PER_TOKEN}
+     */
+    public ModelRunReport runShared(List<String> tokens, int operationsPerToken, long seed) {
+        if (operationsPerToken > LinearizabilityChecker.MAX_OPERATIONS_PER_TOKEN) {
+            throw new IllegalArgumentException("Операций на общий токен " + operationsPerToken
+                    + ", проверка линеаризуемости поддерживает не больше "
+                    + LinearizabilityChecker.MAX_OPERATIONS_PER_TOKEN);
+        }
+        Random random = new Random(seed);
+        List<Operation> schedule = new ArrayList<>();
+        for (String token : tokens) {
+            for (int i = 0; i < operationsPerToken; i++) {
+                schedule.add(new Operation(token, nextAction(random)));
+            }
+        }
+        Collections.shuffle(schedule, random);
+
+        List<List<OperationRecord>> histories = Collections.synchronizedList(new ArrayList<>());
+        long started = System.nanoTime();
+        List<Long> executed = runWorkers(worker -> {
+            List<OperationRecord> history = new ArrayList<>();
+            for (int i = worker; i < schedule.size(); i += threads) {
+                history.add(execute(worker, schedule.get(i)));
+            }
+            histories.add(history);
+            return (long) history.size();
+        });
+        long elapsed = System.nanoTime() - started;
+
+        Map<String, List<OperationRecord>> byToken = new LinkedHashMap<>();
+        histories.forEach(history -> history.forEach(record ->
+                byToken.computeIfAbsent(record.operation().token(), token -> new ArrayList<>()).add(record)));
+
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, List<OperationRecord>> entry : byToken.entrySet()) {
+            if (!LinearizabilityChecker.isLinearizable(entry.getValue(), TokenState.ABSENT)
+                    && violations.size() < MAX_REPORTED_MISMATCHES) {
+                violations.add(describeHistory(entry.getKey(), entry.getValue(), started));
+            }
+        }
+
+        return new ModelRunReport(sum(executed), elapsed, violations, Map.of());
+    }
+
+    private OperationRecord execute(int worker, Operation operation) {
+        long invoked = System.nanoTime();
+        try {
+            EndpointResponse response = client.send(operation.token(), operation.action(), VALID_API_KEY);
+            String result = null;
+            String message = null;
+            try {
+                ResultEnvelope envelope = ResultEnvelope.parse(response.body());
+                result = envelope.result();
+                message = envelope.message();
+            } catch (RuntimeException ignored) {
+                // Ответ не в формате JSON: запись с пустыми полями не совпадет ни с одним ожиданием модели
+            }
+            return new OperationRecord(worker, operation, invoked, System.nanoTime(),
+                    response.statusCode(), result, message);
+        } catch (IOException e) {
+            return new OperationRecord(worker, operation, invoked, Long.MAX_VALUE, 0, null, e.getMessage());
+        }
+    }
+
+    private List<Long> runWorkers(Function<Integer, Long> task) {
+        return ParallelRunner.runAll(IntStream.range(0, threads).boxed().toList(), threads, task);
+    }
+
+    private static String nextAction(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 35) {
+            return ACTION_LOGIN;
+        }
+        return roll < 75 ? ACTION_ACTION : ACTION_LOGOUT;
+    }
+
+    private static String describeHistory(String token, List<OperationRecord> history, long origin) {
+        StringBuilder description = new StringBuilder("Нелинеаризуемая история токена ").append(token).append(':');
+        history.stream()
+                .sorted(Comparator.comparingLong(OperationRecord::invokeNanos))
+                .forEach(record -> description.append("\n  ").append(record.describe(origin)));
+        return description.toString();
+    }
+
+    private static long sum(List<Long> values) {
+        return values.stream().mapToLong(Long::longValue).sum();
+    }
+}
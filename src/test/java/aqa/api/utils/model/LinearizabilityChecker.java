@@ -0,0 +1,101 @@
+package aqa.api.utils.model;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Проверка линеаризуемости истории операций над одним токеном.
+ * <p>
+ * Реализует поиск с возвратом в духе алгоритма Wing–Gong с мемоизацией по паре
+ * (множество уже линеаризованных операций, состояние модели). Операция может быть
+ * следующей в линейном порядке, только если она началась не позже завершения любой
+ * еще не линеаризованной операции. Операции без ответа могут как подействовать на
+ * состояние в любой момент после отправки, так и не подействовать вовсе.
+ * Токены независимы, поэтому история всего прогона проверяется по токенам отдельно.
+ */
+public class LinearizabilityChecker {
+
+    /**
+     * Максимальная длина истории одного токена: множество линеаризованных операций хранится в {@code long}.
+     */
+    public static final int MAX_OPERATIONS_PER_TOKEN = 63;
+
+    /**
+     * Проверяет, существует ли линейный порядок операций, согласованный с реальным временем
+     * и с ответами, предсказанными {@link SutModel} для токена в исходном состоянии.
+     *
+     * @param history      история операций над одним токеном
+     * @param initialState состояние токена перед первой операцией
+     * @return {@code true}, если история линеаризуема
+     * @throws IllegalArgumentException если история длиннее {@link #MAX_OPERATIONS_PER_TOKEN}
+     */
+    public static boolean isLinearizable(List<OperationRecord> history, TokenState initialState) {
+        if (history.size() > MAX_OPERATIONS_PER_TOKEN) {
+            throw new IllegalArgumentException("История токена длиннее " + MAX_OPERATIONS_PER_TOKEN
+                    + " операций: " + history.size());
+        }
+
+        List<OperationRecord> ordered = new ArrayList<>(history);
+        ordered.sort(Comparator.comparingLong(OperationRecord::invokeNanos));
+        return new Search(ordered).run(0L, initialState);
+    }
+
+    private static final class Search {
+        private final List<OperationRecord> operations;
+        private final long fullMask;
+        private final Set<Visited> visited = new HashSet<>();
+
+        Search(List<OperationRecord> operations) {
+            this.operations = operations;
+            this.fullMask = (1L << operations.size()) - 1;
+        }
+
+        boolean run(long mask, TokenState state) {
+            if (mask == fullMask) {
+                return true;
+            }
+            if (!visited.add(new Visited(mask, state))) {
+                return false;
+            }
+
+            long earliestCompletion = Long.MAX_VALUE;
+            for (int i = 0; i < operations.size(); i++) {
+                if ((mask & (1L << i)) == 0) {
+                    earliestCompletion = Math.min(earliestCompletion, operations.get(i).completeNanos());
+                }
+            }
+
+            for (int i = 0; i < operations.size(); i++) {
+                long bit = 1L << i;
+                OperationRecord record = operations.get(i);
+                if ((mask & bit) != 0 || record.invokeNanos() > earliestCompletion) {
+                    continue;
+                }
+
+                Operation operation = record.operation();
+                Transition transition = SutModel.apply(state, operation.action(), operation.token());
+                if (!record.completed()) {
+                    if (run(mask | bit, transition.nextState()) || run(mask | bit, state)) {
+                        return true;
+                    }
+                } else if (transition.outcome().matches(record.status(), record.result(), record.message())
+                        && run(mask | bit, transition.nextState())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Visited(long mask, TokenState state) {
+    }
+
+    private LinearizabilityChecker() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,28 @@
+package aqa.api.utils.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Итог прогона модельного тестирования жизненного цикла токенов.
+ *
+ * @param executed        количество выполненных операций
+ * @param elapsedNanos    длительность прогона, нс
+ * @param mismatches      описания расхождений ответов с моделью или нелинеаризуемых историй
+ * @param finalStates     распределение токенов по состояниям модели в конце прогона;
+ *                        пусто для режима общих токенов, где итоговое состояние не детерминировано
+ */
+public record ModelRunReport(long executed,
+                             long elapsedNanos,
+                             List<String> mismatches,
+                             Map<TokenState, Long> finalStates) {
+
+    /**
+     * Возвращает пропускную способность прогона.
+     *
+     * @return количество операций в секунду
+     */
+    public double operationsPerSecond() {
+        return elapsedNanos == 0 ? 0 : executed * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,10 @@
+package aqa.api.utils.model;
+
+/**
+ * Операция над токеном в модели жизненного цикла.
+ *
+ * @param token  валидный токен
+ * @param action LOGIN, ACTION или LOGOUT
+ */
+public record Operation(String token, String action) {
+}
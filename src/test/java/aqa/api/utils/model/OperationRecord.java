@@ -0,0 +1,46 @@
+package aqa.api.utils.model;
+
+/**
+ * Запись истории выполнения операции: интервал выполнения и полученный ответ.
+ *
+ * @param worker         номер потока, выполнившего операцию
+ * @param operation      выполненная операция
+ * @param invokeNanos    момент отправки запроса ({@link System#nanoTime()})
+ * @param completeNanos  момент получения ответа; {@link Long#MAX_VALUE}, если ответ не получен
+ * @param status         HTTP-статус; 0, если ответ не получен
+ * @param result         значение поля "result"
+ * @param message        значение поля "message"
+ */
+public record OperationRecord(int worker,
+                              Operation operation,
+                              long invokeNanos,
+                              long completeNanos,
+                              int status,
+                              String result,
+                              String message) {
+
+    /**
+     * Проверяет, известен ли исход операции. Операция без ответа могла как выполниться
+     * на стороне сервиса, так и не выполниться.
+     *
+     * @return {@code true}, если ответ получен
+     */
+    public boolean completed() {
+        return status != 0;
+    }
+
+    /**
+     * Возвращает краткое описание записи для отчета.
+     *
+     * @param origin момент начала прогона для вывода относительного времени
+     * @return строка вида "w3 LOGIN [120..340 мкс] → 200 OK"
+     */
+    public String describe(long origin) {
+        return String.format("w%d %s [%d..%s мкс] → %s",
+                worker,
+                operation.action(),
+                (invokeNanos - origin) / 1_000,
+                completed() ? String.valueOf((completeNanos - origin) / 1_000) : "?",
+                completed() ? status + " " + result + (message != null ? " \"" + message + "\"" : "") : "нет ответа");
+    }
+}
@@ -0,0 +1,145 @@
+package aqa.api.utils.model;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.util.regex.Pattern;
+
+import static aqa.api.utils.Constants.*;
+import static aqa.api.utils.ErrorMessages.*;
+
+/**
+ * Эталонная модель поведения тестируемого сервиса для эндпоинта {@code /endpoint}.
+ * <p>
+ * Описывает, какой ответ должен вернуть сервис на запрос с заданными action, API-ключом
+ * и токеном в зависимости от состояния токена и ответов внешнего сервиса. Порядок проверок
+ * соответствует наблюдаемому в ручных тестах:
+ * <ol>
+ *   <li>API-ключ (401)</li>
+ *   <li>формат токена и значение action (400)</li>
+ *   <li>состояние токена (409 для повторного LOGIN, 403 для неизвестного токена)</li>
+ *   <li>ответ внешнего сервиса (любая ошибка {@code /auth} или {@code /doAction} дает 500)</li>
+ * </ol>
+ */
+public class SutModel {
+
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("^[0-9A-F]{32}$");
+
+    /**
+     * Проверяет, соответствует ли токен формату {@code ^[0-9A-F]{32}$}.
+     *
+     * @param token проверяемый токен (может быть {@code null})
+     * @return {@code true}, если токен валиден
+     */
+    public static boolean isValidToken(String token) {
+        return token != null && TOKEN_PATTERN.matcher(token).matches();
+    }
+
+    /**
+     * Проверяет, будет ли API-ключ принят сервисом.
+     *
+     * @param apiKey значение заголовка "X-Api-Key" (может быть {@code null})
+     * @return {@code true}, если ключ совпадает с валидным
+     */
+    public static boolean isValidApiKey(String apiKey) {
+        return VALID_API_KEY.equals(apiKey);
+    }
+
+    /**
+     * Проверяет, является ли значение action одним из поддерживаемых.
+     *
+     * @param action значение параметра "action" (может быть {@code null})
+     * @return {@code true} для LOGIN, ACTION и LOGOUT
+     */
+    public static boolean isValidAction(String action) {
+        return ACTION_LOGIN.equals(action) || ACTION_ACTION.equals(action) || ACTION_LOGOUT.equals(action);
+    }
+
+    /**
+     * Вычисляет ожидаемый ответ и следующее состояние токена.
+     *
+     * @param state          текущее состояние токена
+     * @param action         значение параметра "action"
+     * @param apiKey         значение заголовка "X-Api-Key"
+     * @param token          значение параметра "token"
+     * @param authStatus     HTTP-статус, который вернет внешний {@code /auth}
+     * @param doActionStatus HTTP-статус, который вернет внешний {@code /doAction}
+     * @return ожидаемый ответ и состояние токена после запроса
+     */
+    public static Transition apply(TokenState state, String action, String apiKey, String token,
+                                   int authStatus, int doActionStatus) {
+        if (!isValidApiKey(apiKey)) {
+            return new Transition(ExpectedOutcome.error(HTTP_UNAUTHORIZED, INVALID_API_KEY_ERROR), state);
+        }
+
+        boolean validToken = isValidToken(token);
+        boolean validAction = isValidAction(action);
+        if (!validToken || !validAction) {
+            return new Transition(ExpectedOutcome.error(HTTP_BAD_REQUEST,
+                    validationMessage(validToken, action)), state);
+        }
+
+        return switch (action) {
+            case ACTION_LOGIN -> login(state, token, authStatus);
+            case ACTION_ACTION -> action(state, token, doActionStatus);
+            default -> logout(state, token);
+        };
+    }
+
+    /**
+     * Вычисляет ожидаемый ответ для запроса с валидным API-ключом, токеном и action
+     * при успешных ответах внешнего сервиса.
+     *
+     * @param state  текущее состояние токена
+     * @param action значение параметра "action"
+     * @param token  значение параметра "token"
+     * @return ожидаемый ответ и состояние токена после запроса
+     */
+    public static Transition apply(TokenState state, String action, String token) {
+        return apply(state, action, VALID_API_KEY, token, HTTP_OK, HTTP_OK);
+    }
+
+    private static Transition login(TokenState state, String token, int authStatus) {
+        if (state.isStored()) {
+            return new Transition(ExpectedOutcome.error(HTTP_CONFLICT,
+                    String.format(TOKEN_ALREADY_EXISTS_ERROR, token)), state);
+        }
+        if (authStatus != HTTP_OK) {
+            return new Transition(ExpectedOutcome.error(HTTP_INTERNAL_ERROR, null), state);
+        }
+        return new Transition(ExpectedOutcome.success(HTTP_OK), TokenState.LOGGED_IN);
+    }
+
+    private static Transition action(TokenState state, String token, int doActionStatus) {
+        if (!state.isStored()) {
+            return new Transition(ExpectedOutcome.error(HTTP_FORBIDDEN,
+                    String.format(TOKEN_NOT_FOUND_ERROR, token)), state);
+        }
+        if (doActionStatus != HTTP_OK) {
+            return new Transition(ExpectedOutcome.error(HTTP_INTERNAL_ERROR, null), state);
+        }
+        return new Transition(ExpectedOutcome.success(HTTP_OK), state);
+    }
+
+    private static Transition logout(TokenState state, String token) {
+        if (!state.isStored()) {
+            return new Transition(ExpectedOutcome.error(HTTP_FORBIDDEN,
+                    String.format(TOKEN_NOT_FOUND_ERROR, token)), state);
+        }
+        return new Transition(ExpectedOutcome.success(HTTP_OK), TokenState.LOGGED_OUT);
+    }
+
+    /**
+     * Текст ошибки валидации фиксирован только для одной нарушенной проверки:
+     * при одновременно невалидных токене и action порядок проверок сервиса не определен.
+     */
+    private static String validationMessage(boolean validToken, String action) {
+        if (!validToken) {
+            return isValidAction(action) ? INVALID_TOKEN_ERROR : null;
+        }
+        return action == null || action.isEmpty() ? INVALID_ACTION_ERROR : null;
+    }
+
+    private SutModel() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,71 @@
+package aqa.api.utils.model;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Эталонная in-memory модель состояний токенов.
+ * <p>
+ * Хранит состояние каждого токена и по {@link SutModel} вычисляет ожидаемый ответ на
+ * операцию. Модель потокобезопасна при условии, что операции над одним токеном
+ * выполняются последовательно.
+ */
+public class TokenLifecycleModel {
+
+    private final Map<String, TokenState> states = new ConcurrentHashMap<>();
+
+    /**
+     * Возвращает текущее состояние токена.
+     *
+     * @param token токен
+     * @return состояние токена; {@link TokenState#ABSENT} для неизвестного токена
+     */
+    public TokenState state(String token) {
+        return states.getOrDefault(token, TokenState.ABSENT);
+    }
+
+    /**
+     * Применяет операцию к модели.
+     *
+     * @param operation операция
+     * @return ожидаемый ответ и новое состояние токена
+     */
+    public Transition apply(Operation operation) {
+        Transition transition = SutModel.apply(state(operation.token()), operation.action(), operation.token());
+        states.put(operation.token(), transition.nextState());
+        return transition;
+    }
+
+    /**
+     * Приводит состояние токена в соответствие с фактическим ответом сервиса после расхождения,
+     * чтобы одно расхождение не порождало каскад ложных расхождений в последующих операциях.
+     *
+     * @param token  токен
+     * @param before состояние токена до операции
+     * @param record фактический результат операции
+     */
+    public void resync(String token, TokenState before, OperationRecord record) {
+        String action = record.operation().action();
+        TokenState actual = before;
+        if (record.status() == HTTP_CONFLICT || record.status() == HTTP_OK && !ACTION_LOGOUT.equals(action)) {
+            actual = TokenState.LOGGED_IN;
+        } else if (record.status() == HTTP_OK || record.status() == HTTP_FORBIDDEN && before.isStored()) {
+            actual = TokenState.LOGGED_OUT;
+        }
+        states.put(token, actual);
+    }
+
+    /**
+     * Возвращает количество токенов в каждом состоянии.
+     *
+     * @return распределение токенов по состояниям
+     */
+    public Map<TokenState, Long> stateCounts() {
+        Map<TokenState, Long> counts = new EnumMap<>(TokenState.class);
+        states.values().forEach(state -> counts.merge(state, 1L, Long::sum));
+        return counts;
+    }
+}
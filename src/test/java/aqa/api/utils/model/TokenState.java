@@ -0,0 +1,22 @@
+package aqa.api.utils.model;
+
+/**
+ * Состояние токена с точки зрения тестируемого сервиса.
+ * <p>
+ * {@link #LOGGED_OUT} отличается от {@link #ABSENT} только историей: сервис в обоих
+ * случаях не знает токен, но модель сохраняет различие для отчетов и генераторов.
+ */
+public enum TokenState {
+    ABSENT,
+    LOGGED_IN,
+    LOGGED_OUT;
+
+    /**
+     * Проверяет, хранится ли токен в сервисе в данном состоянии.
+     *
+     * @return {@code true}, если токен сохранен после успешного LOGIN
+     */
+    public boolean isStored() {
+        return this == LOGGED_IN;
+    }
+}
@@ -0,0 +1,10 @@
+package aqa.api.utils.model;
+
+/**
+ * Результат применения одного запроса к модели токена.
+ *
+ * @param outcome   ожидаемый ответ сервиса
+ * @param nextState состояние токена после запроса
+ */
+public record Transition(ExpectedOutcome outcome, TokenState nextState) {
+}
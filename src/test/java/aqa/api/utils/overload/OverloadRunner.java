@@ -0,0 +1,276 @@
+package aqa.api.utils.overload;
+
+import aqa.api.utils.TokenGenerator;
+import aqa.api.utils.envelope.ResultEnvelope;
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.http.EndpointResponse;
+import aqa.api.utils.load.LoadDashboard;
+import aqa.api.utils.metrics.Metrics;
+import aqa.api.utils.metrics.Timeline;
+import aqa.api.utils.model.ExpectedOutcome;
+import aqa.api.utils.model.SutModel;
+import aqa.api.utils.model.TokenState;
+import aqa.api.utils.model.Transition;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Перегрузка сервиса с открытым циклом и измерение восстановления после нее.
+ * <p>
+ * В отличие от {@link aqa.api.utils.load.LoadRunner} циклы LOGIN → ACTION → LOGOUT запускаются
+ * с заданной интенсивностью независимо от скорости ответов сервиса, поэтому интенсивность выше
+ * пропускной способности действительно перегружает сервис, а не замедляет генератор. Каждый цикл
+ * выполняется отдельным потоком генератора ({@code maxInFlight} потоков); если свободных потоков нет,
+ * цикл не начинается и учитывается как непринятый.
+ * <p>
+ * Каждый ответ сравнивается с ожиданием {@link SutModel} для текущего состояния токена
+ * и относится к одному из классов {@link ResponseClass}. После явного отказа или ответа с неверной
+ * семантикой состояние токена на стороне сервиса неизвестно, поэтому цикл прекращается.
+ * Заглушки внешнего сервиса должны отвечать успехом для любого токена. Запросы учитываются
+ * в посекундных рядах {@code overload/<действие>} ({@link Timeline}) и в живой сводке
+ * ({@link LoadDashboard}).
+ */
+public class OverloadRunner {
+
+    /**
+     * Токены перегрузки начинаются с префикса "CCCC", чтобы отличаться от токенов нагрузки, прогрева и тестов,
+     * и содержат метку прогона: сессии циклов, брошенных под перегрузкой, остаются в сервисе.
+     */
+    static final String TOKEN_RANGE = "CCCC";
+
+    static final int MAX_SAMPLES = 10;
+
+    public static final String SERIES = "overload/";
+
+    private static final List<String> CYCLE = List.of(ACTION_LOGIN, ACTION_ACTION, ACTION_LOGOUT);
+    private static final long PROBE_INTERVAL_MILLIS = 100;
+    private static final long DRAIN_SECONDS = 60;
+
+    private final EndpointClient client;
+    private final int maxInFlight;
+    private final long slowMicros;
+    private final AtomicLong tokenSequence = new AtomicLong();
+
+    /**
+     * @param client        клиент для отправки запросов
+     * @param maxInFlight   наибольшее количество одновременно выполняемых циклов
+     * @param slowThreshold задержка, начиная с которой корректный ответ считается медленным
+     */
+    public OverloadRunner(EndpointClient client, int maxInFlight, Duration slowThreshold) {
+        this.client = client;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.slowMicros = TimeUnit.NANOSECONDS.toMicros(slowThreshold.toNanos());
+    }
+
+    /**
+     * Выполняет фазу перегрузки: запускает циклы с заданной интенсивностью и дожидается их завершения.
+     *
+     * @param phase           название фазы
+     * @param cyclesPerSecond интенсивность, циклов в секунду
+     * @param duration        длительность подачи нагрузки
+     * @return итог фазы
+     * @throws IllegalStateException если прогон прерван
+     */
+    public PhaseReport drive(String phase, double cyclesPerSecond, Duration duration) {
+        Histogram latency = new ConcurrentHistogram(Metrics.HIGHEST_TRACKABLE_MICROS, 3);
+        Map<ResponseClass, LongAdder> counts = counters();
+        List<String> samples = Collections.synchronizedList(new ArrayList<>());
+        LongAdder started = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        AtomicInteger active = new AtomicInteger();
+
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(maxInFlight, maxInFlight, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), task -> {
+            Thread thread = new Thread(task, "overload-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        workers.prestartAllCoreThreads();
+
+        long startedNanos = System.nanoTime();
+        long deadline = startedNanos + duration.toNanos();
+        try (LoadDashboard dashboard = LoadDashboard.open("Перегрузка: " + phase, CYCLE, active::get)) {
+            long issued = 0;
+            for (long now = startedNanos; now < deadline; now = System.nanoTime()) {
+                long due = (long) ((now - startedNanos) / 1e9 * cyclesPerSecond);
+                for (; issued < due; issued++) {
+                    try {
+                        workers.execute(() -> {
+                            active.incrementAndGet();
+                            try {
+                                cycle(latency, counts, samples, dashboard);
+                            } finally {
+                                active.decrementAndGet();
+                            }
+                        });
+                        started.increment();
+                    } catch (RejectedExecutionException e) {
+                        rejected.increment();
+                    }
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(DRAIN_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Циклы фазы \"" + phase + "\" не завершились за " + DRAIN_SECONDS + " с");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Перегрузка прервана", e);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+        return new PhaseReport(phase, cyclesPerSecond, elapsedMillis, started.sum(), rejected.sum(), sums(counts),
+                latency.getValueAtPercentile(50), latency.getValueAtPercentile(99), latency.getMaxValue(),
+                List.copyOf(samples));
+    }
+
+    /**
+     * Измеряет восстановление после перегрузки: выполняет последовательные пробы (циклы) каждые
+     * {@value #PROBE_INTERVAL_MILLIS} мс, пока {@code streak} проб подряд не завершатся ответами,
+     * соответствующими модели, с задержкой не выше предельной.
+     *
+     * @param timeout            отведенное на восстановление время
+     * @param streak             количество успешных проб подряд
+     * @param latencyLimitMicros предельная задержка ответа пробы, мкс
+     * @return итог восстановления
+     */
+    public RecoveryReport recover(Duration timeout, int streak, long latencyLimitMicros) {
+        Histogram latency = new ConcurrentHistogram(Metrics.HIGHEST_TRACKABLE_MICROS, 3);
+        Map<ResponseClass, LongAdder> counts = counters();
+        List<String> samples = Collections.synchronizedList(new ArrayList<>());
+        long startedNanos = System.nanoTime();
+        long deadline = startedNanos + timeout.toNanos();
+        long probes = 0;
+        int successes = 0;
+        long streakStarted = startedNanos;
+
+        try (LoadDashboard dashboard = LoadDashboard.open("Восстановление", CYCLE, () -> 1)) {
+            while (System.nanoTime() < deadline) {
+                long probeStarted = System.nanoTime();
+                long slowest = cycle(latency, counts, samples, dashboard);
+                probes++;
+                if (slowest >= 0 && slowest <= latencyLimitMicros) {
+                    streakStarted = successes == 0 ? probeStarted : streakStarted;
+                    if (++successes >= streak) {
+                        return new RecoveryReport(true, TimeUnit.NANOSECONDS.toMillis(streakStarted - startedNanos),
+                                probes, latencyLimitMicros, counts.get(ResponseClass.WRONG_SEMANTICS).sum(),
+                                List.copyOf(samples));
+                    }
+                } else {
+                    successes = 0;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(PROBE_INTERVAL_MILLIS));
+            }
+        }
+        return new RecoveryReport(false, timeout.toMillis(), probes, latencyLimitMicros,
+                counts.get(ResponseClass.WRONG_SEMANTICS).sum(), List.copyOf(samples));
+    }
+
+    /**
+     * Относит ответ к классу по ожиданию модели.
+     *
+     * @param expected   ожидаемый ответ
+     * @param response   фактический ответ
+     * @param slowMicros задержка, начиная с которой корректный ответ считается медленным, мкс
+     * @return класс ответа
+     */
+    public static ResponseClass classify(ExpectedOutcome expected, EndpointResponse response, long slowMicros) {
+        ResultEnvelope envelope;
+        try {
+            envelope = ResultEnvelope.parse(response.body());
+        } catch (RuntimeException e) {
+            envelope = null;
+        }
+        if (envelope != null && expected.matches(response.statusCode(), envelope.result(), envelope.message())) {
+            return TimeUnit.NANOSECONDS.toMicros(response.latencyNanos()) > slowMicros
+                    ? ResponseClass.SLOW
+                    : ResponseClass.CORRECT;
+        }
+        if (response.statusCode() >= HTTP_INTERNAL_ERROR || response.statusCode() == HTTP_TOO_MANY_REQUESTS) {
+            return ResponseClass.ERROR;
+        }
+        return ResponseClass.WRONG_SEMANTICS;
+    }
+
+    /**
+     * Выполняет цикл LOGIN → ACTION → LOGOUT с новым токеном.
+     *
+     * @return наибольшая задержка ответа цикла, мкс, или -1, если цикл прерван отказом или неверным ответом
+     */
+    private long cycle(Histogram latency, Map<ResponseClass, LongAdder> counts, List<String> samples,
+                       LoadDashboard dashboard) {
+        String token = TokenGenerator.generateRunRangeToken(TOKEN_RANGE, tokenSequence.incrementAndGet());
+        TokenState state = TokenState.ABSENT;
+        long slowest = 0;
+        for (String action : CYCLE) {
+            Transition transition = SutModel.apply(state, action, token);
+            EndpointResponse response;
+            try {
+                response = client.send(token, action, VALID_API_KEY);
+            } catch (IOException e) {
+                counts.get(ResponseClass.ERROR).increment();
+                Timeline.record(SERIES + action, true);
+                dashboard.failure(e);
+                return -1;
+            }
+
+            long micros = TimeUnit.NANOSECONDS.toMicros(response.latencyNanos());
+            ResponseClass responseClass = classify(transition.outcome(), response, slowMicros);
+            boolean answered = responseClass == ResponseClass.CORRECT || responseClass == ResponseClass.SLOW;
+            Metrics.record(latency, micros);
+            counts.get(responseClass).increment();
+            Timeline.record(SERIES + action, !answered);
+            dashboard.record(action, micros, !answered);
+            if (!answered) {
+                dashboard.failure(response.statusCode(), response.body());
+                if (responseClass == ResponseClass.WRONG_SEMANTICS) {
+                    synchronized (samples) {
+                        if (samples.size() < MAX_SAMPLES) {
+                            samples.add(String.format("• %s %s: ожидалось %s, получено %d %s", action, token,
+                                    transition.outcome(), response.statusCode(), response.body()));
+                        }
+                    }
+                }
+                return -1;
+            }
+            state = transition.nextState();
+            slowest = Math.max(slowest, micros);
+        }
+        return slowest;
+    }
+
+    private static Map<ResponseClass, LongAdder> counters() {
+        Map<ResponseClass, LongAdder> counts = new EnumMap<>(ResponseClass.class);
+        for (ResponseClass responseClass : ResponseClass.values()) {
+            counts.put(responseClass, new LongAdder());
+        }
+        return counts;
+    }
+
+    private static Map<ResponseClass, Long> sums(Map<ResponseClass, LongAdder> counts) {
+        Map<ResponseClass, Long> sums = new EnumMap<>(ResponseClass.class);
+        counts.forEach((responseClass, adder) -> sums.put(responseClass, adder.sum()));
+        return sums;
+    }
+}
@@ -0,0 +1,69 @@
+package aqa.api.utils.overload;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Итог фазы перегрузки с открытым циклом.
+ *
+ * @param phase         название фазы
+ * @param targetRate    заданная интенсивность, циклов LOGIN → ACTION → LOGOUT в секунду
+ * @param elapsedMillis длительность фазы вместе с ожиданием завершения отправленных циклов, мс
+ * @param started       количество начатых циклов
+ * @param rejected      количество циклов, не начатых из-за исчерпания потоков генератора
+ *                      ({@code overload.maxInFlight}): сервис не успевал отвечать
+ * @param responses     количество ответов по классам
+ * @param p50Micros     50-й перцентиль задержки ответов, мкс
+ * @param p99Micros     99-й перцентиль задержки ответов, мкс
+ * @param maxMicros     максимальная задержка ответа, мкс
+ * @param wrongSamples  примеры ответов с неверной семантикой (не более {@link OverloadRunner#MAX_SAMPLES})
+ */
+public record PhaseReport(String phase, double targetRate, long elapsedMillis, long started, long rejected,
+                          Map<ResponseClass, Long> responses, long p50Micros, long p99Micros, long maxMicros,
+                          List<String> wrongSamples) {
+
+    /**
+     * Возвращает количество ответов указанного класса.
+     *
+     * @param responseClass класс ответа
+     * @return количество ответов
+     */
+    public long count(ResponseClass responseClass) {
+        return responses.getOrDefault(responseClass, 0L);
+    }
+
+    /**
+     * Возвращает фактическую интенсивность ответов.
+     *
+     * @return ответов в секунду
+     */
+    public double responseRate() {
+        long total = responses.values().stream().mapToLong(Long::longValue).sum();
+        return elapsedMillis == 0 ? 0 : total * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * Формирует текстовое описание для Allure-отчета.
+     *
+     * @return описание фазы
+     */
+    public String describe() {
+        return String.format("""
+                        • Фаза: %s
+                        • Заданная интенсивность: %.0f циклов/с (%.0f запросов/с)
+                        • Начато циклов: %d за %d мс, не начато (генератор насыщен): %d
+                        • Фактически ответов: %.0f в секунду
+                        • Задержка, мкс: p50=%d, p99=%d, max=%d
+
+                        КЛАССЫ ОТВЕТОВ:
+                        %s
+                        %s""",
+                phase, targetRate, targetRate * 3, started, elapsedMillis, rejected, responseRate(),
+                p50Micros, p99Micros, maxMicros,
+                List.of(ResponseClass.values()).stream()
+                        .map(responseClass -> String.format("• %s: %d", responseClass.description(), count(responseClass)))
+                        .collect(Collectors.joining("\n")),
+                wrongSamples.isEmpty() ? "" : "\nНЕВЕРНАЯ СЕМАНТИКА (примеры):\n" + String.join("\n", wrongSamples));
+    }
+}
@@ -0,0 +1,35 @@
+package aqa.api.utils.overload;
+
+import java.util.List;
+
+/**
+ * Итог измерения восстановления сервиса после перегрузки.
+ *
+ * @param recovered          восстановился ли сервис до истечения отведенного времени
+ * @param recoveryMillis     время от окончания перегрузки до начала серии успешных проб, мс
+ *                           (или отведенное время, если сервис не восстановился)
+ * @param probes             количество выполненных проб (циклов LOGIN → ACTION → LOGOUT)
+ * @param latencyLimitMicros предельная задержка ответа пробы, мкс
+ * @param wrongSemantics     количество ответов проб с неверной семантикой
+ * @param wrongSamples       примеры ответов с неверной семантикой
+ */
+public record RecoveryReport(boolean recovered, long recoveryMillis, long probes, long latencyLimitMicros,
+                             long wrongSemantics, List<String> wrongSamples) {
+
+    /**
+     * Формирует текстовое описание для Allure-отчета.
+     *
+     * @return описание восстановления
+     */
+    public String describe() {
+        return String.format("""
+                        • Восстановление: %s
+                        • Время восстановления: %d мс
+                        • Проб: %d, предельная задержка ответа пробы: %d мкс
+                        • Ответов с неверной семантикой: %d
+                        %s""",
+                recovered ? "да" : "нет (время ожидания истекло)", recoveryMillis, probes, latencyLimitMicros,
+                wrongSemantics,
+                wrongSamples.isEmpty() ? "" : "\n" + String.join("\n", wrongSamples));
+    }
+}
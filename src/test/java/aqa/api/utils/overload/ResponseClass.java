@@ -0,0 +1,43 @@
+package aqa.api.utils.overload;
+
+/**
+ * Класс ответа сервиса под перегрузкой.
+ */
+public enum ResponseClass {
+
+    /**
+     * Ответ соответствует модели сервиса и получен не дольше порога медленного ответа.
+     */
+    CORRECT("корректный"),
+
+    /**
+     * Ответ соответствует модели сервиса, но получен дольше порога медленного ответа.
+     */
+    SLOW("медленный"),
+
+    /**
+     * Явный отказ: статус 5xx или 429, тайм-аут или ошибка соединения. Допустимая реакция на перегрузку.
+     */
+    ERROR("ошибка"),
+
+    /**
+     * Бизнес-ответ, не соответствующий модели сервиса (например, {@code TOKEN_NOT_FOUND_ERROR}
+     * для сохраненного токена). Недопустим при любой нагрузке.
+     */
+    WRONG_SEMANTICS("неверная семантика");
+
+    private final String description;
+
+    ResponseClass(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Возвращает описание класса для отчетов.
+     *
+     * @return описание класса
+     */
+    public String description() {
+        return description;
+    }
+}
@@ -0,0 +1,16 @@
+package aqa.api.utils.replay;
+
+/**
+ * Запрос к {@code /endpoint} в записи трафика вместе с исходом, наблюдавшимся при записи.
+ *
+ * @param offsetMicros   смещение отправки запроса от начала записи, мкс
+ * @param token          значение параметра "token" или {@code null}, если параметр не передавался
+ * @param action         значение параметра "action" или {@code null}, если параметр не передавался
+ * @param apiKey         значение заголовка "X-Api-Key" или {@code null}, если заголовок не передавался
+ * @param expectedStatus HTTP статус ответа при записи
+ * @param expectedResult поле result ответа при записи или {@code null}
+ * @param latencyMicros  задержка ответа при записи, мкс
+ */
+public record RecordedRequest(long offsetMicros, String token, String action, String apiKey,
+                              int expectedStatus, String expectedResult, long latencyMicros) {
+}
@@ -0,0 +1,21 @@
+package aqa.api.utils.replay;
+
+import aqa.api.utils.load.ActionLatency;
+
+/**
+ * Сравнение задержки одного действия при записи и при воспроизведении.
+ *
+ * @param recorded задержка, записанная вместе с трафиком
+ * @param replayed задержка при воспроизведении
+ */
+public record ReplayLatency(ActionLatency recorded, ActionLatency replayed) {
+
+    /**
+     * Возвращает отношение 99-го перцентиля при воспроизведении к записанному.
+     *
+     * @return отношение перцентилей или {@code NaN}, если задержка не записывалась
+     */
+    public double p99Ratio() {
+        return recorded.p99Micros() == 0 ? Double.NaN : (double) replayed.p99Micros() / recorded.p99Micros();
+    }
+}
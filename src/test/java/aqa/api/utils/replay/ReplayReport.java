@@ -0,0 +1,63 @@
+package aqa.api.utils.replay;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Итог воспроизведения записи трафика.
+ *
+ * @param speed          скорость воспроизведения
+ * @param lanes          количество потоков воспроизведения (запросы одного токена всегда в одном потоке)
+ * @param requests       количество воспроизведенных запросов
+ * @param elapsedMillis  длительность воспроизведения, мс
+ * @param maxLagMicros   максимальное отставание отправки запроса от расписания, мкс
+ * @param recordedErrors количество запросов с исходом, отличным от 200, при записи
+ * @param replayedErrors количество запросов с исходом, отличным от 200, при воспроизведении
+ * @param divergences    количество расхождений исхода по видам ({@code "ACTION 200/OK → 403/ERROR"})
+ * @param examples       первые расхождения с токенами для анализа
+ * @param latencies      сравнение задержки по действиям
+ */
+public record ReplayReport(ReplaySpeed speed, int lanes, long requests, long elapsedMillis, long maxLagMicros,
+                           long recordedErrors, long replayedErrors, Map<String, Long> divergences,
+                           List<String> examples, List<ReplayLatency> latencies) {
+
+    /**
+     * Возвращает количество запросов, исход которых отличается от записанного.
+     *
+     * @return количество расхождений по статусу или полю result
+     */
+    public long divergent() {
+        return divergences.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Формирует текстовое описание для Allure-отчета.
+     *
+     * @return описание расхождений исходов и задержек
+     */
+    public String describe() {
+        return String.format("""
+                        • Скорость: %s, потоков: %d
+                        • Запросов: %d за %d мс, максимальное отставание от расписания: %d мкс
+                        • Ошибок при записи: %d, при воспроизведении: %d
+                        • Расхождений исхода: %d
+                        %s
+                        ЗАДЕРЖКА ПО ДЕЙСТВИЯМ, МКС (запись → воспроизведение):
+                        %s""",
+                speed, lanes, requests, elapsedMillis, maxLagMicros,
+                recordedErrors, replayedErrors, divergent(),
+                divergences.isEmpty() ? "" : divergences.entrySet().stream()
+                        .map(entry -> String.format("  %s: %d", entry.getKey(), entry.getValue()))
+                        .collect(Collectors.joining("\n", "", "\n"))
+                        + examples.stream().map(example -> "  пример: " + example)
+                        .collect(Collectors.joining("\n", "", "\n")),
+                latencies.stream()
+                        .map(latency -> String.format("• %s: p50 %d → %d, p99 %d → %d (×%.2f), n=%d",
+                                latency.replayed().action(),
+                                latency.recorded().p50Micros(), latency.replayed().p50Micros(),
+                                latency.recorded().p99Micros(), latency.replayed().p99Micros(),
+                                latency.p99Ratio(), latency.replayed().count()))
+                        .collect(Collectors.joining("\n")));
+    }
+}
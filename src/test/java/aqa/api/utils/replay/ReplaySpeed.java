@@ -0,0 +1,67 @@
+package aqa.api.utils.replay;
+
+import java.util.Locale;
+
+/**
+ * Скорость воспроизведения записи трафика.
+ *
+ * @param factor во сколько раз интервалы между запросами короче записанных;
+ *               {@code 0} — без пауз, с максимально возможной скоростью
+ */
+public record ReplaySpeed(double factor) {
+
+    /**
+     * Воспроизведение в реальном времени.
+     */
+    public static final ReplaySpeed REAL_TIME = new ReplaySpeed(1);
+
+    /**
+     * Воспроизведение без пауз между запросами.
+     */
+    public static final ReplaySpeed AS_FAST_AS_POSSIBLE = new ReplaySpeed(0);
+
+    public ReplaySpeed {
+        if (factor < 0 || Double.isNaN(factor) || Double.isInfinite(factor)) {
+            throw new IllegalArgumentException("Недопустимый множитель скорости воспроизведения: " + factor);
+        }
+    }
+
+    /**
+     * Разбирает скорость из строкового значения: {@code 1x}, {@code 10x}, {@code 2.5} или {@code asap}.
+     *
+     * @param value строковое значение (регистр не учитывается)
+     * @return скорость воспроизведения
+     * @throws IllegalArgumentException если значение не распознано
+     */
+    public static ReplaySpeed parse(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if ("asap".equals(normalized)) {
+            return AS_FAST_AS_POSSIBLE;
+        }
+        if (normalized.endsWith("x")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        try {
+            return new ReplaySpeed(Double.parseDouble(normalized));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Неизвестная скорость воспроизведения: " + value
+                    + " (допустимо: 1x, 10x, asap)", e);
+        }
+    }
+
+    /**
+     * Переводит записанное смещение запроса в смещение при воспроизведении.
+     *
+     * @param offsetMicros записанное смещение, мкс
+     * @return смещение при воспроизведении, нс
+     */
+    public long scaledNanos(long offsetMicros) {
+        return factor == 0 ? 0 : (long) (offsetMicros * 1000 / factor);
+    }
+
+    @Override
+    public String toString() {
+        return factor == 0 ? "asap" : String.format(Locale.ROOT, "%sx", factor == Math.rint(factor)
+                ? String.valueOf((long) factor) : String.valueOf(factor));
+    }
+}
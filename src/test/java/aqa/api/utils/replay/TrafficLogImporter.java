@@ -0,0 +1,98 @@
+package aqa.api.utils.replay;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Утилитный класс для импорта записи трафика из текстового журнала запросов.
+ * <p>
+ * Каждая строка журнала описывает один запрос: момент отправки в формате ISO-8601 и поля
+ * {@code ключ=значение}, разделенные пробелами:
+ * <pre>
+ * 2024-05-14T10:15:30.125Z token=0A1B... action=LOGIN apiKey=qazWSXedc status=200 result=OK latencyMs=12
+ * </pre>
+ * Обязательны момент отправки и {@code status}. Отсутствующее поле или значение {@code -}
+ * означает, что параметр не передавался. Пустые строки и строки, начинающиеся с {@code #},
+ * пропускаются. Смещения отсчитываются от самого раннего запроса журнала.
+ */
+public class TrafficLogImporter {
+
+    /**
+     * Читает журнал и преобразует его в запись трафика.
+     *
+     * @param file текстовый журнал в кодировке UTF-8
+     * @return запросы в порядке отправки
+     * @throws IOException              если журнал не удалось прочитать
+     * @throws IllegalArgumentException если строка журнала не соответствует формату
+     */
+    public static List<RecordedRequest> read(Path file) throws IOException {
+        List<Instant> sentAt = new ArrayList<>();
+        List<Map<String, String>> fields = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = trimmed.split("\\s+");
+                try {
+                    sentAt.add(Instant.parse(parts[0]));
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException(String.format("%s:%d: некорректный момент отправки \"%s\"",
+                            file, number, parts[0]), e);
+                }
+                Map<String, String> values = new HashMap<>();
+                for (int i = 1; i < parts.length; i++) {
+                    int separator = parts[i].indexOf('=');
+                    if (separator <= 0) {
+                        throw new IllegalArgumentException(String.format("%s:%d: ожидалось ключ=значение, получено \"%s\"",
+                                file, number, parts[i]));
+                    }
+                    String value = parts[i].substring(separator + 1);
+                    values.put(parts[i].substring(0, separator), "-".equals(value) ? null : value);
+                }
+                if (values.get("status") == null) {
+                    throw new IllegalArgumentException(String.format("%s:%d: отсутствует поле status", file, number));
+                }
+                fields.add(values);
+            }
+        }
+
+        Instant origin = sentAt.stream().min(Instant::compareTo).orElse(Instant.EPOCH);
+        List<RecordedRequest> requests = new ArrayList<>(fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            Map<String, String> values = fields.get(i);
+            String latency = values.get("latencyMs");
+            requests.add(new RecordedRequest(
+                    Duration.between(origin, sentAt.get(i)).toNanos() / 1000,
+                    values.get("token"),
+                    values.get("action"),
+                    values.get("apiKey"),
+                    Integer.parseInt(values.get("status")),
+                    values.get("result"),
+                    latency == null ? 0 : Math.round(Double.parseDouble(latency) * 1000)));
+        }
+        requests.sort(Comparator.comparingLong(RecordedRequest::offsetMicros));
+        return requests;
+    }
+
+    private TrafficLogImporter() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,143 @@
+package aqa.api.utils.replay;
+
+import aqa.api.utils.envelope.ResultEnvelope;
+import aqa.api.utils.http.EndpointResponse;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Фильтр RestAssured, записывающий запросы к {@code /endpoint} и их исходы для последующего
+ * воспроизведения ({@link TrafficReplayer}).
+ * <p>
+ * Смещение каждого запроса отсчитывается от создания записи, поэтому интервалы между запросами
+ * сохраняются. При заданном свойстве {@code replay.record} (путь к файлу) весь трафик прогона
+ * записывается общим экземпляром {@link #run()}, который сохраняется при завершении JVM
+ * ({@link aqa.api.utils.report.SuiteSummary}).
+ */
+public class TrafficRecorder implements Filter {
+
+    private static final String RUN_FILE = System.getProperty("replay.record", "");
+    private static final TrafficRecorder RUN = RUN_FILE.isBlank() ? null : new TrafficRecorder();
+
+    private final long startedNanos = System.nanoTime();
+    private final ConcurrentLinkedQueue<RecordedRequest> requests = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Возвращает общую запись трафика прогона.
+     *
+     * @return запись или {@code null}, если свойство {@code replay.record} не задано
+     */
+    public static TrafficRecorder run() {
+        return RUN;
+    }
+
+    /**
+     * Сохраняет общую запись трафика прогона в файл {@code replay.record}, если запись включена.
+     *
+     * @return описание сохраненной записи для отчета
+     */
+    public static String saveRun() {
+        if (RUN == null) {
+            return "Запись трафика выключена (-Dreplay.record=<файл>)";
+        }
+        Path file = Path.of(RUN_FILE);
+        try {
+            RUN.save(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сохранить запись трафика " + file, e);
+        }
+        return String.format("Записано запросов: %d → %s", RUN.size(), file.toAbsolutePath());
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long sent = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long received = System.nanoTime();
+
+        add(requestSpec.getFormParams().get(TOKEN_PARAM),
+                requestSpec.getFormParams().get(ACTION_PARAM),
+                requestSpec.getHeaders().getValue(API_KEY_HEADER_NAME),
+                response.getStatusCode(), response.asString(), sent, received);
+        return response;
+    }
+
+    /**
+     * Записывает запрос, выполненный без RestAssured (например, через {@link aqa.api.utils.http.EndpointClient}).
+     *
+     * @param token    значение параметра "token"
+     * @param action   значение параметра "action"
+     * @param apiKey   значение заголовка "X-Api-Key"
+     * @param response ответ сервиса
+     */
+    public void record(String token, String action, String apiKey, EndpointResponse response) {
+        long received = System.nanoTime();
+        add(token, action, apiKey == null || apiKey.isBlank() ? null : apiKey,
+                response.statusCode(), response.body(), received - response.latencyNanos(), received);
+    }
+
+    /**
+     * Возвращает количество записанных запросов.
+     *
+     * @return количество запросов
+     */
+    public int size() {
+        return requests.size();
+    }
+
+    /**
+     * Возвращает записанные запросы.
+     *
+     * @return копия записи в порядке завершения запросов
+     */
+    public List<RecordedRequest> snapshot() {
+        return new ArrayList<>(requests);
+    }
+
+    private void add(String token, String action, String apiKey, int status, String body,
+                     long sentNanos, long receivedNanos) {
+        requests.add(new RecordedRequest(
+                TimeUnit.NANOSECONDS.toMicros(sentNanos - startedNanos),
+                token, action, apiKey, status, resultOf(body),
+                TimeUnit.NANOSECONDS.toMicros(receivedNanos - sentNanos)));
+    }
+
+    /**
+     * Извлекает поле result из тела ответа; тело не в формате JSON дает {@code null}.
+     */
+    static String resultOf(String body) {
+        if (body == null || body.isEmpty()) {
+            return null;
+        }
+        try {
+            return ResultEnvelope.parse(body).result();
+        } catch (RuntimeException notJson) {
+            return null;
+        }
+    }
+
+    /**
+     * Сохраняет запись в двоичном формате {@link TrafficRecordings}.
+     *
+     * @param file файл записи
+     * @throws IOException если файл не удалось записать
+     */
+    public void save(Path file) throws IOException {
+        TrafficRecordings.write(file, snapshot());
+    }
+}
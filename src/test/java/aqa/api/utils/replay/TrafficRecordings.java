@@ -0,0 +1,165 @@
+package aqa.api.utils.replay;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Утилитный класс для сохранения и чтения записей трафика в компактном двоичном формате.
+ * <p>
+ * Формат: сигнатура {@code AQTR}, байт версии и последовательность запросов в порядке отправки.
+ * Для каждого запроса записываются интервал от предыдущего запроса, ссылки на строки token,
+ * action, API-ключа и result, HTTP статус и задержка. Числа кодируются varint, строки — один раз
+ * при первом появлении, далее номером в таблице строк. Ссылка {@code 0} означает отсутствие
+ * значения, ссылка на номер, равный размеру таблицы плюс один, — новую строку, которая следует
+ * сразу за ссылкой. Повторяющиеся токены одной сессии, действия и ключи занимают по одному байту.
+ */
+public class TrafficRecordings {
+
+    private static final byte[] MAGIC = {'A', 'Q', 'T', 'R'};
+    private static final int VERSION = 1;
+
+    /**
+     * Сохраняет запись в файл. Запросы упорядочиваются по смещению отправки.
+     *
+     * @param file     файл записи
+     * @param requests запросы записи
+     * @throws IOException если файл не удалось записать
+     */
+    public static void write(Path file, List<RecordedRequest> requests) throws IOException {
+        List<RecordedRequest> ordered = new ArrayList<>(requests);
+        ordered.sort(Comparator.comparingLong(RecordedRequest::offsetMicros));
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            Map<String, Integer> strings = new HashMap<>();
+            long previous = 0;
+            for (RecordedRequest request : ordered) {
+                writeVarLong(out, Math.max(0, request.offsetMicros() - previous));
+                previous = Math.max(previous, request.offsetMicros());
+                writeString(out, strings, request.token());
+                writeString(out, strings, request.action());
+                writeString(out, strings, request.apiKey());
+                writeString(out, strings, request.expectedResult());
+                writeVarLong(out, request.expectedStatus());
+                writeVarLong(out, Math.max(0, request.latencyMicros()));
+            }
+        }
+    }
+
+    /**
+     * Читает запись из файла.
+     *
+     * @param file файл записи
+     * @return запросы в порядке отправки
+     * @throws IOException если файл не удалось прочитать или он не является записью трафика
+     */
+    public static List<RecordedRequest> read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            byte[] magic = in.readNBytes(MAGIC.length);
+            if (!Arrays.equals(magic, MAGIC) || in.readUnsignedByte() != VERSION) {
+                throw new IOException("Файл не является записью трафика версии " + VERSION + ": " + file);
+            }
+            List<String> strings = new ArrayList<>();
+            List<RecordedRequest> requests = new ArrayList<>();
+            long offset = 0;
+            while (true) {
+                long gap;
+                try {
+                    gap = readVarLong(in);
+                } catch (EOFException endOfRecording) {
+                    return requests;
+                }
+                offset += gap;
+                String token = readString(in, strings);
+                String action = readString(in, strings);
+                String apiKey = readString(in, strings);
+                String result = readString(in, strings);
+                int status = (int) readVarLong(in);
+                long latency = readVarLong(in);
+                requests.add(new RecordedRequest(offset, token, action, apiKey, status, result, latency));
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, Map<String, Integer> strings, String value)
+            throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeVarLong(out, index);
+            return;
+        }
+        strings.put(value, strings.size() + 1);
+        writeVarLong(out, strings.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in, List<String> strings) throws IOException {
+        long reference = readVarLong(in);
+        if (reference == 0) {
+            return null;
+        }
+        if (reference <= strings.size()) {
+            return strings.get((int) reference - 1);
+        }
+        if (reference != strings.size() + 1) {
+            throw new IOException("Некорректная ссылка на строку: " + reference);
+        }
+        String value = new String(in.readNBytes((int) readVarLong(in)), StandardCharsets.UTF_8);
+        strings.add(value);
+        return value;
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int next = in.read();
+            if (next < 0) {
+                if (shift == 0) {
+                    throw new EOFException();
+                }
+                throw new IOException("Запись трафика оборвана");
+            }
+            value |= (long) (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Некорректное число в записи трафика");
+    }
+
+    private TrafficRecordings() {
+        throw new UtilityClassException(getClass());
+    }
+}
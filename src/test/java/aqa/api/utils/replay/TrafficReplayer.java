@@ -0,0 +1,161 @@
+package aqa.api.utils.replay;
+
+import aqa.api.utils.ParallelRunner;
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.http.EndpointResponse;
+import aqa.api.utils.load.ActionLatency;
+import aqa.api.utils.metrics.Metrics;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static aqa.api.utils.Constants.HTTP_OK;
+
+/**
+ * Воспроизведение записи трафика против тестируемого сервиса.
+ * <p>
+ * Запросы распределяются по потокам воспроизведения по токену: все запросы одного токена
+ * выполняются одним потоком в записанном порядке, поэтому последовательность LOGIN → ACTION → LOGOUT
+ * каждой сессии сохраняется и при ускорении. Каждый запрос отправляется не раньше записанного
+ * смещения, деленного на множитель скорости; при скорости {@code asap} — без пауз.
+ * Исход каждого запроса (статус и поле result) сравнивается с записанным, задержка — с записанной
+ * по каждому действию. Заглушки внешнего сервиса должны быть настроены до воспроизведения;
+ * потоки воспроизведения — рабочие потоки {@link ParallelRunner} и наследуют область заглушек теста.
+ */
+public class TrafficReplayer {
+
+    private static final int MAX_EXAMPLES = 5;
+    private static final String NO_ACTION = "(без action)";
+
+    private final EndpointClient client;
+    private final ReplaySpeed speed;
+    private final int lanes;
+
+    /**
+     * @param client клиент для отправки запросов
+     * @param speed  скорость воспроизведения
+     * @param lanes  количество потоков воспроизведения
+     */
+    public TrafficReplayer(EndpointClient client, ReplaySpeed speed, int lanes) {
+        this.client = client;
+        this.speed = speed;
+        this.lanes = Math.max(1, lanes);
+    }
+
+    /**
+     * Воспроизводит запись.
+     *
+     * @param recording запросы в порядке отправки
+     * @return итог воспроизведения с расхождениями исходов и задержек
+     * @throws IllegalStateException если поток воспроизведения завершился исключением или воспроизведение прервано
+     */
+    public ReplayReport replay(List<RecordedRequest> recording) {
+        List<List<RecordedRequest>> byLane = new ArrayList<>(lanes);
+        for (int i = 0; i < lanes; i++) {
+            byLane.add(new ArrayList<>());
+        }
+        for (RecordedRequest request : recording) {
+            byLane.get(Math.floorMod(Objects.hashCode(request.token()), lanes)).add(request);
+        }
+
+        Map<String, Histogram> recorded = new TreeMap<>();
+        for (RecordedRequest request : recording) {
+            Metrics.record(recorded.computeIfAbsent(actionOf(request), action -> newHistogram()),
+                    request.latencyMicros());
+        }
+        ConcurrentMap<String, Histogram> replayed = new ConcurrentHashMap<>();
+        ConcurrentMap<String, LongAdder> divergences = new ConcurrentHashMap<>();
+        List<String> examples = new CopyOnWriteArrayList<>();
+        LongAdder replayedErrors = new LongAdder();
+        AtomicLong maxLagNanos = new AtomicLong();
+
+        long started = System.nanoTime();
+        List<List<RecordedRequest>> active = byLane.stream().filter(lane -> !lane.isEmpty()).toList();
+        ParallelRunner.runAll(active, lanes, lane -> {
+            for (RecordedRequest request : lane) {
+                long due = started + speed.scaledNanos(request.offsetMicros());
+                long now = System.nanoTime();
+                if (now < due) {
+                    LockSupport.parkNanos(due - now);
+                    now = System.nanoTime();
+                }
+                maxLagNanos.accumulateAndGet(now - due, Math::max);
+
+                Outcome outcome = send(request);
+                Metrics.record(replayed.computeIfAbsent(actionOf(request), action -> newHistogram()),
+                        outcome.latencyMicros());
+                if (outcome.status() != HTTP_OK) {
+                    replayedErrors.increment();
+                }
+                if (outcome.status() != request.expectedStatus()
+                        || !Objects.equals(outcome.result(), request.expectedResult())) {
+                    String kind = String.format("%s %d/%s → %d/%s", actionOf(request),
+                            request.expectedStatus(), request.expectedResult(),
+                            outcome.status(), outcome.result());
+                    divergences.computeIfAbsent(kind, key -> new LongAdder()).increment();
+                    if (examples.size() < MAX_EXAMPLES) {
+                        examples.add(String.format("%s, token=%s, смещение %d мкс%s", kind,
+                                request.token(), request.offsetMicros(),
+                                outcome.error() == null ? "" : ", " + outcome.error()));
+                    }
+                }
+            }
+            return null;
+        });
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        Map<String, Long> divergenceCounts = new TreeMap<>();
+        divergences.forEach((kind, count) -> divergenceCounts.put(kind, count.sum()));
+        List<ReplayLatency> latencies = recorded.entrySet().stream()
+                .map(entry -> new ReplayLatency(latency(entry.getKey(), entry.getValue()),
+                        latency(entry.getKey(), replayed.getOrDefault(entry.getKey(), newHistogram()))))
+                .toList();
+        long recordedErrors = recording.stream().filter(request -> request.expectedStatus() != HTTP_OK).count();
+
+        return new ReplayReport(speed, lanes, recording.size(), elapsedMillis,
+                TimeUnit.NANOSECONDS.toMicros(maxLagNanos.get()), recordedErrors, replayedErrors.sum(),
+                divergenceCounts, List.copyOf(examples), latencies);
+    }
+
+    private Outcome send(RecordedRequest request) {
+        try {
+            EndpointResponse response = client.send(request.token(), request.action(), request.apiKey());
+            return new Outcome(response.statusCode(), TrafficRecorder.resultOf(response.body()),
+                    TimeUnit.NANOSECONDS.toMicros(response.latencyNanos()), null);
+        } catch (IOException e) {
+            return new Outcome(0, null, 0, e.toString());
+        }
+    }
+
+    private static String actionOf(RecordedRequest request) {
+        return request.action() == null ? NO_ACTION : request.action();
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(Metrics.HIGHEST_TRACKABLE_MICROS, 3);
+    }
+
+    private static ActionLatency latency(String action, Histogram histogram) {
+        return new ActionLatency(action, histogram.getTotalCount(), histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(99), histogram.getMaxValue());
+    }
+
+    /**
+     * Исход воспроизведенного запроса; статус {@code 0} означает ошибку ввода-вывода.
+     */
+    private record Outcome(int status, String result, long latencyMicros, String error) {
+    }
+}
@@ -0,0 +1,49 @@
+package aqa.api.utils.report;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.util.Locale;
+
+/**
+ * Утилитный класс для форматирования значений в HTML-отчете.
+ */
+final class Html {
+
+    /**
+     * Экранирует специальные символы HTML.
+     *
+     * @param text текст
+     * @return экранированный текст
+     */
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '&' -> escaped.append("&amp;");
+                case '"' -> escaped.append("&quot;");
+                case '\'' -> escaped.append("&#39;");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Форматирует число: целые без дробной части, остальные с одним знаком.
+     *
+     * @param value значение
+     * @return строковое представление
+     */
+    static String number(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private Html() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,237 @@
+package aqa.api.utils.report;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.history.RunHistoryExtension;
+import aqa.api.utils.metrics.MetricKey;
+import aqa.api.utils.metrics.Metrics;
+import aqa.api.utils.mock.MockTrafficListener;
+import aqa.api.utils.resilience.SutResilience;
+import aqa.api.utils.trace.SelfTime;
+import io.github.resilience4j.retry.Retry;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Утилитный класс, выгружающий метрики прогона в текстовый файл формата Prometheus/OpenMetrics
+ * для textfile collector node exporter: тестовый набор не открывает сетевых портов, файл
+ * забирается экспортером узла при очередном опросе.
+ * <p>
+ * Выгружаются все счетчики и гистограммы реестра {@link Metrics}: запросы к сервису по действию
+ * и статусу, разделение задержки на собственное время сервиса и ожидание внешнего сервиса,
+ * обращения к заглушке по эндпоинту, длительность, исходы и повторные запуски тестов
+ * ({@link RunHistoryExtension}), а также повторы вызовов сервиса ({@link SutResilience#callRetry()}).
+ * Гистограммы в микросекундах ({@code *_micros}) выгружаются в секундах ({@code *_seconds})
+ * с фиксированными границами корзин; сумма значений оценивается как среднее, умноженное на количество.
+ * <p>
+ * Файл ({@code metrics.export.file}, по умолчанию {@code target/metrics/aqa-suite.prom}) записывается
+ * при завершении JVM и, если задано {@code metrics.export.intervalSeconds}, периодически во время
+ * прогона. Запись атомарная (временный файл и переименование), поэтому коллектор не читает
+ * недописанный файл. Имена метрик получают префикс {@code metrics.export.prefix} ({@code aqa_}).
+ * <p>
+ * Каждый уровень прогона (выполнение surefire) и каждый форк работают в отдельной JVM, поэтому
+ * уровень {@code metrics.export.tier} и номер форка {@code metrics.export.fork} добавляются к имени
+ * файла ({@code aqa-suite-regression-1.prom}) и метками {@code tier} и {@code fork} к каждому ряду:
+ * коллектор читает все файлы каталога, и ряды разных JVM не совпадают. Итог прогона —
+ * сумма по этим меткам.
+ */
+public class OpenMetricsExport {
+
+    private static final String TIER = System.getProperty("metrics.export.tier", "");
+    private static final String FORK = System.getProperty("metrics.export.fork", "");
+    private static final Map<String, String> JVM_LABELS = jvmLabels();
+    private static final Path FILE = fileOf(Path.of(System.getProperty("metrics.export.file", "target/metrics/aqa-suite.prom")));
+    private static final long INTERVAL_SECONDS = Long.getLong("metrics.export.intervalSeconds", 0);
+    private static final String PREFIX = System.getProperty("metrics.export.prefix", "aqa_");
+
+    private static final String MICROS_SUFFIX = "_micros";
+    private static final String SECONDS_SUFFIX = "_seconds";
+    private static final double[] BUCKETS_SECONDS =
+            {0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60};
+
+    private static final Map<String, String> HELP = Map.of(
+            SelfTime.REQUESTS_METRIC, "Запросы тестов к сервису по действию и способу сопоставления с заглушкой",
+            SelfTime.RESPONSES_METRIC, "Ответы сервиса тестам по действию и статусу",
+            SelfTime.REQUEST_METRIC, "Задержка запроса тестов к сервису",
+            SelfTime.DEPENDENCY_METRIC, "Ожидание сервисом внешнего сервиса в запросе теста",
+            SelfTime.SELF_METRIC, "Собственное время сервиса в запросе теста",
+            MockTrafficListener.REQUESTS_METRIC, "Входящие обращения к заглушке по эндпоинту и статусу",
+            MockTrafficListener.HANDLE_TIME_METRIC, "Время обработки обращения заглушкой",
+            RunHistoryExtension.DURATION_METRIC, "Длительность выполнения теста",
+            RunHistoryExtension.TESTS_METRIC, "Выполнения тестов по исходу",
+            RunHistoryExtension.RERUNS_METRIC, "Повторные запуски тестов в прогоне");
+
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+
+    /**
+     * Включает выгрузку: регистрирует запись файла при завершении JVM и, если задан интервал,
+     * периодическую запись в фоновом потоке. Повторные вызовы игнорируются.
+     */
+    public static void start() {
+        if (!STARTED.compareAndSet(false, true)) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(OpenMetricsExport::write, "metrics-export"));
+        if (INTERVAL_SECONDS > 0) {
+            ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "metrics-export-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(OpenMetricsExport::write, INTERVAL_SECONDS, INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Записывает текущие метрики в файл выгрузки. Ошибка записи выводится в stderr и не прерывает прогон.
+     *
+     * @return путь к файлу или {@code null}, если файл не удалось записать
+     */
+    public static synchronized Path write() {
+        try {
+            Path directory = FILE.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, FILE.getFileName().toString(), ".tmp");
+            try {
+                Files.writeString(temp, render(), StandardCharsets.UTF_8);
+                Files.move(temp, FILE, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return FILE;
+        } catch (IOException e) {
+            System.err.println("Не удалось выгрузить метрики в " + FILE + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Формирует текстовое представление метрик.
+     *
+     * @return метрики в текстовом формате экспозиции
+     */
+    public static String render() {
+        StringBuilder text = new StringBuilder();
+
+        Map<String, Map<MetricKey, Long>> counters = new TreeMap<>();
+        Metrics.counters().forEach((key, value) ->
+                counters.computeIfAbsent(key.name(), name -> new LinkedHashMap<>()).put(key, value));
+        counters.forEach((name, samples) -> {
+            family(text, name, "counter");
+            samples.forEach((key, value) -> sample(text, name, key.labels(), value));
+        });
+
+        Map<String, Map<MetricKey, Histogram>> histograms = new TreeMap<>();
+        Metrics.histograms().forEach((key, histogram) ->
+                histograms.computeIfAbsent(key.name(), name -> new LinkedHashMap<>()).put(key, histogram));
+        histograms.forEach((name, samples) -> {
+            boolean micros = name.endsWith(MICROS_SUFFIX);
+            String exported = micros ? name.substring(0, name.length() - MICROS_SUFFIX.length()) + SECONDS_SUFFIX : name;
+            family(text, exported, "histogram", HELP.get(name));
+            samples.forEach((key, histogram) -> histogram(text, exported, key.labels(), histogram, micros ? 1_000_000 : 1));
+        });
+
+        Retry.Metrics retry = SutResilience.callRetry().getMetrics();
+        String retries = "sut_call_retry_calls_total";
+        family(text, retries, "counter", "Вызовы сервиса с повторами при отказе в соединении по исходу");
+        sample(text, retries, Map.of("outcome", "successful_without_retry"), retry.getNumberOfSuccessfulCallsWithoutRetryAttempt());
+        sample(text, retries, Map.of("outcome", "successful_with_retry"), retry.getNumberOfSuccessfulCallsWithRetryAttempt());
+        sample(text, retries, Map.of("outcome", "failed_with_retry"), retry.getNumberOfFailedCallsWithRetryAttempt());
+        sample(text, retries, Map.of("outcome", "failed_without_retry"), retry.getNumberOfFailedCallsWithoutRetryAttempt());
+
+        String exported = "metrics_export_timestamp_seconds";
+        family(text, exported, "gauge", "Время выгрузки метрик");
+        sample(text, exported, Map.of(), TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        return text.append("# EOF\n").toString();
+    }
+
+    private static void family(StringBuilder text, String name, String type) {
+        family(text, name, type, HELP.get(name));
+    }
+
+    private static void family(StringBuilder text, String name, String type, String help) {
+        if (help != null) {
+            text.append("# HELP ").append(PREFIX).append(name).append(' ')
+                    .append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        }
+        text.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void histogram(StringBuilder text, String name, Map<String, String> labels,
+                                  Histogram histogram, long unitsPerSecond) {
+        for (double bound : BUCKETS_SECONDS) {
+            Map<String, String> bucket = new LinkedHashMap<>(labels);
+            bucket.put("le", number(bound));
+            sample(text, name + "_bucket", bucket,
+                    histogram.getCountBetweenValues(0, (long) (bound * unitsPerSecond)));
+        }
+        Map<String, String> infinity = new LinkedHashMap<>(labels);
+        infinity.put("le", "+Inf");
+        sample(text, name + "_bucket", infinity, histogram.getTotalCount());
+        sample(text, name + "_count", labels, histogram.getTotalCount());
+        text.append(PREFIX).append(name).append("_sum").append(labels(labels)).append(' ')
+                .append(number(histogram.getMean() * histogram.getTotalCount() / unitsPerSecond)).append('\n');
+    }
+
+    private static void sample(StringBuilder text, String name, Map<String, String> labels, long value) {
+        text.append(PREFIX).append(name).append(labels(labels)).append(' ').append(value).append('\n');
+    }
+
+    private static String labels(Map<String, String> sampleLabels) {
+        Map<String, String> labels = new LinkedHashMap<>(JVM_LABELS);
+        labels.putAll(sampleLabels);
+        if (labels.isEmpty()) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder("{");
+        labels.forEach((name, value) -> text.append(text.length() > 1 ? "," : "").append(name).append("=\"")
+                .append(value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n")).append('"'));
+        return text.append('}').toString();
+    }
+
+    private static String number(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? String.format(Locale.ROOT, "%.1f", value)
+                : String.format(Locale.ROOT, "%s", value);
+    }
+
+    private static Map<String, String> jvmLabels() {
+        Map<String, String> labels = new LinkedHashMap<>();
+        if (!TIER.isBlank()) {
+            labels.put("tier", TIER);
+        }
+        if (!FORK.isBlank()) {
+            labels.put("fork", FORK);
+        }
+        return labels;
+    }
+
+    /**
+     * Добавляет к имени файла уровень и номер форка: {@code aqa-suite.prom} → {@code aqa-suite-smoke-1.prom}.
+     */
+    private static Path fileOf(Path configured) {
+        if (JVM_LABELS.isEmpty()) {
+            return configured;
+        }
+        String name = configured.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String suffix = "-" + String.join("-", JVM_LABELS.values());
+        return configured.resolveSibling(dot < 0 ? name + suffix : name.substring(0, dot) + suffix + name.substring(dot));
+    }
+
+    private OpenMetricsExport() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,268 @@
+package aqa.api.utils.report;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.AllureReporter;
+import aqa.api.utils.history.RunHistory;
+import aqa.api.utils.metrics.MetricKey;
+import aqa.api.utils.metrics.Metrics;
+import aqa.api.utils.metrics.Timeline;
+import aqa.api.utils.trace.SelfTime;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Утилитный класс, формирующий самодостаточный HTML-отчет о производительности прогона.
+ * <p>
+ * Отчет строится без сети и сторонних библиотек из метрик, накопленных JVM: гистограмм задержки
+ * реестра {@link Metrics} (все метрики {@code *_micros}: запросы тестов, нагрузка, обработка заглушкой),
+ * посекундных рядов запросов и ошибок {@link Timeline} и разделения задержки на собственное время
+ * сервиса и ожидание внешнего сервиса ({@link SelfTime}). Диаграммы — встроенный SVG, поэтому файл
+ * открывается в любом браузере и во вкладке вложений Allure.
+ * <p>
+ * Файл сохраняется в каталог {@code perf.report.dir} ({@code target/performance-report}) под именем
+ * с идентификатором процесса: форки surefire не перезаписывают отчеты друг друга.
+ */
+public class PerformanceReport {
+
+    private static final Path DIRECTORY = Path.of(System.getProperty("perf.report.dir", "target/performance-report"));
+    private static final double[] PERCENTILES = {0, 50, 75, 90, 95, 99, 99.9, 99.99, 100};
+    private static final int MAX_TIMELINE_POINTS = 600;
+    private static final String LATENCY_SUFFIX = "_micros";
+
+    private static final String STYLE = """
+            body{font-family:sans-serif;margin:24px;color:#222}
+            h1{font-size:22px}h2{font-size:18px;margin-top:32px;border-bottom:1px solid #ccc}h3{font-size:15px}
+            table{border-collapse:collapse;margin:8px 0}td,th{border:1px solid #ddd;padding:3px 8px;text-align:right}
+            th:first-child,td:first-child{text-align:left}th{background:#f4f4f4}
+            .axis{stroke:#555}.grid{stroke:#eee}.tick{font-size:11px;fill:#555}
+            .legend span{margin-right:14px;font-size:12px}.legend i{display:inline-block;width:10px;height:10px;margin-right:4px}
+            .muted{color:#777}
+            """;
+
+    /**
+     * Формирует отчет, сохраняет его в файл и прикладывает к текущему тесту или контейнеру Allure.
+     * Если метрик производительности нет, отчет не формируется.
+     *
+     * @return путь к файлу отчета или {@code null}, если отчет не сформирован или не сохранен
+     */
+    public static Path publish() {
+        if (!hasData()) {
+            return null;
+        }
+        String html = render();
+        Path file = write(html);
+        AllureReporter.addHtmlReport("Производительность: отчет", html);
+        return file;
+    }
+
+    /**
+     * Проверяет, накоплены ли метрики для отчета.
+     *
+     * @return {@code true}, если есть хотя бы одна непустая гистограмма задержки или ряд запросов
+     */
+    public static boolean hasData() {
+        return Metrics.histograms().entrySet().stream()
+                .anyMatch(entry -> entry.getKey().name().endsWith(LATENCY_SUFFIX) && entry.getValue().getTotalCount() > 0)
+                || !Timeline.snapshot().isEmpty();
+    }
+
+    /**
+     * Формирует HTML-отчет по метрикам, накопленным JVM.
+     *
+     * @return HTML-документ
+     */
+    public static String render() {
+        Map<MetricKey, Histogram> histograms = Metrics.histograms();
+        Map<String, Timeline.Series> timeline = Timeline.snapshot();
+
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html><html lang=\"ru\"><head><meta charset=\"UTF-8\">")
+                .append("<title>Отчет о производительности</title><style>").append(STYLE).append("</style></head><body>")
+                .append("<h1>Отчет о производительности</h1>")
+                .append(String.format("<p class=\"muted\">Прогон %s · JVM %d · сформирован %s</p>",
+                        Html.escape(RunHistory.runId()), ProcessHandle.current().pid(), Instant.now()));
+
+        html.append("<h2>Распределение задержки</h2>");
+        Map<String, Map<String, Histogram>> latencies = latencies(histograms);
+        if (latencies.isEmpty()) {
+            html.append("<p class=\"muted\">Гистограмм задержки нет</p>");
+        }
+        latencies.forEach((metric, byLabel) -> html.append("<h3>").append(Html.escape(metric)).append("</h3>")
+                .append(percentileTable(byLabel))
+                .append(percentileChart(byLabel)));
+
+        html.append("<h2>Пропускная способность</h2>").append(timelineChart(timeline, false, "запросов/с"));
+        html.append("<h2>Ошибки</h2>")
+                .append("<p class=\"muted\">Тесты: ответы 5xx; нагрузка: любой ответ, кроме 200, и ошибки соединения</p>")
+                .append(timelineChart(timeline, true, "ошибок/с"));
+
+        html.append("<h2>Собственное время сервиса</h2>").append(selfTime(histograms));
+        return html.append("</body></html>").toString();
+    }
+
+    /**
+     * Сохраняет отчет в файл {@code perf.report.dir/performance-<pid>.html}.
+     *
+     * @param html HTML-документ
+     * @return путь к файлу или {@code null}, если файл не удалось записать
+     */
+    public static Path write(String html) {
+        Path file = DIRECTORY.resolve("performance-" + ProcessHandle.current().pid() + ".html");
+        try {
+            Files.createDirectories(DIRECTORY);
+            Files.writeString(file, html, StandardCharsets.UTF_8);
+            return file;
+        } catch (IOException e) {
+            System.err.println("Не удалось сохранить отчет о производительности " + file + ": " + e);
+            return null;
+        }
+    }
+
+    private static Map<String, Map<String, Histogram>> latencies(Map<MetricKey, Histogram> histograms) {
+        Map<String, Map<String, Histogram>> latencies = new TreeMap<>();
+        histograms.forEach((key, histogram) -> {
+            if (key.name().endsWith(LATENCY_SUFFIX) && histogram.getTotalCount() > 0) {
+                latencies.computeIfAbsent(key.name(), name -> new TreeMap<>()).put(label(key), histogram);
+            }
+        });
+        return latencies;
+    }
+
+    private static String percentileTable(Map<String, Histogram> byLabel) {
+        StringBuilder table = new StringBuilder("<table><tr><th>Ряд</th><th>n</th><th>среднее</th>");
+        for (double percentile : PERCENTILES) {
+            table.append("<th>").append(percentile == 0 ? "min" : percentile == 100 ? "max" : "p" + Html.number(percentile))
+                    .append("</th>");
+        }
+        table.append("</tr>");
+        byLabel.forEach((label, histogram) -> {
+            table.append("<tr><td>").append(Html.escape(label)).append("</td><td>")
+                    .append(histogram.getTotalCount()).append("</td><td>")
+                    .append(Html.number(Math.round(histogram.getMean()))).append("</td>");
+            for (double percentile : PERCENTILES) {
+                table.append("<td>").append(valueAt(histogram, percentile)).append("</td>");
+            }
+            table.append("</tr>");
+        });
+        return table.append("</table>").toString();
+    }
+
+    private static String percentileChart(Map<String, Histogram> byLabel) {
+        List<String> labels = new ArrayList<>();
+        for (double percentile : PERCENTILES) {
+            labels.add(percentile == 0 ? "min" : percentile == 100 ? "max" : "p" + Html.number(percentile));
+        }
+        Map<String, double[]> series = new LinkedHashMap<>();
+        byLabel.forEach((label, histogram) -> {
+            double[] values = new double[PERCENTILES.length];
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                values[i] = valueAt(histogram, PERCENTILES[i]);
+            }
+            series.put(label, values);
+        });
+        return SvgChart.lines(labels, series, true, "мкс");
+    }
+
+    private static String timelineChart(Map<String, Timeline.Series> timeline, boolean errors, String unit) {
+        int first = Integer.MAX_VALUE;
+        int last = -1;
+        for (Timeline.Series series : timeline.values()) {
+            long[] requests = series.requests();
+            for (int second = 0; second < requests.length; second++) {
+                if (requests[second] > 0) {
+                    first = Math.min(first, second);
+                    last = Math.max(last, second);
+                }
+            }
+        }
+        if (last < 0) {
+            return "<p class=\"muted\">Запросов не учтено</p>";
+        }
+        if (errors && timeline.values().stream().allMatch(series -> series.totalErrors() == 0)) {
+            return "<p>Ошибок нет</p>";
+        }
+
+        int seconds = last - first + 1;
+        int bucket = (int) Math.ceil((double) seconds / MAX_TIMELINE_POINTS);
+        int points = (int) Math.ceil((double) seconds / bucket);
+        List<String> labels = new ArrayList<>(points);
+        for (int point = 0; point < points; point++) {
+            labels.add("+" + point * bucket + " с");
+        }
+        Map<String, double[]> rates = new LinkedHashMap<>();
+        for (Timeline.Series series : timeline.values()) {
+            long[] counts = errors ? series.errors() : series.requests();
+            double[] values = new double[points];
+            for (int second = first; second <= last && second < counts.length; second++) {
+                values[(second - first) / bucket] += (double) counts[second] / bucket;
+            }
+            rates.put(String.format(Locale.ROOT, "%s (всего %d)", series.name(),
+                    errors ? series.totalErrors() : series.totalRequests()), values);
+        }
+        return String.format("<p class=\"muted\">Начало: %s, шаг: %d с</p>",
+                Instant.ofEpochMilli(timeline.values().iterator().next().originMillis()).plusSeconds(first), bucket)
+                + SvgChart.lines(labels, rates, false, unit);
+    }
+
+    private static String selfTime(Map<MetricKey, Histogram> histograms) {
+        List<String> actions = histograms.keySet().stream()
+                .filter(key -> key.name().equals(SelfTime.REQUEST_METRIC))
+                .map(key -> key.label("action"))
+                .sorted()
+                .collect(Collectors.toList());
+        if (actions.isEmpty()) {
+            return "<p class=\"muted\">Запросов через RequestSpecs.forEndpoint не выполнялось</p>";
+        }
+
+        double[] dependency = new double[actions.size()];
+        double[] self = new double[actions.size()];
+        StringBuilder table = new StringBuilder("<table><tr><th>Действие</th><th>n</th>"
+                + "<th>всего p50/p99</th><th>заглушка p50/p99</th><th>сервис p50/p99</th></tr>");
+        for (int i = 0; i < actions.size(); i++) {
+            String action = actions.get(i);
+            Histogram total = histograms.get(MetricKey.of(SelfTime.REQUEST_METRIC, "action", action));
+            Histogram waiting = histograms.get(MetricKey.of(SelfTime.DEPENDENCY_METRIC, "action", action));
+            Histogram own = histograms.get(MetricKey.of(SelfTime.SELF_METRIC, "action", action));
+            dependency[i] = waiting == null ? 0 : waiting.getMean();
+            self[i] = own == null ? 0 : own.getMean();
+            table.append(String.format("<tr><td>%s</td><td>%d</td><td>%s</td><td>%s</td><td>%s</td></tr>",
+                    Html.escape(action), total == null ? 0 : total.getTotalCount(),
+                    p50p99(total), p50p99(waiting), p50p99(own)));
+        }
+        table.append("</table>");
+        return "<p class=\"muted\">Средняя задержка запроса: ожидание внешнего сервиса и собственное время, мкс</p>"
+                + SvgChart.stackedBars(actions, dependency, self, "ожидание заглушки", "собственное время", "мкс")
+                + table;
+    }
+
+    private static String p50p99(Histogram histogram) {
+        return histogram == null ? "-" : valueAt(histogram, 50) + " / " + valueAt(histogram, 99);
+    }
+
+    private static long valueAt(Histogram histogram, double percentile) {
+        if (percentile == 0) {
+            return histogram.getMinValue();
+        }
+        return percentile == 100 ? histogram.getMaxValue() : histogram.getValueAtPercentile(percentile);
+    }
+
+    private static String label(MetricKey key) {
+        return key.labels().isEmpty() ? key.name() : String.join(", ", key.labels().values());
+    }
+
+    private PerformanceReport() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,114 @@
+package aqa.api.utils.report;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.AllureReporter;
+import aqa.api.utils.attachment.AttachmentStore;
+import aqa.api.utils.mock.MockJournal;
+import aqa.api.utils.replay.TrafficRecorder;
+import aqa.api.utils.resilience.SutResilience;
+import aqa.api.utils.session.SessionPool;
+import aqa.api.utils.startup.StartupTime;
+import aqa.api.utils.sut.SutEnvironment;
+import aqa.api.utils.trace.SelfTime;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Утилитный класс, публикующий сводки прогона один раз за JVM.
+ * <p>
+ * Сводки накапливаются за всю JVM (окружение, устойчивость, заглушки, собственное время сервиса,
+ * пул сессий, холодный старт, вложения, отчет о производительности), поэтому прикладываются
+ * при завершении JVM к фикстуре завершения «Сводка прогона JVM» общего контейнера Allure,
+ * дочерними тестами которого являются все тесты, записанные этой JVM ({@link SuiteSummaryListener}).
+ * Там же сохраняется запись трафика ({@code replay.record}).
+ */
+public class SuiteSummary {
+
+    private static final String NAME = "Сводка прогона JVM";
+
+    private static final Queue<String> TESTS = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean HOOK_REGISTERED = new AtomicBoolean();
+
+    /**
+     * Регистрирует (один раз за JVM) публикацию сводок при завершении JVM.
+     */
+    public static void publishOnExit() {
+        if (HOOK_REGISTERED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(SuiteSummary::publish, "suite-summary"));
+        }
+    }
+
+    /**
+     * Запоминает тест, записанный в результаты Allure, как дочерний для контейнера сводки.
+     *
+     * @param uuid идентификатор результата теста
+     */
+    static void track(String uuid) {
+        if (uuid != null) {
+            TESTS.add(uuid);
+        }
+    }
+
+    /**
+     * Прикладывает сводки к фикстуре завершения общего контейнера и записывает контейнер.
+     * Ошибка формирования отдельной сводки отмечает фикстуру как сломанную и не прерывает остальные.
+     */
+    static void publish() {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String containerUuid = UUID.randomUUID().toString();
+        String fixtureUuid = UUID.randomUUID().toString();
+        lifecycle.startTestContainer(new TestResultContainer()
+                .setUuid(containerUuid)
+                .setName(NAME)
+                .setChildren(List.copyOf(TESTS)));
+        lifecycle.startTearDownFixture(containerUuid, fixtureUuid, new FixtureResult().setName(NAME));
+
+        AtomicBoolean broken = new AtomicBoolean();
+        attach("Окружение: тестируемый сервис", SutEnvironment::summary, broken);
+        attach("Устойчивость: метрики вызовов сервиса", SutResilience::metricsSummary, broken);
+        attach("Заглушки: обращения к внешнему сервису", MockJournal::summary, broken);
+        attach("Задержка: собственное время сервиса", SelfTime::summary, broken);
+        attach("Сессии: пул авторизованных токенов", () -> SessionPool.shared().summary(), broken);
+        attach("Запись трафика", TrafficRecorder::saveRun, broken);
+        attach("Старт JVM: холодный старт", StartupTime::summary, broken);
+        attach("Вложения: хранение по хешу", AttachmentStore::summary, broken);
+        try {
+            PerformanceReport.publish();
+        } catch (RuntimeException e) {
+            AllureReporter.addTestData("Производительность: отчет", "Не удалось сформировать: " + e.getMessage());
+            broken.set(true);
+        }
+
+        lifecycle.updateFixture(fixtureUuid, fixture -> fixture.setStatus(broken.get() ? Status.BROKEN : Status.PASSED)
+                .setStatusDetails(broken.get() ? new StatusDetails().setMessage("Часть сводок не сформирована") : null));
+        lifecycle.stopFixture(fixtureUuid);
+        lifecycle.stopTestContainer(containerUuid);
+        lifecycle.writeTestContainer(containerUuid);
+    }
+
+    private static void attach(String title, Supplier<String> summary, AtomicBoolean broken) {
+        String content;
+        try {
+            content = summary.get();
+        } catch (RuntimeException e) {
+            content = "Не удалось сформировать: " + e.getMessage();
+            broken.set(true);
+        }
+        AllureReporter.addTestData(title, content);
+    }
+
+    private SuiteSummary() {
+        throw new UtilityClassException(getClass());
+    }
+}
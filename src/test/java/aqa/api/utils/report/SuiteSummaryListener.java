@@ -0,0 +1,18 @@
+package aqa.api.utils.report;
+
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.TestResult;
+
+/**
+ * Слушатель жизненного цикла Allure, запоминающий тесты JVM для контейнера сводки прогона
+ * ({@link SuiteSummary}).
+ * <p>
+ * Подключается через {@code META-INF/services/io.qameta.allure.listener.LifecycleListener}.
+ */
+public class SuiteSummaryListener implements TestLifecycleListener {
+
+    @Override
+    public void afterTestWrite(TestResult result) {
+        SuiteSummary.track(result.getUuid());
+    }
+}
@@ -0,0 +1,178 @@
+package aqa.api.utils.report;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Утилитный класс, строящий встроенные в HTML диаграммы SVG без сценариев и внешних ресурсов.
+ */
+final class SvgChart {
+
+    private static final String[] COLORS = {
+            "#1f77b4", "#ff7f0e", "#2ca02c", "#d62728", "#9467bd", "#8c564b", "#e377c2", "#17becf"};
+    private static final int WIDTH = 760;
+    private static final int HEIGHT = 260;
+    private static final int LEFT = 70;
+    private static final int RIGHT = 20;
+    private static final int TOP = 15;
+    private static final int BOTTOM = 35;
+    private static final int MAX_X_TICKS = 10;
+    private static final int Y_TICKS = 5;
+
+    /**
+     * Строит линейную диаграмму нескольких рядов с общей осью X.
+     *
+     * @param xLabels подписи точек оси X
+     * @param series  имя ряда → значения в точках оси X (длина не больше числа подписей)
+     * @param logY    логарифмическая шкала оси Y (нулевые значения отображаются на нижней границе)
+     * @param yUnit   единица оси Y
+     * @return элемент SVG с легендой
+     */
+    static String lines(List<String> xLabels, Map<String, double[]> series, boolean logY, String yUnit) {
+        double max = series.values().stream().flatMapToDouble(Arrays::stream).max().orElse(0);
+        Scale scale = logY ? Scale.log(max) : Scale.linear(max);
+        int points = Math.max(1, xLabels.size());
+        double step = points == 1 ? 0 : (double) (WIDTH - LEFT - RIGHT) / (points - 1);
+
+        StringBuilder svg = open();
+        axes(svg, scale, yUnit);
+        int xStep = Math.max(1, (int) Math.ceil((double) points / MAX_X_TICKS));
+        for (int i = 0; i < points; i += xStep) {
+            double x = LEFT + i * step;
+            svg.append(String.format(Locale.ROOT,
+                    "<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\" class=\"tick\">%s</text>",
+                    x, HEIGHT - BOTTOM + 15, Html.escape(xLabels.get(i))));
+        }
+
+        int color = 0;
+        for (Map.Entry<String, double[]> entry : series.entrySet()) {
+            List<String> coordinates = new ArrayList<>();
+            double[] values = entry.getValue();
+            for (int i = 0; i < values.length; i++) {
+                coordinates.add(String.format(Locale.ROOT, "%.1f,%.1f", LEFT + i * step, scale.y(values[i])));
+            }
+            svg.append(String.format("<polyline fill=\"none\" stroke=\"%s\" stroke-width=\"1.5\" points=\"%s\"/>",
+                    COLORS[color++ % COLORS.length], String.join(" ", coordinates)));
+        }
+        svg.append("</svg>");
+        return svg + legend(new ArrayList<>(series.keySet()));
+    }
+
+    /**
+     * Строит горизонтальные столбцы из двух составляющих (например, ожидание зависимости и собственное время).
+     *
+     * @param labels      подписи столбцов
+     * @param first       первая составляющая каждого столбца
+     * @param second      вторая составляющая каждого столбца
+     * @param firstName   название первой составляющей
+     * @param secondName  название второй составляющей
+     * @param unit        единица значений
+     * @return элемент SVG с легендой
+     */
+    static String stackedBars(List<String> labels, double[] first, double[] second,
+                              String firstName, String secondName, String unit) {
+        int barHeight = 22;
+        int height = TOP + BOTTOM + labels.size() * (barHeight + 10);
+        double max = 0;
+        for (int i = 0; i < labels.size(); i++) {
+            max = Math.max(max, first[i] + second[i]);
+        }
+        double width = WIDTH - LEFT - RIGHT - 80;
+        double scale = max == 0 ? 0 : width / max;
+
+        StringBuilder svg = new StringBuilder(String.format(
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" viewBox=\"0 0 %d %d\">",
+                WIDTH, height, WIDTH, height));
+        for (int i = 0; i < labels.size(); i++) {
+            int y = TOP + i * (barHeight + 10);
+            double firstWidth = first[i] * scale;
+            double secondWidth = second[i] * scale;
+            svg.append(String.format(Locale.ROOT,
+                    "<text x=\"%d\" y=\"%d\" text-anchor=\"end\" class=\"tick\">%s</text>"
+                            + "<rect x=\"%d\" y=\"%d\" width=\"%.1f\" height=\"%d\" fill=\"%s\"><title>%s: %.0f %s</title></rect>"
+                            + "<rect x=\"%.1f\" y=\"%d\" width=\"%.1f\" height=\"%d\" fill=\"%s\"><title>%s: %.0f %s</title></rect>"
+                            + "<text x=\"%.1f\" y=\"%d\" class=\"tick\">%.0f %s</text>",
+                    LEFT - 5, y + 15, Html.escape(labels.get(i)),
+                    LEFT, y, firstWidth, barHeight, COLORS[0], Html.escape(firstName), first[i], unit,
+                    LEFT + firstWidth, y, secondWidth, barHeight, COLORS[1], Html.escape(secondName), second[i], unit,
+                    LEFT + firstWidth + secondWidth + 5, y + 15, first[i] + second[i], unit));
+        }
+        svg.append("</svg>");
+        return svg + legend(List.of(firstName, secondName));
+    }
+
+    private static StringBuilder open() {
+        return new StringBuilder(String.format(
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" viewBox=\"0 0 %d %d\">",
+                WIDTH, HEIGHT, WIDTH, HEIGHT));
+    }
+
+    private static void axes(StringBuilder svg, Scale scale, String yUnit) {
+        int bottom = HEIGHT - BOTTOM;
+        svg.append(String.format("<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" class=\"axis\"/>",
+                LEFT, TOP, LEFT, bottom));
+        svg.append(String.format("<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" class=\"axis\"/>",
+                LEFT, bottom, WIDTH - RIGHT, bottom));
+        for (double tick : scale.ticks()) {
+            double y = scale.y(tick);
+            svg.append(String.format(Locale.ROOT,
+                    "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" class=\"grid\"/>"
+                            + "<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\" class=\"tick\">%s</text>",
+                    LEFT, y, WIDTH - RIGHT, y, LEFT - 5, y + 4, Html.number(tick)));
+        }
+        svg.append(String.format("<text x=\"5\" y=\"%d\" class=\"tick\">%s</text>", TOP + 5, Html.escape(yUnit)));
+    }
+
+    private static String legend(List<String> names) {
+        StringBuilder legend = new StringBuilder("<div class=\"legend\">");
+        for (int i = 0; i < names.size(); i++) {
+            legend.append(String.format("<span><i style=\"background:%s\"></i>%s</span>",
+                    COLORS[i % COLORS.length], Html.escape(names.get(i))));
+        }
+        return legend.append("</div>").toString();
+    }
+
+    /**
+     * Шкала оси Y: преобразование значения в координату и деления.
+     */
+    private record Scale(boolean log, double min, double max) {
+
+        static Scale linear(double max) {
+            return new Scale(false, 0, max <= 0 ? 1 : max * 1.05);
+        }
+
+        static Scale log(double max) {
+            return new Scale(true, 0, Math.max(1, Math.ceil(Math.log10(Math.max(1, max)))));
+        }
+
+        double y(double value) {
+            double position = log
+                    ? Math.log10(Math.max(1, value)) / max
+                    : (value - min) / (max - min);
+            return HEIGHT - BOTTOM - Math.min(1, Math.max(0, position)) * (HEIGHT - BOTTOM - TOP);
+        }
+
+        List<Double> ticks() {
+            List<Double> ticks = new ArrayList<>();
+            if (log) {
+                for (int power = 0; power <= max; power++) {
+                    ticks.add(Math.pow(10, power));
+                }
+            } else {
+                for (int i = 0; i <= Y_TICKS; i++) {
+                    ticks.add(max * i / Y_TICKS);
+                }
+            }
+            return ticks;
+        }
+    }
+
+    private SvgChart() {
+        throw new UtilityClassException(getClass());
+    }
+}
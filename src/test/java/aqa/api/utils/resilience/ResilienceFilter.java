@@ -0,0 +1,46 @@
+package aqa.api.utils.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Фильтр RestAssured, выполняющий запрос к тестируемому сервису через политику повторов
+ * и circuit breaker из {@link SutResilience}.
+ * <p>
+ * Circuit breaker находится внутри политики повторов: каждая попытка учитывается отдельно,
+ * а отклоненный открытым breaker вызов не повторяется. RestAssured пробрасывает сетевые
+ * ошибки как непроверяемые {@link java.io.IOException}, поэтому используются декораторы
+ * {@link Callable}, перехватывающие любые исключения, а исходное исключение пробрасывается без обертки.
+ * <p>
+ * Фильтр должен быть последним в цепочке: цепочка фильтров RestAssured проходится один раз,
+ * и повторная попытка ({@code ctx.next}) отправляет запрос, минуя фильтры, расположенные после него.
+ * Фильтры, добавляемые к отдельному запросу, указываются до спецификации:
+ * {@code given().filter(...).spec(...)}.
+ */
+public class ResilienceFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Callable<Response> call = CircuitBreaker.decorateCallable(SutResilience.circuitBreaker(),
+                () -> ctx.next(requestSpec, responseSpec));
+        try {
+            return Retry.decorateCallable(SutResilience.callRetry(), call).call();
+        } catch (Exception e) {
+            throw ResilienceFilter.<RuntimeException>rethrow(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Exception> E rethrow(Exception e) throws E {
+        throw (E) e;
+    }
+}
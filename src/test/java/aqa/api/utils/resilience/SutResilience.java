@@ -0,0 +1,223 @@
+package aqa.api.utils.resilience;
+
+import aqa.api.exceptions.SutUnavailableException;
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.sut.SutEnvironment;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static aqa.api.utils.Constants.ENDPOINT;
+
+/**
+ * Утилитный класс устойчивости тестового окружения к недоступности тестируемого сервиса.
+ * <p>
+ * Предоставляет:
+ * <ul>
+ *   <li>проверку готовности сервиса перед первым тестом с экспоненциальной задержкой между попытками;</li>
+ *   <li>повтор запросов, не доставленных из-за отказа в соединении (запрос не дошел до сервиса,
+ *       поэтому повтор безопасен даже для LOGIN и LOGOUT);</li>
+ *   <li>circuit breaker, который после серии сетевых ошибок немедленно отклоняет оставшиеся
+ *       запросы вместо ожидания таймаута каждого из них.</li>
+ * </ul>
+ * HTTP-ответы с любым статусом, включая 5xx, считаются успешными вызовами: это поведение
+ * сервиса, которое проверяют тесты, а не сбой инфраструктуры.
+ */
+public class SutResilience {
+
+    private static final int READINESS_ATTEMPTS = Integer.getInteger("sut.readiness.attempts", 7);
+    private static final long READINESS_INITIAL_DELAY_MS = Long.getLong("sut.readiness.initialDelayMs", 250L);
+    private static final boolean READINESS_ENABLED =
+            Boolean.parseBoolean(System.getProperty("sut.readiness.enabled", "true"));
+
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration OPEN_STATE_WAIT = Duration.ofSeconds(30);
+
+    private static final CircuitBreaker CIRCUIT_BREAKER = CircuitBreaker.of("sut", CircuitBreakerConfig.custom()
+            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+            .slidingWindowSize(10)
+            .minimumNumberOfCalls(5)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(OPEN_STATE_WAIT)
+            .recordException(SutResilience::isConnectionFailure)
+            .build());
+
+    private static final Retry CALL_RETRY = Retry.of("sut-call", RetryConfig.custom()
+            .maxAttempts(3)
+            .intervalFunction(IntervalFunction.ofExponentialBackoff(Duration.ofMillis(100), 2.0))
+            .retryOnException(throwable -> hasCause(throwable, ConnectException.class))
+            .build());
+
+    private static final Retry READINESS_RETRY = Retry.of("sut-readiness", RetryConfig.custom()
+            .maxAttempts(READINESS_ATTEMPTS)
+            .intervalFunction(IntervalFunction.ofExponentialBackoff(Duration.ofMillis(READINESS_INITIAL_DELAY_MS), 2.0))
+            .retryExceptions(IOException.class)
+            .build());
+
+    private static final AtomicInteger probeAttempts = new AtomicInteger();
+    private static volatile ReadinessState readiness = ReadinessState.UNKNOWN;
+    private static volatile SutUnavailableException readinessFailure;
+    private static volatile long readinessMillis;
+    private static volatile long readinessFailedNanos;
+
+    /**
+     * Ожидает готовности сервиса. Проверка выполняется один раз за JVM: если сервис
+     * не ответил за все попытки, circuit breaker открывается, а последующие вызовы в течение
+     * времени открытого состояния breaker (30 с) сразу выбрасывают то же исключение, и оставшиеся
+     * тестовые классы падают без ожидания таймаутов. После этого времени следующий вызов повторяет
+     * проверку одной попыткой: если сервис ответил, breaker закрывается и прогон продолжается.
+     *
+     * @throws SutUnavailableException если сервис не ответил ни на одну попытку
+     */
+    public static synchronized void awaitReady() {
+        if (readiness == ReadinessState.READY || !READINESS_ENABLED) {
+            return;
+        }
+        if (readiness == ReadinessState.UNAVAILABLE) {
+            if (System.nanoTime() - readinessFailedNanos < OPEN_STATE_WAIT.toNanos()) {
+                throw readinessFailure;
+            }
+            try {
+                probe();
+            } catch (IOException | InterruptedException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                readinessFailedNanos = System.nanoTime();
+                throw readinessFailure;
+            }
+            readiness = ReadinessState.READY;
+            CIRCUIT_BREAKER.transitionToClosedState();
+            return;
+        }
+
+        long started = System.nanoTime();
+        try {
+            READINESS_RETRY.executeCallable(SutResilience::probe);
+            readiness = ReadinessState.READY;
+        } catch (Exception e) {
+            readiness = ReadinessState.UNAVAILABLE;
+            readinessFailedNanos = System.nanoTime();
+            CIRCUIT_BREAKER.transitionToOpenState();
+            readinessFailure = new SutUnavailableException(String.format(
+                    "Сервис %s не ответил за %d попыток (%d мс)",
+                    String.join(", ", SutEnvironment.baseUrls()), probeAttempts.get(), (System.nanoTime() - started) / 1_000_000), e);
+            throw readinessFailure;
+        } finally {
+            readinessMillis = (System.nanoTime() - started) / 1_000_000;
+        }
+    }
+
+    /**
+     * Возвращает circuit breaker для вызовов тестируемого сервиса.
+     *
+     * @return общий для JVM circuit breaker
+     */
+    public static CircuitBreaker circuitBreaker() {
+        return CIRCUIT_BREAKER;
+    }
+
+    /**
+     * Возвращает политику повторов для вызовов тестируемого сервиса.
+     *
+     * @return общая для JVM политика повторов
+     */
+    public static Retry callRetry() {
+        return CALL_RETRY;
+    }
+
+    /**
+     * Формирует текстовую сводку метрик проверки готовности, повторов и circuit breaker.
+     *
+     * @return сводка метрик для Allure-отчета
+     */
+    public static String metricsSummary() {
+        CircuitBreaker.Metrics breaker = CIRCUIT_BREAKER.getMetrics();
+        Retry.Metrics retry = CALL_RETRY.getMetrics();
+        return String.format("""
+                        ПРОВЕРКА ГОТОВНОСТИ:
+                        • Состояние: %s
+                        • Попыток: %d
+                        • Время ожидания: %d мс
+                        
+                        ПОВТОРЫ ЗАПРОСОВ (отказ в соединении):
+                        • Успешно без повторов: %d
+                        • Успешно после повторов: %d
+                        • Неуспешно после повторов: %d
+                        • Неуспешно без повторов: %d
+                        
+                        CIRCUIT BREAKER:
+                        • Состояние: %s
+                        • Успешных вызовов: %d
+                        • Сетевых ошибок: %d
+                        • Отклонено без вызова: %d
+                        • Доля ошибок: %.1f%%
+                        """,
+                readiness,
+                probeAttempts.get(),
+                readinessMillis,
+                retry.getNumberOfSuccessfulCallsWithoutRetryAttempt(),
+                retry.getNumberOfSuccessfulCallsWithRetryAttempt(),
+                retry.getNumberOfFailedCallsWithRetryAttempt(),
+                retry.getNumberOfFailedCallsWithoutRetryAttempt(),
+                CIRCUIT_BREAKER.getState(),
+                breaker.getNumberOfSuccessfulCalls(),
+                breaker.getNumberOfFailedCalls(),
+                breaker.getNumberOfNotPermittedCalls(),
+                Math.max(0, breaker.getFailureRate()));
+    }
+
+    /**
+     * Выполняет одну попытку проверки готовности: любой HTTP-ответ означает, что сервис принимает запросы.
+     * В режиме кластера ответить должен каждый узел.
+     */
+    private static Integer probe() throws IOException, InterruptedException {
+        probeAttempts.incrementAndGet();
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(PROBE_TIMEOUT)
+                .build();
+        int statusCode = 0;
+        for (String baseUrl : SutEnvironment.baseUrls()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + ENDPOINT))
+                    .timeout(PROBE_TIMEOUT)
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            statusCode = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+        return statusCode;
+    }
+
+    private static boolean isConnectionFailure(Throwable throwable) {
+        return hasCause(throwable, IOException.class);
+    }
+
+    private static boolean hasCause(Throwable throwable, Class<? extends Throwable> type) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (type.isInstance(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private enum ReadinessState {
+        UNKNOWN,
+        READY,
+        UNAVAILABLE
+    }
+
+    private SutResilience() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,32 @@
+package aqa.api.utils.scenario;
+
+import aqa.api.utils.matrix.ApiKeyKind;
+import aqa.api.utils.model.ExpectedOutcome;
+
+/**
+ * Шаг сценария, отправляющий запрос к эндпоинту и проверяющий ответ.
+ *
+ * @param action   значение параметра "action" (пустая строка — параметр без значения)
+ * @param apiKey   вариант API-ключа
+ * @param expected ожидаемый ответ; текст ошибки может содержать {@code %s} вместо токена сценария
+ */
+public record CallStep(String action, ApiKeyKind apiKey, ExpectedOutcome expected) implements ScenarioStep {
+
+    /**
+     * Возвращает ожидаемый ответ для токена сценария.
+     *
+     * @param token токен сценария
+     * @return ожидание с подставленным токеном
+     */
+    public ExpectedOutcome expectedFor(String token) {
+        String message = expected.message();
+        return message == null || !message.contains("%s")
+                ? expected
+                : new ExpectedOutcome(expected.statusCode(), expected.result(), String.format(message, token));
+    }
+
+    @Override
+    public String describe() {
+        return String.format("%s key=%s ⇒ %s", action.isEmpty() ? "-" : action, apiKey, expected);
+    }
+}
@@ -0,0 +1,237 @@
+package aqa.api.utils.scenario;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.ErrorMessages;
+import aqa.api.utils.matrix.ApiKeyKind;
+import aqa.api.utils.matrix.TokenShape;
+import aqa.api.utils.model.ExpectedOutcome;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Утилитный класс, компилирующий текстовые описания сценариев в планы {@link ScenarioPlan}.
+ * <p>
+ * Формат файла сценариев (строки с {@code #} — комментарии, отступы не значимы):
+ * <pre>
+ * scenario Повторная аутентификация с тем же токеном
+ *   token VALID
+ *   stub auth 200
+ *   call LOGIN => 200 OK
+ *   call LOGIN key=VALID => 409 ERROR TOKEN_ALREADY_EXISTS_ERROR
+ * </pre>
+ * <ul>
+ *   <li>{@code token} — форма токена {@link TokenShape} (по умолчанию {@code VALID}); токен
+ *   генерируется заново для каждого выполнения, поэтому сценарии можно выполнять параллельно;</li>
+ *   <li>{@code stub auth|doAction <статус>} — ответ заглушки внешнего сервиса для токена сценария
+ *   (только для {@code token VALID});</li>
+ *   <li>{@code call <action>|- [key=VALID|INVALID|EMPTY] => <статус> OK|ERROR [сообщение]} — запрос
+ *   к эндпоинту ({@code -} — пустой параметр action) и ожидаемый ответ. Сообщение задается
+ *   именем константы {@link ErrorMessages} или строкой в кавычках, {@code %s} заменяется токеном;
+ *   без сообщения текст ошибки проверяется только на непустоту.</li>
+ * </ul>
+ * Файл разбирается один раз; одинаковые шаги разных сценариев компилируются в общий экземпляр.
+ */
+public class ScenarioCompiler {
+
+    private static final String SCENARIO = "scenario";
+    private static final String TOKEN = "token";
+    private static final String STUB = "stub";
+    private static final String CALL = "call";
+    private static final String KEY_PREFIX = "key=";
+    private static final String EXPECT = "=>";
+    private static final Set<String> ACTIONS = Set.of(ACTION_LOGIN, ACTION_ACTION, ACTION_LOGOUT);
+
+    /**
+     * Компилирует сценарии из ресурса в classpath.
+     *
+     * @param resource путь ресурса, например {@code scenarios/endpoint.scenarios}
+     * @return планы сценариев в порядке описания
+     * @throws IllegalArgumentException если ресурс не найден или содержит ошибку
+     */
+    public static List<ScenarioPlan> compile(String resource) {
+        try (InputStream input = ScenarioCompiler.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Файл сценариев не найден в classpath: " + resource);
+            }
+            return compile(resource, new String(input.readAllBytes(), StandardCharsets.UTF_8).lines().toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать файл сценариев " + resource, e);
+        }
+    }
+
+    /**
+     * Компилирует сценарии из строк описания.
+     *
+     * @param source название источника для сообщений об ошибках
+     * @param lines  строки описания
+     * @return планы сценариев в порядке описания
+     * @throws IllegalArgumentException если описание содержит ошибку (с указанием файла и строки)
+     */
+    public static List<ScenarioPlan> compile(String source, List<String> lines) {
+        Map<ScenarioStep, ScenarioStep> shared = new HashMap<>();
+        Set<String> names = new HashSet<>();
+        List<ScenarioPlan> plans = new ArrayList<>();
+
+        String name = null;
+        String location = null;
+        TokenShape token = TokenShape.VALID;
+        List<ScenarioStep> steps = new ArrayList<>();
+
+        for (int number = 1; number <= lines.size(); number++) {
+            String line = lines.get(number - 1).strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String where = source + ":" + number;
+            String[] words = line.split("\\s+", 2);
+            String keyword = words[0];
+            String arguments = words.length > 1 ? words[1] : "";
+
+            if (keyword.equals(SCENARIO)) {
+                if (name != null) {
+                    plans.add(plan(name, location, token, steps));
+                }
+                if (arguments.isEmpty() || !names.add(arguments)) {
+                    throw error(where, "название сценария пустое или повторяется: \"" + arguments + "\"");
+                }
+                name = arguments;
+                location = where;
+                token = TokenShape.VALID;
+                steps = new ArrayList<>();
+                continue;
+            }
+            if (name == null) {
+                throw error(where, "шаг вне сценария, ожидалось \"" + SCENARIO + " <название>\"");
+            }
+            switch (keyword) {
+                case TOKEN -> {
+                    if (!steps.isEmpty()) {
+                        throw error(where, "форма токена задается до шагов сценария");
+                    }
+                    token = constant(TokenShape.class, arguments, where);
+                }
+                case STUB -> {
+                    if (token != TokenShape.VALID) {
+                        throw error(where, "заглушка настраивается только для токена VALID");
+                    }
+                    steps.add(shared.computeIfAbsent(stub(arguments, where), step -> step));
+                }
+                case CALL -> steps.add(shared.computeIfAbsent(call(arguments, where), step -> step));
+                default -> throw error(where, "неизвестное ключевое слово \"" + keyword + "\"");
+            }
+        }
+        if (name != null) {
+            plans.add(plan(name, location, token, steps));
+        }
+        return plans;
+    }
+
+    private static ScenarioPlan plan(String name, String location, TokenShape token, List<ScenarioStep> steps) {
+        if (steps.stream().noneMatch(CallStep.class::isInstance)) {
+            throw error(location, "сценарий \"" + name + "\" не содержит запросов");
+        }
+        return new ScenarioPlan(name, location, token, List.copyOf(steps));
+    }
+
+    private static StubStep stub(String arguments, String where) {
+        String[] words = arguments.split("\\s+");
+        if (words.length != 2) {
+            throw error(where, "ожидалось \"" + STUB + " auth|doAction <статус>\"");
+        }
+        String endpoint = switch (words[0]) {
+            case "auth" -> MOCK_AUTH;
+            case "doAction" -> MOCK_DO_ACTION;
+            default -> throw error(where, "неизвестный эндпоинт внешнего сервиса \"" + words[0] + "\"");
+        };
+        return new StubStep(endpoint, status(words[1], where));
+    }
+
+    private static CallStep call(String arguments, String where) {
+        int arrow = arguments.indexOf(EXPECT);
+        if (arrow < 0) {
+            throw error(where, "ожидалось \"" + CALL + " <action> [key=<вариант>] " + EXPECT + " <ответ>\"");
+        }
+        String[] request = arguments.substring(0, arrow).strip().split("\\s+");
+        String action = request[0].equals("-") ? "" : request[0];
+        if (!action.isEmpty() && !ACTIONS.contains(action)) {
+            throw error(where, "неизвестное действие \"" + action + "\"");
+        }
+        ApiKeyKind apiKey = ApiKeyKind.VALID;
+        if (request.length > 2 || request.length == 2 && !request[1].startsWith(KEY_PREFIX)) {
+            throw error(where, "после действия допускается только " + KEY_PREFIX + "<вариант>");
+        }
+        if (request.length == 2) {
+            apiKey = constant(ApiKeyKind.class, request[1].substring(KEY_PREFIX.length()), where);
+        }
+        return new CallStep(action, apiKey, expectation(arguments.substring(arrow + EXPECT.length()).strip(), where));
+    }
+
+    private static ExpectedOutcome expectation(String text, String where) {
+        String[] words = text.split("\\s+", 3);
+        if (words.length < 2) {
+            throw error(where, "ожидалось \"<статус> OK|ERROR [сообщение]\"");
+        }
+        int status = status(words[0], where);
+        if (words[1].equals(RESULT_OK)) {
+            if (words.length > 2) {
+                throw error(where, "успешный ответ не содержит сообщения");
+            }
+            return ExpectedOutcome.success(status);
+        }
+        if (!words[1].equals(RESULT_ERROR)) {
+            throw error(where, "ожидалось OK или ERROR, получено \"" + words[1] + "\"");
+        }
+        return ExpectedOutcome.error(status, words.length > 2 ? message(words[2], where) : null);
+    }
+
+    private static String message(String text, String where) {
+        if (text.length() >= 2 && text.startsWith("\"") && text.endsWith("\"")) {
+            return text.substring(1, text.length() - 1);
+        }
+        try {
+            return (String) ErrorMessages.class.getField(text).get(null);
+        } catch (NoSuchFieldException | IllegalAccessException | ClassCastException e) {
+            throw error(where, "сообщение \"" + text + "\" не является строкой в кавычках или константой ErrorMessages");
+        }
+    }
+
+    private static int status(String text, String where) {
+        try {
+            int status = Integer.parseInt(text);
+            if (status >= 100 && status <= 599) {
+                return status;
+            }
+        } catch (NumberFormatException e) {
+            // сообщение об ошибке ниже
+        }
+        throw error(where, "некорректный HTTP-статус \"" + text + "\"");
+    }
+
+    private static <E extends Enum<E>> E constant(Class<E> type, String text, String where) {
+        try {
+            return Enum.valueOf(type, text.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw error(where, "неизвестное значение " + type.getSimpleName() + " \"" + text + "\"");
+        }
+    }
+
+    private static IllegalArgumentException error(String where, String message) {
+        return new IllegalArgumentException(where + ": " + message);
+    }
+
+    private ScenarioCompiler() {
+        throw new UtilityClassException(getClass());
+    }
+}
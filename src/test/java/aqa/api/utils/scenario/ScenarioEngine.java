@@ -0,0 +1,110 @@
+package aqa.api.utils.scenario;
+
+import aqa.api.utils.ParallelRunner;
+import aqa.api.utils.envelope.ResultEnvelope;
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.http.EndpointResponse;
+import aqa.api.utils.model.ExpectedOutcome;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Исполнитель скомпилированных сценариев {@link ScenarioPlan}.
+ * <p>
+ * Запросы отправляются общим легковесным клиентом {@link EndpointClient} без построения спецификаций
+ * RestAssured, ответ разбирается однопроходным {@link ResultEnvelope#parse(String)} и сравнивается
+ * с ожиданием шага. Каждое выполнение сценария получает собственный токен, поэтому заглушки разных
+ * выполнений не пересекаются и сценарии выполняются параллельно. Заглушки настраиваются в области
+ * текущего теста ({@link aqa.api.utils.mock.StubScope}) и удаляются вместе с ней.
+ */
+public class ScenarioEngine {
+
+    private final EndpointClient client;
+
+    /**
+     * Создает исполнитель для тестируемого сервиса по адресу {@link aqa.api.utils.sut.SutEnvironment#baseUrl()}.
+     */
+    public ScenarioEngine() {
+        this(new EndpointClient());
+    }
+
+    /**
+     * Создает исполнитель с указанным клиентом.
+     *
+     * @param client клиент эндпоинта
+     */
+    public ScenarioEngine(EndpointClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Выполняет сценарии параллельно.
+     *
+     * @param plans       сценарии
+     * @param parallelism количество рабочих потоков
+     * @return результаты в порядке сценариев
+     */
+    public List<ScenarioResult> runAll(List<ScenarioPlan> plans, int parallelism) {
+        return ParallelRunner.runAll(plans, parallelism, this::run);
+    }
+
+    /**
+     * Выполняет сценарий с новым токеном. Выполнение останавливается на первом расхождении.
+     *
+     * @param plan сценарий
+     * @return результат выполнения
+     */
+    public ScenarioResult run(ScenarioPlan plan) {
+        String token = plan.token().generate();
+        List<ScenarioStep> steps = plan.steps();
+        List<String> transcript = new ArrayList<>(steps.size());
+        long started = System.nanoTime();
+
+        for (int index = 0; index < steps.size(); index++) {
+            ScenarioStep step = steps.get(index);
+            String failure;
+            try {
+                failure = execute(step, token, transcript);
+            } catch (IOException | RuntimeException e) {
+                failure = "исключение: " + e.getMessage();
+            }
+            if (failure != null) {
+                return new ScenarioResult(plan, token, transcript,
+                        String.format("шаг %d (%s): %s", index + 1, step.describe(), failure),
+                        System.nanoTime() - started);
+            }
+        }
+        return new ScenarioResult(plan, token, transcript, null, System.nanoTime() - started);
+    }
+
+    /**
+     * Выполняет шаг и дописывает его в протокол.
+     *
+     * @return описание расхождения или {@code null}, если шаг выполнен успешно
+     */
+    private String execute(ScenarioStep step, String token, List<String> transcript) throws IOException {
+        if (step instanceof StubStep stub) {
+            stub.install(token);
+            transcript.add(stub.describe());
+            return null;
+        }
+
+        CallStep call = (CallStep) step;
+        EndpointResponse response = client.send(token, call.action(), call.apiKey().value());
+        ResultEnvelope envelope = ResultEnvelope.parse(response.body());
+        transcript.add(String.format("%s key=%s → %d %s%s (%d мс)",
+                call.action().isEmpty() ? "-" : call.action(), call.apiKey(),
+                response.statusCode(), envelope.result(),
+                envelope.message() == null ? "" : " \"" + envelope.message() + "\"",
+                TimeUnit.NANOSECONDS.toMillis(response.latencyNanos())));
+
+        ExpectedOutcome expected = call.expectedFor(token);
+        return expected.matches(response.statusCode(), envelope.result(), envelope.message())
+                ? null
+                : String.format("ожидалось %s, получено %d %s \"%s\"", expected,
+                response.statusCode(), envelope.result(), envelope.message());
+    }
+}
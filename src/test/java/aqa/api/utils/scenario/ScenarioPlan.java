@@ -0,0 +1,27 @@
+package aqa.api.utils.scenario;
+
+import aqa.api.utils.matrix.TokenShape;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Скомпилированный сценарий, готовый к многократному выполнению {@link ScenarioEngine}.
+ *
+ * @param name   название сценария
+ * @param source место описания сценария в виде {@code файл:строка}
+ * @param token  форма токена, генерируемого для каждого выполнения
+ * @param steps  шаги сценария в порядке выполнения
+ */
+public record ScenarioPlan(String name, String source, TokenShape token, List<ScenarioStep> steps) {
+
+    /**
+     * Возвращает многострочное описание сценария для отчета.
+     *
+     * @return описание сценария
+     */
+    public String describe() {
+        return String.format("Сценарий: %s%nИсточник: %s%nТокен: %s%nШаги:%n%s", name, source, token,
+                steps.stream().map(step -> "• " + step.describe()).collect(Collectors.joining("\n")));
+    }
+}
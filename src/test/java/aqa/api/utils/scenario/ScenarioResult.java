@@ -0,0 +1,23 @@
+package aqa.api.utils.scenario;
+
+import java.util.List;
+
+/**
+ * Результат одного выполнения сценария.
+ *
+ * @param plan         выполненный сценарий
+ * @param token        сгенерированный токен
+ * @param transcript   выполненные шаги с фактическими ответами
+ * @param failure      описание расхождения или {@code null}, если сценарий прошел
+ * @param elapsedNanos время выполнения сценария, нс
+ */
+public record ScenarioResult(ScenarioPlan plan,
+                             String token,
+                             List<String> transcript,
+                             String failure,
+                             long elapsedNanos) {
+
+    public boolean passed() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,17 @@
+package aqa.api.utils.scenario;
+
+/**
+ * Шаг скомпилированного сценария: настройка заглушки внешнего сервиса или запрос к эндпоинту.
+ * <p>
+ * Шаги неизменяемы и не зависят от токена, поэтому одинаковые шаги разных сценариев
+ * компилируются в один общий экземпляр ({@link ScenarioCompiler}).
+ */
+public sealed interface ScenarioStep permits StubStep, CallStep {
+
+    /**
+     * Возвращает краткое описание шага для отчета.
+     *
+     * @return описание шага
+     */
+    String describe();
+}
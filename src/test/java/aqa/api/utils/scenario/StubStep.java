@@ -0,0 +1,39 @@
+package aqa.api.utils.scenario;
+
+import aqa.api.utils.WireMockStubBuilder;
+
+import static aqa.api.utils.Constants.HTTP_OK;
+import static aqa.api.utils.Constants.MOCK_AUTH;
+
+/**
+ * Шаг сценария, настраивающий ответ заглушки внешнего сервиса для токена сценария.
+ *
+ * @param endpoint   эндпоинт внешнего сервиса ({@code /auth} или {@code /doAction})
+ * @param statusCode HTTP-статус ответа заглушки
+ */
+public record StubStep(String endpoint, int statusCode) implements ScenarioStep {
+
+    /**
+     * Настраивает заглушку для токена сценария.
+     *
+     * @param token токен сценария
+     */
+    public void install(String token) {
+        if (MOCK_AUTH.equals(endpoint)) {
+            if (statusCode == HTTP_OK) {
+                WireMockStubBuilder.mockAuthSuccess(token);
+            } else {
+                WireMockStubBuilder.mockAuthError(token, statusCode);
+            }
+        } else if (statusCode == HTTP_OK) {
+            WireMockStubBuilder.mockDoActionSuccess(token);
+        } else {
+            WireMockStubBuilder.mockDoActionError(token, statusCode);
+        }
+    }
+
+    @Override
+    public String describe() {
+        return String.format("заглушка %s → %d", endpoint, statusCode);
+    }
+}
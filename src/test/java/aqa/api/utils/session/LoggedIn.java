@@ -0,0 +1,20 @@
+package aqa.api.utils.session;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Помечает параметр теста типа {@link String}, в который передается токен,
+ * уже прошедший LOGIN в тестируемом сервисе (см. {@link SessionPool}).
+ * <p>
+ * Каждый параметр получает отдельный токен; токен выдается один раз и тестом
+ * может быть переведен в любое состояние (ACTION, LOGOUT).
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface LoggedIn {
+}
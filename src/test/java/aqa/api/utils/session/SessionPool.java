@@ -0,0 +1,272 @@
+package aqa.api.utils.session;
+
+import aqa.api.utils.ParallelRunner;
+import aqa.api.utils.TokenGenerator;
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.http.EndpointResponse;
+import aqa.api.utils.mock.ExternalServiceMocks;
+import aqa.api.utils.mock.StubScope;
+import aqa.api.utils.replay.TrafficRecorder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Пул токенов, заранее прошедших LOGIN в тестируемом сервисе.
+ * <p>
+ * Тесты ACTION и LOGOUT получают токен в нужном состоянии без собственного шага LOGIN
+ * (параметр с аннотацией {@link LoggedIn}). Пул пополняется по запросу: пока токенов в пуле меньше,
+ * чем ожидающих их тестов, фоновый поток выполняет пакеты LOGIN размером в недостающее количество
+ * (не больше {@code session.pool.batch}). Для каждого токена пакета настраивается заглушка
+ * успешной аутентификации, после чего
+ * запросы LOGIN пакета выполняются параллельно ({@link ParallelRunner}). Заглушки пакета живут
+ * в собственной {@link StubScope} и удаляются после LOGIN; блокировка
+ * {@link ExternalServiceMocks#stubLock()} удерживается только на время их настройки.
+ * Токены старше допустимого возраста не выдаются. Невыданные токены при завершении JVM
+ * получают LOGOUT, чтобы не оставлять сессии в тестируемом сервисе.
+ * <p>
+ * Параметры задаются свойствами:
+ * <ul>
+ *   <li>{@code session.pool.batch} — наибольший размер пакета LOGIN (8);</li>
+ *   <li>{@code session.pool.maxAgeSeconds} — максимальный возраст выдаваемого токена (300);</li>
+ *   <li>{@code session.pool.timeoutSeconds} — максимальное ожидание токена тестом (30).</li>
+ * </ul>
+ */
+public class SessionPool {
+
+    private static final SessionPool SHARED = new SessionPool(
+            Integer.getInteger("session.pool.batch", 8),
+            Duration.ofSeconds(Long.getLong("session.pool.maxAgeSeconds", 300L)),
+            Duration.ofSeconds(Long.getLong("session.pool.timeoutSeconds", 30L)));
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final int batchSize;
+    private final long maxAgeNanos;
+    private final long takeTimeoutNanos;
+
+    private final LinkedBlockingQueue<Session> ready = new LinkedBlockingQueue<>();
+    private final AtomicInteger demand = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final AtomicBoolean logoutHookRegistered = new AtomicBoolean();
+    private final ExecutorService refiller = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-pool-refill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong loggedIn = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicInteger batches = new AtomicInteger();
+
+    private volatile EndpointClient client;
+    private volatile String lastFailure;
+    private volatile boolean lastBatchEmpty;
+
+    /**
+     * @param batchSize    наибольший размер пакета LOGIN
+     * @param maxAge       максимальный возраст выдаваемого токена
+     * @param takeTimeout  максимальное ожидание токена
+     */
+    public SessionPool(int batchSize, Duration maxAge, Duration takeTimeout) {
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAgeNanos = maxAge.toNanos();
+        this.takeTimeoutNanos = takeTimeout.toNanos();
+    }
+
+    /**
+     * Возвращает общий для JVM пул.
+     *
+     * @return пул авторизованных сессий
+     */
+    public static SessionPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Выдает токен, прошедший LOGIN. Если пул пуст, запрашивает пакет LOGIN и ожидает его завершения.
+     *
+     * @return авторизованный токен, выдаваемый однократно
+     * @throws IllegalStateException если токен не получен за время ожидания или пакет LOGIN
+     *                               завершился без единого успешного токена
+     */
+    public String take() {
+        long started = System.nanoTime();
+        long deadline = started + takeTimeoutNanos;
+        demand.incrementAndGet();
+        try {
+            while (true) {
+                requestRefillIfLow();
+                Session session = ready.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (session != null) {
+                    if (System.nanoTime() - session.loggedInNanos() > maxAgeNanos) {
+                        expired.incrementAndGet();
+                        continue;
+                    }
+                    issued.incrementAndGet();
+                    return session.token();
+                }
+                if (lastBatchEmpty && !refilling.get()) {
+                    throw new IllegalStateException("пакет LOGIN не дал ни одного токена: " + lastFailure);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("токен не получен за "
+                            + TimeUnit.NANOSECONDS.toSeconds(takeTimeoutNanos) + " с");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("ожидание токена прервано", e);
+        } finally {
+            demand.decrementAndGet();
+            waitNanos.addAndGet(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Формирует текстовую сводку работы пула для Allure-отчета.
+     *
+     * @return статистика выдачи и пополнения
+     */
+    public String summary() {
+        long issuedCount = issued.get();
+        return String.format("""
+                        • Выдано токенов: %d (среднее ожидание %d мс)
+                        • Пакетов LOGIN: %d, успешных LOGIN: %d, неудачных: %d
+                        • Отброшено по возрасту: %d, в пуле сейчас: %d
+                        • Последняя ошибка: %s""",
+                issuedCount,
+                issuedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(waitNanos.get() / issuedCount),
+                batches.get(), loggedIn.get(), failed.get(),
+                expired.get(), ready.size(),
+                lastFailure == null ? "нет" : lastFailure);
+    }
+
+    private void requestRefillIfLow() {
+        if (ready.size() < demand.get() && refilling.compareAndSet(false, true)) {
+            refiller.execute(this::refill);
+        }
+    }
+
+    private void refill() {
+        try {
+            int missing;
+            while ((missing = demand.get() - ready.size()) > 0) {
+                int added;
+                try {
+                    added = loginBatch(Math.min(missing, batchSize));
+                } catch (RuntimeException e) {
+                    lastFailure = "пакет LOGIN → " + e;
+                    added = 0;
+                }
+                lastBatchEmpty = added == 0;
+                if (added == 0) {
+                    return;
+                }
+            }
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    /**
+     * Выполняет один пакет LOGIN.
+     *
+     * @param size количество токенов пакета
+     * @return количество токенов, добавленных в пул
+     */
+    private int loginBatch(int size) {
+        if (client == null) {
+            client = new EndpointClient();
+        }
+        if (logoutHookRegistered.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::logoutRemaining, "session-pool-logout"));
+        }
+        batches.incrementAndGet();
+        List<String> tokens = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tokens.add(TokenGenerator.generateValidToken());
+        }
+
+        try (StubScope ignored = StubScope.open()) {
+            Lock lock = ExternalServiceMocks.stubLock();
+            lock.lock();
+            try {
+                tokens.forEach(token -> ExternalServiceMocks.active()
+                        .stub(MOCK_AUTH, token, HTTP_OK, "{\"status\":\"success\"}"));
+            } finally {
+                lock.unlock();
+            }
+
+            List<Boolean> logins = ParallelRunner.runAll(tokens,
+                    Math.min(tokens.size(), ParallelRunner.defaultParallelism()), this::login);
+            int added = 0;
+            for (int i = 0; i < tokens.size(); i++) {
+                if (logins.get(i)) {
+                    ready.add(new Session(tokens.get(i), System.nanoTime()));
+                    added++;
+                }
+            }
+            return added;
+        }
+    }
+
+    /**
+     * Выполняет LOGOUT невыданных токенов. Ошибки игнорируются: тестируемый сервис
+     * может завершаться одновременно с JVM.
+     */
+    private void logoutRemaining() {
+        List<Session> remaining = new ArrayList<>();
+        ready.drainTo(remaining);
+        if (remaining.isEmpty()) {
+            return;
+        }
+        ParallelRunner.runAll(remaining, Math.min(remaining.size(), ParallelRunner.defaultParallelism()), session -> {
+            try {
+                client.send(session.token(), ACTION_LOGOUT, VALID_API_KEY);
+            } catch (IOException | RuntimeException e) {
+                lastFailure = "LOGOUT → " + e;
+            }
+            return null;
+        });
+    }
+
+    private boolean login(String token) {
+        try {
+            EndpointResponse response = client.send(token, ACTION_LOGIN, VALID_API_KEY);
+            if (TrafficRecorder.run() != null) {
+                TrafficRecorder.run().record(token, ACTION_LOGIN, VALID_API_KEY, response);
+            }
+            if (response.statusCode() == HTTP_OK) {
+                loggedIn.incrementAndGet();
+                return true;
+            }
+            lastFailure = "LOGIN → " + response.statusCode() + " " + response.body();
+        } catch (IOException | RuntimeException e) {
+            lastFailure = "LOGIN → " + e;
+        }
+        failed.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Токен в пуле и момент успешного LOGIN.
+     */
+    private record Session(String token, long loggedInNanos) {
+    }
+}
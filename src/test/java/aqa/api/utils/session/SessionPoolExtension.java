@@ -0,0 +1,29 @@
+package aqa.api.utils.session;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * Расширение JUnit, передающее в параметры с аннотацией {@link LoggedIn} токены
+ * из общего пула авторизованных сессий.
+ */
+public class SessionPoolExtension implements ParameterResolver {
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.isAnnotated(LoggedIn.class)
+                && parameterContext.getParameter().getType() == String.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        try {
+            return SessionPool.shared().take();
+        } catch (IllegalStateException e) {
+            throw new ParameterResolutionException("Не удалось получить авторизованный токен для параметра "
+                    + parameterContext.getParameter().getName() + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -1,6 +1,14 @@
 package aqa.api.utils.specs;
 
 import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.cluster.ClusterRouter;
+import aqa.api.utils.deadline.DeadlineFilter;
+import aqa.api.utils.replay.TrafficRecorder;
+import aqa.api.utils.resilience.ResilienceFilter;
+import aqa.api.utils.sut.SutEnvironment;
+import aqa.api.utils.trace.CorrelationFilter;
+import aqa.api.utils.trace.CorrelationIds;
+import aqa.api.utils.trace.SelfTime;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
@@ -16,21 +24,30 @@ import static aqa.api.utils.Constants.*;
  */
 public class RequestSpecs {
 
+    private static final DeadlineFilter DEADLINE_FILTER = new DeadlineFilter();
+    private static final ResilienceFilter RESILIENCE_FILTER = new ResilienceFilter();
+    private static final CorrelationFilter CORRELATION_FILTER = new CorrelationFilter();
+
     /**
      * Создает базовую спецификацию запроса с общими настройками.
+     * Запросы выполняются через {@link ResilienceFilter}: повтор при отказе в соединении
+     * и быстрый отказ при открытом circuit breaker. Зависший запрос прерывается при превышении
+     * времени шага теста ({@link DeadlineFilter}).
      *
      * @return базовая {@link RequestSpecification} с общими настройками
      */
     public static RequestSpecification getBaseSpec() {
-        return new RequestSpecBuilder()
-                .setBaseUri(SUT_URL)
-                .setContentType(ContentType.URLENC)
-                .setAccept(ContentType.JSON)
+        return baseBuilder()
+                .addFilter(RESILIENCE_FILTER)
                 .build();
     }
 
     /**
      * Создает спецификацию запроса к эндпоинту с указанными параметрами.
+     * Каждая спецификация получает уникальный заголовок {@code X-Correlation-Id}, а задержка
+     * запроса разделяется на собственное время сервиса и ожидание внешнего сервиса ({@link SelfTime}).
+     * При заданном свойстве {@code replay.record} запрос записывается для воспроизведения ({@link TrafficRecorder}).
+     * В режиме кластера узел выбирается политикой {@link ClusterRouter#shared()}.
      *
      * @param token  значение параметра "token" (32 символа A-F0-9)
      * @param action значение параметра "action" (LOGIN, ACTION или LOGOUT)
@@ -38,15 +55,41 @@ public class RequestSpecs {
      * @return настроенная {@link RequestSpecification} для запроса к эндпоинту
      */
     public static RequestSpecification forEndpoint(String token, String action, String apiKey) {
-        RequestSpecBuilder builder = new RequestSpecBuilder()
-                .addRequestSpecification(getBaseSpec())
+        return forEndpoint(ClusterRouter.shared().routeUrl(token, action), token, action, apiKey);
+    }
+
+    /**
+     * Создает спецификацию запроса с валидным API-ключом к указанному узлу кластера
+     * в обход политики маршрутизации.
+     *
+     * @param node   номер узла в {@link ClusterRouter#nodes()}
+     * @param token  значение параметра "token"
+     * @param action значение параметра "action"
+     * @return {@link RequestSpecification} для запроса к узлу
+     */
+    public static RequestSpecification forNode(int node, String token, String action) {
+        return forEndpoint(ClusterRouter.shared().nodes().get(node), token, action, VALID_API_KEY);
+    }
+
+    /**
+     * Фильтры запроса к эндпоинту: {@link ResilienceFilter} добавляется последним, чтобы повторная
+     * попытка проходила через измерение задержки и запись трафика так же, как первая.
+     */
+    private static RequestSpecification forEndpoint(String baseUri, String token, String action, String apiKey) {
+        RequestSpecBuilder builder = baseBuilder()
+                .setBaseUri(baseUri)
                 .addFormParam(TOKEN_PARAM, token)
-                .addFormParam(ACTION_PARAM, action);
+                .addFormParam(ACTION_PARAM, action)
+                .addHeader(CORRELATION_HEADER, CorrelationIds.next())
+                .addFilter(CORRELATION_FILTER);
 
         if (apiKey != null && !apiKey.trim().isEmpty()) {
             builder.addHeader(API_KEY_HEADER_NAME, apiKey);
         }
-        return builder.build();
+        if (TrafficRecorder.run() != null) {
+            builder.addFilter(TrafficRecorder.run());
+        }
+        return builder.addFilter(RESILIENCE_FILTER).build();
     }
 
     /**
@@ -82,6 +125,14 @@ public class RequestSpecs {
         return forEndpoint(token, action, EMPTY_API_KEY);
     }
 
+    private static RequestSpecBuilder baseBuilder() {
+        return new RequestSpecBuilder()
+                .setBaseUri(SutEnvironment.baseUrl())
+                .setContentType(ContentType.URLENC)
+                .setAccept(ContentType.JSON)
+                .addFilter(DEADLINE_FILTER);
+    }
+
     private RequestSpecs() {
         throw new UtilityClassException(getClass());
     }
@@ -1,12 +1,12 @@
 package aqa.api.utils.specs;
 
 import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.envelope.EnvelopeMatcher;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.http.ContentType;
 import io.restassured.specification.ResponseSpecification;
 
 import static aqa.api.utils.Constants.*;
-import static org.hamcrest.Matchers.*;
 
 /**
  * Утилитный класс для создания спецификаций проверки ответов (ResponseSpecification) от API.
@@ -14,12 +14,14 @@ import static org.hamcrest.Matchers.*;
  * Содержит фабричные методы для построения стандартизированных спецификаций валидации
  * HTTP-ответов от тестируемого веб-сервиса. Все методы возвращают настроенные экземпляры
  * {@link ResponseSpecification}, которые могут быть использованы для проверки ответов
- * в RestAssured тестах.
+ * в RestAssured тестах. Поля {@code result} и {@code message} проверяются быстрым разбором
+ * тела ({@link EnvelopeMatcher}) без построения GPath-дерева для каждого ответа.
  */
 public class ResponseSpecs {
 
     /**
-     * Создает спецификацию для проверки успешного ответа от API.
+     * Создает спецификацию для проверки успешного ответа от API:
+     * статус 200, JSON, {@code result} равен "OK", {@code message} отсутствует.
      *
      * @return {@link ResponseSpecification} для проверки успешного ответа
      */
@@ -27,13 +29,13 @@ public class ResponseSpecs {
         return new ResponseSpecBuilder()
                 .expectStatusCode(HTTP_OK)
                 .expectContentType(ContentType.JSON)
-                .expectBody(RESULT_PARAM, equalTo(RESULT_OK))
-                .expectBody(MESSAGE_PARAM, nullValue())
+                .expectBody(EnvelopeMatcher.success())
                 .build();
     }
 
     /**
-     * Создает спецификацию для проверки ошибочного ответа с указанным HTTP-статусом.
+     * Создает спецификацию для проверки ошибочного ответа с указанным HTTP-статусом:
+     * JSON, {@code result} равен "ERROR", {@code message} не пустой.
      *
      * @param expectedStatusCode ожидаемый HTTP статус код ошибки
      * @return {@link ResponseSpecification} для проверки ошибочного ответа
@@ -42,8 +44,7 @@ public class ResponseSpecs {
         return new ResponseSpecBuilder()
                 .expectStatusCode(expectedStatusCode)
                 .expectContentType(ContentType.JSON)
-                .expectBody(RESULT_PARAM, equalTo(RESULT_ERROR))
-                .expectBody(MESSAGE_PARAM, not(emptyOrNullString()))
+                .expectBody(EnvelopeMatcher.error())
                 .build();
     }
 
@@ -0,0 +1,184 @@
+package aqa.api.utils.startup;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Утилитный класс, измеряющий холодный старт тестовой JVM и сравнивающий его между режимами запуска.
+ * <p>
+ * Фиксируются три отметки времени от старта JVM: начало первого тестового класса (загрузка JUnit,
+ * Allure, AspectJ), готовность окружения (заглушка внешнего сервиса и тестируемый сервис) и завершение
+ * первого теста (инициализация RestAssured и Groovy). Отметки каждой JVM дописываются в историю
+ * {@code startup.history} ({@code .cds/startup-history.csv}) вместе с режимом разделения классов
+ * (без архива, обучающий прогон, архив AppCDS) и способом подключения аспектов Allure, что позволяет
+ * сравнить холодный старт до и после включения архива.
+ */
+public class StartupTime {
+
+    private static final Path HISTORY = Path.of(System.getProperty("startup.history", ".cds/startup-history.csv"));
+    private static final int HISTORY_WINDOW = 10;
+
+    private static volatile long firstClassMillis = -1;
+    private static volatile long readyMillis = -1;
+    private static volatile long firstTestMillis = -1;
+
+    static {
+        try {
+            // архив AppCDS обучающего прогона сохраняется в тот же каталог при завершении JVM
+            Files.createDirectories(HISTORY.toAbsolutePath().getParent());
+        } catch (IOException e) {
+            // история недоступна: измерение текущей JVM все равно попадет в отчет
+        }
+    }
+
+    /**
+     * Отмечает начало первого тестового класса. Повторные вызовы игнорируются.
+     */
+    public static synchronized void markFirstClass() {
+        if (firstClassMillis < 0) {
+            firstClassMillis = uptime();
+        }
+    }
+
+    /**
+     * Отмечает готовность окружения к первому тесту. Повторные вызовы игнорируются.
+     */
+    public static synchronized void markReady() {
+        if (readyMillis < 0) {
+            readyMillis = uptime();
+        }
+    }
+
+    /**
+     * Отмечает завершение первого теста и дописывает измерение JVM в историю.
+     * Повторные вызовы игнорируются.
+     */
+    public static void markFirstTestFinished() {
+        if (firstTestMillis >= 0) {
+            return;
+        }
+        synchronized (StartupTime.class) {
+            if (firstTestMillis >= 0) {
+                return;
+            }
+            firstTestMillis = uptime();
+            String line = String.join(",", Instant.now().toString(), sharingMode(), weavingMode(),
+                    String.valueOf(firstClassMillis), String.valueOf(readyMillis), String.valueOf(firstTestMillis),
+                    String.valueOf(ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount()));
+            try {
+                Files.writeString(HISTORY, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                // история недоступна: измерение текущей JVM все равно попадет в отчет
+            }
+        }
+    }
+
+    /**
+     * Формирует текстовую сводку холодного старта для Allure-отчета.
+     *
+     * @return отметки текущей JVM и медианы последних запусков по режимам
+     */
+    public static String summary() {
+        return String.format("""
+                        ТЕКУЩАЯ JVM:
+                        • Режим: %s, %s
+                        • Старт JVM → первый тестовый класс: %s
+                        • Старт JVM → окружение готово: %s
+                        • Старт JVM → первый тест завершен: %s
+                        • Загружено классов: %d
+                        
+                        ИСТОРИЯ (медианы последних %d запусков, мс: класс / окружение / первый тест):
+                        %s""",
+                sharingMode(), weavingMode(),
+                millis(firstClassMillis), millis(readyMillis), millis(firstTestMillis),
+                ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount(),
+                HISTORY_WINDOW, history());
+    }
+
+    private static String history() {
+        List<String> lines;
+        try {
+            lines = Files.exists(HISTORY) ? Files.readAllLines(HISTORY, StandardCharsets.UTF_8) : List.of();
+        } catch (IOException e) {
+            return "• История недоступна: " + e.getMessage();
+        }
+        Map<String, List<long[]>> byMode = new TreeMap<>();
+        for (String line : lines) {
+            String[] fields = line.split(",");
+            if (fields.length < 7) {
+                continue;
+            }
+            byMode.computeIfAbsent(fields[1] + ", " + fields[2], mode -> new ArrayList<>())
+                    .add(new long[]{Long.parseLong(fields[3]), Long.parseLong(fields[4]), Long.parseLong(fields[5])});
+        }
+        if (byMode.isEmpty()) {
+            return "• Нет записей в " + HISTORY;
+        }
+        return byMode.entrySet().stream()
+                .map(entry -> {
+                    List<long[]> runs = entry.getValue();
+                    List<long[]> recent = runs.subList(Math.max(0, runs.size() - HISTORY_WINDOW), runs.size());
+                    return String.format("• %s: %d / %d / %d (запусков: %d)", entry.getKey(),
+                            median(recent, 0), median(recent, 1), median(recent, 2), runs.size());
+                })
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static long median(List<long[]> runs, int field) {
+        long[] values = runs.stream().mapToLong(run -> run[field]).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    /**
+     * Определяет режим разделения классов по аргументам JVM.
+     */
+    private static String sharingMode() {
+        List<String> arguments = runtime().getInputArguments();
+        if (arguments.stream().anyMatch(argument -> argument.startsWith("-XX:ArchiveClassesAtExit"))) {
+            return "обучение AppCDS";
+        }
+        if (arguments.stream().anyMatch(argument -> argument.startsWith("-XX:SharedArchiveFile"))) {
+            return "AppCDS";
+        }
+        return "без архива";
+    }
+
+    /**
+     * Определяет способ подключения аспектов Allure: агент AspectJ в аргументах JVM означает
+     * вплетение при загрузке классов, его отсутствие — вплетение при компиляции (профиль {@code ctw}).
+     */
+    private static String weavingMode() {
+        return runtime().getInputArguments().stream().anyMatch(argument -> argument.contains("aspectjweaver"))
+                ? "агент AspectJ" : "без агента";
+    }
+
+    private static String millis(long value) {
+        return value < 0 ? "не измерено" : value + " мс";
+    }
+
+    private static long uptime() {
+        return runtime().getUptime();
+    }
+
+    private static RuntimeMXBean runtime() {
+        return ManagementFactory.getRuntimeMXBean();
+    }
+
+    private StartupTime() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,174 @@
+package aqa.api.utils.sut;
+
+import aqa.api.exceptions.SutUnavailableException;
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.WireMockStubBuilder;
+import aqa.api.utils.cluster.ClusterRouter;
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.mock.StubScope;
+import aqa.api.utils.resilience.SutResilience;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static aqa.api.utils.Constants.SUT_URL;
+import static aqa.api.utils.Constants.WIREMOCK_PORT;
+
+/**
+ * Утилитный класс, определяющий, где работает тестируемый сервис, и готовящий его к тестам.
+ * <p>
+ * По умолчанию используется внешний сервис по адресу из свойства {@code sut.url}
+ * (или {@link aqa.api.utils.Constants#SUT_URL}); свойство {@code sut.urls} со списком адресов
+ * через запятую включает режим кластера, в котором запросы распределяются по узлам
+ * ({@link aqa.api.utils.cluster.ClusterRouter}). Если задано свойство {@code sut.jar},
+ * сервис запускается как дочерний процесс на свободном порту с адресом WireMock,
+ * подставленным в аргументы. Подготовка выполняется один раз за JVM:
+ * <ol>
+ *   <li>запуск процесса (если задан {@code sut.jar});</li>
+ *   <li>ожидание готовности ({@link SutResilience#awaitReady()});</li>
+ *   <li>прогрев JIT до стабилизации задержки ({@link SutWarmUp}), включенный по умолчанию
+ *       для запускаемого процесса и по свойству {@code sut.warmup.enabled} для внешнего сервиса.</li>
+ * </ol>
+ */
+public class SutEnvironment {
+
+    private static final String JAR = System.getProperty("sut.jar");
+    private static final String JVM_ARGS = System.getProperty("sut.jvmArgs", "");
+    private static final String ARGS_TEMPLATE =
+            System.getProperty("sut.args", "--server.port={port} --external.url={mockUrl}");
+    private static final List<String> CLUSTER_URLS = Arrays.stream(System.getProperty("sut.urls", "").split(","))
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .toList();
+    private static final Path LOG_FILE = Path.of(System.getProperty("sut.log", "target/sut.log"));
+
+    private static final boolean WARM_UP_ENABLED =
+            Boolean.parseBoolean(System.getProperty("sut.warmup.enabled", String.valueOf(JAR != null)));
+    private static final int WARM_UP_THREADS = Integer.getInteger("sut.warmup.threads", 4);
+    private static final int WARM_UP_CYCLES_PER_WINDOW = Integer.getInteger("sut.warmup.cyclesPerWindow", 500);
+    private static final int WARM_UP_MAX_WINDOWS = Integer.getInteger("sut.warmup.maxWindows", 20);
+    private static final double WARM_UP_TOLERANCE = Double.parseDouble(System.getProperty("sut.warmup.tolerance", "0.1"));
+
+    private static volatile SutProcess process;
+    private static volatile WarmUpReport warmUpReport;
+    private static boolean prepared;
+    private static SutUnavailableException failure;
+
+    /**
+     * Возвращает базовый адрес тестируемого сервиса.
+     *
+     * @return адрес запущенного процесса, первого узла кластера или внешнего сервиса
+     */
+    public static String baseUrl() {
+        SutProcess current = process;
+        if (current != null) {
+            return current.baseUrl();
+        }
+        return CLUSTER_URLS.isEmpty() ? System.getProperty("sut.url", SUT_URL) : CLUSTER_URLS.get(0);
+    }
+
+    /**
+     * Возвращает базовые адреса всех узлов тестируемого сервиса.
+     * Список узлов из {@code sut.urls} используется, только если сервис не запускается из {@code sut.jar}.
+     *
+     * @return адреса узлов кластера или список из единственного адреса {@link #baseUrl()}
+     */
+    public static List<String> baseUrls() {
+        return process != null || CLUSTER_URLS.isEmpty() ? List.of(baseUrl()) : CLUSTER_URLS;
+    }
+
+    /**
+     * Запускает сервис (если требуется), ожидает его готовности и выполняет прогрев.
+     * Подготовка считается выполненной только после успешного прогрева; повторные вызовы в той же JVM
+     * не выполняют ее заново. Если процесс не запустился или прогрев завершился ошибкой, последующие
+     * вызовы выбрасывают то же исключение; если сервис не стал доступен, следующий вызов повторяет
+     * ожидание готовности и прогрев (см. {@link SutResilience#awaitReady()}).
+     * <p>
+     * Прогрев настраивает заглушки успешных ответов для любого токена, поэтому вызывающий
+     * код должен сбросить заглушки WireMock перед тестами.
+     *
+     * @throws SutUnavailableException если сервис не удалось запустить или он не стал доступен
+     */
+    public static synchronized void ensureReady() {
+        if (prepared) {
+            SutResilience.awaitReady();
+            return;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        if (JAR != null && process == null) {
+            try {
+                process = SutProcess.launch(Path.of(JAR), JVM_ARGS, ARGS_TEMPLATE,
+                        "http://localhost:" + WIREMOCK_PORT, LOG_FILE);
+            } catch (SutUnavailableException e) {
+                failure = e;
+                throw e;
+            }
+        }
+
+        try {
+            SutResilience.awaitReady();
+        } catch (SutUnavailableException e) {
+            if (process != null && !process.isAlive()) {
+                throw new SutUnavailableException(e.getMessage() + "; " + process.describeExit(40), e);
+            }
+            throw e;
+        }
+
+        if (WARM_UP_ENABLED) {
+            // заглушки "для любого токена" нужны только прогреву и не должны влиять на тесты
+            try (StubScope ignored = StubScope.open()) {
+                WireMockStubBuilder.mockAllSuccess();
+                warmUpReport = new SutWarmUp(new EndpointClient(baseUrl()), WARM_UP_THREADS,
+                        WARM_UP_CYCLES_PER_WINDOW, WARM_UP_MAX_WINDOWS, WARM_UP_TOLERANCE).run();
+            } catch (IllegalStateException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                failure = new SutUnavailableException("Прогрев сервиса " + baseUrl() + " не выполнен: "
+                        + cause.getMessage(), e);
+                throw failure;
+            }
+        }
+        prepared = true;
+    }
+
+    /**
+     * Формирует текстовую сводку окружения для Allure-отчета.
+     *
+     * @return адрес сервиса, режим запуска и результаты прогрева
+     */
+    public static String summary() {
+        WarmUpReport report = warmUpReport;
+        return String.format("""
+                        СЕРВИС:
+                        • Адрес: %s
+                        • Режим: %s
+                        • Маршрутизация: %s
+                        
+                        ПРОГРЕВ:
+                        %s
+                        """,
+                String.join(", ", baseUrls()),
+                process != null ? "локальный процесс (" + JAR + ")"
+                        : baseUrls().size() > 1 ? "кластер из " + baseUrls().size() + " узлов" : "внешний сервис",
+                ClusterRouter.shared().policy().name().toLowerCase(Locale.ROOT),
+                report == null
+                        ? "• Не выполнялся"
+                        : String.format("""
+                                        • Циклов LOGIN → ACTION → LOGOUT: %d
+                                        • Медианы задержки по окнам, мкс: %s
+                                        • Задержка стабилизировалась: %s
+                                        • Длительность: %d мс""",
+                                report.cycles(),
+                                report.windowMedianMicros(),
+                                report.stabilised() ? "да ✓" : "нет ✗ (исчерпан лимит окон)",
+                                report.elapsedMillis()));
+    }
+
+    private SutEnvironment() {
+        throw new UtilityClassException(getClass());
+    }
+}
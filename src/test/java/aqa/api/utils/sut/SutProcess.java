@@ -0,0 +1,128 @@
+package aqa.api.utils.sut;
+
+import aqa.api.exceptions.SutUnavailableException;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Локальный процесс тестируемого сервиса, запускаемый тестовым окружением из jar-файла.
+ * <p>
+ * Сервис запускается на свободном порту; аргументы командной строки задаются шаблоном,
+ * в котором {@code {port}} заменяется на выбранный порт, а {@code {mockUrl}} — на базовый
+ * адрес заглушки внешнего сервиса. Вывод процесса пишется в файл журнала.
+ */
+public class SutProcess {
+
+    private final Process process;
+    private final int port;
+    private final Path logFile;
+
+    private SutProcess(Process process, int port, Path logFile) {
+        this.process = process;
+        this.port = port;
+        this.logFile = logFile;
+    }
+
+    /**
+     * Запускает сервис из jar-файла на свободном порту.
+     *
+     * @param jar          путь к jar-файлу сервиса
+     * @param jvmArgs      аргументы JVM сервиса, разделенные пробелами (может быть пустой строкой)
+     * @param argsTemplate шаблон аргументов сервиса с подстановками {@code {port}} и {@code {mockUrl}}
+     * @param mockUrl      базовый адрес заглушки внешнего сервиса
+     * @param logFile      файл для вывода процесса
+     * @return запущенный процесс
+     * @throws SutUnavailableException если jar-файл не найден или процесс не удалось запустить
+     */
+    public static SutProcess launch(Path jar, String jvmArgs, String argsTemplate, String mockUrl, Path logFile) {
+        if (!Files.isRegularFile(jar)) {
+            throw new SutUnavailableException("Jar-файл сервиса не найден: " + jar.toAbsolutePath(), null);
+        }
+
+        int port = findFreePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(split(jvmArgs));
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.addAll(split(argsTemplate
+                .replace("{port}", String.valueOf(port))
+                .replace("{mockUrl}", mockUrl)));
+
+        try {
+            Files.createDirectories(logFile.toAbsolutePath().getParent());
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(logFile.toFile())
+                    .start();
+            SutProcess sutProcess = new SutProcess(process, port, logFile);
+            Runtime.getRuntime().addShutdownHook(new Thread(sutProcess::stop, "sut-process-shutdown"));
+            return sutProcess;
+        } catch (IOException e) {
+            throw new SutUnavailableException("Не удалось запустить сервис: " + String.join(" ", command), e);
+        }
+    }
+
+    /**
+     * Возвращает базовый адрес запущенного сервиса.
+     *
+     * @return адрес вида {@code http://localhost:PORT}
+     */
+    public String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    /**
+     * Проверяет, работает ли процесс сервиса.
+     *
+     * @return {@code true}, если процесс не завершился
+     */
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * Возвращает описание завершившегося процесса с последними строками журнала.
+     *
+     * @param lines количество последних строк журнала
+     * @return описание для сообщения об ошибке
+     */
+    public String describeExit(int lines) {
+        String exit = process.isAlive() ? "процесс работает" : "процесс завершился с кодом " + process.exitValue();
+        try {
+            List<String> log = Files.readAllLines(logFile, StandardCharsets.UTF_8);
+            return exit + ", журнал " + logFile + ":\n"
+                    + String.join("\n", log.subList(Math.max(0, log.size() - lines), log.size()));
+        } catch (IOException e) {
+            return exit + ", журнал " + logFile + " недоступен: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Останавливает процесс сервиса и его дочерние процессы.
+     */
+    public void stop() {
+        process.descendants().forEach(ProcessHandle::destroy);
+        process.destroy();
+    }
+
+    private static int findFreePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new SutUnavailableException("Не удалось найти свободный порт для сервиса", e);
+        }
+    }
+
+    private static List<String> split(String args) {
+        return args == null || args.isBlank() ? List.of() : Arrays.asList(args.trim().split("\\s+"));
+    }
+}
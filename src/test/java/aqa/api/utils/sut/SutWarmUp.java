@@ -0,0 +1,125 @@
+package aqa.api.utils.sut;
+
+import aqa.api.utils.ParallelRunner;
+import aqa.api.utils.TokenGenerator;
+import aqa.api.utils.http.EndpointClient;
+import aqa.api.utils.http.EndpointResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static aqa.api.utils.Constants.*;
+
+/**
+ * Прогрев тестируемого сервиса перед измерениями.
+ * <p>
+ * Выполняет окна циклов LOGIN → ACTION → LOGOUT из нескольких потоков ({@link ParallelRunner})
+ * и после каждого окна вычисляет медиану задержки запроса. Прогрев завершается, когда медианы последних окон
+ * отличаются не более чем на заданный допуск (JIT-компиляция горячих путей завершена),
+ * либо по исчерпании лимита окон. Заглушки внешнего сервиса должны отвечать успехом для любого токена,
+ * поэтому каждый запрос прогрева должен получить статус 200: иначе прогрев прерывается, так как
+ * задержка ошибочных ответов не характеризует прогретый сервис.
+ */
+public class SutWarmUp {
+
+    private static final int STABLE_WINDOWS = 3;
+
+    private final EndpointClient client;
+    private final int threads;
+    private final int cyclesPerWindow;
+    private final int maxWindows;
+    private final double tolerance;
+
+    /**
+     * @param client          клиент для отправки запросов
+     * @param threads         количество параллельных потоков
+     * @param cyclesPerWindow количество циклов в одном окне
+     * @param maxWindows      максимальное количество окон
+     * @param tolerance       допустимое относительное расхождение медиан стабильных окон (например, 0.1)
+     */
+    public SutWarmUp(EndpointClient client, int threads, int cyclesPerWindow, int maxWindows, double tolerance) {
+        this.client = client;
+        this.threads = Math.max(1, threads);
+        this.cyclesPerWindow = cyclesPerWindow;
+        this.maxWindows = maxWindows;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Выполняет прогрев.
+     *
+     * @return итог прогрева
+     * @throws IllegalStateException если сервис ответил статусом, отличным от 200, поток прогрева
+     *                               завершился ошибкой или прогрев прерван
+     */
+    public WarmUpReport run() {
+        long started = System.nanoTime();
+        List<Long> medians = new ArrayList<>();
+        AtomicLong tokenSequence = new AtomicLong();
+        boolean stabilised = false;
+
+        while (medians.size() < maxWindows && !stabilised) {
+            medians.add(runWindow(tokenSequence) / 1_000);
+            stabilised = isStable(medians);
+        }
+        return new WarmUpReport((long) medians.size() * cyclesPerWindow, List.copyOf(medians), stabilised,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private long runWindow(AtomicLong tokenSequence) {
+        long[] latencies = new long[cyclesPerWindow * 3];
+        AtomicLong nextCycle = new AtomicLong();
+        ParallelRunner.runAll(IntStream.range(0, threads).boxed().toList(), threads, worker -> {
+            for (long cycle = nextCycle.getAndIncrement(); cycle < cyclesPerWindow;
+                 cycle = nextCycle.getAndIncrement()) {
+                String token = warmUpToken(tokenSequence.incrementAndGet());
+                int offset = (int) cycle * 3;
+                latencies[offset] = send(token, ACTION_LOGIN);
+                latencies[offset + 1] = send(token, ACTION_ACTION);
+                latencies[offset + 2] = send(token, ACTION_LOGOUT);
+            }
+            return null;
+        });
+
+        Arrays.sort(latencies);
+        return latencies[latencies.length / 2];
+    }
+
+    private long send(String token, String action) {
+        EndpointResponse response;
+        try {
+            response = client.send(token, action, VALID_API_KEY);
+        } catch (IOException e) {
+            throw new UncheckedIOException(action + " " + token, e);
+        }
+        if (response.statusCode() != HTTP_OK) {
+            throw new IllegalStateException(String.format("%s %s: статус %d, ответ %s",
+                    action, token, response.statusCode(), response.body()));
+        }
+        return response.latencyNanos();
+    }
+
+    private boolean isStable(List<Long> medians) {
+        if (medians.size() < STABLE_WINDOWS) {
+            return false;
+        }
+        List<Long> last = medians.subList(medians.size() - STABLE_WINDOWS, medians.size());
+        long min = last.stream().mapToLong(Long::longValue).min().orElse(0);
+        long max = last.stream().mapToLong(Long::longValue).max().orElse(0);
+        return min > 0 && (max - min) <= min * tolerance;
+    }
+
+    /**
+     * Токены прогрева начинаются с префикса "FFFF", чтобы не пересекаться со случайными токенами тестов
+     * с практически нулевой вероятностью и легко отличаться в журналах, и содержат метку прогона:
+     * прерванный прогрев оставляет открытые сессии во внешнем сервисе.
+     */
+    private static String warmUpToken(long sequence) {
+        return TokenGenerator.generateRunRangeToken("FFFF", sequence);
+    }
+}
@@ -0,0 +1,14 @@
+package aqa.api.utils.sut;
+
+import java.util.List;
+
+/**
+ * Итог прогрева тестируемого сервиса.
+ *
+ * @param cycles             количество выполненных циклов LOGIN → ACTION → LOGOUT
+ * @param windowMedianMicros медиана задержки запроса в каждом окне прогрева, мкс
+ * @param stabilised         {@code true}, если задержка стабилизировалась до исчерпания лимита окон
+ * @param elapsedMillis      длительность прогрева, мс
+ */
+public record WarmUpReport(long cycles, List<Long> windowMedianMicros, boolean stabilised, long elapsedMillis) {
+}
@@ -0,0 +1,47 @@
+package aqa.api.utils.trace;
+
+import aqa.api.utils.metrics.Metrics;
+import aqa.api.utils.metrics.Timeline;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import static aqa.api.utils.Constants.ACTION_PARAM;
+import static aqa.api.utils.Constants.CORRELATION_HEADER;
+import static aqa.api.utils.Constants.HTTP_INTERNAL_ERROR;
+import static aqa.api.utils.Constants.TOKEN_PARAM;
+
+/**
+ * Фильтр RestAssured, измеряющий задержку запроса с заголовком {@code X-Correlation-Id}
+ * и разделяющий ее на собственное время сервиса и ожидание внешнего сервиса ({@link SelfTime}).
+ * Запрос учитывается в посекундном ряду {@code suite/<действие>} ({@link Timeline}); ошибкой
+ * считается ответ со статусом 5xx, так как статусы 4xx в функциональных тестах ожидаемы.
+ * Ответы учитываются счетчиком {@code sut_responses_total} с метками действия и статуса.
+ * <p>
+ * Фильтр располагается до {@link aqa.api.utils.resilience.ResilienceFilter}, поэтому измеряется вызов
+ * целиком: повторы при отказе в соединении входят в задержку, а вызов учитывается один раз с итоговым ответом.
+ */
+public class CorrelationFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long started = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long finished = System.nanoTime();
+
+        String action = requestSpec.getFormParams().get(ACTION_PARAM);
+        SelfTime.attribute(action,
+                requestSpec.getFormParams().get(TOKEN_PARAM),
+                requestSpec.getHeaders().getValue(CORRELATION_HEADER),
+                started, finished);
+        String label = action == null ? "none" : action;
+        Metrics.counter(SelfTime.RESPONSES_METRIC, "action", label,
+                "status", String.valueOf(response.getStatusCode())).increment();
+        Timeline.record(SelfTime.SUITE_SERIES + label, response.getStatusCode() >= HTTP_INTERNAL_ERROR);
+        return response;
+    }
+}
@@ -0,0 +1,31 @@
+package aqa.api.utils.trace;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Утилитный класс для генерации идентификаторов корреляции запросов.
+ * <p>
+ * Идентификатор состоит из случайного префикса JVM и порядкового номера, поэтому уникален
+ * в пределах прогона и не совпадает между параллельно работающими JVM.
+ */
+public class CorrelationIds {
+
+    private static final String JVM_PREFIX = String.format("%08x", ThreadLocalRandom.current().nextInt());
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    /**
+     * Возвращает новый идентификатор корреляции.
+     *
+     * @return идентификатор вида {@code 3f2a91c0-1b}
+     */
+    public static String next() {
+        return JVM_PREFIX + "-" + Long.toHexString(SEQUENCE.incrementAndGet());
+    }
+
+    private CorrelationIds() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,25 @@
+package aqa.api.utils.trace;
+
+/**
+ * Обращение тестируемого сервиса к внешнему сервису, зафиксированное заглушкой.
+ * Отметки времени получены из {@link System#nanoTime()} той же JVM, что и тесты.
+ *
+ * @param endpoint      путь эндпоинта заглушки
+ * @param token         токен из тела запроса или {@code null}
+ * @param correlationId значение заголовка корреляции или {@code null}, если сервис его не передал
+ * @param arrivedNanos  момент поступления запроса в заглушку
+ * @param completedNanos момент завершения ответа заглушки
+ * @param status        HTTP-статус ответа заглушки
+ */
+public record DependencyCall(String endpoint, String token, String correlationId,
+                             long arrivedNanos, long completedNanos, int status) {
+
+    /**
+     * Возвращает длительность обращения с точки зрения заглушки.
+     *
+     * @return длительность, нс
+     */
+    public long durationNanos() {
+        return completedNanos - arrivedNanos;
+    }
+}
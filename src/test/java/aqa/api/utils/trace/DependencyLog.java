@@ -0,0 +1,184 @@
+package aqa.api.utils.trace;
+
+import aqa.api.exceptions.UtilityClassException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Утилитный класс, хранящий обращения к заглушке до их сопоставления с запросами к сервису.
+ * <p>
+ * Обращения индексируются по идентификатору корреляции (если сервис передает заголовок
+ * {@code X-Correlation-Id} дальше) и по токену. Сопоставленные обращения удаляются из индексов
+ * и из очереди поступления (поиском с конца очереди: сопоставляются недавние обращения) и не
+ * учитываются в емкости; несопоставленные вытесняются в порядке поступления при превышении емкости
+ * {@code trace.capacity} (100000), поэтому память ограничена при любой длительности прогона.
+ */
+public class DependencyLog {
+
+    private static final int CAPACITY = Integer.getInteger("trace.capacity", 100_000);
+
+    private static final ConcurrentMap<String, Queue<DependencyCall>> BY_CORRELATION = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Queue<DependencyCall>> BY_TOKEN = new ConcurrentHashMap<>();
+    private static final Deque<DependencyCall> ARRIVAL_ORDER = new ConcurrentLinkedDeque<>();
+    private static final AtomicInteger SIZE = new AtomicInteger();
+
+    /**
+     * Сохраняет обращение к заглушке.
+     *
+     * @param call обращение
+     */
+    public static void record(DependencyCall call) {
+        if (call.correlationId() != null) {
+            add(BY_CORRELATION, call.correlationId(), call);
+        }
+        if (call.token() != null) {
+            add(BY_TOKEN, call.token(), call);
+        }
+        ARRIVAL_ORDER.addLast(call);
+        if (SIZE.incrementAndGet() > CAPACITY) {
+            DependencyCall evicted = ARRIVAL_ORDER.pollFirst();
+            if (evicted != null) {
+                SIZE.decrementAndGet();
+                forget(evicted);
+            }
+        }
+    }
+
+    /**
+     * Извлекает обращения, относящиеся к одному запросу к сервису.
+     * <p>
+     * Если по идентификатору корреляции найдены обращения, возвращаются они. Иначе возвращаются
+     * обращения с тем же токеном, поступившие в интервале выполнения запроса.
+     *
+     * @param correlationId идентификатор корреляции запроса или {@code null}
+     * @param token         токен запроса или {@code null}
+     * @param fromNanos     момент отправки запроса
+     * @param toNanos       момент получения ответа
+     * @return сопоставленные обращения (удаляются из журнала) и способ сопоставления
+     */
+    public static Attribution take(String correlationId, String token, long fromNanos, long toNanos) {
+        if (correlationId != null) {
+            Queue<DependencyCall> correlated = BY_CORRELATION.remove(correlationId);
+            if (correlated != null) {
+                List<DependencyCall> calls = new ArrayList<>(correlated);
+                calls.forEach(call -> {
+                    remove(BY_TOKEN, call.token(), call);
+                    dequeue(call);
+                });
+                return new Attribution(Attribution.Method.HEADER, calls);
+            }
+        }
+        if (token != null) {
+            List<DependencyCall> calls = new ArrayList<>();
+            BY_TOKEN.computeIfPresent(token, (key, queue) -> {
+                Iterator<DependencyCall> iterator = queue.iterator();
+                while (iterator.hasNext()) {
+                    DependencyCall call = iterator.next();
+                    if (call.arrivedNanos() >= fromNanos && call.arrivedNanos() <= toNanos) {
+                        calls.add(call);
+                        iterator.remove();
+                    }
+                }
+                return queue.isEmpty() ? null : queue;
+            });
+            if (!calls.isEmpty()) {
+                calls.forEach(call -> {
+                    remove(BY_CORRELATION, call.correlationId(), call);
+                    dequeue(call);
+                });
+                return new Attribution(Attribution.Method.TOKEN, calls);
+            }
+        }
+        return new Attribution(Attribution.Method.NONE, List.of());
+    }
+
+    /**
+     * Возвращает еще не сопоставленные обращения с указанным токеном, не удаляя их из журнала.
+     *
+     * @param token токен запроса
+     * @return обращения в порядке поступления
+     */
+    public static List<DependencyCall> pending(String token) {
+        List<DependencyCall> calls = new ArrayList<>();
+        BY_TOKEN.computeIfPresent(token, (key, queue) -> {
+            calls.addAll(queue);
+            return queue;
+        });
+        return calls;
+    }
+
+    private static void add(ConcurrentMap<String, Queue<DependencyCall>> index, String key, DependencyCall call) {
+        index.compute(key, (ignored, queue) -> {
+            Queue<DependencyCall> target = queue != null ? queue : new ArrayDeque<>(2);
+            target.add(call);
+            return target;
+        });
+    }
+
+    private static void remove(ConcurrentMap<String, Queue<DependencyCall>> index, String key, DependencyCall call) {
+        if (key != null) {
+            index.computeIfPresent(key, (ignored, queue) -> {
+                queue.remove(call);
+                return queue.isEmpty() ? null : queue;
+            });
+        }
+    }
+
+    /**
+     * Удаляет сопоставленное обращение из очереди поступления. Обращение, уже вытесненное
+     * по емкости, в очереди не найдется и повторно из размера не вычитается.
+     */
+    private static void dequeue(DependencyCall call) {
+        if (ARRIVAL_ORDER.removeLastOccurrence(call)) {
+            SIZE.decrementAndGet();
+        }
+    }
+
+    private static void forget(DependencyCall call) {
+        remove(BY_CORRELATION, call.correlationId(), call);
+        remove(BY_TOKEN, call.token(), call);
+    }
+
+    /**
+     * Результат сопоставления обращений к заглушке с запросом к сервису.
+     *
+     * @param method способ сопоставления
+     * @param calls  сопоставленные обращения
+     */
+    public record Attribution(Method method, List<DependencyCall> calls) {
+
+        /**
+         * Способ сопоставления.
+         */
+        public enum Method {
+            /** По заголовку корреляции, переданному сервисом. */
+            HEADER,
+            /** По токену и интервалу выполнения запроса. */
+            TOKEN,
+            /** Обращений к заглушке не найдено. */
+            NONE
+        }
+
+        /**
+         * Возвращает суммарную длительность обращений к заглушке.
+         *
+         * @return длительность, нс
+         */
+        public long dependencyNanos() {
+            return calls.stream().mapToLong(DependencyCall::durationNanos).sum();
+        }
+    }
+
+    private DependencyLog() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,106 @@
+package aqa.api.utils.trace;
+
+import aqa.api.exceptions.UtilityClassException;
+import aqa.api.utils.metrics.MetricKey;
+import aqa.api.utils.metrics.Metrics;
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Утилитный класс, разделяющий задержку запроса к сервису на собственное время сервиса
+ * и ожидание внешнего сервиса.
+ * <p>
+ * Для каждого запроса записываются гистограммы по действию:
+ * {@code sut_request_micros} (полная задержка), {@code sut_dependency_micros} (суммарная длительность
+ * обращений к заглушке) и {@code sut_self_micros} (разность). Счетчик {@code sut_requests_total}
+ * учитывает способ сопоставления обращений ({@code header}, {@code token}, {@code none}).
+ * Длительность обращения измеряется заглушкой и не включает сетевую передачу между сервисом
+ * и заглушкой, поэтому собственное время сервиса оценивается сверху.
+ */
+public class SelfTime {
+
+    public static final String REQUEST_METRIC = "sut_request_micros";
+    public static final String DEPENDENCY_METRIC = "sut_dependency_micros";
+    public static final String SELF_METRIC = "sut_self_micros";
+    public static final String REQUESTS_METRIC = "sut_requests_total";
+    public static final String RESPONSES_METRIC = "sut_responses_total";
+    public static final String SUITE_SERIES = "suite/";
+
+    /**
+     * Сопоставляет обращения к заглушке с завершенным запросом и записывает метрики.
+     *
+     * @param action        действие запроса (или {@code null})
+     * @param token         токен запроса (или {@code null})
+     * @param correlationId идентификатор корреляции запроса
+     * @param startedNanos  момент отправки запроса
+     * @param finishedNanos момент получения ответа
+     * @return результат сопоставления
+     */
+    public static DependencyLog.Attribution attribute(String action, String token, String correlationId,
+                                                      long startedNanos, long finishedNanos) {
+        DependencyLog.Attribution attribution = DependencyLog.take(correlationId, token, startedNanos, finishedNanos);
+        String label = action == null ? "none" : action;
+        long totalNanos = finishedNanos - startedNanos;
+        long dependencyNanos = Math.min(attribution.dependencyNanos(), totalNanos);
+
+        Metrics.record(Metrics.histogram(REQUEST_METRIC, "action", label), TimeUnit.NANOSECONDS.toMicros(totalNanos));
+        Metrics.record(Metrics.histogram(DEPENDENCY_METRIC, "action", label),
+                TimeUnit.NANOSECONDS.toMicros(dependencyNanos));
+        Metrics.record(Metrics.histogram(SELF_METRIC, "action", label),
+                TimeUnit.NANOSECONDS.toMicros(totalNanos - dependencyNanos));
+        Metrics.counter(REQUESTS_METRIC, "action", label,
+                "correlation", attribution.method().name().toLowerCase(Locale.ROOT)).increment();
+        return attribution;
+    }
+
+    /**
+     * Формирует текстовую сводку распределения задержки по действиям для Allure-отчета.
+     *
+     * @return перцентили полной задержки, ожидания заглушки и собственного времени сервиса
+     */
+    public static String summary() {
+        Map<MetricKey, Histogram> histograms = Metrics.histograms();
+        TreeSet<String> actions = histograms.keySet().stream()
+                .filter(key -> key.name().equals(REQUEST_METRIC))
+                .map(key -> key.label("action"))
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (actions.isEmpty()) {
+            return "Запросов через RequestSpecs.forEndpoint не выполнялось";
+        }
+
+        String correlation = Metrics.counters().entrySet().stream()
+                .filter(entry -> entry.getKey().name().equals(REQUESTS_METRIC))
+                .map(entry -> String.format("• %s, %s: %d", entry.getKey().label("action"),
+                        entry.getKey().label("correlation"), entry.getValue()))
+                .collect(Collectors.joining("\n"));
+
+        String latency = actions.stream()
+                .map(action -> String.format("• %s: всего %s | заглушка %s | сервис %s", action,
+                        percentiles(histograms.get(MetricKey.of(REQUEST_METRIC, "action", action))),
+                        percentiles(histograms.get(MetricKey.of(DEPENDENCY_METRIC, "action", action))),
+                        percentiles(histograms.get(MetricKey.of(SELF_METRIC, "action", action)))))
+                .collect(Collectors.joining("\n"));
+
+        return String.format("""
+                        ЗАДЕРЖКА ПО ДЕЙСТВИЯМ, МКС (p50/p99):
+                        %s
+                        
+                        СОПОСТАВЛЕНИЕ ОБРАЩЕНИЙ К ЗАГЛУШКЕ (header — по X-Correlation-Id, token — по токену и времени):
+                        %s
+                        """, latency, correlation);
+    }
+
+    private static String percentiles(Histogram histogram) {
+        return histogram == null ? "-"
+                : histogram.getValueAtPercentile(50) + "/" + histogram.getValueAtPercentile(99);
+    }
+
+    private SelfTime() {
+        throw new UtilityClassException(getClass());
+    }
+}